@@ -0,0 +1,110 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local cold-start harness. Each run starts a fresh JVM that loads one handler against a stub
+ * DynamoDB endpoint, so class loading, static initialisation and the first request are measured
+ * exactly as a new Lambda container would see them. Every handler is measured with priming disabled
+ * and enabled, and the medians are printed.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:coldStart -Pruns=10}.
+ */
+public class ColdStart {
+
+    private static final List<String> HANDLERS =
+            List.of(
+                    "handler.AddDebtHandler",
+                    "handler.ListSavingsHandler",
+                    "handler.HealthHandler",
+                    "handler.RouterHandler");
+
+    public static void main(String[] args) throws Exception {
+        int runs = 0 < args.length ? Integer.parseInt(args[0]) : 5;
+
+        try (StubDynamoServer server = new StubDynamoServer()) {
+            System.out.printf(
+                    "%-28s %-8s %10s %14s %15s%n",
+                    "handler", "priming", "init ms", "1st request ms", "2nd request ms");
+            for (String handler : HANDLERS) {
+                for (boolean priming : new boolean[] {false, true}) {
+                    List<long[]> results = new ArrayList<>();
+                    for (int run = 0; run < runs; run++) {
+                        results.add(probe(handler, priming, server.endpoint()));
+                    }
+                    System.out.printf(
+                            "%-28s %-8s %10.1f %14.1f %15.1f%n",
+                            handler.substring(handler.indexOf('.') + 1),
+                            priming ? "on" : "off",
+                            median(results, 0),
+                            median(results, 1),
+                            median(results, 2));
+                }
+            }
+        }
+    }
+
+    private static long[] probe(String handler, boolean priming, String endpoint)
+            throws IOException, InterruptedException {
+        String java =
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder =
+                new ProcessBuilder(
+                                java,
+                                "-cp",
+                                System.getProperty("java.class.path"),
+                                ColdStartProbe.class.getName(),
+                                handler)
+                        .redirectErrorStream(true);
+        Map<String, String> environment = builder.environment();
+        environment.put("DYNAMO_DB_ENDPOINT", endpoint);
+        environment.put("DYNAMO_DB_TABLE_NAME", "bloom-benchmark");
+        environment.put("AWS_ACCESS_KEY_ID", "benchmark");
+        environment.put("AWS_SECRET_ACCESS_KEY", "benchmark");
+        environment.put("PRIMING_ENABLED", Boolean.toString(priming));
+
+        Process process = builder.start();
+        String result = null;
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                if (line.startsWith(ColdStartProbe.RESULT_PREFIX)) {
+                    result = line.substring(ColdStartProbe.RESULT_PREFIX.length());
+                }
+            }
+        }
+        if (0 != process.waitFor() || null == result) {
+            throw new IllegalStateException(handler + " probe did not complete");
+        }
+
+        String[] fields = result.split(" ");
+        if (!"200".equals(fields[0])) {
+            throw new IllegalStateException(handler + " probe returned status " + fields[0]);
+        }
+        return new long[] {
+            Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long.parseLong(fields[3])
+        };
+    }
+
+    private static double median(List<long[]> results, int field) {
+        List<Long> values = new ArrayList<>();
+        for (long[] result : results) {
+            values.add(result[field]);
+        }
+        Collections.sort(values);
+        int middle = values.size() / 2;
+        double nanos =
+                0 == values.size() % 2
+                        ? (values.get(middle - 1) + values.get(middle)) / 2.0
+                        : values.get(middle);
+        return nanos / 1_000_000;
+    }
+}
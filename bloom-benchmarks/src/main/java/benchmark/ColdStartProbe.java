@@ -0,0 +1,71 @@
+package benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+/**
+ * Runs in a fresh JVM started by {@link ColdStart}: loads one handler, invokes it twice with a
+ * synthetic proxy event and prints the timings on a single line.
+ */
+public class ColdStartProbe {
+
+    static final String RESULT_PREFIX = "COLD_START_RESULT ";
+
+    private static final String AUTHORIZER =
+            "\"requestContext\":{\"authorizer\":{\"claims\":{\"sub\":\"benchmark\"}}}";
+
+    private static final Map<String, String> EVENTS =
+            Map.of(
+                    "handler.AddDebtHandler",
+                    "{\"httpMethod\":\"POST\",\"path\":\"/debts\",\"body\":\"{\\\"name\\\":"
+                            + "\\\"car\\\",\\\"startAmount\\\":\\\"5000.00\\\","
+                            + "\\\"monthlyAmount\\\":\\\"150.00\\\",\\\"startDate\\\":"
+                            + "\\\"2021-01\\\",\\\"yearlyRate\\\":\\\"4.5\\\"}\","
+                            + AUTHORIZER
+                            + "}",
+                    "handler.ListSavingsHandler",
+                    "{\"httpMethod\":\"GET\",\"path\":\"/savings\"," + AUTHORIZER + "}",
+                    "handler.HealthHandler",
+                    "{\"httpMethod\":\"GET\",\"path\":\"/health\"," + AUTHORIZER + "}",
+                    "handler.RouterHandler",
+                    "{\"httpMethod\":\"GET\",\"resource\":\"/savings\",\"path\":\"/savings\","
+                            + AUTHORIZER
+                            + "}");
+
+    public static void main(String[] args) throws Exception {
+        String handlerName = args[0];
+        byte[] event = EVENTS.get(handlerName).getBytes(UTF_8);
+
+        long start = System.nanoTime();
+        RequestStreamHandler handler =
+                (RequestStreamHandler)
+                        Class.forName(handlerName).getDeclaredConstructor().newInstance();
+        long initialised = System.nanoTime();
+        String status = invoke(handler, event);
+        long first = System.nanoTime();
+        invoke(handler, event);
+        long second = System.nanoTime();
+
+        System.out.println(
+                RESULT_PREFIX
+                        + String.join(
+                                " ",
+                                status,
+                                Long.toString(initialised - start),
+                                Long.toString(first - initialised),
+                                Long.toString(second - first)));
+    }
+
+    private static String invoke(RequestStreamHandler handler, byte[] event) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        handler.handleRequest(new ByteArrayInputStream(event), output, null);
+
+        String response = output.toString(UTF_8);
+        int index = response.indexOf("\"statusCode\":") + "\"statusCode\":".length();
+        return response.substring(index, index + 3);
+    }
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import handler.ResponseEncoder;
+import handler.ResponseEncoder.Encoding;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Random;
+import model.Page;
+import model.Saving;
+
+/**
+ * Measures the CPU cost of compressing list payloads of several sizes against the bytes it saves.
+ * Each row encodes the body as the handlers would, then base64 encodes it as the proxy envelope
+ * does, and prints the time per response alongside the plain and encoded sizes.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:compression -Pseconds=2}.
+ */
+public class Compression {
+
+    private static final int[] SAVINGS = {1, 10, 100, 1000};
+
+    /** Keeps the encoded bodies observable so they cannot be optimised away. */
+    static volatile long sink;
+
+    public static void main(String[] args) throws IOException {
+        int seconds = 0 < args.length ? Integer.parseInt(args[0]) : 2;
+        ObjectWriter writer = provideWriter(new TypeReference<Page<Saving>>() {});
+        ResponseEncoder encoder = new ResponseEncoder(0);
+
+        System.out.printf(
+                "%-8s %-8s %12s %12s %12s %8s %14s%n",
+                "savings",
+                "coding",
+                "plain KiB",
+                "coded KiB",
+                "base64 KiB",
+                "saved",
+                "us per body");
+        for (int count : SAVINGS) {
+            byte[] body =
+                    writer.writeValueAsBytes(
+                            new Page<>(Projections.savings(count, new Random(42)), null));
+            for (Encoding encoding : Encoding.values()) {
+                measure(count, encoding, encoder, body, seconds);
+            }
+        }
+    }
+
+    private static void measure(
+            int count, Encoding encoding, ResponseEncoder encoder, byte[] body, int seconds)
+            throws IOException {
+        long warmupDeadline = System.nanoTime() + seconds * 250_000_000L;
+        while (System.nanoTime() < warmupDeadline) {
+            sink += encode(encoding, encoder, body);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        int bodies = 0;
+        int base64 = 0;
+        while (System.nanoTime() < deadline) {
+            base64 = encode(encoding, encoder, body);
+            sink += base64;
+            bodies++;
+        }
+        long elapsed = System.nanoTime() - start;
+        int encoded = encoder.encode(encoding, body).length;
+
+        System.out.printf(
+                "%-8d %-8s %12.1f %12.1f %12.1f %7.0f%% %14.1f%n",
+                count,
+                encoding.getToken(),
+                body.length / 1024.0,
+                encoded / 1024.0,
+                base64 / 1024.0,
+                100.0 * (body.length - base64) / body.length,
+                elapsed / 1_000.0 / bodies);
+    }
+
+    private static int encode(Encoding encoding, ResponseEncoder encoder, byte[] body)
+            throws IOException {
+        return Base64.getEncoder().encode(encoder.encode(encoding, body)).length;
+    }
+}
@@ -0,0 +1,149 @@
+package benchmark;
+
+import static provider.DynamoProvider.provideAsyncClient;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import provider.HttpEngine;
+import service.DynamoAsyncService;
+import service.DynamoService;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Compares the HTTP engines the DynamoDB clients can be built on. Each engine issues queries
+ * against a stub DynamoDB endpoint with a fixed number of requests in flight: the blocking engines
+ * need a thread per request, while the async service on Netty keeps them in flight from its event
+ * loop, as a batch add does with its chunks. The Netty client holds up to DYNAMO_DB_MAX_CONNECTIONS
+ * connections.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:engines -Pconcurrency=64 -Pseconds=10}.
+ */
+public class Engines {
+
+    private static final String KEY_CONDITION = "PK = :pk";
+    private static final Map<String, AttributeValue> KEY_VALUES =
+            Map.of(":pk", AttributeValue.builder().s("USER#benchmark").build());
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = 0 < args.length ? Integer.parseInt(args[0]) : 32;
+        int seconds = 1 < args.length ? Integer.parseInt(args[1]) : 10;
+        URI endpoint = URI.create(System.getenv("DYNAMO_DB_ENDPOINT"));
+        int port = endpoint.getPort();
+
+        StubDynamoServer server = new StubDynamoServer(port);
+        try {
+            System.out.printf(
+                    "%-16s %10s %10s %10s %10s%n",
+                    "engine", "req/s", "p50 ms", "p99 ms", "threads");
+            for (HttpEngine engine : HttpEngine.values()) {
+                if (engine.isAsync()) {
+                    continue;
+                }
+                int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+                List<Long> latencies;
+                try (DynamoDbClient client = provideClient(engine)) {
+                    DynamoService service = new DynamoService(client, provideTableName());
+                    runSync(service, concurrency, Math.max(1, seconds / 4));
+                    latencies = runSync(service, concurrency, seconds);
+                }
+                print(engine.getName(), latencies, seconds, threadsBefore);
+            }
+
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+            List<Long> latencies;
+            try (DynamoDbAsyncClient client = provideAsyncClient()) {
+                DynamoAsyncService service = new DynamoAsyncService(client, provideTableName());
+                runAsync(service, concurrency, Math.max(1, seconds / 4));
+                latencies = runAsync(service, concurrency, seconds);
+            }
+            print(HttpEngine.NETTY.getName() + " (async)", latencies, seconds, threadsBefore);
+        } finally {
+            server.close();
+        }
+    }
+
+    private static void print(String engine, List<Long> latencies, int seconds, int threadsBefore) {
+        Collections.sort(latencies);
+        System.out.printf(
+                "%-16s %10.0f %10.2f %10.2f %10d%n",
+                engine,
+                latencies.size() / (double) seconds,
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                ManagementFactory.getThreadMXBean().getPeakThreadCount() - threadsBefore);
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    private static List<Long> runSync(DynamoService service, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                List<Long> latencies = new ArrayList<>();
+                                while (System.nanoTime() < deadline) {
+                                    long start = System.nanoTime();
+                                    service.list(KEY_CONDITION, KEY_VALUES);
+                                    latencies.add(System.nanoTime() - start);
+                                }
+                                return latencies;
+                            }));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            latencies.addAll(future.get());
+        }
+        executor.shutdown();
+        return latencies;
+    }
+
+    private static List<Long> runAsync(DynamoAsyncService service, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<?>> failures = Collections.synchronizedList(new ArrayList<>());
+        while (System.nanoTime() < deadline && failures.isEmpty()) {
+            inFlight.acquire();
+            long start = System.nanoTime();
+            CompletableFuture<?> future = service.list(KEY_CONDITION, KEY_VALUES, null, null);
+            future.whenComplete(
+                    (response, exception) -> {
+                        if (null == exception) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            failures.add(future);
+                        }
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+        if (!failures.isEmpty()) {
+            failures.get(0).join();
+        }
+        return new ArrayList<>(latencies);
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import memory.InMemoryDynamoDbClient;
+import service.DynamoService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import throttling.AdaptiveRateLimiter;
+
+/**
+ * Reproduces a hot partition offline. Concurrent clients add savings through {@link DynamoService}
+ * to an in-memory table whose partitions each serve the given write units per second, first all for
+ * one user and then spread across many. Every add also bumps the user's VERSION item in the same
+ * transaction, so one busy user costs their partition twice the units of the items alone. The
+ * services do not limit their rate, so every throttled add reaches the table; {@link Throttling}
+ * compares them with the limiter on.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:hotPartition -Pclients=16 -Pseconds=5
+ * -PwriteUnits=1000}.
+ */
+public class HotPartition {
+
+    private static final int SPREAD_USERS = 100;
+    private static final Duration LATENCY = Duration.ofMillis(5);
+
+    public static void main(String[] args) throws Exception {
+        int clients = 0 < args.length ? Integer.parseInt(args[0]) : 16;
+        int seconds = 1 < args.length ? Integer.parseInt(args[1]) : 5;
+        int writeUnits = 2 < args.length ? Integer.parseInt(args[2]) : 1000;
+
+        System.out.printf(
+                "%-8s %10s %10s %12s %14s%n",
+                "users", "adds/s", "throttled", "units/s", "hottest/s");
+        for (int users : new int[] {1, SPREAD_USERS}) {
+            InMemoryDynamoDbClient client =
+                    InMemoryDynamoDbClient.newBuilder()
+                            .withLatency(LATENCY)
+                            .withPartitionWriteUnits(writeUnits)
+                            .build();
+            DynamoService service =
+                    new DynamoService(client, "bloom-benchmark", AdaptiveRateLimiter.DISABLED);
+            int added = run(service, users, clients, seconds);
+
+            double hottest =
+                    client.getConsumedUnitsByPartition().values().stream()
+                            .mapToDouble(Double::doubleValue)
+                            .max()
+                            .orElse(0);
+            System.out.printf(
+                    "%-8d %10.0f %10d %12.0f %14.0f%n",
+                    users,
+                    added / (double) seconds,
+                    client.getThrottledRequests(),
+                    client.getConsumedWriteUnits() / seconds,
+                    hottest / seconds);
+        }
+    }
+
+    private static int run(DynamoService service, int users, int clients, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                int added = 0;
+                                while (System.nanoTime() < deadline) {
+                                    int next = sequence.getAndIncrement();
+                                    try {
+                                        service.add(saving("user-" + next % users, next));
+                                        added++;
+                                    } catch (TransactionCanceledException exception) {
+                                        // throttled, counted by the client
+                                    }
+                                }
+                                return added;
+                            }));
+        }
+
+        int added = 0;
+        for (Future<Integer> future : futures) {
+            added += future.get();
+        }
+        executor.shutdown();
+        return added;
+    }
+
+    private static Map<String, AttributeValue> saving(String subject, int number) {
+        return Map.of(
+                "PK", AttributeValue.builder().s("USER#" + subject).build(),
+                "SK", AttributeValue.builder().s("SAVING#saving-" + number).build(),
+                "StartAmount", AttributeValue.builder().s("1000.00").build(),
+                "MonthlyAmount", AttributeValue.builder().s("50.00").build(),
+                "StartDate", AttributeValue.builder().s("2015-01").build(),
+                "EndDate", AttributeValue.builder().s("2035-12").build(),
+                "YearlyRate", AttributeValue.builder().s("1.50").build(),
+                "Version", AttributeValue.builder().n("1").build());
+    }
+}
@@ -0,0 +1,26 @@
+package benchmark;
+
+import handler.RouterHandler;
+import java.io.IOException;
+import java.time.Duration;
+import memory.InMemoryDynamoDbClient;
+import server.BloomServer;
+
+/**
+ * Runs the embedded server against a table held in memory, which answers each request after the
+ * given latency, for the {@code memory} backend of {@link Throughput}. The table starts empty and
+ * lives as long as the process.
+ */
+public class InMemoryServer {
+
+    public static void main(String[] args) throws IOException {
+        int latencyMs = 0 < args.length ? Integer.parseInt(args[0]) : 5;
+        String tableName = 1 < args.length ? args[1] : "bloom-benchmark";
+
+        InMemoryDynamoDbClient client =
+                InMemoryDynamoDbClient.newBuilder()
+                        .withLatency(Duration.ofMillis(latencyMs))
+                        .build();
+        BloomServer.serve(new RouterHandler(client, tableName));
+    }
+}
@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Saving;
+import model.Subject;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.AdjustmentsTransformer;
+import transform.OneTimePaymentsTransformer;
+import transform.SavingTransformer;
+import util.ItemSize;
+
+/**
+ * Compares the billed size of saving items with their adjustments and one-time payments stored as
+ * lists of maps and packed into binary attributes. Each history has one adjustment a year and the
+ * given number of monthly one-time payments, with amounts and rates drawn at random.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:packedLists}.
+ */
+public class PackedLists {
+
+    private static final int[] PAYMENTS = {0, 12, 60, 240};
+
+    public static void main(String[] args) {
+        SavingTransformer savingTransformer = new SavingTransformer();
+        AdjustmentsTransformer unpackedAdjustments = new AdjustmentsTransformer(false);
+        AdjustmentsTransformer packedAdjustments = new AdjustmentsTransformer(true);
+        OneTimePaymentsTransformer unpackedPayments = new OneTimePaymentsTransformer(false);
+        OneTimePaymentsTransformer packedPayments = new OneTimePaymentsTransformer(true);
+        Subject subject = new Subject("8c4a8e22-5b2b-4a0d-9f3c-2f6b8a1d7e90");
+
+        System.out.printf(
+                "%-10s %-12s %12s %12s %12s %8s%n",
+                "payments", "adjustments", "list bytes", "packed bytes", "RCUs saved", "saved");
+        for (int payments : PAYMENTS) {
+            Saving saving = saving(payments, new Random(42));
+            Map<String, AttributeValue> item = savingTransformer.toAttributeMap(saving, subject);
+            item.put(
+                    "Adjustments",
+                    unpackedAdjustments.toAdjustmentsAttribute(saving.getAdjustments()));
+            item.put(
+                    "OneTimePayments",
+                    unpackedPayments.toOneTimePaymentsAttribute(saving.getOneTimePayments()));
+
+            Map<String, AttributeValue> packed = new HashMap<>(item);
+            packed.put(
+                    "Adjustments",
+                    packedAdjustments.toAdjustmentsAttribute(saving.getAdjustments()));
+            packed.put(
+                    "OneTimePayments",
+                    packedPayments.toOneTimePaymentsAttribute(saving.getOneTimePayments()));
+
+            long before = ItemSize.of(item);
+            long after = ItemSize.of(packed);
+            System.out.printf(
+                    "%-10d %-12d %12d %12d %12d %7.0f%%%n",
+                    payments,
+                    saving.getAdjustments().size(),
+                    before,
+                    after,
+                    readUnits(before) - readUnits(after),
+                    100.0 * (before - after) / before);
+        }
+    }
+
+    /** Strongly consistent read units, each covering up to 4 KB of an item. */
+    private static long readUnits(long bytes) {
+        return (bytes + 4095) / 4096;
+    }
+
+    private static Saving saving(int payments, Random random) {
+        YearMonth start = YearMonth.of(2010, 1);
+        List<OneTimePayment> oneTimePayments = new ArrayList<>();
+        for (int i = 0; i < payments; i++) {
+            oneTimePayments.add(
+                    new OneTimePayment(
+                            amount(random, 5000), new Date(start.plusMonths(i + 1).toString())));
+        }
+        List<Adjustment> adjustments = new ArrayList<>();
+        for (int year = 2011; year <= 2049; year++) {
+            adjustments.add(
+                    new Adjustment(amount(random, 500), new Date(year + "-01"), rate(random)));
+        }
+        return Saving.newBuilder()
+                .withName(new Name("pension"))
+                .withStartAmount(amount(random, 20000))
+                .withMonthlyAmount(amount(random, 500))
+                .withStartDate(new Date(start.toString()))
+                .withEndDate(new Date("2049-12"))
+                .withYearlyRate(rate(random))
+                .withAdjustments(adjustments)
+                .withOneTimePayments(oneTimePayments)
+                .build();
+    }
+
+    private static Amount amount(Random random, int bound) {
+        return new Amount(BigDecimal.valueOf(1 + random.nextInt(bound * 100), 2).toString());
+    }
+
+    private static Rate rate(Random random) {
+        return new Rate(BigDecimal.valueOf(random.nextInt(800), 2).toString());
+    }
+}
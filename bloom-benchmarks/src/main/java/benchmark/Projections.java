@@ -0,0 +1,149 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Saving;
+import projection.SavingProjector;
+
+/**
+ * Measures savings projections for one user holding many savings over a forty-year horizon, with
+ * the primitive projector against a month-by-month {@link BigDecimal} equivalent. Prints the time
+ * and the bytes allocated to project every saving the user holds.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:projections -Psavings=500 -Pseconds=10}.
+ */
+public class Projections {
+
+    private static final BigDecimal MONTHLY_RATE_DIVISOR = BigDecimal.valueOf(1200);
+
+    /** Keeps the projections observable so they cannot be optimised away. */
+    static volatile long sink;
+
+    public static void main(String[] args) {
+        int count = 0 < args.length ? Integer.parseInt(args[0]) : 500;
+        int seconds = 1 < args.length ? Integer.parseInt(args[1]) : 10;
+        List<Saving> savings = savings(count, new Random(42));
+
+        SavingProjector projector = new SavingProjector();
+        System.out.printf("%-12s %14s %16s%n", "projector", "ms per user", "KiB per user");
+        measure("primitive", savings, seconds, saving -> last(projector.project(saving)));
+        measure("bigdecimal", savings, seconds, Projections::projectWithBigDecimal);
+    }
+
+    private static void measure(
+            String name, List<Saving> savings, int seconds, ToLongFunction<Saving> projection) {
+        long warmupDeadline = System.nanoTime() + seconds * 250_000_000L;
+        while (System.nanoTime() < warmupDeadline) {
+            sink += projectAll(savings, projection);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        int users = 0;
+        while (System.nanoTime() < deadline) {
+            sink += projectAll(savings, projection);
+            users++;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf(
+                "%-12s %14.3f %16.1f%n",
+                name, elapsed / 1_000_000.0 / users, allocated / 1024.0 / users);
+    }
+
+    private static long projectAll(List<Saving> savings, ToLongFunction<Saving> projection) {
+        long total = 0;
+        for (Saving saving : savings) {
+            total += projection.applyAsLong(saving);
+        }
+        return total;
+    }
+
+    private static long last(long[] balances) {
+        return balances[balances.length - 1];
+    }
+
+    private static long projectWithBigDecimal(Saving saving) {
+        BigDecimal balance = saving.getStartAmount().getAmount();
+        BigDecimal monthly = saving.getMonthlyAmount().getAmount();
+        BigDecimal rate = saving.getYearlyRate().getRate();
+        List<BigDecimal> balances = new ArrayList<>();
+        for (YearMonth month = saving.getStartDate().getDate();
+                !month.isAfter(saving.getEndDate().getDate());
+                month = month.plusMonths(1)) {
+            for (Adjustment adjustment : saving.getAdjustments()) {
+                if (adjustment.getDateFrom().getDate().equals(month)) {
+                    monthly = adjustment.getAmount().getAmount();
+                    rate = adjustment.getRate().getRate();
+                }
+            }
+            balance =
+                    balance.add(
+                                    balance.multiply(rate)
+                                            .divide(
+                                                    MONTHLY_RATE_DIVISOR,
+                                                    2,
+                                                    RoundingMode.HALF_EVEN))
+                            .add(monthly);
+            for (OneTimePayment payment : saving.getOneTimePayments()) {
+                if (payment.getDate().getDate().equals(month)) {
+                    balance = balance.add(payment.getAmount().getAmount());
+                }
+            }
+            balances.add(balance);
+        }
+        return balances.get(balances.size() - 1).unscaledValue().longValue();
+    }
+
+    static List<Saving> savings(int count, Random random) {
+        List<Saving> savings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Adjustment> adjustments = new ArrayList<>();
+            for (int year = 2015; year < 2045; year += 10) {
+                adjustments.add(
+                        new Adjustment(amount(random, 500), new Date(year + "-06"), rate(random)));
+            }
+            List<OneTimePayment> payments = new ArrayList<>();
+            for (int year = 2012; year < 2048; year += 7) {
+                payments.add(new OneTimePayment(amount(random, 5000), new Date(year + "-03")));
+            }
+            savings.add(
+                    Saving.newBuilder()
+                            .withName(new Name("saving" + i))
+                            .withStartAmount(amount(random, 20000))
+                            .withMonthlyAmount(amount(random, 500))
+                            .withStartDate(new Date("2010-01"))
+                            .withEndDate(new Date("2049-12"))
+                            .withYearlyRate(rate(random))
+                            .withAdjustments(adjustments)
+                            .withOneTimePayments(payments)
+                            .build());
+        }
+        return savings;
+    }
+
+    private static Amount amount(Random random, int bound) {
+        return new Amount(BigDecimal.valueOf(random.nextInt(bound * 100), 2).toString());
+    }
+
+    private static Rate rate(Random random) {
+        return new Rate(BigDecimal.valueOf(random.nextInt(600), 2).toString());
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JSON result files written by the {@code jmh} task, such as those of two releases,
+ * and prints the change in throughput and in bytes allocated per operation for every benchmark they
+ * share. Exits with status 1 when any benchmark lost more than the threshold percentage of its
+ * throughput, or allocates that much more, so it can gate a build.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:jmhCompare -Pbaseline=results-1.0.0.json
+ * -Pcurrent=results-1.1.0.json -Pthreshold=10}.
+ */
+public class Regressions {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, double[]> baseline = read(new File(args[0]));
+        Map<String, double[]> current = read(new File(args[1]));
+        double threshold = 2 < args.length ? Double.parseDouble(args[2]) : 10;
+
+        System.out.printf(
+                "%-60s %14s %14s %8s %10s %10s %8s%n",
+                "benchmark", "baseline/s", "current/s", "change", "B/op", "B/op now", "change");
+        boolean regressed = false;
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] before = baseline.get(entry.getKey());
+            if (null == before) {
+                continue;
+            }
+            double[] after = entry.getValue();
+            double scoreChange = change(before[0], after[0]);
+            double allocationChange = change(before[1], after[1]);
+            boolean slower = -threshold > scoreChange || threshold < allocationChange;
+            regressed |= slower;
+            System.out.printf(
+                    "%-60s %14.0f %14.0f %7.1f%% %10.0f %10.0f %7.1f%%%s%n",
+                    entry.getKey(),
+                    before[0],
+                    after[0],
+                    scoreChange,
+                    before[1],
+                    after[1],
+                    allocationChange,
+                    slower ? "  REGRESSED" : "");
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    private static double change(double before, double after) {
+        return 0 == before ? 0 : 100 * (after - before) / before;
+    }
+
+    /** Reads the score and bytes allocated per operation of each benchmark and parameter set. */
+    private static Map<String, double[]> read(File file) throws IOException {
+        Map<String, double[]> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            double allocation = Double.NaN;
+            Iterator<Map.Entry<String, JsonNode>> metrics =
+                    result.path("secondaryMetrics").fields();
+            while (metrics.hasNext()) {
+                Map.Entry<String, JsonNode> metric = metrics.next();
+                if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                    allocation = metric.getValue().path("score").asDouble();
+                }
+            }
+            results.put(
+                    name(result),
+                    new double[] {
+                        result.path("primaryMetric").path("score").asDouble(), allocation
+                    });
+        }
+        return results;
+    }
+
+    private static String name(JsonNode result) {
+        String benchmark = result.path("benchmark").asText();
+        Map<String, String> params = new LinkedHashMap<>();
+        result.path("params")
+                .fields()
+                .forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        String name =
+                benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        return params.isEmpty() ? name : name + params;
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers DynamoDB JSON protocol requests with canned responses, so handlers can be invoked end to
+ * end without a network dependency. It can throttle every nth request, as a table over its
+ * throughput would.
+ */
+class StubDynamoServer implements AutoCloseable {
+
+    private static final String DESCRIBE_TABLE_RESPONSE =
+            "{\"Table\":{\"TableName\":\"bloom-benchmark\",\"TableStatus\":\"ACTIVE\"}}";
+
+    private static final String QUERY_RESPONSE =
+            "{\"Count\":1,\"ScannedCount\":1,\"Items\":[{"
+                    + "\"PK\":{\"S\":\"USER#benchmark\"},"
+                    + "\"SK\":{\"S\":\"SAVING#house\"},"
+                    + "\"StartAmount\":{\"S\":\"1000.00\"},"
+                    + "\"MonthlyAmount\":{\"S\":\"50.00\"},"
+                    + "\"StartDate\":{\"S\":\"2020-01\"},"
+                    + "\"EndDate\":{\"S\":\"2030-01\"},"
+                    + "\"YearlyRate\":{\"S\":\"1.5\"},"
+                    + "\"Adjustments\":{\"L\":[]},"
+                    + "\"OneTimePayments\":{\"L\":[]}}]}";
+
+    private static final String THROTTLED_RESPONSE =
+            "{\"__type\":\"com.amazonaws.dynamodb.v20120810#ProvisionedThroughputExceededException\","
+                    + "\"message\":\"The level of configured provisioned throughput for the table"
+                    + " was exceeded.\"}";
+
+    private final HttpServer server;
+    private final int throttleEvery;
+    private final AtomicLong requests = new AtomicLong();
+
+    StubDynamoServer() throws IOException {
+        this(0);
+    }
+
+    StubDynamoServer(int port) throws IOException {
+        this(port, 0);
+    }
+
+    /** @param throttleEvery throttles every request whose number is a multiple of it, unless 0 */
+    StubDynamoServer(int port, int throttleEvery) throws IOException {
+        this.throttleEvery = throttleEvery;
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::respond);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            input.readAllBytes();
+        }
+        String target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+        int status = 200;
+        String body = "{}";
+        if (0 < throttleEvery && 0 == requests.incrementAndGet() % throttleEvery) {
+            status = 400;
+            body = THROTTLED_RESPONSE;
+        } else if (null != target && target.endsWith(".DescribeTable")) {
+            body = DESCRIBE_TABLE_RESPONSE;
+        } else if (null != target && target.endsWith(".Query")) {
+            body = QUERY_RESPONSE;
+        }
+
+        byte[] bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.0");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
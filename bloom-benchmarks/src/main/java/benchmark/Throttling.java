@@ -0,0 +1,153 @@
+package benchmark;
+
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import memory.InMemoryDynamoDbClient;
+import metrics.DynamoMetrics;
+import metrics.LatencyHistogram;
+import metrics.OperationMetrics;
+import provider.HttpEngine;
+import service.DynamoService;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import throttling.AdaptiveRateLimiter;
+
+/**
+ * Shows how the services behave when the table throttles them, with throttling injected into the
+ * local stand-ins.
+ *
+ * <p>First, concurrent clients add savings for one user to an in-memory table whose partitions each
+ * serve the given write units per second, with the rate limiter off and then on. Limiting trades a
+ * little throughput for far fewer throttled requests, and so for a shorter tail on the adds that
+ * succeed.
+ *
+ * <p>Then an SDK client queries a stub endpoint that throttles every nth request, and its DynamoDB
+ * metrics show how many calls the retry policy saved and how many still failed.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:throttling -Pclients=16 -Pseconds=5
+ * -PwriteUnits=1000 -PthrottleEvery=4}.
+ */
+public class Throttling {
+
+    private static final Duration LATENCY = Duration.ofMillis(5);
+    private static final String KEY_CONDITION = "PK = :pk";
+    private static final Map<String, AttributeValue> KEY_VALUES =
+            Map.of(":pk", AttributeValue.builder().s("USER#benchmark").build());
+
+    public static void main(String[] args) throws Exception {
+        int clients = 0 < args.length ? Integer.parseInt(args[0]) : 16;
+        int seconds = 1 < args.length ? Integer.parseInt(args[1]) : 5;
+        int writeUnits = 2 < args.length ? Integer.parseInt(args[2]) : 1000;
+        int throttleEvery = 3 < args.length ? Integer.parseInt(args[3]) : 4;
+
+        System.out.printf(
+                "%-8s %10s %10s %10s %10s%n", "limiter", "adds/s", "throttled", "p50 ms", "p99 ms");
+        for (boolean limited : new boolean[] {false, true}) {
+            InMemoryDynamoDbClient client =
+                    InMemoryDynamoDbClient.newBuilder()
+                            .withLatency(LATENCY)
+                            .withPartitionWriteUnits(writeUnits)
+                            .build();
+            AdaptiveRateLimiter limiter =
+                    limited ? new AdaptiveRateLimiter() : AdaptiveRateLimiter.DISABLED;
+            DynamoService service = new DynamoService(client, "bloom-benchmark", limiter);
+            LatencyHistogram latencies = new LatencyHistogram();
+            int added = run(clients, seconds, next -> service.add(saving(next)), latencies);
+
+            System.out.printf(
+                    "%-8s %10.0f %10d %10.2f %10.2f%n",
+                    limited ? "on" : "off",
+                    added / (double) seconds,
+                    client.getThrottledRequests(),
+                    latencies.getValueAtPercentile(50) / 1_000_000.0,
+                    latencies.getValueAtPercentile(99) / 1_000_000.0);
+        }
+
+        int port = URI.create(System.getenv("DYNAMO_DB_ENDPOINT")).getPort();
+        StubDynamoServer server = new StubDynamoServer(port, throttleEvery);
+        DynamoMetrics metrics = new DynamoMetrics();
+        try (DynamoDbClient client = provideClient(HttpEngine.URL_CONNECTION, metrics)) {
+            DynamoService service =
+                    new DynamoService(client, provideTableName(), AdaptiveRateLimiter.DISABLED);
+            int listed =
+                    run(
+                            clients,
+                            seconds,
+                            next -> service.list(KEY_CONDITION, KEY_VALUES),
+                            new LatencyHistogram());
+
+            OperationMetrics query = metrics.getOperation("Query");
+            System.out.printf(
+                    "%nthrottling 1 in %d: %d queries succeeded, %d retries, %d failed,"
+                            + " p99 %.2f ms%n",
+                    throttleEvery,
+                    listed,
+                    query.getRetries(),
+                    query.getFailures(),
+                    query.getLatency().getValueAtPercentile(99) / 1_000_000.0);
+        } finally {
+            server.close();
+        }
+    }
+
+    /** Sends requests from the clients until time is up, returning how many succeeded. */
+    private static int run(int clients, int seconds, Request request, LatencyHistogram latencies)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                int succeeded = 0;
+                                while (System.nanoTime() < deadline) {
+                                    long start = System.nanoTime();
+                                    try {
+                                        request.send(sequence.getAndIncrement());
+                                        latencies.record(System.nanoTime() - start);
+                                        succeeded++;
+                                    } catch (SdkException exception) {
+                                        // throttled, counted by the table or the client
+                                    }
+                                }
+                                return succeeded;
+                            }));
+        }
+
+        int succeeded = 0;
+        for (Future<Integer> future : futures) {
+            succeeded += future.get();
+        }
+        executor.shutdown();
+        return succeeded;
+    }
+
+    private static Map<String, AttributeValue> saving(int number) {
+        return Map.of(
+                "PK", AttributeValue.builder().s("USER#benchmark").build(),
+                "SK", AttributeValue.builder().s("SAVING#saving-" + number).build(),
+                "StartAmount", AttributeValue.builder().s("1000.00").build(),
+                "MonthlyAmount", AttributeValue.builder().s("50.00").build(),
+                "StartDate", AttributeValue.builder().s("2015-01").build(),
+                "EndDate", AttributeValue.builder().s("2035-12").build(),
+                "YearlyRate", AttributeValue.builder().s("1.50").build(),
+                "Version", AttributeValue.builder().n("1").build());
+    }
+
+    private interface Request {
+        void send(int number);
+    }
+}
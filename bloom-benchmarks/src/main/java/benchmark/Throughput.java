@@ -0,0 +1,184 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Local steady-state throughput harness. Starts the embedded server in its own JVM against a stub
+ * DynamoDB endpoint, warms it up, then drives it from a fixed number of concurrent clients and
+ * prints requests per second and latency percentiles.
+ *
+ * <p>With the {@code memory} backend the server is started as {@link InMemoryServer} instead,
+ * keeping its table in memory and answering each request after the given latency, and is seeded
+ * with savings through its own endpoint first, so the listed items are real ones read through every
+ * layer.
+ *
+ * <p>Run with {@code ./gradlew :bloom-benchmarks:throughput -Pclients=64 -Pseconds=30}, adding
+ * {@code -Pbackend=memory -PlatencyMs=5} for the in-memory table.
+ */
+public class Throughput {
+
+    private static final String SUBJECT_HEADER = "X-Bloom-Subject";
+    private static final int SEEDED_SAVINGS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int clients = 0 < args.length ? Integer.parseInt(args[0]) : 32;
+        int seconds = 1 < args.length ? Integer.parseInt(args[1]) : 20;
+        boolean inMemory = 2 < args.length && "memory".equals(args[2]);
+        int latencyMs = 3 < args.length ? Integer.parseInt(args[3]) : 5;
+        int port = 18080;
+
+        try (StubDynamoServer dynamo = new StubDynamoServer()) {
+            Process server =
+                    inMemory
+                            ? startServer(
+                                    port,
+                                    Map.of(),
+                                    "benchmark.InMemoryServer",
+                                    Integer.toString(latencyMs))
+                            : startServer(
+                                    port,
+                                    Map.of("DYNAMO_DB_ENDPOINT", dynamo.endpoint()),
+                                    "server.BloomServer");
+            try {
+                HttpClient client = HttpClient.newHttpClient();
+                URI savings = URI.create("http://localhost:" + port + "/savings");
+                HttpRequest request =
+                        HttpRequest.newBuilder(savings).header(SUBJECT_HEADER, "benchmark").build();
+                awaitReady(client, request);
+                if (inMemory) {
+                    seed(client, savings);
+                }
+
+                run(client, request, clients, Math.max(1, seconds / 4));
+                List<Long> latencies = run(client, request, clients, seconds);
+
+                Collections.sort(latencies);
+                System.out.printf(
+                        "clients %d, %d requests in %d s: %.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                        clients,
+                        latencies.size(),
+                        seconds,
+                        latencies.size() / (double) seconds,
+                        percentile(latencies, 0.50),
+                        percentile(latencies, 0.99));
+            } finally {
+                server.destroy();
+            }
+        }
+    }
+
+    private static Process startServer(
+            int port, Map<String, String> backend, String mainClass, String... args)
+            throws Exception {
+        String java =
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command =
+                new ArrayList<>(
+                        List.of(java, "-cp", System.getProperty("java.class.path"), mainClass));
+        command.addAll(List.of(args));
+        ProcessBuilder builder =
+                new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        Map<String, String> environment = builder.environment();
+        environment.put("PORT", Integer.toString(port));
+        environment.put("SUBJECT_HEADER", SUBJECT_HEADER);
+        environment.putAll(backend);
+        environment.put("DYNAMO_DB_TABLE_NAME", "bloom-benchmark");
+        environment.put("AWS_ACCESS_KEY_ID", "benchmark");
+        environment.put("AWS_SECRET_ACCESS_KEY", "benchmark");
+        // the stub never changes and nothing is written while measuring, so a cached list would be
+        // served on every request
+        environment.put("LIST_CACHE_MAX_BYTES", "0");
+        return builder.start();
+    }
+
+    private static void awaitReady(HttpClient client, HttpRequest request) throws Exception {
+        for (int attempt = 0; attempt < 300; attempt++) {
+            try {
+                if (200
+                        == client.send(request, HttpResponse.BodyHandlers.discarding())
+                                .statusCode()) {
+                    return;
+                }
+            } catch (IOException exception) {
+                // not listening yet
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("server did not become ready");
+    }
+
+    private static void seed(HttpClient client, URI savings) throws Exception {
+        for (int i = 0; i < SEEDED_SAVINGS; i++) {
+            String body =
+                    "{\"name\":\"saving-"
+                            + i
+                            + "\",\"startAmount\":\"1000.00\",\"monthlyAmount\":\"50.00\","
+                            + "\"startDate\":\"2015-01\",\"endDate\":\"2035-12\","
+                            + "\"yearlyRate\":\"1.50\",\"adjustments\":[],\"oneTimePayments\":[]}";
+            HttpRequest request =
+                    HttpRequest.newBuilder(savings)
+                            .header(SUBJECT_HEADER, "benchmark")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (2 != status / 100) {
+                throw new IllegalStateException("seeding failed with status " + status);
+            }
+        }
+    }
+
+    private static List<Long> run(HttpClient client, HttpRequest request, int clients, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                List<Long> latencies = new ArrayList<>();
+                                while (System.nanoTime() < deadline) {
+                                    long start = System.nanoTime();
+                                    HttpResponse<Void> response =
+                                            client.send(
+                                                    request,
+                                                    HttpResponse.BodyHandlers.discarding());
+                                    if (200 != response.statusCode()) {
+                                        throw new IllegalStateException(
+                                                "status " + response.statusCode());
+                                    }
+                                    latencies.add(System.nanoTime() - start);
+                                }
+                                return latencies;
+                            }));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            latencies.addAll(future.get());
+        }
+        executor.shutdown();
+        return latencies;
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
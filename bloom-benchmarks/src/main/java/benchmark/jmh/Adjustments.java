@@ -0,0 +1,57 @@
+package benchmark.jmh;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import model.Adjustment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.AdjustmentsTransformer;
+
+/**
+ * Converts forty years of yearly adjustments to and from their attribute, as a list of maps or
+ * packed into a binary attribute.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Adjustments {
+
+    @Param({"false", "true"})
+    boolean packed;
+
+    AdjustmentsTransformer transformer;
+    List<Adjustment> adjustments;
+    AttributeValue attribute;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transformer = new AdjustmentsTransformer(packed);
+        adjustments = Fixtures.adjustments(new Random(42));
+        attribute = transformer.toAdjustmentsAttribute(adjustments);
+    }
+
+    @Benchmark
+    public AttributeValue toAdjustmentsAttribute() {
+        return transformer.toAdjustmentsAttribute(adjustments);
+    }
+
+    @Benchmark
+    public List<Adjustment> toAdjustmentsList() {
+        return transformer.toAdjustmentsList(attribute);
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark.jmh;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Saving;
+
+/**
+ * Savings and debts for the suites, drawn from a fixed seed so every run measures the same values.
+ * Each has one adjustment a year and the given number of monthly one-time payments.
+ */
+final class Fixtures {
+
+    static final YearMonth START = YearMonth.of(2010, 1);
+
+    private Fixtures() {}
+
+    static Saving saving(String name, int payments) {
+        Random random = new Random(42);
+        return Saving.newBuilder()
+                .withName(new Name(name))
+                .withStartAmount(amount(random, 20000))
+                .withMonthlyAmount(amount(random, 500))
+                .withStartDate(new Date(START.toString()))
+                .withEndDate(new Date("2049-12"))
+                .withYearlyRate(rate(random))
+                .withAdjustments(adjustments(random))
+                .withOneTimePayments(oneTimePayments(random, payments))
+                .build();
+    }
+
+    static Debt debt(String name, int payments) {
+        Random random = new Random(42);
+        return Debt.newBuilder()
+                .withName(new Name(name))
+                .withStartAmount(amount(random, 20000))
+                .withMonthlyAmount(amount(random, 500))
+                .withStartDate(new Date(START.toString()))
+                .withYearlyRate(rate(random))
+                .withAdjustments(adjustments(random))
+                .withOneTimePayments(oneTimePayments(random, payments))
+                .build();
+    }
+
+    static List<Adjustment> adjustments(Random random) {
+        List<Adjustment> adjustments = new ArrayList<>();
+        for (int year = START.getYear() + 1; year < 2050; year++) {
+            adjustments.add(
+                    new Adjustment(amount(random, 500), new Date(year + "-01"), rate(random)));
+        }
+        return adjustments;
+    }
+
+    static List<OneTimePayment> oneTimePayments(Random random, int payments) {
+        List<OneTimePayment> oneTimePayments = new ArrayList<>();
+        for (int i = 0; i < payments; i++) {
+            oneTimePayments.add(
+                    new OneTimePayment(
+                            amount(random, 5000), new Date(START.plusMonths(i + 1).toString())));
+        }
+        return oneTimePayments;
+    }
+
+    private static Amount amount(Random random, int bound) {
+        return new Amount(BigDecimal.valueOf(1 + random.nextInt(bound * 100), 2).toString());
+    }
+
+    private static Rate rate(Random random) {
+        return new Rate(BigDecimal.valueOf(random.nextInt(800), 2).toString());
+    }
+}
@@ -0,0 +1,45 @@
+package benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+import model.Amount;
+import model.Date;
+import model.Rate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Parses and validates the scalar values every saving and debt is made of. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Parsing {
+
+    // fields rather than constants, so the strings are not folded into the benchmark
+    String date = "2016-03";
+    String amount = "12345.67";
+    String rate = "3.25";
+
+    @Benchmark
+    public Date date() {
+        return new Date(date);
+    }
+
+    @Benchmark
+    public Amount amount() {
+        return new Amount(amount);
+    }
+
+    @Benchmark
+    public Rate rate() {
+        return new Rate(rate);
+    }
+}
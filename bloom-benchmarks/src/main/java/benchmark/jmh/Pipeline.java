@@ -0,0 +1,180 @@
+package benchmark.jmh;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static provider.MapperProvider.provideWriter;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import handler.RouterHandler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import memory.InMemoryDynamoDbClient;
+import model.Saving;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drives the savings routes through {@link RequestStreamHandler#handleRequest} with API Gateway
+ * proxy events, from reading the event to writing the response, against a table held in memory.
+ * Savings carry the given number of one-time payments, so the events and the listed items grow with
+ * it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Pipeline {
+
+    private static final int LISTED_SAVINGS = 20;
+    private static final String TABLE_NAME = "bloom-benchmark";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"0", "12", "120"})
+    int payments;
+
+    RequestStreamHandler router;
+    byte[] addEvent;
+    byte[] listEvent;
+    byte[] updateEvent;
+    byte[] deleteEvent;
+    ByteArrayOutputStream output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        router = new RouterHandler(InMemoryDynamoDbClient.newBuilder().build(), TABLE_NAME);
+        output = new ByteArrayOutputStream();
+
+        for (int i = 0; i < LISTED_SAVINGS; i++) {
+            Saving saving = Fixtures.saving("saving-" + i, payments);
+            expectOk(event("POST", "/savings", "reader", body(saving)));
+        }
+        Saving saving = Fixtures.saving("pension", payments);
+        addEvent = event("POST", "/savings", "writer", body(saving));
+        listEvent = event("GET", "/savings", "reader", null);
+        updateEvent = event("PUT", "/savings/{name}", "writer", body(saving.withVersion(1L)));
+        deleteEvent = event("DELETE", "/savings/{name}", "writer", "{\"name\":\"other\"}");
+
+        expectOk(addEvent);
+        expectOk(listEvent);
+        expectOk(updateEvent);
+        expectOk(deleteEvent);
+    }
+
+    /**
+     * An add is refused while the saving exists, so each add starts from the saving removed again,
+     * outside the measured time.
+     */
+    @State(Scope.Benchmark)
+    public static class Removed {
+
+        byte[] removeEvent;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            removeEvent = event("DELETE", "/savings/{name}", "writer", "{\"name\":\"pension\"}");
+        }
+
+        @Setup(Level.Invocation)
+        public void remove(Pipeline pipeline) throws IOException {
+            pipeline.expectOk(removeEvent);
+        }
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream add(Removed removed) throws IOException {
+        return invoke(addEvent);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream list() throws IOException {
+        return invoke(listEvent);
+    }
+
+    /**
+     * An update must carry the stored version, so each update is built for the version the one
+     * before left, outside the measured time.
+     */
+    @State(Scope.Benchmark)
+    public static class Versioned {
+
+        Saving saving;
+        long version;
+        byte[] updateEvent;
+
+        @Setup(Level.Trial)
+        public void setUp(Pipeline pipeline) {
+            saving = Fixtures.saving("pension", pipeline.payments);
+            version = 2;
+        }
+
+        @Setup(Level.Invocation)
+        public void next() throws IOException {
+            updateEvent =
+                    event("PUT", "/savings/{name}", "writer", body(saving.withVersion(version++)));
+        }
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream update(Versioned versioned) throws IOException {
+        return invoke(versioned.updateEvent);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream delete() throws IOException {
+        return invoke(deleteEvent);
+    }
+
+    private ByteArrayOutputStream invoke(byte[] event) throws IOException {
+        output.reset();
+        router.handleRequest(new ByteArrayInputStream(event), output, null);
+        return output;
+    }
+
+    /** Fails the trial when a handler answers with an error, which would measure its error path. */
+    private void expectOk(byte[] event) throws IOException {
+        String response = invoke(event).toString(UTF_8);
+        if (!response.contains("\"statusCode\":200")) {
+            throw new IllegalStateException("handler responded with " + response);
+        }
+    }
+
+    private static String body(Saving saving) throws IOException {
+        return provideWriter(Saving.class).writeValueAsString(saving);
+    }
+
+    private static byte[] event(String method, String resource, String subject, String body)
+            throws IOException {
+        Map<String, Object> requestContext =
+                Map.of("authorizer", Map.of("claims", Map.of("sub", subject)));
+        Map<String, Object> event =
+                null != body
+                        ? Map.of(
+                                "httpMethod", method,
+                                "resource", resource,
+                                "body", body,
+                                "requestContext", requestContext)
+                        : Map.of(
+                                "httpMethod",
+                                method,
+                                "resource",
+                                resource,
+                                "requestContext",
+                                requestContext);
+        return MAPPER.writeValueAsBytes(event);
+    }
+}
@@ -0,0 +1,97 @@
+package benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import model.Debt;
+import model.Saving;
+import model.Subject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.AdjustmentsTransformer;
+import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
+import transform.OneTimePaymentsTransformer;
+import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
+
+/**
+ * Converts stored items to savings and debts, with their lists stored as lists of maps or packed
+ * into binary attributes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Transformers {
+
+    private static final int LISTED_DEBTS = 20;
+
+    @Param({"0", "12", "120"})
+    int payments;
+
+    @Param({"false", "true"})
+    boolean packed;
+
+    SavingsDynamoTransformer savingsTransformer;
+    DebtsDynamoTransformer debtsTransformer;
+    Map<String, AttributeValue> savingItem;
+    List<Map<String, AttributeValue>> debtItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        savingsTransformer = new SavingsDynamoTransformer();
+        debtsTransformer = new DebtsDynamoTransformer();
+        AdjustmentsTransformer adjustmentsTransformer = new AdjustmentsTransformer(packed);
+        OneTimePaymentsTransformer oneTimePaymentsTransformer =
+                new OneTimePaymentsTransformer(packed);
+        Subject subject = new Subject("benchmark");
+
+        Saving saving = Fixtures.saving("pension", payments);
+        savingItem = new SavingTransformer().toAttributeMap(saving, subject);
+        savingItem.put(
+                "Adjustments",
+                adjustmentsTransformer.toAdjustmentsAttribute(saving.getAdjustments()));
+        savingItem.put(
+                "OneTimePayments",
+                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(saving.getOneTimePayments()));
+
+        debtItems = new ArrayList<>();
+        for (int i = 0; i < LISTED_DEBTS; i++) {
+            Debt debt = Fixtures.debt("debt-" + i, payments);
+            Map<String, AttributeValue> item = new DebtTransformer().toAttributeMap(debt, subject);
+            item.put(
+                    "Adjustments",
+                    adjustmentsTransformer.toAdjustmentsAttribute(debt.getAdjustments()));
+            item.put(
+                    "OneTimePayments",
+                    oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                            debt.getOneTimePayments()));
+            debtItems.add(item);
+        }
+    }
+
+    @Benchmark
+    public Saving toSaving() {
+        return savingsTransformer.toSaving(savingItem);
+    }
+
+    @Benchmark
+    public List<Debt> toDebtsList() {
+        return debtsTransformer.toDebtsList(debtItems);
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark.jmh;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import model.Adjustment;
+import model.OneTimePayment;
+import model.Rate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.RangeValidator;
+
+/**
+ * Checks that the dates of the given number of monthly adjustments or one-time payments fall within
+ * a saving's range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Validation {
+
+    private static final String MESSAGE = "dates should be in range (startDate, endDate)";
+
+    @Param({"1", "12", "120"})
+    int dates;
+
+    YearMonth startDate;
+    YearMonth endDate;
+    List<Adjustment> adjustments;
+    List<OneTimePayment> oneTimePayments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        startDate = Fixtures.START;
+        endDate = YearMonth.of(2049, 12);
+        oneTimePayments = Fixtures.oneTimePayments(random, dates);
+        adjustments = new ArrayList<>();
+        for (OneTimePayment oneTimePayment : oneTimePayments) {
+            adjustments.add(
+                    new Adjustment(
+                            oneTimePayment.getAmount(), oneTimePayment.getDate(), new Rate("1.5")));
+        }
+    }
+
+    @Benchmark
+    public List<Adjustment> adjustmentDates() {
+        RangeValidator.validateAdjustmentDates(startDate, endDate, adjustments, MESSAGE);
+        return adjustments;
+    }
+
+    @Benchmark
+    public List<OneTimePayment> oneTimePaymentDates() {
+        RangeValidator.validateOneTimePaymentDates(startDate, endDate, oneTimePayments, MESSAGE);
+        return oneTimePayments;
+    }
+}
@@ -0,0 +1,103 @@
+package cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import model.Subject;
+import model.Type;
+
+/**
+ * Serialized list responses held by this container, one per subject and type. Each response is
+ * stored under the version its user's partition had when it was read, and is only returned for that
+ * same version, so any write to the partition makes it stale.
+ *
+ * <p>The cache is bounded by the total size of the responses it holds; when a new response takes it
+ * over the limit, the least recently used ones are dropped. A limit of zero disables it.
+ */
+public class ResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public ResponseCache(long maxBytes) {
+        if (0 > maxBytes) {
+            throw new IllegalArgumentException("maxBytes cannot be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public boolean isEnabled() {
+        return 0 < maxBytes;
+    }
+
+    /** Returns the response stored for the given version, or null when there is none. */
+    public synchronized byte[] get(Subject subject, Type type, long version) {
+        String key = key(subject, type);
+        Entry entry = entries.get(key);
+        if (null == entry) {
+            return null;
+        }
+        if (version != entry.version) {
+            if (version > entry.version) {
+                remove(key);
+            }
+            return null;
+        }
+        return entry.body;
+    }
+
+    /**
+     * Stores a response read at the given version. It is ignored when it is larger than the whole
+     * cache, or when a response from a later version is already held.
+     */
+    public synchronized void put(Subject subject, Type type, long version, byte[] body) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        String key = key(subject, type);
+        Entry previous = entries.get(key);
+        if (null != previous && previous.version > version) {
+            return;
+        }
+
+        if (null != previous) {
+            remove(key);
+        }
+        entries.put(key, new Entry(version, body));
+        bytes += body.length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        bytes -= removed.body.length;
+    }
+
+    private static String key(Subject subject, Type type) {
+        return type.getType() + "#" + subject.getSubject();
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        private final byte[] body;
+
+        private Entry(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
@@ -2,6 +2,10 @@ package exception;
 
 public class BadRequestException extends RuntimeException {
 
+    public BadRequestException(String message) {
+        super(message);
+    }
+
     public BadRequestException(String message, Throwable cause) {
         super(message, cause);
     }
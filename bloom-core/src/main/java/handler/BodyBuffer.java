@@ -0,0 +1,15 @@
+package handler;
+
+import java.io.CharArrayWriter;
+
+/** A {@link CharArrayWriter} that exposes its buffer, so it can be written out without copying. */
+class BodyBuffer extends CharArrayWriter {
+
+    BodyBuffer() {
+        super(1024);
+    }
+
+    char[] array() {
+        return buf;
+    }
+}
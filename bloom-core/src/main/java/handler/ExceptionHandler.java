@@ -1,6 +1,8 @@
 package handler;
 
 import exception.BadRequestException;
+import exception.ConflictException;
+import exception.NotFoundException;
 import java.util.HashMap;
 import java.util.Map;
 import model.HandlerResponse;
@@ -33,6 +35,8 @@ public class ExceptionHandler {
 
     private void populateExceptionResponseMap() {
         exceptionResponseMap.put(BadRequestException.class, 400);
+        exceptionResponseMap.put(NotFoundException.class, 404);
+        exceptionResponseMap.put(ConflictException.class, 409);
         exceptionResponseMap.put(RuntimeException.class, 500);
     }
 
@@ -0,0 +1,135 @@
+package handler;
+
+import static util.EntityTags.matches;
+import static util.EntityTags.strong;
+
+import cache.ResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import model.Page;
+import model.RequestDetails;
+import model.Subject;
+import model.Type;
+import model.request.FieldsRequest;
+import model.request.PageRequest;
+import org.slf4j.Logger;
+import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+/**
+ * Lists the items of one type for a subject. A page is read straight from the table when a limit or
+ * cursor is given. Otherwise the whole list is tagged with the partition version, answered with not
+ * modified when the client already holds it, and served from the cache while that version is
+ * unchanged. Subclasses supply the transformations of the type's items.
+ */
+public abstract class ListTypeDelegate<T> implements Handler<Void, Page<T>> {
+
+    private final Type type;
+    private final String noun;
+    private final ListTypeService service;
+    private final ResponseCache cache;
+    private final ObjectWriter writer;
+    private final Logger logger;
+
+    protected ListTypeDelegate(
+            Type type,
+            String noun,
+            ListTypeService service,
+            ResponseCache cache,
+            ObjectWriter writer,
+            Logger logger) {
+        this.type = type;
+        this.noun = noun;
+        this.service = service;
+        this.cache = cache;
+        this.writer = writer;
+        this.logger = logger;
+    }
+
+    protected abstract Iterable<T> toItems(Iterable<Map<String, AttributeValue>> items);
+
+    protected abstract Iterable<T> toPartialItems(Iterable<Map<String, AttributeValue>> items);
+
+    protected abstract List<T> toItemsList(QueryResponse response);
+
+    protected abstract List<T> toPartialItemsList(QueryResponse response);
+
+    @Override
+    public Page<T> handle(Void request, Subject subject, RequestDetails details) {
+        PageRequest pageRequest =
+                PageRequest.fromQueryStringParameters(details.getQueryStringParameters());
+        FieldsRequest fieldsRequest =
+                FieldsRequest.fromQueryStringParameters(details.getQueryStringParameters(), type);
+        if (!pageRequest.isPaged()) {
+            long version = service.version(subject);
+            String eTag =
+                    fieldsRequest.isPartial()
+                            ? strong(subject, type, version, fieldsRequest.getFields())
+                            : strong(subject, type, version);
+            if (matches(details.getHeaders(), eTag)) {
+                logger.info("{} not modified for subject {}", noun, subject.getSubject());
+                return Page.notModified(eTag);
+            }
+            if (fieldsRequest.isPartial()) {
+                return listFields(subject, fieldsRequest).withETag(eTag);
+            }
+            return listAll(subject, version).withETag(eTag);
+        }
+
+        QueryResponse response = service.list(subject, type, pageRequest, fieldsRequest);
+        List<T> page =
+                fieldsRequest.isPartial() ? toPartialItemsList(response) : toItemsList(response);
+
+        logger.info("{} {} listed for subject {}", page.size(), noun, subject.getSubject());
+        return new Page<>(page, service.toCursor(response));
+    }
+
+    /**
+     * Lists every item holding only the requested fields. Such lists are not cached, as the cache
+     * holds one body per partition version.
+     */
+    private Page<T> listFields(Subject subject, FieldsRequest fieldsRequest) {
+        Iterable<T> partial = toPartialItems(service.list(subject, type, fieldsRequest));
+
+        logger.info(
+                "{} listed with fields {} for subject {}",
+                noun,
+                fieldsRequest.getFields(),
+                subject.getSubject());
+        return new Page<>(partial, null);
+    }
+
+    /**
+     * Lists every item, from the cache while the partition version is unchanged. The version is
+     * read before the items, so a write racing the read leaves the stored list and the entity tag
+     * under a version that is already stale.
+     */
+    private Page<T> listAll(Subject subject, long version) {
+        if (!cache.isEnabled()) {
+            Iterable<T> all = toItems(service.list(subject, type));
+
+            logger.info("{} listed for subject {}", noun, subject.getSubject());
+            return new Page<>(all, null);
+        }
+        byte[] body = cache.get(subject, type, version);
+        if (null != body) {
+            logger.info("{} listed from cache for subject {}", noun, subject.getSubject());
+            return Page.serialized(body);
+        }
+
+        Iterable<T> all = toItems(service.list(subject, type));
+        try {
+            body = writer.writeValueAsBytes(new Page<>(all, null));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        cache.put(subject, type, version, body);
+
+        logger.info("{} listed for subject {}", noun, subject.getSubject());
+        return Page.serialized(body);
+    }
+}
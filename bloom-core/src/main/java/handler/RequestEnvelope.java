@@ -0,0 +1,29 @@
+package handler;
+
+import model.RequestDetails;
+import model.Subject;
+
+public class RequestEnvelope<TRequest> {
+
+    private final TRequest body;
+    private final Subject subject;
+    private final RequestDetails details;
+
+    RequestEnvelope(TRequest body, Subject subject, RequestDetails details) {
+        this.body = body;
+        this.subject = subject;
+        this.details = details;
+    }
+
+    public TRequest getBody() {
+        return body;
+    }
+
+    public Subject getSubject() {
+        return subject;
+    }
+
+    public RequestDetails getDetails() {
+        return details;
+    }
+}
@@ -0,0 +1,184 @@
+package handler;
+
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_STRING;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import metrics.InvocationMetrics;
+import metrics.Stage;
+import model.RequestDetails;
+import model.Subject;
+
+/**
+ * Reads an API Gateway proxy event in a single streaming pass. Only the fields the handlers use are
+ * kept, and the body is decoded straight from the parser's character buffer rather than being
+ * copied into an intermediate string first.
+ */
+public class RequestEnvelopeReader {
+
+    private static final String EMPTY_SUBJECT = "empty subject";
+
+    private final JsonFactory factory;
+
+    public RequestEnvelopeReader(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    public <TRequest> RequestEnvelope<TRequest> read(InputStream input, ObjectReader bodyReader)
+            throws IOException {
+        return read(input, bodyReader, InvocationMetrics.DISABLED);
+    }
+
+    /**
+     * Reads the event, timing the binding of its body, which includes the model's validation, as
+     * the {@link Stage#BODY} stage.
+     */
+    public <TRequest> RequestEnvelope<TRequest> read(
+            InputStream input, ObjectReader bodyReader, InvocationMetrics metrics)
+            throws IOException {
+        RequestDetails.Builder details = RequestDetails.newBuilder();
+        String subject = EMPTY_SUBJECT;
+        TRequest body = null;
+        boolean bodyRead = false;
+
+        try (JsonParser parser = factory.createParser(input)) {
+            if (START_OBJECT != parser.nextToken()) {
+                throw new JsonParseException(parser, "request should be a JSON object");
+            }
+            while (FIELD_NAME == parser.nextToken()) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "httpMethod":
+                        details.withHttpMethod(parser.getValueAsString());
+                        break;
+                    case "path":
+                        details.withPath(parser.getValueAsString());
+                        break;
+                    case "queryStringParameters":
+                        details.withQueryStringParameters(readStringMap(parser));
+                        break;
+                    case "pathParameters":
+                        details.withPathParameters(readStringMap(parser));
+                        break;
+                    case "headers":
+                        details.withHeaders(readStringMap(parser));
+                        break;
+                    case "body":
+                        if (null != bodyReader && VALUE_STRING == parser.currentToken()) {
+                            long started = metrics.now();
+                            try {
+                                body = readBody(parser, bodyReader);
+                            } finally {
+                                metrics.lap(Stage.BODY, started);
+                            }
+                            bodyRead = true;
+                        }
+                        break;
+                    case "requestContext":
+                        subject = readSubject(parser);
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+
+        if (null != bodyReader && (!bodyRead || null == body)) {
+            throw new BadRequestException("request body contained illegal values");
+        }
+        return new RequestEnvelope<>(body, new Subject(subject), details.build());
+    }
+
+    private <TRequest> TRequest readBody(JsonParser parser, ObjectReader bodyReader)
+            throws IOException {
+        try (JsonParser bodyParser =
+                factory.createParser(
+                        parser.getTextCharacters(),
+                        parser.getTextOffset(),
+                        parser.getTextLength())) {
+            return bodyReader.readValue(bodyParser);
+        } catch (JsonProcessingException exception) {
+            throw new BadRequestException("request body contained illegal values", exception);
+        }
+    }
+
+    private static Map<String, String> readStringMap(JsonParser parser) throws IOException {
+        if (START_OBJECT != parser.currentToken()) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, String> values = new HashMap<>();
+        while (FIELD_NAME == parser.nextToken()) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (parser.currentToken().isScalarValue()) {
+                String value = parser.getValueAsString();
+                if (null != value) {
+                    values.put(name, value);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+
+    private static String readSubject(JsonParser parser) throws IOException {
+        String subject = EMPTY_SUBJECT;
+        if (!enterObject(parser, "authorizer")) {
+            return subject;
+        }
+        if (enterObject(parser, "claims")) {
+            while (FIELD_NAME == parser.nextToken()) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("sub".equals(name) && VALUE_STRING == parser.currentToken()) {
+                    subject = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            skipToEndOfObject(parser);
+        }
+        skipToEndOfObject(parser);
+        return subject;
+    }
+
+    /**
+     * Advances through the current object until the named object field is reached. Returns false,
+     * with the current object fully consumed, when there is no such field.
+     */
+    private static boolean enterObject(JsonParser parser, String field) throws IOException {
+        if (START_OBJECT != parser.currentToken()) {
+            parser.skipChildren();
+            return false;
+        }
+        while (FIELD_NAME == parser.nextToken()) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals(name) && START_OBJECT == parser.currentToken()) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static void skipToEndOfObject(JsonParser parser) throws IOException {
+        while (END_OBJECT != parser.nextToken()) {
+            parser.skipChildren();
+        }
+    }
+}
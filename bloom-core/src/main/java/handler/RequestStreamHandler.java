@@ -1,81 +1,178 @@
 package handler;
 
-import static model.RequestDetails.fromHandlerRequest;
+import static provider.CompressionProvider.provideResponseEncoder;
+import static provider.MapperProvider.provideFactory;
+import static provider.MetricsProvider.provideRecorder;
+import static util.EntityTags.encoded;
+import static util.EntityTags.matches;
+import static util.EntityTags.matching;
 
 import com.amazonaws.services.lambda.runtime.Context;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import model.HandlerRequest;
+import java.util.ArrayList;
+import java.util.List;
+import metrics.InvocationMetrics;
+import metrics.MetricsRecorder;
+import metrics.Stage;
 import model.HandlerResponse;
+import model.Page;
 import model.RequestDetails;
-import model.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class RequestStreamHandler<TRequest, TResponse>
         implements com.amazonaws.services.lambda.runtime.RequestStreamHandler {
 
-    private final ObjectMapper mapper;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String ETAG_HEADER = "ETag";
+    static final String EXPOSE_HEADERS_HEADER = "Access-Control-Expose-Headers";
+    static final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+    static final String VARY_HEADER = "Vary";
+    static final String DELEGATE_SUFFIX = "HandlerDelegate";
+
     private final Handler<TRequest, TResponse> delegate;
-    private final Class<TRequest> requestClazz;
+    private final ObjectReader requestReader;
+    private final ObjectWriter responseWriter;
+    private final RequestEnvelopeReader envelopeReader;
+    private final ResponseEnvelopeWriter envelopeWriter;
+    private final ResponseEncoder encoder;
     private final ExceptionHandler exceptionHandler;
+    private final MetricsRecorder recorder;
+    private final String operation;
     private final Logger logger;
 
+    /**
+     * @param requestReader reader for the request body, or null when the handler takes no body
+     * @param responseWriter writer for the response body, or null when the handler returns none
+     */
     public RequestStreamHandler(
-            ObjectMapper mapper,
             Handler<TRequest, TResponse> delegate,
-            Class<TRequest> requestClazz) {
+            ObjectReader requestReader,
+            ObjectWriter responseWriter) {
         this(
-                mapper,
                 delegate,
-                requestClazz,
+                requestReader,
+                responseWriter,
+                provideFactory(),
+                provideResponseEncoder(),
                 new ExceptionHandler(),
+                provideRecorder(),
                 LoggerFactory.getLogger(RequestStreamHandler.class));
     }
 
     RequestStreamHandler(
-            ObjectMapper mapper,
             Handler<TRequest, TResponse> delegate,
-            Class<TRequest> requestClazz,
+            ObjectReader requestReader,
+            ObjectWriter responseWriter,
+            JsonFactory factory,
+            ExceptionHandler exceptionHandler,
+            Logger logger) {
+        this(
+                delegate,
+                requestReader,
+                responseWriter,
+                factory,
+                new ResponseEncoder(ResponseEncoder.DISABLED),
+                exceptionHandler,
+                logger);
+    }
+
+    RequestStreamHandler(
+            Handler<TRequest, TResponse> delegate,
+            ObjectReader requestReader,
+            ObjectWriter responseWriter,
+            JsonFactory factory,
+            ResponseEncoder encoder,
+            ExceptionHandler exceptionHandler,
+            Logger logger) {
+        this(
+                delegate,
+                requestReader,
+                responseWriter,
+                factory,
+                encoder,
+                exceptionHandler,
+                MetricsRecorder.DISABLED,
+                logger);
+    }
+
+    RequestStreamHandler(
+            Handler<TRequest, TResponse> delegate,
+            ObjectReader requestReader,
+            ObjectWriter responseWriter,
+            JsonFactory factory,
+            ResponseEncoder encoder,
             ExceptionHandler exceptionHandler,
+            MetricsRecorder recorder,
             Logger logger) {
-        this.mapper = mapper;
         this.delegate = delegate;
-        this.requestClazz = requestClazz;
+        this.requestReader = requestReader;
+        this.responseWriter = responseWriter;
+        this.envelopeReader = new RequestEnvelopeReader(factory);
+        this.envelopeWriter = new ResponseEnvelopeWriter(factory);
+        this.encoder = encoder;
         this.exceptionHandler = exceptionHandler;
+        this.recorder = recorder;
+        this.operation = operationName(delegate);
         this.logger = logger;
     }
 
     @Override
     public void handleRequest(InputStream input, OutputStream output, Context context)
             throws IOException {
+        InvocationMetrics metrics = recorder.begin();
+        long mark = metrics.now();
+        String user = null;
         HandlerResponse response;
+        BodyBuffer body = null;
+        byte[] serialized = null;
+        byte[] encoded = null;
         try {
-            HandlerRequest request = mapper.readValue(input, HandlerRequest.class);
-            Subject subject = request.getSubject();
+            RequestEnvelope<TRequest> request = envelopeReader.read(input, requestReader, metrics);
+            mark = metrics.lap(Stage.ENVELOPE, mark);
+            user = request.getSubject().getSubject();
+            metrics.enter(Stage.DELEGATE);
+            TResponse res =
+                    delegate.handle(request.getBody(), request.getSubject(), request.getDetails());
+            mark = metrics.lap(Stage.DELEGATE, mark);
 
-            TRequest req = null;
-            try {
-                if (Void.class != requestClazz) {
-                    req = mapper.readValue(request.getBody(), requestClazz);
+            Page<?> page = res instanceof Page ? (Page<?>) res : null;
+            if (null != page && notModified(page, request.getDetails())) {
+                String eTag = matching(request.getDetails().getHeaders(), page.getETag());
+                HandlerResponse.Builder builder =
+                        HandlerResponse.newBuilder()
+                                .withStatusCode(304)
+                                .withHeader(ETAG_HEADER, null != eTag ? eTag : page.getETag())
+                                .withHeader(EXPOSE_HEADERS_HEADER, ETAG_HEADER);
+                if (encoder.isEnabled()) {
+                    builder.withHeader(VARY_HEADER, ResponseEncoder.ACCEPT_ENCODING);
+                }
+                response = builder.build();
+            } else {
+                HandlerResponse.Builder builder = HandlerResponse.newBuilder().withStatusCode(200);
+                if (null != page && null != page.getSerialized()) {
+                    serialized = page.getSerialized();
+                } else if (null != res) {
+                    BodyBuffer buffer = new BodyBuffer();
+                    metrics.enter(Stage.SERIALIZE);
+                    responseWriter.writeValue(buffer, res);
+                    body = buffer;
+                    mark = metrics.lap(Stage.SERIALIZE, mark);
+                }
+                if (null != page) {
+                    withPageHeaders(builder, page);
+                }
+                if (null != serialized || null != body) {
+                    encoded = encode(builder, request.getDetails(), page, serialized, body);
+                    metrics.lap(Stage.ENCODE, mark);
                 }
-            } catch (JsonProcessingException exception) {
-                throw new BadRequestException("request body contained illegal values", exception);
+                response = builder.build();
             }
-            RequestDetails details = fromHandlerRequest(request);
-            TResponse res = delegate.handle(req, subject, details);
-
-            response =
-                    null != res
-                            ? HandlerResponse.newBuilder()
-                                    .withBody(mapper.writeValueAsString(res))
-                                    .withStatusCode(200)
-                                    .build()
-                            : HandlerResponse.newBuilder().withStatusCode(200).build();
 
         } catch (IOException exception) {
             logger.error(exception.getMessage(), exception);
@@ -84,6 +181,75 @@ public class RequestStreamHandler<TRequest, TResponse>
             response = exceptionHandler.handleException(exception);
         }
         logger.info("request completed with status {}", response.getStatusCode());
-        output.write(mapper.writeValueAsBytes(response));
+        long writing = metrics.now();
+        try {
+            if (null != encoded) {
+                envelopeWriter.writeEncoded(output, response, encoded);
+            } else if (null != serialized) {
+                envelopeWriter.write(output, response, serialized);
+            } else {
+                envelopeWriter.write(output, response, body);
+            }
+        } finally {
+            metrics.lap(Stage.WRITE, writing);
+            recorder.end(metrics, operation, user, response.getStatusCode());
+        }
+    }
+
+    /** Names the operation after its delegate, so ListSavingsHandlerDelegate is ListSavings. */
+    static String operationName(Handler<?, ?> delegate) {
+        String name = delegate.getClass().getSimpleName();
+        return name.endsWith(DELEGATE_SUFFIX)
+                ? name.substring(0, name.length() - DELEGATE_SUFFIX.length())
+                : name;
+    }
+
+    /**
+     * Compresses the body when the request accepts a coding and it is long enough, else null. The
+     * entity tag of a compressed page names its coding, as it no longer tags the identity bytes.
+     */
+    private byte[] encode(
+            HandlerResponse.Builder builder,
+            RequestDetails details,
+            Page<?> page,
+            byte[] serialized,
+            BodyBuffer body)
+            throws IOException {
+        if (encoder.isEnabled()) {
+            builder.withHeader(VARY_HEADER, ResponseEncoder.ACCEPT_ENCODING);
+        }
+        int length = null != serialized ? serialized.length : body.size();
+        ResponseEncoder.Encoding encoding = encoder.negotiate(details.getHeaders(), length);
+        if (null == encoding) {
+            return null;
+        }
+        builder.withHeader(CONTENT_ENCODING_HEADER, encoding.getToken());
+        if (null != page && null != page.getETag()) {
+            builder.withHeader(ETAG_HEADER, encoded(page.getETag(), encoding.getToken()));
+        }
+        return null != serialized
+                ? encoder.encode(encoding, serialized)
+                : encoder.encode(encoding, body.array(), body.size());
+    }
+
+    /** A page answers 304 when its handler said so or the request replays its entity tag. */
+    private static boolean notModified(Page<?> page, RequestDetails details) {
+        return null != page.getETag()
+                && (page.isNotModified() || matches(details.getHeaders(), page.getETag()));
+    }
+
+    private static void withPageHeaders(HandlerResponse.Builder builder, Page<?> page) {
+        List<String> exposed = new ArrayList<>();
+        if (null != page.getCursor()) {
+            builder.withHeader(NEXT_CURSOR_HEADER, page.getCursor());
+            exposed.add(NEXT_CURSOR_HEADER);
+        }
+        if (null != page.getETag()) {
+            builder.withHeader(ETAG_HEADER, page.getETag());
+            exposed.add(ETAG_HEADER);
+        }
+        if (!exposed.isEmpty()) {
+            builder.withHeader(EXPOSE_HEADERS_HEADER, String.join(", ", exposed));
+        }
     }
 }
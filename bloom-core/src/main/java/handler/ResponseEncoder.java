@@ -0,0 +1,149 @@
+package handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses response bodies of at least a threshold size with the best coding the request accepts
+ * in its Accept-Encoding header. Smaller bodies are left as they are, since the coding and its
+ * base64 envelope would cost more than they save. Both codings use the fastest deflate level, which
+ * on list payloads saves nearly as many bytes as the default at a third of the CPU.
+ */
+public class ResponseEncoder {
+
+    public static final int DISABLED = -1;
+
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    public enum Encoding {
+        GZIP("gzip"),
+        DEFLATE("deflate");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String getToken() {
+            return token;
+        }
+    }
+
+    private final int minBytes;
+
+    /** @param minBytes smallest body length to compress, or {@link #DISABLED} */
+    public ResponseEncoder(int minBytes) {
+        if (DISABLED > minBytes) {
+            throw new IllegalArgumentException("minBytes cannot be less than " + DISABLED);
+        }
+        this.minBytes = minBytes;
+    }
+
+    public boolean isEnabled() {
+        return DISABLED != minBytes;
+    }
+
+    /**
+     * Picks the coding for a body of the given length, or null to send it as it is. Of gzip and
+     * deflate the one with the higher quality wins, gzip on a tie; a wildcard covers whichever is
+     * not listed, and a quality of zero refuses a coding.
+     */
+    public Encoding negotiate(Map<String, String> headers, int length) {
+        if (!isEnabled() || length < minBytes || null == headers) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (ACCEPT_ENCODING.equalsIgnoreCase(header.getKey()) && null != header.getValue()) {
+                return negotiate(header.getValue());
+            }
+        }
+        return null;
+    }
+
+    public byte[] encode(Encoding encoding, byte[] body) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream output = wrap(encoding, encoded)) {
+            output.write(body);
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Encodes the first {@code length} characters of {@code body} as UTF-8, then compresses them.
+     */
+    public byte[] encode(Encoding encoding, char[] body, int length) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(length / 4 + 64);
+        try (Writer output = new OutputStreamWriter(wrap(encoding, encoded), UTF_8)) {
+            output.write(body, 0, length);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static OutputStream wrap(Encoding encoding, OutputStream output) throws IOException {
+        if (Encoding.GZIP == encoding) {
+            return new GZIPOutputStream(output, BUFFER_SIZE) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+        }
+        return new DeflaterOutputStream(output, new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                def.end();
+            }
+        };
+    }
+
+    private static Encoding negotiate(String acceptEncoding) {
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (Encoding.GZIP.getToken().equals(name)) {
+                gzip = quality;
+            } else if (Encoding.DEFLATE.getToken().equals(name)) {
+                deflate = quality;
+            } else if ("*".equals(name)) {
+                any = quality;
+            }
+        }
+        gzip = 0 > gzip ? any : gzip;
+        deflate = 0 > deflate ? any : deflate;
+        if (0 >= gzip && 0 >= deflate) {
+            return null;
+        }
+        return gzip >= deflate ? Encoding.GZIP : Encoding.DEFLATE;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,72 @@
+package handler;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import model.HandlerResponse;
+
+/**
+ * Writes the API Gateway proxy response envelope directly to the output stream. A serialized body
+ * is escaped into the envelope straight from its buffer, so it is never held as a string.
+ */
+public class ResponseEnvelopeWriter {
+
+    private final JsonFactory factory;
+
+    public ResponseEnvelopeWriter(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    public void write(OutputStream output, HandlerResponse response) throws IOException {
+        write(output, response, (BodyBuffer) null);
+    }
+
+    void write(OutputStream output, HandlerResponse response, BodyBuffer body) throws IOException {
+        try (JsonGenerator generator = start(output, response)) {
+            if (null != body) {
+                generator.writeFieldName("body");
+                generator.writeString(body.array(), 0, body.size());
+            } else if (null != response.getBody()) {
+                generator.writeStringField("body", response.getBody());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /** Writes a body that is already serialized as UTF-8, escaping it without decoding it. */
+    void write(OutputStream output, HandlerResponse response, byte[] body) throws IOException {
+        try (JsonGenerator generator = start(output, response)) {
+            generator.writeFieldName("body");
+            generator.writeUTF8String(body, 0, body.length);
+            generator.writeEndObject();
+        }
+    }
+
+    /** Writes a compressed body as base64, flagging it so API Gateway decodes it to binary. */
+    void writeEncoded(OutputStream output, HandlerResponse response, byte[] encoded)
+            throws IOException {
+        try (JsonGenerator generator = start(output, response)) {
+            generator.writeBooleanField("isBase64Encoded", true);
+            generator.writeFieldName("body");
+            generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, encoded, 0, encoded.length);
+            generator.writeEndObject();
+        }
+    }
+
+    private JsonGenerator start(OutputStream output, HandlerResponse response) throws IOException {
+        JsonGenerator generator = factory.createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeNumberField("statusCode", response.getStatusCode());
+        generator.writeObjectFieldStart("headers");
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            generator.writeStringField(header.getKey(), header.getValue());
+        }
+        generator.writeEndObject();
+        return generator;
+    }
+}
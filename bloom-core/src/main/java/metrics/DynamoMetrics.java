@@ -0,0 +1,48 @@
+package metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The latency, retries and consumed capacity of every DynamoDB operation the clients given it have
+ * called, keyed by operation name such as TransactWriteItems. The functions' clients are given the
+ * disabled instance, which keeps nothing, as each invocation's record already carries its calls.
+ */
+public class DynamoMetrics {
+
+    public static final DynamoMetrics DISABLED = new DynamoMetrics(false);
+
+    private final boolean enabled;
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    public DynamoMetrics() {
+        this(true);
+    }
+
+    private DynamoMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void record(
+            String operation, long nanos, int retries, double consumedCapacity, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        operations
+                .computeIfAbsent(operation, name -> new OperationMetrics())
+                .record(nanos, retries, consumedCapacity, failed);
+    }
+
+    /** Returns the metrics of the operation, or null when it has not been called. */
+    public OperationMetrics getOperation(String operation) {
+        return operations.get(operation);
+    }
+
+    public Map<String, OperationMetrics> getOperations() {
+        return Map.copyOf(operations);
+    }
+}
@@ -0,0 +1,108 @@
+package metrics;
+
+import java.util.Collection;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+/**
+ * Times each DynamoDB call, retries included, and counts the attempts it took and the capacity
+ * units its response reports. Every call is added to the invocation that made it as the {@link
+ * Stage#DYNAMO} stage, and to the given {@link DynamoMetrics} under its operation. The invocation
+ * is captured when the call starts, so a call completed on another thread is still counted against
+ * it. Calls stopped before they were sent, such as priming ones, are not counted.
+ */
+public class DynamoMetricsInterceptor implements ExecutionInterceptor {
+
+    private static final String CONSUMED_CAPACITY_FIELD = "ConsumedCapacity";
+
+    private static final ExecutionAttribute<InvocationMetrics> METRICS =
+            new ExecutionAttribute<>("BloomInvocationMetrics");
+    private static final ExecutionAttribute<Long> STARTED_AT =
+            new ExecutionAttribute<>("BloomDynamoStartedAt");
+    private static final ExecutionAttribute<Integer> ATTEMPTS =
+            new ExecutionAttribute<>("BloomDynamoAttempts");
+
+    private final DynamoMetrics dynamoMetrics;
+
+    public DynamoMetricsInterceptor(DynamoMetrics dynamoMetrics) {
+        this.dynamoMetrics = dynamoMetrics;
+    }
+
+    @Override
+    public void beforeExecution(
+            Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(METRICS, InvocationMetrics.current());
+        executionAttributes.putAttribute(STARTED_AT, System.nanoTime());
+        executionAttributes.putAttribute(ATTEMPTS, 0);
+    }
+
+    @Override
+    public void beforeTransmission(
+            Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        if (null != attempts) {
+            executionAttributes.putAttribute(ATTEMPTS, attempts + 1);
+        }
+    }
+
+    @Override
+    public void afterExecution(
+            Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, consumedCapacity(context.response()), false);
+    }
+
+    @Override
+    public void onExecutionFailure(
+            Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        record(executionAttributes, 0, true);
+    }
+
+    private void record(
+            ExecutionAttributes executionAttributes, double consumedCapacity, boolean failed) {
+        Integer attempts = executionAttributes.getAttribute(ATTEMPTS);
+        if (null == attempts || 0 == attempts) {
+            return;
+        }
+        long startedAt = executionAttributes.getAttribute(STARTED_AT);
+        int retries = attempts - 1;
+        dynamoMetrics.record(
+                executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME),
+                System.nanoTime() - startedAt,
+                retries,
+                consumedCapacity,
+                failed);
+
+        InvocationMetrics metrics = executionAttributes.getAttribute(METRICS);
+        if (metrics.isEnabled()) {
+            metrics.addDynamoCall(startedAt, retries, consumedCapacity);
+        }
+    }
+
+    /** Sums the capacity units in the response, which reports one or one per table. */
+    static double consumedCapacity(SdkResponse response) {
+        if (null == response) {
+            return 0;
+        }
+        Object reported =
+                response.getValueForField(CONSUMED_CAPACITY_FIELD, Object.class).orElse(null);
+        if (reported instanceof ConsumedCapacity) {
+            return units((ConsumedCapacity) reported);
+        }
+        double units = 0;
+        if (reported instanceof Collection) {
+            for (Object capacity : (Collection<?>) reported) {
+                units += units((ConsumedCapacity) capacity);
+            }
+        }
+        return units;
+    }
+
+    private static double units(ConsumedCapacity capacity) {
+        return null != capacity.capacityUnits() ? capacity.capacityUnits() : 0;
+    }
+}
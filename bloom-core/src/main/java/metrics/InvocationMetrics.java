@@ -0,0 +1,145 @@
+package metrics;
+
+/**
+ * The time each stage of one invocation took, and the bytes its thread allocated. Each thread
+ * reuses one instance across its invocations, so timing a stage reads the clock and adds to an
+ * array without allocating. The disabled instance never reads the clock.
+ */
+public final class InvocationMetrics {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    public static final InvocationMetrics DISABLED = new InvocationMetrics(false);
+    private static final ThreadLocal<InvocationMetrics> CURRENT =
+            ThreadLocal.withInitial(() -> new InvocationMetrics(true));
+
+    private final boolean enabled;
+    private final long[] nanos = new long[STAGES.length];
+    private final long[] nestedNanos = new long[STAGES.length];
+    private final int[] counts = new int[STAGES.length];
+    private volatile Stage entered;
+    private boolean active;
+    private long startedAt;
+    private long totalNanos;
+    private int retries;
+    private double consumedCapacity;
+    private long allocatedAtStart;
+    private long allocatedBytes = -1;
+
+    private InvocationMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a new invocation on this thread, given the bytes the thread has allocated so
+     * far, or -1 when they are not sampled.
+     */
+    static InvocationMetrics begin(long allocatedBytes) {
+        InvocationMetrics metrics = CURRENT.get();
+        for (int i = 0; i < STAGES.length; i++) {
+            metrics.nanos[i] = 0;
+            metrics.nestedNanos[i] = 0;
+            metrics.counts[i] = 0;
+        }
+        metrics.entered = null;
+        metrics.totalNanos = 0;
+        metrics.retries = 0;
+        metrics.consumedCapacity = 0;
+        metrics.allocatedAtStart = allocatedBytes;
+        metrics.allocatedBytes = -1;
+        metrics.active = true;
+        metrics.startedAt = System.nanoTime();
+        return metrics;
+    }
+
+    /** Returns the invocation being timed on this thread, or the disabled instance when none is. */
+    public static InvocationMetrics current() {
+        InvocationMetrics metrics = CURRENT.get();
+        return metrics.active ? metrics : DISABLED;
+    }
+
+    void end(long allocatedBytes) {
+        totalNanos = System.nanoTime() - startedAt;
+        if (0 <= allocatedAtStart && 0 <= allocatedBytes) {
+            this.allocatedBytes = allocatedBytes - allocatedAtStart;
+        }
+        active = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Reads the clock, or returns zero when disabled. */
+    public long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /** Marks the stage the invocation is now in, to which DynamoDB calls made from here belong. */
+    public void enter(Stage stage) {
+        entered = stage;
+    }
+
+    /** Adds the time since the given reading to the stage and returns the current reading. */
+    public long lap(Stage stage, long since) {
+        return lap(stage, stage.getParent(), since);
+    }
+
+    private long lap(Stage stage, Stage parent, long since) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        nanos[stage.ordinal()] += now - since;
+        counts[stage.ordinal()]++;
+        if (null != parent) {
+            nestedNanos[parent.ordinal()] += now - since;
+        }
+        return now;
+    }
+
+    /**
+     * Adds a DynamoDB call started at the given reading, with the retries it took and the capacity
+     * units it consumed, nested in the stage last entered. Calls can end on several threads at
+     * once.
+     */
+    public synchronized void addDynamoCall(long since, int retries, double consumedCapacity) {
+        lap(Stage.DYNAMO, entered, since);
+        this.retries += retries;
+        this.consumedCapacity += consumedCapacity;
+    }
+
+    /** The time spent in the stage, including the stages nested in it. */
+    public long getNanos(Stage stage) {
+        return nanos[stage.ordinal()];
+    }
+
+    /** The time spent in the stage, excluding the stages nested in it. */
+    public long getSelfNanos(Stage stage) {
+        return nanos[stage.ordinal()] - nestedNanos[stage.ordinal()];
+    }
+
+    /** The number of times the stage was timed. */
+    public int getCount(Stage stage) {
+        return counts[stage.ordinal()];
+    }
+
+    /** The retries the invocation's DynamoDB calls took. */
+    public int getRetries() {
+        return retries;
+    }
+
+    /** The capacity units the invocation's DynamoDB calls consumed. */
+    public double getConsumedCapacity() {
+        return consumedCapacity;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /** The bytes the invoking thread allocated, or -1 when they were not sampled. */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
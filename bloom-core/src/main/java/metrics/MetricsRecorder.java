@@ -0,0 +1,166 @@
+package metrics;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Times invocations and writes one record for each to standard output in the CloudWatch embedded
+ * metric format, so the Lambda runtime's log stream turns them into metrics with no API call. The
+ * record carries the time of every stage in microseconds, the number of DynamoDB calls and, when
+ * sampled, the bytes the invoking thread allocated, under the operation's dimension.
+ *
+ * <p>Allocation is read from the JVM's per-thread counter, so bytes allocated by other threads on
+ * the invocation's behalf, such as those of an asynchronous client, are not counted.
+ */
+public class MetricsRecorder {
+
+    static final String NAMESPACE = "Bloom";
+    static final String DIMENSION = "Operation";
+    static final String TOTAL_METRIC = "TotalTime";
+    static final String CALLS_METRIC = "DynamoCalls";
+    static final String RETRIES_METRIC = "DynamoRetries";
+    static final String CAPACITY_METRIC = "ConsumedCapacity";
+    static final String ALLOCATION_METRIC = "AllocatedBytes";
+
+    private static final Stage[] STAGES = Stage.values();
+
+    public static final MetricsRecorder DISABLED = new MetricsRecorder(false, false, null);
+
+    private final boolean enabled;
+    private final com.sun.management.ThreadMXBean threads;
+    private final PrintStream out;
+    private final String declaration;
+
+    /**
+     * @param sampleAllocation whether to read the bytes each invocation allocates, when the JVM can
+     *     count them
+     * @param out where records are written, one per line
+     */
+    public MetricsRecorder(boolean enabled, boolean sampleAllocation, PrintStream out) {
+        this.enabled = enabled;
+        this.threads = enabled && sampleAllocation ? allocationCounter() : null;
+        this.out = out;
+        this.declaration = declaration(null != threads);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts timing an invocation on this thread, or returns the disabled metrics when off. */
+    public InvocationMetrics begin() {
+        if (!enabled) {
+            return InvocationMetrics.DISABLED;
+        }
+        return InvocationMetrics.begin(allocatedBytes());
+    }
+
+    /**
+     * Stops timing the invocation and writes its record.
+     *
+     * @param user the subject the invocation was made for, or null when it is not known
+     */
+    public void end(InvocationMetrics metrics, String operation, String user, int statusCode) {
+        if (!metrics.isEnabled()) {
+            return;
+        }
+        metrics.end(allocatedBytes());
+
+        StringBuilder record = new StringBuilder(512);
+        record.append("{\"_aws\":{\"Timestamp\":")
+                .append(System.currentTimeMillis())
+                .append(declaration)
+                .append(",\"")
+                .append(DIMENSION)
+                .append("\":\"")
+                .append(operation)
+                .append("\",\"StatusCode\":")
+                .append(statusCode);
+        if (null != user) {
+            appendString(record.append(",\"User\":"), user);
+        }
+        for (Stage stage : STAGES) {
+            append(record, stage.getMetricName(), metrics.getSelfNanos(stage) / 1000);
+        }
+        append(record, TOTAL_METRIC, metrics.getTotalNanos() / 1000);
+        append(record, CALLS_METRIC, metrics.getCount(Stage.DYNAMO));
+        append(record, RETRIES_METRIC, metrics.getRetries());
+        record.append(",\"")
+                .append(CAPACITY_METRIC)
+                .append("\":")
+                .append(metrics.getConsumedCapacity());
+        if (0 <= metrics.getAllocatedBytes()) {
+            append(record, ALLOCATION_METRIC, metrics.getAllocatedBytes());
+        }
+        out.println(record.append('}'));
+    }
+
+    private static void append(StringBuilder record, String name, long value) {
+        record.append(",\"").append(name).append("\":").append(value);
+    }
+
+    /** Appends the value as a JSON string, escaping what a subject could hold. */
+    private static void appendString(StringBuilder record, String value) {
+        record.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ('"' == c || '\\' == c) {
+                record.append('\\').append(c);
+            } else if (c < 0x20) {
+                record.append(String.format("\\u%04x", (int) c));
+            } else {
+                record.append(c);
+            }
+        }
+        record.append('"');
+    }
+
+    private long allocatedBytes() {
+        return null != threads
+                ? threads.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    /** The part of the metadata naming the metrics, which is the same in every record. */
+    private static String declaration(boolean sampleAllocation) {
+        StringBuilder metrics = new StringBuilder();
+        for (Stage stage : STAGES) {
+            metrics.append(metric(stage.getMetricName(), "Microseconds")).append(',');
+        }
+        metrics.append(metric(TOTAL_METRIC, "Microseconds"))
+                .append(',')
+                .append(metric(CALLS_METRIC, "Count"))
+                .append(',')
+                .append(metric(RETRIES_METRIC, "Count"))
+                .append(',')
+                .append(metric(CAPACITY_METRIC, "Count"));
+        if (sampleAllocation) {
+            metrics.append(',').append(metric(ALLOCATION_METRIC, "Bytes"));
+        }
+        return ",\"CloudWatchMetrics\":[{\"Namespace\":\""
+                + NAMESPACE
+                + "\",\"Dimensions\":[[\""
+                + DIMENSION
+                + "\"]],\"Metrics\":["
+                + metrics
+                + "]}]}";
+    }
+
+    private static String metric(String name, String unit) {
+        return "{\"Name\":\"" + name + "\",\"Unit\":\"" + unit + "\"}";
+    }
+
+    /** The JVM's per-thread allocation counter, or null when it cannot count. */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
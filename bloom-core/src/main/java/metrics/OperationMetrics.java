@@ -0,0 +1,46 @@
+package metrics;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/** What the calls of one DynamoDB operation have taken since the process started. */
+public final class OperationMetrics {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final DoubleAdder consumedCapacity = new DoubleAdder();
+
+    void record(long nanos, int retries, double consumedCapacity, boolean failed) {
+        latency.record(nanos);
+        calls.increment();
+        if (failed) {
+            failures.increment();
+        }
+        this.retries.add(retries);
+        this.consumedCapacity.add(consumedCapacity);
+    }
+
+    /** The time each call took in nanoseconds, retries included. */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /** The capacity units consumed, as reported by DynamoDB. */
+    public double getConsumedCapacity() {
+        return consumedCapacity.sum();
+    }
+}
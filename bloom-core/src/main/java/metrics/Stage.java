@@ -0,0 +1,33 @@
+package metrics;
+
+/**
+ * A stage of an invocation. A stage nested in another is timed within it, and reported separately
+ * so that the time of each stage excludes that of the stages nested in it. DynamoDB calls have no
+ * fixed parent, as lazily read lists are queried while they are serialised. They are nested in
+ * whichever stage the invocation has entered.
+ */
+public enum Stage {
+    ENVELOPE("EnvelopeTime", null),
+    BODY("BodyTime", ENVELOPE),
+    DELEGATE("DelegateTime", null),
+    DYNAMO("DynamoTime", null),
+    SERIALIZE("SerializeTime", null),
+    ENCODE("EncodeTime", null),
+    WRITE("WriteTime", null);
+
+    private final String metricName;
+    private final Stage parent;
+
+    Stage(String metricName, Stage parent) {
+        this.metricName = metricName;
+        this.parent = parent;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public Stage getParent() {
+        return parent;
+    }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import static util.ObjectValidator.checkNull;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * How a debt is paid off: the month it is cleared and the total interest paid, and the balance,
+ * interest and payment of every month from its start date. Amounts are in minor units; a debt that
+ * is never paid off has no payoff month or total interest.
+ */
+@JsonSerialize(using = Amortisation.Serializer.class)
+public class Amortisation {
+
+    public static final int NEVER = -1;
+
+    private final Name name;
+    private final Date startDate;
+    private final int payoffMonth;
+    private final long totalInterest;
+    private final long[] balances;
+    private final long[] interest;
+    private final long[] payments;
+
+    /**
+     * @param payoffMonth months from the start date to the month the debt is cleared, or {@link
+     *     #NEVER}
+     */
+    public Amortisation(
+            Name name,
+            Date startDate,
+            int payoffMonth,
+            long totalInterest,
+            long[] balances,
+            long[] interest,
+            long[] payments) {
+        checkNull(name, "name");
+        checkNull(startDate, "startDate");
+        checkNull(balances, "balances");
+        checkNull(interest, "interest");
+        checkNull(payments, "payments");
+        this.name = name;
+        this.startDate = startDate;
+        this.payoffMonth = payoffMonth;
+        this.totalInterest = totalInterest;
+        this.balances = balances;
+        this.interest = interest;
+        this.payments = payments;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public boolean isPaidOff() {
+        return NEVER != payoffMonth;
+    }
+
+    public int getPayoffMonth() {
+        return payoffMonth;
+    }
+
+    public long getTotalInterest() {
+        return totalInterest;
+    }
+
+    public long[] getBalances() {
+        return balances;
+    }
+
+    public long[] getInterest() {
+        return interest;
+    }
+
+    public long[] getPayments() {
+        return payments;
+    }
+
+    /** Writes the schedule straight from the arrays, in the same string form as {@link Amount}. */
+    static class Serializer extends StdSerializer<Amortisation> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(Amortisation.class);
+        }
+
+        @Override
+        public void serialize(
+                Amortisation value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("name", value.name.getName());
+            generator.writeStringField("startDate", value.startDate.toString());
+            if (value.isPaidOff()) {
+                generator.writeStringField(
+                        "payoffDate",
+                        CompactDate.format(CompactDate.of(value.startDate) + value.payoffMonth));
+                generator.writeStringField("totalInterest", format(value.totalInterest));
+            }
+            writeAmounts(generator, "balances", value.balances);
+            writeAmounts(generator, "interest", value.interest);
+            writeAmounts(generator, "payments", value.payments);
+            generator.writeEndObject();
+        }
+
+        private static void writeAmounts(JsonGenerator generator, String name, long[] amounts)
+                throws IOException {
+            generator.writeArrayFieldStart(name);
+            for (long amount : amounts) {
+                generator.writeString(format(amount));
+            }
+            generator.writeEndArray();
+        }
+
+        private static String format(long minorUnits) {
+            return CompactAmount.format(CompactAmount.ofMinorUnits(minorUnits));
+        }
+    }
+}
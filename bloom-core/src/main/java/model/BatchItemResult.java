@@ -0,0 +1,24 @@
+package model;
+
+import static util.ObjectValidator.checkNull;
+
+public class BatchItemResult {
+
+    private final String name;
+    private final WriteStatus status;
+
+    public BatchItemResult(String name, WriteStatus status) {
+        checkNull(name, "name");
+        checkNull(status, "status");
+        this.name = name;
+        this.status = status;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public WriteStatus getStatus() {
+        return status;
+    }
+}
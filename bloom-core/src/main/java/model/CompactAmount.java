@@ -0,0 +1,63 @@
+package model;
+
+import static util.StringValidator.checkNullOrEmpty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import util.FixedPoint;
+
+/**
+ * Amounts as a packed {@code long} in minor units, for code that works on many of them at once.
+ * Parsing accepts what {@link Amount} accepts and fails with the same errors, and formatting gives
+ * back the string {@link Amount} would have written. Amounts with more than two decimal places, or
+ * written with a positive exponent such as {@code "1e2"}, have no packed form.
+ */
+public class CompactAmount {
+
+    private static final FixedPoint POINT = FixedPoint.HUNDREDTHS;
+
+    private CompactAmount() {}
+
+    public static long parse(String amount) {
+        checkNullOrEmpty(amount, "amount");
+        long packed = POINT.tryPack(amount);
+        return Long.MIN_VALUE != packed ? packed : of(new Amount(amount));
+    }
+
+    public static long of(Amount amount) {
+        return POINT.pack(amount.getAmount(), "amount");
+    }
+
+    /**
+     * Returns the amount in minor units, rounded half even if it has more decimal places.
+     *
+     * @throws ArithmeticException if the amount in minor units does not fit in a {@code long}
+     */
+    public static long toMinorUnits(Amount amount) {
+        BigDecimal value = amount.getAmount();
+        long packed = POINT.tryPack(value);
+        if (Long.MIN_VALUE != packed) {
+            return minorUnits(packed);
+        }
+        return value.setScale(POINT.getScale(), RoundingMode.HALF_EVEN)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /** Packs an amount held in minor units, so it formats with two decimal places. */
+    public static long ofMinorUnits(long minorUnits) {
+        return POINT.ofUnits(minorUnits);
+    }
+
+    public static long minorUnits(long amount) {
+        return POINT.units(amount);
+    }
+
+    public static String format(long amount) {
+        return POINT.format(amount);
+    }
+
+    public static Amount toAmount(long amount) {
+        return new Amount(format(amount));
+    }
+}
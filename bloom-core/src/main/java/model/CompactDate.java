@@ -0,0 +1,82 @@
+package model;
+
+import static util.StringValidator.checkNullOrEmpty;
+
+import java.time.YearMonth;
+
+/**
+ * Dates as an {@code int} count of months since January 1970, for code that works on many of them
+ * at once. Parsing accepts exactly what {@link Date} accepts and fails with the same errors, and
+ * formatting gives back the string {@link Date} would have written.
+ */
+public class CompactDate {
+
+    static final int FIRST_YEAR = 1970;
+    static final int LAST_YEAR = 2050;
+
+    private CompactDate() {}
+
+    public static int parse(String date) {
+        checkNullOrEmpty(date, "date");
+        if (7 == date.length() && '-' == date.charAt(4)) {
+            int year = digits(date, 0, 4);
+            int month = digits(date, 5, 7);
+            if (FIRST_YEAR <= year && LAST_YEAR >= year && 1 <= month && 12 >= month) {
+                return of(year, month);
+            }
+        }
+        return of(new Date(date));
+    }
+
+    public static int of(Date date) {
+        YearMonth yearMonth = date.getDate();
+        return of(yearMonth.getYear(), yearMonth.getMonthValue());
+    }
+
+    public static int of(int year, int month) {
+        return (year - FIRST_YEAR) * 12 + month - 1;
+    }
+
+    public static int year(int date) {
+        return FIRST_YEAR + date / 12;
+    }
+
+    public static int month(int date) {
+        return date % 12 + 1;
+    }
+
+    public static String format(int date) {
+        int year = year(date);
+        int month = month(date);
+        return new String(
+                new char[] {
+                    (char) ('0' + year / 1000),
+                    (char) ('0' + year / 100 % 10),
+                    (char) ('0' + year / 10 % 10),
+                    (char) ('0' + year % 10),
+                    '-',
+                    (char) ('0' + month / 10),
+                    (char) ('0' + month % 10)
+                });
+    }
+
+    public static YearMonth toYearMonth(int date) {
+        return YearMonth.of(year(date), month(date));
+    }
+
+    public static Date toDate(int date) {
+        return new Date(format(date));
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if ('0' > c || '9' < c) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package model;
+
+import static util.StringValidator.checkNullOrEmpty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import util.FixedPoint;
+
+/**
+ * Rates as a packed {@code long} in ten-thousandths of a percent, for code that works on many of
+ * them at once. Parsing accepts what {@link Rate} accepts and fails with the same errors, and
+ * formatting gives back the string {@link Rate} would have written. Rates with more than four
+ * decimal places, or written with a positive exponent such as {@code "1e2"}, have no packed form.
+ */
+public class CompactRate {
+
+    private static final FixedPoint POINT = FixedPoint.TEN_THOUSANDTHS;
+
+    private CompactRate() {}
+
+    public static long parse(String rate) {
+        checkNullOrEmpty(rate, "rate");
+        long packed = POINT.tryPack(rate);
+        return Long.MIN_VALUE != packed ? packed : of(new Rate(rate));
+    }
+
+    public static long of(Rate rate) {
+        return POINT.pack(rate.getRate(), "rate");
+    }
+
+    /** Returns the rate in ten-thousandths of a percent, so 3.875% is 38750. */
+    public static long scaled(long rate) {
+        return POINT.units(rate);
+    }
+
+    /**
+     * Returns the rate in ten-thousandths of a percent, rounded half even if it has more decimal
+     * places.
+     *
+     * @throws ArithmeticException if the scaled rate does not fit in a {@code long}
+     */
+    public static long toScaled(Rate rate) {
+        BigDecimal value = rate.getRate();
+        long packed = POINT.tryPack(value);
+        if (Long.MIN_VALUE != packed) {
+            return scaled(packed);
+        }
+        return value.setScale(POINT.getScale(), RoundingMode.HALF_EVEN)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    public static String format(long rate) {
+        return POINT.format(rate);
+    }
+
+    public static Rate toRate(long rate) {
+        return new Rate(format(rate));
+    }
+}
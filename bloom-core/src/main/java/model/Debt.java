@@ -25,17 +25,32 @@ public class Debt {
     private final Rate yearlyRate;
     private final List<Adjustment> adjustments;
     private final List<OneTimePayment> oneTimePayments;
+    private final Long version;
 
     public Debt(Builder builder) {
-        validateDebt(builder);
+        this(builder, false);
+    }
+
+    private Debt(Builder builder, boolean partial) {
+        if (partial) {
+            checkNull(builder.name, "name");
+        } else {
+            validateDebt(builder);
+        }
         this.name = builder.name;
         this.startAmount = builder.startAmount;
         this.monthlyAmount = builder.monthlyAmount;
         this.startDate = builder.startDate;
         this.yearlyRate = builder.yearlyRate;
-        this.adjustments = null != builder.adjustments ? copyOf(builder.adjustments) : List.of();
+        this.adjustments =
+                null != builder.adjustments
+                        ? copyOf(builder.adjustments)
+                        : partial ? null : List.of();
         this.oneTimePayments =
-                null != builder.oneTimePayments ? copyOf(builder.oneTimePayments) : List.of();
+                null != builder.oneTimePayments
+                        ? copyOf(builder.oneTimePayments)
+                        : partial ? null : List.of();
+        this.version = builder.version;
     }
 
     private static void validateDebt(Builder builder) {
@@ -45,6 +60,10 @@ public class Debt {
         checkNull(builder.startDate, "startDate");
         checkNull(builder.yearlyRate, "yearlyRate");
 
+        if (null != builder.version && 0 > builder.version) {
+            throw new IllegalArgumentException("version cannot be negative");
+        }
+
         if (1 > builder.startAmount.getAmount().compareTo(BigDecimal.ZERO)) {
             throw new IllegalArgumentException("startAmount must be greater than 0");
         }
@@ -92,6 +111,29 @@ public class Debt {
         return oneTimePayments;
     }
 
+    /**
+     * The version of the stored item, zero when it was written before versions were kept, or null
+     * when it was not asked for or not sent. An update carrying the version it was based on only
+     * applies while the item is still at it; one carrying none applies whatever the item is at.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /** A copy of this debt at the given version. */
+    public Debt withVersion(Long version) {
+        return newBuilder()
+                .withName(name)
+                .withStartAmount(startAmount)
+                .withMonthlyAmount(monthlyAmount)
+                .withStartDate(startDate)
+                .withYearlyRate(yearlyRate)
+                .withAdjustments(adjustments)
+                .withOneTimePayments(oneTimePayments)
+                .withVersion(version)
+                .build();
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -106,6 +148,7 @@ public class Debt {
         private Rate yearlyRate;
         private List<Adjustment> adjustments;
         private List<OneTimePayment> oneTimePayments;
+        private Long version;
 
         private Builder() {}
 
@@ -144,8 +187,21 @@ public class Debt {
             return this;
         }
 
+        public Builder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public Debt build() {
             return new Debt(this);
         }
+
+        /**
+         * Builds a debt holding only the attributes that were set, for a list that asked for some
+         * fields. Only the name is checked, so it must never be stored.
+         */
+        public Debt buildPartial() {
+            return new Debt(this, true);
+        }
     }
 }
@@ -21,7 +21,7 @@ public class HandlerResponse {
 
         headers.put("Content-Type", "application/json");
         headers.put("Access-Control-Allow-Origin", "*");
-        headers.put("Access-Control-Allow-Methods", "GET, POST, OPTIONS, PUT, DELETE");
+        headers.put("Access-Control-Allow-Methods", "GET, POST, OPTIONS, PUT, PATCH, DELETE");
     }
 
     public int getStatusCode() {
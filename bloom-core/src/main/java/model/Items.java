@@ -0,0 +1,27 @@
+package model;
+
+import static util.ObjectValidator.checkNull;
+
+import java.util.List;
+
+/** Every saving and debt a user holds. */
+public class Items {
+
+    private final List<Saving> savings;
+    private final List<Debt> debts;
+
+    public Items(List<Saving> savings, List<Debt> debts) {
+        checkNull(savings, "savings");
+        checkNull(debts, "debts");
+        this.savings = savings;
+        this.debts = debts;
+    }
+
+    public List<Saving> getSavings() {
+        return savings;
+    }
+
+    public List<Debt> getDebts() {
+        return debts;
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import static util.ObjectValidator.checkNull;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/**
+ * Month-end totals of every saving and debt a user holds, in minor units, starting from the
+ * earliest start date. The start date is null when the user holds nothing.
+ */
+@JsonSerialize(using = NetWorth.Serializer.class)
+public class NetWorth {
+
+    private final Date startDate;
+    private final long[] savings;
+    private final long[] debts;
+    private final long[] netWorth;
+
+    public NetWorth(Date startDate, long[] savings, long[] debts, long[] netWorth) {
+        checkNull(savings, "savings");
+        checkNull(debts, "debts");
+        checkNull(netWorth, "netWorth");
+        this.startDate = startDate;
+        this.savings = savings;
+        this.debts = debts;
+        this.netWorth = netWorth;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public long[] getSavings() {
+        return savings;
+    }
+
+    public long[] getDebts() {
+        return debts;
+    }
+
+    public long[] getNetWorth() {
+        return netWorth;
+    }
+
+    /** Writes each series straight from its array, in the same string form as {@link Amount}. */
+    static class Serializer extends StdSerializer<NetWorth> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(NetWorth.class);
+        }
+
+        @Override
+        public void serialize(NetWorth value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            if (null != value.startDate) {
+                generator.writeStringField("startDate", value.startDate.toString());
+            }
+            writeAmounts(generator, "savings", value.savings);
+            writeAmounts(generator, "debts", value.debts);
+            writeAmounts(generator, "netWorth", value.netWorth);
+            generator.writeEndObject();
+        }
+
+        private static void writeAmounts(JsonGenerator generator, String name, long[] amounts)
+                throws IOException {
+            generator.writeArrayFieldStart(name);
+            for (long amount : amounts) {
+                generator.writeString(CompactAmount.format(CompactAmount.ofMinorUnits(amount)));
+            }
+            generator.writeEndArray();
+        }
+    }
+}
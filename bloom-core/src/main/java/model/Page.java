@@ -0,0 +1,61 @@
+package model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public class Page<T> {
+
+    private final Iterable<T> items;
+    private final String cursor;
+    private final byte[] serialized;
+    private final String eTag;
+    private final boolean notModified;
+
+    public Page(Iterable<T> items, String cursor) {
+        this(items, cursor, null, null, false);
+    }
+
+    private Page(
+            Iterable<T> items, String cursor, byte[] serialized, String eTag, boolean notModified) {
+        this.items = items;
+        this.cursor = cursor;
+        this.serialized = serialized;
+        this.eTag = eTag;
+        this.notModified = notModified;
+    }
+
+    /** A page without a cursor whose items are already serialized, as UTF-8 JSON. */
+    public static <T> Page<T> serialized(byte[] json) {
+        return new Page<>(null, null, json, null, false);
+    }
+
+    /** A page without items, answering a request whose validator still matches the data. */
+    public static <T> Page<T> notModified(String eTag) {
+        return new Page<>(null, null, null, eTag, true);
+    }
+
+    /** A copy of this page carrying the given strong entity tag. */
+    public Page<T> withETag(String eTag) {
+        return new Page<>(items, cursor, serialized, eTag, notModified);
+    }
+
+    @JsonValue
+    public Iterable<T> getItems() {
+        return items;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public byte[] getSerialized() {
+        return serialized;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public boolean isNotModified() {
+        return notModified;
+    }
+}
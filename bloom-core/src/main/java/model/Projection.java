@@ -0,0 +1,64 @@
+package model;
+
+import static util.ObjectValidator.checkNull;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+/** Month-end balances of a saving in minor units, starting from its start date. */
+@JsonSerialize(using = Projection.Serializer.class)
+public class Projection {
+
+    private final Name name;
+    private final Date startDate;
+    private final long[] balances;
+
+    public Projection(Name name, Date startDate, long[] balances) {
+        checkNull(name, "name");
+        checkNull(startDate, "startDate");
+        checkNull(balances, "balances");
+        this.name = name;
+        this.startDate = startDate;
+        this.balances = balances;
+    }
+
+    public Name getName() {
+        return name;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public long[] getBalances() {
+        return balances;
+    }
+
+    /** Writes the balances straight from the array, in the same string form as {@link Amount}. */
+    static class Serializer extends StdSerializer<Projection> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(Projection.class);
+        }
+
+        @Override
+        public void serialize(
+                Projection value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("name", value.name.getName());
+            generator.writeStringField("startDate", value.startDate.toString());
+            generator.writeArrayFieldStart("balances");
+            for (long balance : value.balances) {
+                generator.writeString(CompactAmount.format(CompactAmount.ofMinorUnits(balance)));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
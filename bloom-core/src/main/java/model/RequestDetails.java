@@ -10,27 +10,26 @@ public class RequestDetails {
     private final Map<String, String> pathParameters;
     private final Map<String, String> headers;
 
-    private RequestDetails(
-            String httpMethod,
-            String path,
-            Map<String, String> queryStringParameters,
-            Map<String, String> pathParameters,
-            Map<String, String> headers) {
-        this.httpMethod = httpMethod;
-        this.path = path;
+    private RequestDetails(Builder builder) {
+        this.httpMethod = builder.httpMethod;
+        this.path = builder.path;
         this.queryStringParameters =
-                null != queryStringParameters ? Map.copyOf(queryStringParameters) : Map.of();
-        this.pathParameters = null != pathParameters ? Map.copyOf(pathParameters) : Map.of();
-        this.headers = null != headers ? Map.copyOf(headers) : Map.of();
+                null != builder.queryStringParameters
+                        ? Map.copyOf(builder.queryStringParameters)
+                        : Map.of();
+        this.pathParameters =
+                null != builder.pathParameters ? Map.copyOf(builder.pathParameters) : Map.of();
+        this.headers = null != builder.headers ? Map.copyOf(builder.headers) : Map.of();
     }
 
     public static RequestDetails fromHandlerRequest(HandlerRequest request) {
-        return new RequestDetails(
-                request.getHttpMethod(),
-                request.getPath(),
-                request.getQueryStringParameters(),
-                request.getPathParameters(),
-                request.getHeaders());
+        return newBuilder()
+                .withHttpMethod(request.getHttpMethod())
+                .withPath(request.getPath())
+                .withQueryStringParameters(request.getQueryStringParameters())
+                .withPathParameters(request.getPathParameters())
+                .withHeaders(request.getHeaders())
+                .build();
     }
 
     public String getHttpMethod() {
@@ -52,4 +51,47 @@ public class RequestDetails {
     public Map<String, String> getHeaders() {
         return headers;
     }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String httpMethod;
+        private String path;
+        private Map<String, String> queryStringParameters;
+        private Map<String, String> pathParameters;
+        private Map<String, String> headers;
+
+        private Builder() {}
+
+        public Builder withHttpMethod(String httpMethod) {
+            this.httpMethod = httpMethod;
+            return this;
+        }
+
+        public Builder withPath(String path) {
+            this.path = path;
+            return this;
+        }
+
+        public Builder withQueryStringParameters(Map<String, String> queryStringParameters) {
+            this.queryStringParameters = queryStringParameters;
+            return this;
+        }
+
+        public Builder withPathParameters(Map<String, String> pathParameters) {
+            this.pathParameters = pathParameters;
+            return this;
+        }
+
+        public Builder withHeaders(Map<String, String> headers) {
+            this.headers = headers;
+            return this;
+        }
+
+        public RequestDetails build() {
+            return new RequestDetails(this);
+        }
+    }
 }
@@ -25,18 +25,33 @@ public class Saving {
     private final Rate yearlyRate;
     private final List<Adjustment> adjustments;
     private final List<OneTimePayment> oneTimePayments;
+    private final Long version;
 
     public Saving(Builder builder) {
-        validateSaving(builder);
+        this(builder, false);
+    }
+
+    private Saving(Builder builder, boolean partial) {
+        if (partial) {
+            checkNull(builder.name, "name");
+        } else {
+            validateSaving(builder);
+        }
         this.name = builder.name;
         this.startAmount = builder.startAmount;
         this.monthlyAmount = builder.monthlyAmount;
         this.startDate = builder.startDate;
         this.endDate = builder.endDate;
         this.yearlyRate = builder.yearlyRate;
-        this.adjustments = null != builder.adjustments ? copyOf(builder.adjustments) : List.of();
+        this.adjustments =
+                null != builder.adjustments
+                        ? copyOf(builder.adjustments)
+                        : partial ? null : List.of();
         this.oneTimePayments =
-                null != builder.oneTimePayments ? copyOf(builder.oneTimePayments) : List.of();
+                null != builder.oneTimePayments
+                        ? copyOf(builder.oneTimePayments)
+                        : partial ? null : List.of();
+        this.version = builder.version;
     }
 
     private static void validateSaving(Builder builder) {
@@ -47,6 +62,10 @@ public class Saving {
         checkNull(builder.endDate, "endDate");
         checkNull(builder.yearlyRate, "yearlyRate");
 
+        if (null != builder.version && 0 > builder.version) {
+            throw new IllegalArgumentException("version cannot be negative");
+        }
+
         if (0 > builder.startAmount.getAmount().compareTo(BigDecimal.ZERO)) {
             throw new IllegalArgumentException("startAmount cannot be negative");
         }
@@ -101,6 +120,30 @@ public class Saving {
         return oneTimePayments;
     }
 
+    /**
+     * The version of the stored item, zero when it was written before versions were kept, or null
+     * when it was not asked for or not sent. An update carrying the version it was based on only
+     * applies while the item is still at it; one carrying none applies whatever the item is at.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /** A copy of this saving at the given version. */
+    public Saving withVersion(Long version) {
+        return newBuilder()
+                .withName(name)
+                .withStartAmount(startAmount)
+                .withMonthlyAmount(monthlyAmount)
+                .withStartDate(startDate)
+                .withEndDate(endDate)
+                .withYearlyRate(yearlyRate)
+                .withAdjustments(adjustments)
+                .withOneTimePayments(oneTimePayments)
+                .withVersion(version)
+                .build();
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -116,6 +159,7 @@ public class Saving {
         private Rate yearlyRate;
         private List<Adjustment> adjustments;
         private List<OneTimePayment> oneTimePayments;
+        private Long version;
 
         private Builder() {}
 
@@ -159,8 +203,21 @@ public class Saving {
             return this;
         }
 
+        public Builder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
         public Saving build() {
             return new Saving(this);
         }
+
+        /**
+         * Builds a saving holding only the attributes that were set, for a list that asked for some
+         * fields. Only the name is checked, so it must never be stored.
+         */
+        public Saving buildPartial() {
+            return new Saving(this, true);
+        }
     }
 }
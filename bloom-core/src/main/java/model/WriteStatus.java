@@ -0,0 +1,7 @@
+package model;
+
+public enum WriteStatus {
+    WRITTEN,
+    FAILED,
+    CONFLICT
+}
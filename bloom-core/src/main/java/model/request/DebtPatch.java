@@ -0,0 +1,231 @@
+package model.request;
+
+import static java.util.List.copyOf;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.OneTimePayment;
+import model.Rate;
+
+/**
+ * A partial debt: only the attributes present are changed. Adjustments and one-time payments can
+ * either be replaced as a whole or appended to, but not both in the same patch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize(builder = DebtPatch.Builder.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DebtPatch {
+
+    private final Amount startAmount;
+    private final Amount monthlyAmount;
+    private final Date startDate;
+    private final Rate yearlyRate;
+    private final List<Adjustment> adjustments;
+    private final List<OneTimePayment> oneTimePayments;
+    private final List<Adjustment> appendAdjustments;
+    private final List<OneTimePayment> appendOneTimePayments;
+    private final Long version;
+
+    public DebtPatch(Builder builder) {
+        validateDebtPatch(builder);
+        this.startAmount = builder.startAmount;
+        this.monthlyAmount = builder.monthlyAmount;
+        this.startDate = builder.startDate;
+        this.yearlyRate = builder.yearlyRate;
+        this.adjustments = null != builder.adjustments ? copyOf(builder.adjustments) : null;
+        this.oneTimePayments =
+                null != builder.oneTimePayments ? copyOf(builder.oneTimePayments) : null;
+        this.appendAdjustments =
+                null != builder.appendAdjustments ? copyOf(builder.appendAdjustments) : null;
+        this.appendOneTimePayments =
+                null != builder.appendOneTimePayments
+                        ? copyOf(builder.appendOneTimePayments)
+                        : null;
+        this.version = builder.version;
+    }
+
+    private static void validateDebtPatch(Builder builder) {
+        if (null == builder.startAmount
+                && null == builder.monthlyAmount
+                && null == builder.startDate
+                && null == builder.yearlyRate
+                && null == builder.adjustments
+                && null == builder.oneTimePayments
+                && null == builder.appendAdjustments
+                && null == builder.appendOneTimePayments) {
+            throw new IllegalArgumentException("patch must change at least one attribute");
+        }
+        if (null != builder.adjustments && null != builder.appendAdjustments) {
+            throw new IllegalArgumentException(
+                    "adjustments and appendAdjustments cannot both be set");
+        }
+        if (null != builder.oneTimePayments && null != builder.appendOneTimePayments) {
+            throw new IllegalArgumentException(
+                    "oneTimePayments and appendOneTimePayments cannot both be set");
+        }
+        if (null != builder.version && 0 > builder.version) {
+            throw new IllegalArgumentException("version cannot be negative");
+        }
+        if (null != builder.startAmount
+                && 1 > builder.startAmount.getAmount().compareTo(BigDecimal.ZERO)) {
+            throw new IllegalArgumentException("startAmount must be greater than 0");
+        }
+    }
+
+    public Amount getStartAmount() {
+        return startAmount;
+    }
+
+    public Amount getMonthlyAmount() {
+        return monthlyAmount;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public Rate getYearlyRate() {
+        return yearlyRate;
+    }
+
+    public List<Adjustment> getAdjustments() {
+        return adjustments;
+    }
+
+    public List<OneTimePayment> getOneTimePayments() {
+        return oneTimePayments;
+    }
+
+    public List<Adjustment> getAppendAdjustments() {
+        return appendAdjustments;
+    }
+
+    public List<OneTimePayment> getAppendOneTimePayments() {
+        return appendOneTimePayments;
+    }
+
+    /** The version the patch applies to, or null to apply it to whatever version is stored. */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Whether applying the patch needs the stored debt: the lists are checked against the start
+     * date, and appending to a packed list rewrites it. Any other change is checked on its own.
+     */
+    public boolean needsStoredDebt() {
+        return null != startDate
+                || null != adjustments
+                || null != oneTimePayments
+                || null != appendAdjustments
+                || null != appendOneTimePayments;
+    }
+
+    /**
+     * The debt as it is once this patch is applied, validated as a whole so the patch cannot leave
+     * it in a state a full update would reject. The version is left as it was.
+     */
+    public Debt applyTo(Debt debt) {
+        return Debt.newBuilder()
+                .withName(debt.getName())
+                .withStartAmount(null != startAmount ? startAmount : debt.getStartAmount())
+                .withMonthlyAmount(null != monthlyAmount ? monthlyAmount : debt.getMonthlyAmount())
+                .withStartDate(null != startDate ? startDate : debt.getStartDate())
+                .withYearlyRate(null != yearlyRate ? yearlyRate : debt.getYearlyRate())
+                .withAdjustments(patched(debt.getAdjustments(), adjustments, appendAdjustments))
+                .withOneTimePayments(
+                        patched(debt.getOneTimePayments(), oneTimePayments, appendOneTimePayments))
+                .withVersion(debt.getVersion())
+                .build();
+    }
+
+    private static <T> List<T> patched(List<T> stored, List<T> replacement, List<T> appended) {
+        if (null != replacement) {
+            return replacement;
+        }
+        if (null == appended) {
+            return stored;
+        }
+        List<T> list = new ArrayList<>(stored);
+        list.addAll(appended);
+        return list;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @JsonPOJOBuilder
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static final class Builder {
+        private Amount startAmount;
+        private Amount monthlyAmount;
+        private Date startDate;
+        private Rate yearlyRate;
+        private List<Adjustment> adjustments;
+        private List<OneTimePayment> oneTimePayments;
+        private List<Adjustment> appendAdjustments;
+        private List<OneTimePayment> appendOneTimePayments;
+        private Long version;
+
+        private Builder() {}
+
+        public Builder withStartAmount(Amount startAmount) {
+            this.startAmount = startAmount;
+            return this;
+        }
+
+        public Builder withMonthlyAmount(Amount monthlyAmount) {
+            this.monthlyAmount = monthlyAmount;
+            return this;
+        }
+
+        public Builder withStartDate(Date startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+
+        public Builder withYearlyRate(Rate yearlyRate) {
+            this.yearlyRate = yearlyRate;
+            return this;
+        }
+
+        public Builder withAdjustments(List<Adjustment> adjustments) {
+            this.adjustments = adjustments;
+            return this;
+        }
+
+        public Builder withOneTimePayments(List<OneTimePayment> oneTimePayments) {
+            this.oneTimePayments = oneTimePayments;
+            return this;
+        }
+
+        public Builder withAppendAdjustments(List<Adjustment> appendAdjustments) {
+            this.appendAdjustments = appendAdjustments;
+            return this;
+        }
+
+        public Builder withAppendOneTimePayments(List<OneTimePayment> appendOneTimePayments) {
+            this.appendOneTimePayments = appendOneTimePayments;
+            return this;
+        }
+
+        public Builder withVersion(Long version) {
+            this.version = version;
+            return this;
+        }
+
+        public DebtPatch build() {
+            return new DebtPatch(this);
+        }
+    }
+}
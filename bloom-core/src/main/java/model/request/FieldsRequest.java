@@ -0,0 +1,98 @@
+package model.request;
+
+import exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import model.Type;
+
+/**
+ * The attributes a list request asks for in its {@code fields} parameter, a comma separated list of
+ * response field names. The name is always returned, as it identifies the item; without the
+ * parameter every attribute is.
+ */
+public class FieldsRequest {
+
+    private static final Map<String, String> DEBT_ATTRIBUTES = new LinkedHashMap<>();
+    private static final Map<String, String> SAVING_ATTRIBUTES;
+
+    static {
+        DEBT_ATTRIBUTES.put("name", "SK");
+        DEBT_ATTRIBUTES.put("startAmount", "StartAmount");
+        DEBT_ATTRIBUTES.put("monthlyAmount", "MonthlyAmount");
+        DEBT_ATTRIBUTES.put("startDate", "StartDate");
+        DEBT_ATTRIBUTES.put("yearlyRate", "YearlyRate");
+        DEBT_ATTRIBUTES.put("adjustments", "Adjustments");
+        DEBT_ATTRIBUTES.put("oneTimePayments", "OneTimePayments");
+        DEBT_ATTRIBUTES.put("version", "Version");
+
+        SAVING_ATTRIBUTES = new LinkedHashMap<>(DEBT_ATTRIBUTES);
+        SAVING_ATTRIBUTES.put("endDate", "EndDate");
+    }
+
+    private final List<String> fields;
+    private final String projectionExpression;
+    private final Map<String, String> expressionAttributeNames;
+
+    private FieldsRequest(List<String> fields, Map<String, String> attributes) {
+        this.fields = fields;
+        if (null == fields) {
+            this.projectionExpression = null;
+            this.expressionAttributeNames = null;
+            return;
+        }
+
+        List<String> names = new ArrayList<>();
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        for (String field : fields) {
+            String attribute = attributes.get(field);
+            names.add("#" + attribute);
+            expressionAttributeNames.put("#" + attribute, attribute);
+        }
+        this.projectionExpression = String.join(", ", names);
+        this.expressionAttributeNames = Map.copyOf(expressionAttributeNames);
+    }
+
+    public static FieldsRequest fromQueryStringParameters(
+            Map<String, String> parameters, Type type) {
+        String value = null != parameters ? parameters.get("fields") : null;
+        Map<String, String> attributes = Type.SAVING == type ? SAVING_ATTRIBUTES : DEBT_ATTRIBUTES;
+        if (null == value) {
+            return new FieldsRequest(null, attributes);
+        }
+
+        TreeSet<String> fields = new TreeSet<>();
+        fields.add("name");
+        for (String field : value.split(",")) {
+            String trimmed = field.trim();
+            if (!attributes.containsKey(trimmed)) {
+                throw new BadRequestException(
+                        "fields should be among " + String.join(", ", attributes.keySet()));
+            }
+            fields.add(trimmed);
+        }
+        return new FieldsRequest(List.copyOf(fields), attributes);
+    }
+
+    /** Whether only some attributes were asked for. */
+    public boolean isPartial() {
+        return null != fields;
+    }
+
+    /** The requested field names in alphabetical order, or null when every attribute is. */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /** The projection fetching only the requested attributes, or null to fetch every one. */
+    public String getProjectionExpression() {
+        return projectionExpression;
+    }
+
+    public Map<String, String> getExpressionAttributeNames() {
+        return expressionAttributeNames;
+    }
+}
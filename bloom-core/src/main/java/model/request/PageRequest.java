@@ -0,0 +1,70 @@
+package model.request;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import exception.BadRequestException;
+import java.util.Base64;
+import java.util.Map;
+
+public class PageRequest {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final Integer limit;
+    private final String startKey;
+
+    private PageRequest(Integer limit, String startKey) {
+        this.limit = limit;
+        this.startKey = startKey;
+    }
+
+    public static PageRequest fromQueryStringParameters(Map<String, String> parameters) {
+        if (null == parameters) {
+            return new PageRequest(null, null);
+        }
+        return new PageRequest(
+                parseLimit(parameters.get("limit")), decodeCursor(parameters.get("cursor")));
+    }
+
+    public static String encodeCursor(String startKey) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(startKey.getBytes(UTF_8));
+    }
+
+    private static Integer parseLimit(String limit) {
+        if (null == limit) {
+            return null;
+        }
+        try {
+            int value = Integer.parseInt(limit);
+            if (1 > value || MAX_LIMIT < value) {
+                throw new BadRequestException("limit should be in range [1, " + MAX_LIMIT + "]");
+            }
+            return value;
+        } catch (NumberFormatException exception) {
+            throw new BadRequestException("limit should be a whole number", exception);
+        }
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (null == cursor) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("cursor is not valid", exception);
+        }
+    }
+
+    public boolean isPaged() {
+        return null != limit || null != startKey;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public String getStartKey() {
+        return startKey;
+    }
+}
@@ -0,0 +1,65 @@
+package priming;
+
+import static util.Environment.readVariable;
+
+import java.util.List;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.Logger;
+
+/**
+ * Runs a handler's priming actions during initialisation so that class loading, serializer lookup
+ * and SDK marshaller setup happen before the first request. Registered as a CRaC resource, the
+ * actions run again before a checkpoint so restored containers start warm. Priming is best effort:
+ * a failing action is logged and skipped.
+ */
+public class Primer implements Resource {
+
+    static final String ENABLED_VARIABLE = "PRIMING_ENABLED";
+
+    private final List<PrimingAction> actions;
+    private final boolean enabled;
+    private final Logger logger;
+
+    public Primer(Logger logger, PrimingAction... actions) {
+        this(List.of(actions), !"false".equalsIgnoreCase(readVariable(ENABLED_VARIABLE)), logger);
+    }
+
+    Primer(List<PrimingAction> actions, boolean enabled, Logger logger) {
+        this.actions = actions;
+        this.enabled = enabled;
+        this.logger = logger;
+    }
+
+    public Primer prime() {
+        if (!enabled) {
+            return this;
+        }
+        long start = System.nanoTime();
+        for (PrimingAction action : actions) {
+            try {
+                action.prime();
+            } catch (Exception exception) {
+                logger.warn("priming action failed", exception);
+            }
+        }
+        logger.info("primed in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return this;
+    }
+
+    public Primer register() {
+        Core.getGlobalContext().register(this);
+        return this;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        prime();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        logger.info("restored from checkpoint");
+    }
+}
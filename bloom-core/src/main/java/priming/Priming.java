@@ -0,0 +1,33 @@
+package priming;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+public class Priming {
+
+    public static PrimingAction roundTrip(Object sample, ObjectWriter writer, ObjectReader reader) {
+        return () -> reader.readValue(writer.writeValueAsBytes(sample));
+    }
+
+    public static PrimingAction write(Object sample, ObjectWriter writer) {
+        return () -> writer.writeValueAsBytes(sample);
+    }
+
+    public static PrimingAction drain(Iterable<?> items) {
+        return () -> items.forEach(item -> {});
+    }
+
+    /**
+     * Runs a request built with {@link PrimingInterceptor#PRIMING_OVERRIDE}, treating the
+     * interceptor stopping it as success.
+     */
+    public static void dryRun(Runnable request) {
+        try {
+            request.run();
+        } catch (RuntimeException exception) {
+            if (!PrimingInterceptor.isAborted(exception)) {
+                throw exception;
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package priming;
+
+@FunctionalInterface
+public interface PrimingAction {
+
+    void prime() throws Exception;
+}
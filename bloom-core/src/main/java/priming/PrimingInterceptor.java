@@ -0,0 +1,43 @@
+package priming;
+
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Stops requests marked with {@link #PRIMING_OVERRIDE} just before they are sent, once they have
+ * been marshalled and signed.
+ */
+public class PrimingInterceptor implements ExecutionInterceptor {
+
+    static final String PRIMING_HEADER = "X-Bloom-Priming";
+
+    public static final AwsRequestOverrideConfiguration PRIMING_OVERRIDE =
+            AwsRequestOverrideConfiguration.builder().putHeader(PRIMING_HEADER, "true").build();
+
+    @Override
+    public void beforeTransmission(
+            Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        if (context.httpRequest().firstMatchingHeader(PRIMING_HEADER).isPresent()) {
+            throw new PrimingAbortedException();
+        }
+    }
+
+    static boolean isAborted(Throwable throwable) {
+        for (Throwable cause = throwable; null != cause; cause = cause.getCause()) {
+            if (cause instanceof PrimingAbortedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class PrimingAbortedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        PrimingAbortedException() {
+            super("priming request stopped before transmission", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package priming;
+
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Saving;
+import model.Subject;
+import model.request.DebtPatch;
+import model.request.NameRequest;
+import model.request.SavingPatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.AdjustmentsTransformer;
+import transform.OneTimePaymentsTransformer;
+
+/** Synthetic values used to exercise the request path while priming. */
+public class Samples {
+
+    private static final String NAME = "priming";
+
+    public static Subject subject() {
+        return new Subject(NAME);
+    }
+
+    public static NameRequest nameRequest() {
+        return new NameRequest(NAME);
+    }
+
+    public static Debt debt() {
+        return Debt.newBuilder()
+                .withName(new Name(NAME))
+                .withStartAmount(new Amount("1000.00"))
+                .withMonthlyAmount(new Amount("50.00"))
+                .withStartDate(new Date("2020-01"))
+                .withYearlyRate(new Rate("3.5"))
+                .withAdjustments(List.of(adjustment()))
+                .withOneTimePayments(List.of(oneTimePayment()))
+                .withVersion(1L)
+                .build();
+    }
+
+    public static Saving saving() {
+        return Saving.newBuilder()
+                .withName(new Name(NAME))
+                .withStartAmount(new Amount("1000.00"))
+                .withMonthlyAmount(new Amount("50.00"))
+                .withStartDate(new Date("2020-01"))
+                .withEndDate(new Date("2030-01"))
+                .withYearlyRate(new Rate("1.5"))
+                .withAdjustments(List.of(adjustment()))
+                .withOneTimePayments(List.of(oneTimePayment()))
+                .withVersion(1L)
+                .build();
+    }
+
+    public static DebtPatch debtPatch() {
+        return DebtPatch.newBuilder()
+                .withMonthlyAmount(new Amount("60.00"))
+                .withAppendOneTimePayments(List.of(oneTimePayment()))
+                .withVersion(1L)
+                .build();
+    }
+
+    public static SavingPatch savingPatch() {
+        return SavingPatch.newBuilder()
+                .withMonthlyAmount(new Amount("60.00"))
+                .withAppendOneTimePayments(List.of(oneTimePayment()))
+                .withVersion(1L)
+                .build();
+    }
+
+    public static Map<String, AttributeValue> debtItem() {
+        Map<String, AttributeValue> item = item("DEBT");
+        item.put("YearlyRate", builder().s("3.5").build());
+        return item;
+    }
+
+    public static Map<String, AttributeValue> savingItem() {
+        Map<String, AttributeValue> item = item("SAVING");
+        item.put("EndDate", builder().s("2030-01").build());
+        item.put("YearlyRate", builder().s("1.5").build());
+        return item;
+    }
+
+    private static Map<String, AttributeValue> item(String type) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", builder().s("USER#" + NAME).build());
+        item.put("SK", builder().s(type + "#" + NAME).build());
+        item.put("StartAmount", builder().s("1000.00").build());
+        item.put("MonthlyAmount", builder().s("50.00").build());
+        item.put("StartDate", builder().s("2020-01").build());
+        item.put(
+                "Adjustments",
+                new AdjustmentsTransformer().toAdjustmentsAttribute(List.of(adjustment())));
+        item.put(
+                "OneTimePayments",
+                new OneTimePaymentsTransformer()
+                        .toOneTimePaymentsAttribute(List.of(oneTimePayment())));
+        item.put("Version", builder().n("1").build());
+        return item;
+    }
+
+    private static Adjustment adjustment() {
+        return new Adjustment(new Amount("75.00"), new Date("2025-01"), new Rate("2.0"));
+    }
+
+    private static OneTimePayment oneTimePayment() {
+        return new OneTimePayment(new Amount("200.00"), new Date("2026-06"));
+    }
+}
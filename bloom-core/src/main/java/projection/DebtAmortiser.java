@@ -0,0 +1,284 @@
+package projection;
+
+import static projection.Inputs.minorUnits;
+import static projection.Inputs.monthlyRate;
+import static projection.Inputs.scaledRate;
+
+import exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import model.Adjustment;
+import model.Amortisation;
+import model.CompactDate;
+import model.Date;
+import model.Debt;
+import model.OneTimePayment;
+
+/**
+ * Works out how a debt is paid off. Each month the balance earns a twelfth of the yearly rate and
+ * the monthly amount is paid, the last payment being only what is left; one-time payments come off
+ * the balance at the end of their month, and adjustments replace the monthly amount and rate from
+ * their dateFrom.
+ *
+ * <p>Between two of those events the rate and payment are constant, so the balance follows the
+ * annuity formula and the month it reaches zero is solved for directly rather than stepped to. The
+ * cost is therefore proportional to the number of events, and a debt whose payment never exceeds
+ * its interest is recognised as such without iterating. The payoff month and total interest cover
+ * the whole life of the debt; the monthly schedule stops at the last month a {@link Date} can
+ * represent. A debt whose amounts, balances or total paid do not fit in a {@code long} of minor
+ * units cannot be amortised and is rejected as a bad request.
+ */
+public class DebtAmortiser {
+
+    static final int LAST_SCHEDULE_YEAR = 2050;
+    static final int LAST_PAYOFF_YEAR = 9999;
+
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    public Amortisation amortise(Debt debt) {
+        try {
+            return amortiseExactly(debt);
+        } catch (ArithmeticException exception) {
+            throw new BadRequestException(
+                    "debt " + debt.getName().getName() + " is too large to amortise", exception);
+        }
+    }
+
+    private Amortisation amortiseExactly(Debt debt) {
+        int start = CompactDate.of(debt.getStartDate());
+        int scheduleMonths = CompactDate.of(LAST_SCHEDULE_YEAR, 12) - start + 1;
+        long maxMonths = CompactDate.of(LAST_PAYOFF_YEAR, 12) - start + 1;
+
+        List<Adjustment> adjustments = new ArrayList<>(debt.getAdjustments());
+        adjustments.sort(Comparator.comparing(adjustment -> adjustment.getDateFrom().getDate()));
+        List<OneTimePayment> oneTimePayments = new ArrayList<>(debt.getOneTimePayments());
+        oneTimePayments.sort(Comparator.comparing(payment -> payment.getDate().getDate()));
+
+        long[] balances = new long[scheduleMonths];
+        long[] interest = new long[scheduleMonths];
+        long[] payments = new long[scheduleMonths];
+
+        long startAmount = minorUnits(debt.getStartAmount());
+        long balance = startAmount;
+        long monthlyAmount = minorUnits(debt.getMonthlyAmount());
+        double rate = monthlyRate(scaledRate(debt.getYearlyRate()));
+        long paid = 0;
+        long month = 0;
+        int adjustment = 0;
+        int payment = 0;
+
+        while (true) {
+            while (adjustment < adjustments.size()
+                    && monthsFrom(start, adjustments.get(adjustment).getDateFrom()) <= month) {
+                monthlyAmount = minorUnits(adjustments.get(adjustment).getAmount());
+                rate = monthlyRate(scaledRate(adjustments.get(adjustment).getRate()));
+                adjustment++;
+            }
+
+            long spanEnd = UNBOUNDED;
+            if (adjustment < adjustments.size()) {
+                spanEnd = monthsFrom(start, adjustments.get(adjustment).getDateFrom());
+            }
+            if (payment < oneTimePayments.size()) {
+                spanEnd =
+                        Math.min(
+                                spanEnd,
+                                monthsFrom(start, oneTimePayments.get(payment).getDate()) + 1);
+            }
+            long span = UNBOUNDED == spanEnd ? UNBOUNDED : spanEnd - month;
+
+            long payoff = monthsToPayoff(balance, rate, monthlyAmount);
+            if (payoff <= span && month + payoff <= maxMonths) {
+                int payoffMonth = (int) (month + payoff - 1);
+                long before = closingBalance(balance, rate, monthlyAmount, payoff - 1);
+                long finalInterest = roundExact(before * rate);
+                fill(balance, rate, monthlyAmount, month, payoff - 1, balances, interest, payments);
+                record(
+                        payoffMonth,
+                        0,
+                        finalInterest,
+                        Math.addExact(before, finalInterest),
+                        balances,
+                        interest,
+                        payments);
+                paid =
+                        Math.addExact(
+                                paid,
+                                Math.addExact(
+                                        Math.multiplyExact(monthlyAmount, payoff - 1),
+                                        Math.addExact(before, finalInterest)));
+                return amortisation(
+                        debt, payoffMonth, paid - startAmount, balances, interest, payments);
+            }
+            if (UNBOUNDED == span || month + span > maxMonths) {
+                fill(
+                        balance,
+                        rate,
+                        monthlyAmount,
+                        month,
+                        scheduleMonths - month,
+                        balances,
+                        interest,
+                        payments);
+                return new Amortisation(
+                        debt.getName(),
+                        debt.getStartDate(),
+                        Amortisation.NEVER,
+                        0,
+                        balances,
+                        interest,
+                        payments);
+            }
+
+            fill(balance, rate, monthlyAmount, month, span, balances, interest, payments);
+            balance = closingBalance(balance, rate, monthlyAmount, span);
+            paid = Math.addExact(paid, Math.multiplyExact(monthlyAmount, span));
+            month += span;
+
+            long oneTimeAmount = 0;
+            while (payment < oneTimePayments.size()
+                    && monthsFrom(start, oneTimePayments.get(payment).getDate()) == month - 1) {
+                oneTimeAmount =
+                        Math.addExact(
+                                oneTimeAmount,
+                                minorUnits(oneTimePayments.get(payment).getAmount()));
+                payment++;
+            }
+            if (0 < oneTimeAmount) {
+                oneTimeAmount = Math.min(oneTimeAmount, balance);
+                balance -= oneTimeAmount;
+                paid = Math.addExact(paid, oneTimeAmount);
+                if (month - 1 < scheduleMonths) {
+                    balances[(int) month - 1] = balance;
+                    payments[(int) month - 1] += oneTimeAmount;
+                }
+                if (0 == balance) {
+                    return amortisation(
+                            debt,
+                            (int) month - 1,
+                            paid - startAmount,
+                            balances,
+                            interest,
+                            payments);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how many months of payments it takes to clear the balance, the last one being
+     * partial, or {@link #UNBOUNDED} when the payment never exceeds the interest.
+     */
+    static long monthsToPayoff(long balance, double rate, long payment) {
+        if (0 >= balance) {
+            return 1;
+        }
+        if (0 >= payment || payment <= Math.round(balance * rate)) {
+            return UNBOUNDED;
+        }
+
+        double estimate;
+        if (0 == rate) {
+            estimate = Math.ceil(balance / (double) payment);
+        } else {
+            estimate = Math.ceil(Math.log(payment / (payment - rate * balance)) / Math.log1p(rate));
+        }
+        if (!(estimate < UNBOUNDED / 2)) {
+            return UNBOUNDED;
+        }
+
+        long months = Math.max(1, (long) estimate);
+        while (1 < months && 0 >= closingBalance(balance, rate, payment, months - 1)) {
+            months--;
+        }
+        while (0 < closingBalance(balance, rate, payment, months)) {
+            months++;
+        }
+        return months;
+    }
+
+    /**
+     * Returns the balance after {@code months} full payments, from the annuity formula.
+     *
+     * @throws ArithmeticException if the balance does not fit in a {@code long}
+     */
+    static long closingBalance(long balance, double rate, long payment, long months) {
+        if (0 == rate) {
+            return Math.subtractExact(balance, Math.multiplyExact(payment, months));
+        }
+        double growth = Math.expm1(months * Math.log1p(rate));
+        return roundExact(balance + growth * (balance - payment / rate));
+    }
+
+    /** Rounds like {@link Math#round(double)}, but throws where that would saturate. */
+    private static long roundExact(double value) {
+        if (!(Math.abs(value) < 0x1p63)) {
+            throw new ArithmeticException("long overflow");
+        }
+        return Math.round(value);
+    }
+
+    private static void fill(
+            long opening,
+            double rate,
+            long payment,
+            long from,
+            long months,
+            long[] balances,
+            long[] interest,
+            long[] payments) {
+        long previous = opening;
+        long count = Math.min(months, balances.length - from);
+        for (int k = 1; k <= count; k++) {
+            long closing = closingBalance(opening, rate, payment, k);
+            record(
+                    (int) from + k - 1,
+                    closing,
+                    closing - previous + payment,
+                    payment,
+                    balances,
+                    interest,
+                    payments);
+            previous = closing;
+        }
+    }
+
+    private static void record(
+            int month,
+            long balance,
+            long interestAmount,
+            long payment,
+            long[] balances,
+            long[] interest,
+            long[] payments) {
+        if (month < balances.length) {
+            balances[month] = balance;
+            interest[month] = interestAmount;
+            payments[month] = payment;
+        }
+    }
+
+    private static long monthsFrom(int start, Date date) {
+        return CompactDate.of(date) - start;
+    }
+
+    private static Amortisation amortisation(
+            Debt debt,
+            int payoffMonth,
+            long totalInterest,
+            long[] balances,
+            long[] interest,
+            long[] payments) {
+        int length = Math.min(payoffMonth + 1, balances.length);
+        return new Amortisation(
+                debt.getName(),
+                debt.getStartDate(),
+                payoffMonth,
+                totalInterest,
+                Arrays.copyOf(balances, length),
+                Arrays.copyOf(interest, length),
+                Arrays.copyOf(payments, length));
+    }
+}
@@ -0,0 +1,37 @@
+package projection;
+
+import model.Amount;
+import model.CompactAmount;
+import model.CompactRate;
+import model.Rate;
+
+/** Conversions from the model types to the primitive units the projections work in. */
+class Inputs {
+
+    /** Divides a balance times a scaled yearly rate down to a monthly amount. */
+    static final long MONTHLY_RATE_DIVISOR = 1200 * 10_000L;
+
+    private Inputs() {}
+
+    static long minorUnits(Amount amount) {
+        return CompactAmount.toMinorUnits(amount);
+    }
+
+    /** Returns the yearly percentage rate in ten-thousandths, so 3.875% is 38750. */
+    static long scaledRate(Rate rate) {
+        return CompactRate.toScaled(rate);
+    }
+
+    static double monthlyRate(long scaledRate) {
+        return scaledRate / (double) MONTHLY_RATE_DIVISOR;
+    }
+
+    static long divideHalfEven(long dividend, long divisor) {
+        long quotient = Math.floorDiv(dividend, divisor);
+        long twiceRemainder = 2 * (dividend - quotient * divisor);
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && 0 != (quotient & 1))) {
+            quotient++;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,148 @@
+package projection;
+
+import exception.BadRequestException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import model.Amortisation;
+import model.CompactDate;
+import model.Debt;
+import model.NetWorth;
+import model.Saving;
+
+/**
+ * Combines every saving and debt a user holds into one month-by-month timeline. Each item is
+ * projected on its own, the items being split between the workers of a fork-join pool, and the
+ * resulting series are then added column by column into primitive arrays.
+ *
+ * <p>The timeline runs from the earliest start date to the last month any item covers. A saving
+ * counts from its start date and keeps its final balance after its end date; a debt counts from its
+ * start date until it is paid off, or until the end of its schedule when it never is. Totals that
+ * overflow a {@code long} are rejected as a bad request, as the items' own projections are.
+ */
+public class NetWorthProjector {
+
+    static final int ITEMS_PER_TASK = 8;
+
+    private final SavingProjector savingProjector;
+    private final DebtAmortiser debtAmortiser;
+    private final ForkJoinPool pool;
+
+    public NetWorthProjector(
+            SavingProjector savingProjector, DebtAmortiser debtAmortiser, ForkJoinPool pool) {
+        this.savingProjector = savingProjector;
+        this.debtAmortiser = debtAmortiser;
+        this.pool = pool;
+    }
+
+    public NetWorth project(List<Saving> savings, List<Debt> debts) {
+        Series[] series = new Series[savings.size() + debts.size()];
+        if (0 == series.length) {
+            return new NetWorth(null, new long[0], new long[0], new long[0]);
+        }
+        pool.invoke(new ProjectTask(savings, debts, series, 0, series.length));
+
+        try {
+            return combine(series);
+        } catch (ArithmeticException exception) {
+            throw new BadRequestException("net worth is too large to project", exception);
+        }
+    }
+
+    private static NetWorth combine(Series[] series) {
+        int start = Integer.MAX_VALUE;
+        int end = Integer.MIN_VALUE;
+        for (Series item : series) {
+            start = Math.min(start, item.start);
+            end = Math.max(end, item.start + item.values.length - 1);
+        }
+
+        int months = end - start + 1;
+        long[] savingTotals = new long[months];
+        long[] debtTotals = new long[months];
+        for (Series item : series) {
+            long[] totals = item.debt ? debtTotals : savingTotals;
+            int offset = item.start - start;
+            int length = item.values.length;
+            for (int i = 0; i < length; i++) {
+                totals[offset + i] = Math.addExact(totals[offset + i], item.values[i]);
+            }
+            if (!item.debt) {
+                long last = item.values[length - 1];
+                for (int i = offset + length; i < months; i++) {
+                    totals[i] = Math.addExact(totals[i], last);
+                }
+            }
+        }
+
+        long[] netWorth = new long[months];
+        for (int i = 0; i < months; i++) {
+            netWorth[i] = Math.subtractExact(savingTotals[i], debtTotals[i]);
+        }
+        return new NetWorth(CompactDate.toDate(start), savingTotals, debtTotals, netWorth);
+    }
+
+    private static final class Series {
+
+        private final int start;
+        private final long[] values;
+        private final boolean debt;
+
+        private Series(int start, long[] values, boolean debt) {
+            this.start = start;
+            this.values = values;
+            this.debt = debt;
+        }
+    }
+
+    /**
+     * Projects the items at indexes {@code from} to {@code to}, savings first, into a slot each.
+     */
+    private final class ProjectTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Saving> savings;
+        private final List<Debt> debts;
+        private final Series[] series;
+        private final int from;
+        private final int to;
+
+        private ProjectTask(
+                List<Saving> savings, List<Debt> debts, Series[] series, int from, int to) {
+            this.savings = savings;
+            this.debts = debts;
+            this.series = series;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (ITEMS_PER_TASK >= to - from) {
+                for (int i = from; i < to; i++) {
+                    series[i] = project(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new ProjectTask(savings, debts, series, from, middle),
+                    new ProjectTask(savings, debts, series, middle, to));
+        }
+
+        private Series project(int index) {
+            if (index < savings.size()) {
+                Saving saving = savings.get(index);
+                return new Series(
+                        CompactDate.of(saving.getStartDate()),
+                        savingProjector.project(saving),
+                        false);
+            }
+            Debt debt = debts.get(index - savings.size());
+            Amortisation amortisation = debtAmortiser.amortise(debt);
+            return new Series(
+                    CompactDate.of(debt.getStartDate()), amortisation.getBalances(), true);
+        }
+    }
+}
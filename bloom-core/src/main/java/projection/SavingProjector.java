@@ -0,0 +1,127 @@
+package projection;
+
+import static projection.Inputs.MONTHLY_RATE_DIVISOR;
+import static projection.Inputs.divideHalfEven;
+import static projection.Inputs.minorUnits;
+import static projection.Inputs.scaledRate;
+
+import exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import model.Adjustment;
+import model.CompactDate;
+import model.OneTimePayment;
+import model.Saving;
+
+/**
+ * Projects the balance of a saving at the end of every month from its start date to its end date.
+ * Each month the opening balance earns a twelfth of the yearly rate, rounded half-even to the
+ * nearest minor unit, and then the monthly amount and any one-time payments for that month are
+ * added. An adjustment replaces the monthly amount and rate from its dateFrom onwards.
+ *
+ * <p>The month-by-month work runs on primitive arrays in exact integer arithmetic, with amounts in
+ * minor units and rates in ten-thousandths of a percent. Besides the returned balances, the only
+ * allocations are sized by the number of adjustments and payments, never by the number of months.
+ * A saving whose amounts or balances do not fit in a {@code long} of minor units cannot be
+ * projected and is rejected as a bad request.
+ */
+public class SavingProjector {
+
+    public long[] project(Saving saving) {
+        try {
+            return projectExactly(saving);
+        } catch (ArithmeticException exception) {
+            throw new BadRequestException(
+                    "saving " + saving.getName().getName() + " is too large to project", exception);
+        }
+    }
+
+    private long[] projectExactly(Saving saving) {
+        int start = CompactDate.of(saving.getStartDate());
+        int months = CompactDate.of(saving.getEndDate()) - start + 1;
+
+        List<Adjustment> adjustments = new ArrayList<>(saving.getAdjustments());
+        adjustments.sort(Comparator.comparing(adjustment -> adjustment.getDateFrom().getDate()));
+        int changes = adjustments.size() + 1;
+        int[] changeMonths = new int[changes];
+        long[] monthlyAmounts = new long[changes];
+        long[] yearlyRates = new long[changes];
+        monthlyAmounts[0] = minorUnits(saving.getMonthlyAmount());
+        yearlyRates[0] = scaledRate(saving.getYearlyRate());
+        for (int i = 1; i < changes; i++) {
+            Adjustment adjustment = adjustments.get(i - 1);
+            changeMonths[i] = CompactDate.of(adjustment.getDateFrom()) - start;
+            monthlyAmounts[i] = minorUnits(adjustment.getAmount());
+            yearlyRates[i] = scaledRate(adjustment.getRate());
+        }
+
+        List<OneTimePayment> oneTimePayments = new ArrayList<>(saving.getOneTimePayments());
+        oneTimePayments.sort(Comparator.comparing(payment -> payment.getDate().getDate()));
+        int payments = oneTimePayments.size();
+        int[] paymentMonths = new int[payments];
+        long[] paymentAmounts = new long[payments];
+        for (int i = 0; i < payments; i++) {
+            OneTimePayment payment = oneTimePayments.get(i);
+            paymentMonths[i] = CompactDate.of(payment.getDate()) - start;
+            paymentAmounts[i] = minorUnits(payment.getAmount());
+        }
+
+        long[] balances = new long[months];
+        project(
+                minorUnits(saving.getStartAmount()),
+                changeMonths,
+                monthlyAmounts,
+                yearlyRates,
+                changes,
+                paymentMonths,
+                paymentAmounts,
+                payments,
+                balances,
+                months);
+        return balances;
+    }
+
+    /**
+     * Fills {@code balances} with {@code months} month-end balances in minor units. Changes and
+     * payments are given as months since the start, in ascending order; the first change must be at
+     * month zero and gives the initial monthly amount and rate. Rates are yearly percentages scaled
+     * by 10<sup>4</sup>.
+     *
+     * @throws ArithmeticException if a balance overflows a {@code long}
+     */
+    public static void project(
+            long startAmount,
+            int[] changeMonths,
+            long[] monthlyAmounts,
+            long[] yearlyRates,
+            int changes,
+            int[] paymentMonths,
+            long[] paymentAmounts,
+            int payments,
+            long[] balances,
+            int months) {
+        long balance = startAmount;
+        long monthlyAmount = 0;
+        long yearlyRate = 0;
+        int change = 0;
+        int payment = 0;
+
+        for (int month = 0; month < months; month++) {
+            while (change < changes && changeMonths[change] <= month) {
+                monthlyAmount = monthlyAmounts[change];
+                yearlyRate = yearlyRates[change];
+                change++;
+            }
+
+            long interest =
+                    divideHalfEven(Math.multiplyExact(balance, yearlyRate), MONTHLY_RATE_DIVISOR);
+            balance = Math.addExact(balance, Math.addExact(interest, monthlyAmount));
+            while (payment < payments && paymentMonths[payment] <= month) {
+                balance = Math.addExact(balance, paymentAmounts[payment]);
+                payment++;
+            }
+            balances[month] = balance;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package provider;
+
+import static util.Environment.readVariable;
+
+import cache.ResponseCache;
+
+public class CacheProvider {
+
+    static final long DEFAULT_LIST_CACHE_MAX_BYTES = 4L * 1024 * 1024;
+
+    /** Returns a cache for list responses, sized by LIST_CACHE_MAX_BYTES; zero disables it. */
+    public static ResponseCache provideListCache() {
+        return new ResponseCache(provideListCacheMaxBytes());
+    }
+
+    static long provideListCacheMaxBytes() {
+        String maxBytes = readVariable("LIST_CACHE_MAX_BYTES");
+        return null == maxBytes ? DEFAULT_LIST_CACHE_MAX_BYTES : Long.parseLong(maxBytes);
+    }
+}
@@ -0,0 +1,23 @@
+package provider;
+
+import static util.Environment.readVariable;
+
+import handler.ResponseEncoder;
+
+public class CompressionProvider {
+
+    static final int DEFAULT_COMPRESSION_MIN_BYTES = ResponseEncoder.DISABLED;
+
+    /**
+     * Returns an encoder compressing bodies of at least COMPRESSION_MIN_BYTES bytes. Compression is
+     * off unless configured, as API Gateway only decodes the base64 body for binary media types.
+     */
+    public static ResponseEncoder provideResponseEncoder() {
+        return new ResponseEncoder(provideCompressionMinBytes());
+    }
+
+    static int provideCompressionMinBytes() {
+        String minBytes = readVariable("COMPRESSION_MIN_BYTES");
+        return null == minBytes ? DEFAULT_COMPRESSION_MIN_BYTES : Integer.parseInt(minBytes);
+    }
+}
@@ -3,19 +3,157 @@ package provider;
 import static software.amazon.awssdk.regions.Region.EU_WEST_2;
 import static util.Environment.readVariable;
 
+import java.net.URI;
+import java.time.Duration;
+import metrics.DynamoMetrics;
+import metrics.DynamoMetricsInterceptor;
+import priming.PrimingInterceptor;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import throttling.AdaptiveRateLimiter;
+import throttling.OperationRetryBudgets;
+import throttling.ThrottledAttempts;
 
 public class DynamoProvider {
 
+    static final int DEFAULT_MAX_CONNECTIONS = 50;
+    static final int DEFAULT_MAX_RETRIES = 3;
+    static final int DEFAULT_RETRY_BUDGET = 500;
+    static final Duration RETRY_BASE_DELAY = Duration.ofMillis(25);
+    static final Duration THROTTLED_BASE_DELAY = Duration.ofMillis(100);
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(1);
+
+    private static OperationRetryBudgets retryBudgets;
+    private static AdaptiveRateLimiter rateLimiter;
+
     public static DynamoDbClient provideClient() {
-        return DynamoDbClient.builder()
-                .httpClientBuilder(UrlConnectionHttpClient.builder())
-                .region(EU_WEST_2)
+        String engine = readVariable("DYNAMO_DB_HTTP_ENGINE");
+        return provideClient(
+                null == engine ? HttpEngine.URL_CONNECTION : HttpEngine.fromName(engine));
+    }
+
+    public static DynamoDbClient provideClient(HttpEngine engine) {
+        return provideClient(engine, DynamoMetrics.DISABLED);
+    }
+
+    /** Provides a client that also adds each of its calls to the metrics, under its operation. */
+    public static DynamoDbClient provideClient(HttpEngine engine, DynamoMetrics metrics) {
+        if (engine.isAsync()) {
+            throw new IllegalArgumentException(engine.getName() + " engine is async only");
+        }
+        return configure(DynamoDbClient.builder(), metrics)
+                .httpClientBuilder(syncHttpClient(engine))
                 .build();
     }
 
+    /** Provides a non-blocking client, for callers that keep many requests in flight. */
+    public static DynamoDbAsyncClient provideAsyncClient() {
+        return provideAsyncClient(HttpEngine.NETTY);
+    }
+
+    public static DynamoDbAsyncClient provideAsyncClient(HttpEngine engine) {
+        if (!engine.isAsync()) {
+            throw new IllegalArgumentException(engine.getName() + " engine is sync only");
+        }
+        return configure(DynamoDbAsyncClient.builder(), DynamoMetrics.DISABLED)
+                .httpClientBuilder(
+                        NettyNioAsyncHttpClient.builder().maxConcurrency(provideMaxConnections()))
+                .build();
+    }
+
+    /**
+     * Provides the retry policy of every client: up to DYNAMO_DB_MAX_RETRIES retries after a full
+     * jitter backoff, which starts longer for throttling, drawn from a budget of
+     * DYNAMO_DB_RETRY_BUDGET tokens for each operation shared by the clients of this process. Each
+     * throttled attempt is reported to the rate limiter, retried or not.
+     */
+    public static RetryPolicy provideRetryPolicy() {
+        return RetryPolicy.builder(RetryMode.STANDARD)
+                .numRetries(readInt("DYNAMO_DB_MAX_RETRIES", DEFAULT_MAX_RETRIES))
+                .retryCondition(
+                        new ThrottledAttempts(
+                                provideRateLimiter(), RetryCondition.defaultRetryCondition()))
+                .backoffStrategy(backoff(RETRY_BASE_DELAY))
+                .throttlingBackoffStrategy(backoff(THROTTLED_BASE_DELAY))
+                .retryCapacityCondition(provideRetryBudgets())
+                .build();
+    }
+
+    static synchronized OperationRetryBudgets provideRetryBudgets() {
+        if (null == retryBudgets) {
+            retryBudgets =
+                    new OperationRetryBudgets(
+                            readInt("DYNAMO_DB_RETRY_BUDGET", DEFAULT_RETRY_BUDGET));
+        }
+        return retryBudgets;
+    }
+
+    /**
+     * Provides the one limiter of this process, which slows every service down once the table
+     * throttles, unless DYNAMO_DB_ADAPTIVE_LIMIT is false.
+     */
+    public static synchronized AdaptiveRateLimiter provideRateLimiter() {
+        if ("false".equalsIgnoreCase(readVariable("DYNAMO_DB_ADAPTIVE_LIMIT"))) {
+            return AdaptiveRateLimiter.DISABLED;
+        }
+        if (null == rateLimiter) {
+            rateLimiter = new AdaptiveRateLimiter();
+        }
+        return rateLimiter;
+    }
+
     public static String provideTableName() {
         return readVariable("DYNAMO_DB_TABLE_NAME");
     }
+
+    static int provideMaxConnections() {
+        String maxConnections = readVariable("DYNAMO_DB_MAX_CONNECTIONS");
+        return null == maxConnections ? DEFAULT_MAX_CONNECTIONS : Integer.parseInt(maxConnections);
+    }
+
+    private static int readInt(String name, int defaultValue) {
+        String value = readVariable(name);
+        return null == value ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static FullJitterBackoffStrategy backoff(Duration baseDelay) {
+        return FullJitterBackoffStrategy.builder()
+                .baseDelay(baseDelay)
+                .maxBackoffTime(MAX_BACKOFF)
+                .build();
+    }
+
+    private static SdkHttpClient.Builder<?> syncHttpClient(HttpEngine engine) {
+        if (HttpEngine.APACHE == engine) {
+            return ApacheHttpClient.builder().maxConnections(provideMaxConnections());
+        }
+        return UrlConnectionHttpClient.builder();
+    }
+
+    private static <B extends AwsClientBuilder<B, ?>> B configure(
+            B builder, DynamoMetrics metrics) {
+        builder.region(EU_WEST_2)
+                .overrideConfiguration(
+                        configuration ->
+                                configuration
+                                        .retryPolicy(provideRetryPolicy())
+                                        .addExecutionInterceptor(new PrimingInterceptor())
+                                        .addExecutionInterceptor(
+                                                new DynamoMetricsInterceptor(metrics)));
+
+        String endpoint = readVariable("DYNAMO_DB_ENDPOINT");
+        if (null != endpoint) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,15 @@
+package provider;
+
+import static util.Environment.readVariable;
+
+public class EncodingProvider {
+
+    /**
+     * Whether adjustments and one-time payments are written in the packed binary layout, set with
+     * PACKED_LISTS=true. Off by default so a rollback can still read every item; both layouts are
+     * always read.
+     */
+    public static boolean providePackedLists() {
+        return Boolean.parseBoolean(readVariable("PACKED_LISTS"));
+    }
+}
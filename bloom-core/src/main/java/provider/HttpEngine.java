@@ -0,0 +1,39 @@
+package provider;
+
+/**
+ * HTTP implementations the DynamoDB clients can be built on. The URL connection engine is the
+ * default for the blocking client as it is the smallest and quickest to start; the Apache engine
+ * pools its connections, which suits the embedded server. Netty is the engine of the non-blocking
+ * client, which keeps many requests in flight from a few event loop threads. Only the URL connection
+ * engine ships with the core; a module selecting another declares it as its own dependency.
+ */
+public enum HttpEngine {
+    URL_CONNECTION("url-connection", false),
+    APACHE("apache", false),
+    NETTY("netty", true);
+
+    private final String name;
+    private final boolean async;
+
+    HttpEngine(String name, boolean async) {
+        this.name = name;
+        this.async = async;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public static HttpEngine fromName(String name) {
+        for (HttpEngine engine : values()) {
+            if (engine.name.equals(name)) {
+                return engine;
+            }
+        }
+        throw new IllegalArgumentException("unknown http engine " + name);
+    }
+}
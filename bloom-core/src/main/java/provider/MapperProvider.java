@@ -1,10 +1,76 @@
 package provider;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import model.Amortisation;
+import model.BatchItemResult;
+import model.Debt;
+import model.Items;
+import model.NetWorth;
+import model.Page;
+import model.Projection;
+import model.Saving;
+import model.request.NameRequest;
 
+/**
+ * Hands out readers and writers from a single shared mapper. Readers and writers are immutable and
+ * resolve their root (de)serializer when created, so they are cached per type and the ones the
+ * handlers need are created while the class initialises rather than on the first request.
+ */
 public class MapperProvider {
 
-    public static ObjectMapper provideMapper() {
-        return new ObjectMapper();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        provideReader(Debt.class);
+        provideReader(Saving.class);
+        provideReader(NameRequest.class);
+        provideReader(new TypeReference<List<Debt>>() {});
+        provideReader(new TypeReference<List<Saving>>() {});
+        provideWriter(new TypeReference<Page<Debt>>() {});
+        provideWriter(new TypeReference<Page<Saving>>() {});
+        provideWriter(new TypeReference<List<BatchItemResult>>() {});
+        provideWriter(Projection.class);
+        provideWriter(Amortisation.class);
+        provideWriter(NetWorth.class);
+        provideWriter(Items.class);
+    }
+
+    public static JsonFactory provideFactory() {
+        return MAPPER.getFactory();
+    }
+
+    public static ObjectReader provideReader(Class<?> type) {
+        return provideReader(MAPPER.constructType(type));
+    }
+
+    public static ObjectReader provideReader(TypeReference<?> type) {
+        return provideReader(MAPPER.constructType(type));
+    }
+
+    public static ObjectWriter provideWriter(Class<?> type) {
+        return provideWriter(MAPPER.constructType(type));
+    }
+
+    public static ObjectWriter provideWriter(TypeReference<?> type) {
+        return provideWriter(MAPPER.constructType(type));
+    }
+
+    private static ObjectReader provideReader(JavaType type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    private static ObjectWriter provideWriter(JavaType type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
     }
 }
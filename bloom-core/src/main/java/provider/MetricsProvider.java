@@ -0,0 +1,20 @@
+package provider;
+
+import static util.Environment.readVariable;
+
+import metrics.MetricsRecorder;
+
+public class MetricsProvider {
+
+    /**
+     * Returns a recorder writing one embedded metric record per invocation to standard output when
+     * METRICS_ENABLED is true, also counting allocated bytes when METRICS_ALLOCATION is true.
+     */
+    public static MetricsRecorder provideRecorder() {
+        if (!Boolean.parseBoolean(readVariable("METRICS_ENABLED"))) {
+            return MetricsRecorder.DISABLED;
+        }
+        return new MetricsRecorder(
+                true, Boolean.parseBoolean(readVariable("METRICS_ALLOCATION")), System.out);
+    }
+}
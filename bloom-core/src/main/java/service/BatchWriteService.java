@@ -0,0 +1,256 @@
+package service;
+
+import static service.DynamoRequests.unwrap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import model.WriteStatus;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Writes items in chunks of {@value #CHUNK_SIZE}, the BatchWriteItem limit. Items DynamoDB hands
+ * back as unprocessed are retried with capped exponential backoff and full jitter; anything still
+ * unwritten after {@value #MAX_ATTEMPTS} attempts, or in a chunk whose request failed outright, is
+ * reported as failed rather than failing the whole batch. Items whose key already holds an item are
+ * reported as conflicting and left unwritten, as an add never replaces an item.
+ *
+ * <p>Built on a {@link DynamoAsyncService}, up to {@value #CHUNKS_IN_FLIGHT} chunks are written
+ * side by side, each waiting out its backoff without holding a thread. Built on a {@link
+ * DynamoService}, the chunks are written one after another.
+ *
+ * <p>A BatchWriteItem put cannot carry a condition, so the keys are checked with a consistent read
+ * before the chunk is written. An item another request adds between that read and the write is
+ * still replaced, and its Version starts again at 1; callers that cannot accept this should add
+ * items one at a time through {@link DynamoService#add}, which is conditioned on the key.
+ */
+public class BatchWriteService {
+
+    static final int CHUNK_SIZE = 25;
+    static final int CHUNKS_IN_FLIGHT = 4;
+    static final int MAX_ATTEMPTS = 5;
+    static final long BASE_DELAY_MILLIS = 50;
+    static final long MAX_DELAY_MILLIS = 1000;
+
+    private final Table table;
+    private final Delay delay;
+    private final Random random;
+
+    public BatchWriteService(DynamoService service) {
+        this(blocking(service), BatchWriteService::after, new Random());
+    }
+
+    public BatchWriteService(DynamoAsyncService service) {
+        this(nonBlocking(() -> service), BatchWriteService::after, new Random());
+    }
+
+    /**
+     * Writes through the non-blocking service the supplier returns, asked for on every chunk, so a
+     * caller can leave building its client until the first batch.
+     */
+    public BatchWriteService(Supplier<DynamoAsyncService> service) {
+        this(nonBlocking(service), BatchWriteService::after, new Random());
+    }
+
+    BatchWriteService(Table table, Delay delay, Random random) {
+        this.table = table;
+        this.delay = delay;
+        this.random = random;
+    }
+
+    public List<WriteStatus> write(List<Map<String, AttributeValue>> items) {
+        WriteStatus[] statuses = new WriteStatus[items.size()];
+        Arrays.fill(statuses, WriteStatus.WRITTEN);
+
+        int chunks = (items.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[Math.min(CHUNKS_IN_FLIGHT, chunks)];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            lanes[lane] = writeChunks(items, next, statuses);
+        }
+        try {
+            CompletableFuture.allOf(lanes).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+        return List.of(statuses);
+    }
+
+    /** Writes the next chunk no other lane has taken, and then the one after, until none is left. */
+    private CompletableFuture<Void> writeChunks(
+            List<Map<String, AttributeValue>> items, AtomicInteger next, WriteStatus[] statuses) {
+        int from = next.getAndIncrement() * CHUNK_SIZE;
+        if (items.size() <= from) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<Map<String, AttributeValue>> chunk =
+                items.subList(from, Math.min(from + CHUNK_SIZE, items.size()));
+        return writeChunk(chunk, from, statuses)
+                .thenCompose(ignored -> writeChunks(items, next, statuses));
+    }
+
+    private CompletableFuture<Void> writeChunk(
+            List<Map<String, AttributeValue>> chunk, int from, WriteStatus[] statuses) {
+        List<Map<String, AttributeValue>> keys = new ArrayList<>(chunk.size());
+        Map<Map<String, AttributeValue>, Integer> positions = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            keys.add(DynamoRequests.key(chunk.get(i)));
+            positions.put(keys.get(i), i);
+        }
+
+        return table.existing(keys)
+                .handle(
+                        (existing, failure) -> {
+                            if (null != failure) {
+                                rethrowUnlessSdk(failure);
+                                Arrays.fill(
+                                        statuses, from, from + chunk.size(), WriteStatus.FAILED);
+                                return CompletableFuture.<List<Integer>>completedFuture(List.of());
+                            }
+                            List<Map<String, AttributeValue>> fresh =
+                                    new ArrayList<>(chunk.size());
+                            for (int i = 0; i < chunk.size(); i++) {
+                                if (existing.contains(keys.get(i))) {
+                                    statuses[from + i] = WriteStatus.CONFLICT;
+                                } else {
+                                    fresh.add(chunk.get(i));
+                                }
+                            }
+                            if (fresh.isEmpty()) {
+                                return CompletableFuture.<List<Integer>>completedFuture(List.of());
+                            }
+                            return send(fresh, positions, 1);
+                        })
+                .thenCompose(Function.identity())
+                .thenAccept(
+                        failed -> {
+                            for (int index : failed) {
+                                statuses[from + index] = WriteStatus.FAILED;
+                            }
+                        });
+    }
+
+    /** Completes with the positions of the items still unwritten after the attempt. */
+    private CompletableFuture<List<Integer>> send(
+            List<Map<String, AttributeValue>> pending,
+            Map<Map<String, AttributeValue>, Integer> positions,
+            int attempt) {
+        return table.batchAdd(pending)
+                .handle(
+                        (unprocessed, failure) -> {
+                            if (null != failure) {
+                                rethrowUnlessSdk(failure);
+                                return CompletableFuture.completedFuture(
+                                        positionsOf(pending, positions));
+                            }
+                            if (unprocessed.isEmpty()) {
+                                return CompletableFuture.<List<Integer>>completedFuture(List.of());
+                            }
+                            if (MAX_ATTEMPTS == attempt) {
+                                return CompletableFuture.completedFuture(
+                                        positionsOf(unprocessed, positions));
+                            }
+                            return CompletableFuture.runAsync(
+                                            () -> {}, delay.after(backoff(attempt)))
+                                    .thenCompose(
+                                            ignored -> send(unprocessed, positions, attempt + 1));
+                        })
+                .thenCompose(Function.identity());
+    }
+
+    long backoff(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << (attempt - 1));
+        return 1 + (long) (random.nextDouble() * ceiling);
+    }
+
+    /** Only a failed request fails its chunk; anything else is a bug and fails the batch. */
+    private static void rethrowUnlessSdk(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (!(cause instanceof SdkException)) {
+            throw new CompletionException(cause);
+        }
+    }
+
+    private static List<Integer> positionsOf(
+            List<Map<String, AttributeValue>> items,
+            Map<Map<String, AttributeValue>, Integer> positions) {
+        List<Integer> indexes = new ArrayList<>();
+        for (Map<String, AttributeValue> item : items) {
+            indexes.add(positions.get(DynamoRequests.key(item)));
+        }
+        return indexes;
+    }
+
+    private static Executor after(long millis) {
+        return CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS);
+    }
+
+    static Table blocking(DynamoService service) {
+        return new Table() {
+            @Override
+            public CompletableFuture<Set<Map<String, AttributeValue>>> existing(
+                    List<Map<String, AttributeValue>> keys) {
+                try {
+                    return CompletableFuture.completedFuture(service.existing(keys));
+                } catch (SdkException exception) {
+                    return CompletableFuture.failedFuture(exception);
+                }
+            }
+
+            @Override
+            public CompletableFuture<List<Map<String, AttributeValue>>> batchAdd(
+                    List<Map<String, AttributeValue>> items) {
+                try {
+                    return CompletableFuture.completedFuture(service.batchAdd(items));
+                } catch (SdkException exception) {
+                    return CompletableFuture.failedFuture(exception);
+                }
+            }
+        };
+    }
+
+    static Table nonBlocking(Supplier<DynamoAsyncService> service) {
+        return new Table() {
+            @Override
+            public CompletableFuture<Set<Map<String, AttributeValue>>> existing(
+                    List<Map<String, AttributeValue>> keys) {
+                return service.get().existing(keys);
+            }
+
+            @Override
+            public CompletableFuture<List<Map<String, AttributeValue>>> batchAdd(
+                    List<Map<String, AttributeValue>> items) {
+                return service.get().batchAdd(items);
+            }
+        };
+    }
+
+    /** The two calls a batch makes, on either service. */
+    interface Table {
+        CompletableFuture<Set<Map<String, AttributeValue>>> existing(
+                List<Map<String, AttributeValue>> keys);
+
+        CompletableFuture<List<Map<String, AttributeValue>>> batchAdd(
+                List<Map<String, AttributeValue>> items);
+    }
+
+    @FunctionalInterface
+    interface Delay {
+        Executor after(long millis);
+    }
+}
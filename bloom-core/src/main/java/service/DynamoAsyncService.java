@@ -0,0 +1,210 @@
+package service;
+
+import static priming.Priming.dryRun;
+import static priming.PrimingInterceptor.PRIMING_OVERRIDE;
+import static provider.DynamoProvider.provideRateLimiter;
+import static service.DynamoRequests.conditionFailed;
+import static service.DynamoRequests.partitionsWritten;
+import static service.DynamoRequests.unwrap;
+
+import exception.ConflictException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import throttling.AdaptiveRateLimiter;
+
+/**
+ * Non-blocking counterpart of {@link DynamoService} for callers that keep many requests in flight,
+ * such as a batch add writing its chunks side by side. Each operation returns as soon as its
+ * request is handed to the client. The requests are the ones {@link DynamoService} sends, so every
+ * write bumps the partition version in the same way, and they pass through the same rate limiter,
+ * which delays them without blocking the caller.
+ */
+public class DynamoAsyncService {
+
+    private static final String PRIMING_KEY = "PRIMING";
+
+    private final DynamoDbAsyncClient client;
+    private final DynamoRequests requests;
+
+    public DynamoAsyncService(DynamoDbAsyncClient client, String tableName) {
+        this(client, tableName, provideRateLimiter());
+    }
+
+    public DynamoAsyncService(
+            DynamoDbAsyncClient client, String tableName, AdaptiveRateLimiter limiter) {
+        this.client = client;
+        this.requests = new DynamoRequests(tableName, limiter);
+    }
+
+    /**
+     * Puts the item only while there is none with its key, completing with {@link
+     * ConflictException} otherwise.
+     */
+    public CompletableFuture<Void> add(Map<String, AttributeValue> attributeValueMap) {
+        TransactWriteItemsRequest request = requests.add(attributeValueMap);
+
+        return requests.sendAsync(() -> client.transactWriteItems(request))
+                .handle(
+                        (response, failure) -> {
+                            if (null == failure) {
+                                return null;
+                            }
+                            Throwable cause = unwrap(failure);
+                            if (cause instanceof TransactionCanceledException
+                                    && conditionFailed((TransactionCanceledException) cause)) {
+                                throw new ConflictException(
+                                        "item "
+                                                + attributeValueMap.get("SK").s()
+                                                + " already exists",
+                                        cause);
+                            }
+                            throw new CompletionException(cause);
+                        });
+    }
+
+    /** Completes with the item with the given key, or null when there is none. */
+    public CompletableFuture<Map<String, AttributeValue>> get(
+            Map<String, AttributeValue> key, boolean consistent) {
+        GetItemRequest request = requests.get(key, consistent);
+
+        return requests.sendAsync(() -> client.getItem(request))
+                .thenApply(response -> response.hasItem() ? response.item() : null);
+    }
+
+    public CompletableFuture<QueryResponse> list(
+            String keyConditionExpression,
+            Map<String, AttributeValue> expressionAttributeValues,
+            Integer limit,
+            Map<String, AttributeValue> exclusiveStartKey) {
+        QueryRequest request =
+                requests.query(
+                        keyConditionExpression,
+                        expressionAttributeValues,
+                        limit,
+                        exclusiveStartKey,
+                        null,
+                        null);
+
+        return requests.sendAsync(() -> client.query(request));
+    }
+
+    public CompletableFuture<Void> delete(Map<String, AttributeValue> key) {
+        TransactWriteItemsRequest request = requests.delete(key);
+
+        return requests.sendAsync(() -> client.transactWriteItems(request)).thenApply(ignored -> null);
+    }
+
+    /**
+     * Completes with which of the keys already have an item, read consistently, asking again for
+     * the keys DynamoDB leaves unprocessed as {@link DynamoService#existing} does.
+     */
+    public CompletableFuture<Set<Map<String, AttributeValue>>> existing(
+            List<Map<String, AttributeValue>> keys) {
+        return existing(keys, new HashSet<>());
+    }
+
+    private CompletableFuture<Set<Map<String, AttributeValue>>> existing(
+            List<Map<String, AttributeValue>> pending, Set<Map<String, AttributeValue>> existing) {
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(existing);
+        }
+        BatchGetItemRequest request = requests.existing(pending);
+
+        return requests.sendAsync(() -> client.batchGetItem(request))
+                .thenCompose(
+                        response -> {
+                            existing.addAll(requests.found(response));
+                            return existing(requests.unprocessedKeys(response), existing);
+                        });
+    }
+
+    /**
+     * Puts the items in a single BatchWriteItem call and completes with the ones left unprocessed,
+     * once the partitions of the items written have been bumped.
+     */
+    public CompletableFuture<List<Map<String, AttributeValue>>> batchAdd(
+            List<Map<String, AttributeValue>> items) {
+        BatchWriteItemRequest request = requests.batchAdd(items);
+
+        return requests.sendAsync(() -> client.batchWriteItem(request))
+                .thenCompose(
+                        response -> {
+                            List<Map<String, AttributeValue>> unprocessed =
+                                    requests.unprocessedItems(response);
+                            List<CompletableFuture<?>> bumps = new ArrayList<>();
+                            for (AttributeValue partitionKey :
+                                    partitionsWritten(items, unprocessed)) {
+                                bumps.add(bumpVersion(partitionKey));
+                            }
+                            return CompletableFuture.allOf(bumps.toArray(new CompletableFuture<?>[0]))
+                                    .thenApply(ignored -> unprocessed);
+                        });
+    }
+
+    private CompletableFuture<?> bumpVersion(AttributeValue partitionKey) {
+        UpdateItemRequest versionUpdate = requests.versionUpdate(partitionKey);
+        return requests.sendAsync(() -> client.updateItem(versionUpdate));
+    }
+
+    /**
+     * Issues one request for each operation of the batch path so the client resolves its
+     * marshallers and signer up front, as {@link DynamoService#prime} does for the blocking client
+     * and with the same safeguards: the update carries a condition no item can satisfy, and the
+     * batch only deletes the priming key.
+     */
+    public void prime() {
+        Map<String, AttributeValue> key =
+                Map.of(
+                        "PK", AttributeValue.builder().s(PRIMING_KEY).build(),
+                        "SK", AttributeValue.builder().s(PRIMING_KEY).build());
+        String condition = "attribute_exists(PK) AND attribute_not_exists(PK)";
+
+        WriteRequest write =
+                WriteRequest.builder()
+                        .deleteRequest(DeleteRequest.builder().key(key).build())
+                        .build();
+        dryRun(
+                () ->
+                        client.batchWriteItem(
+                                        BatchWriteItemRequest.builder()
+                                                .requestItems(
+                                                        Map.of(
+                                                                requests.getTableName(),
+                                                                List.of(write)))
+                                                .overrideConfiguration(PRIMING_OVERRIDE)
+                                                .build())
+                                .join());
+        dryRun(
+                () ->
+                        client.batchGetItem(
+                                        requests.existing(List.of(key)).toBuilder()
+                                                .overrideConfiguration(PRIMING_OVERRIDE)
+                                                .build())
+                                .join());
+        dryRun(
+                () ->
+                        client.updateItem(
+                                        requests.versionUpdate(key.get("PK")).toBuilder()
+                                                .conditionExpression(condition)
+                                                .overrideConfiguration(PRIMING_OVERRIDE)
+                                                .build())
+                                .join());
+    }
+}
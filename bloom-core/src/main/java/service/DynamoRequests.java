@@ -0,0 +1,342 @@
+package service;
+
+import static software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity.TOTAL;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import throttling.AdaptiveRateLimiter;
+
+/**
+ * Builds the requests of {@link DynamoService} and {@link DynamoAsyncService}, reads their
+ * responses and sends them through the rate limiter, so both services write the same items, bump
+ * the partition version with the same writes and slow down alike once the table throttles.
+ */
+final class DynamoRequests {
+
+    static final String VERSION_SORT_KEY = "VERSION";
+    static final String VERSION_ATTRIBUTE = "Version";
+
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+    private static final String THROTTLING_ERROR = "ThrottlingError";
+    private static final String ITEM_ABSENT_CONDITION = "attribute_not_exists(PK)";
+    private static final String VERSION_UPDATE_EXPRESSION = "ADD #version :one";
+    private static final Map<String, String> VERSION_ATTRIBUTE_NAMES =
+            Map.of("#version", VERSION_ATTRIBUTE);
+    private static final Map<String, AttributeValue> VERSION_ATTRIBUTE_VALUES =
+            Map.of(":one", AttributeValue.builder().n("1").build());
+
+    private final String tableName;
+    private final AdaptiveRateLimiter limiter;
+
+    DynamoRequests(String tableName, AdaptiveRateLimiter limiter) {
+        this.tableName = tableName;
+        this.limiter = limiter;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    /** Puts the item only while there is none with its key, bumping the partition version. */
+    TransactWriteItemsRequest add(Map<String, AttributeValue> item) {
+        Put put =
+                Put.builder()
+                        .tableName(tableName)
+                        .item(item)
+                        .conditionExpression(ITEM_ABSENT_CONDITION)
+                        .build();
+        return write(TransactWriteItem.builder().put(put).build(), item.get("PK"));
+    }
+
+    TransactWriteItemsRequest delete(Map<String, AttributeValue> key) {
+        Delete delete = Delete.builder().tableName(tableName).key(key).build();
+        return write(TransactWriteItem.builder().delete(delete).build(), key.get("PK"));
+    }
+
+    /** Writes the item in a transaction with the bump of its partition's version. */
+    TransactWriteItemsRequest write(TransactWriteItem item, AttributeValue partitionKey) {
+        return TransactWriteItemsRequest.builder()
+                .transactItems(item, versionBump(partitionKey))
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    /**
+     * Updates the item only while the condition holds. Should it not, the item is handed back with
+     * the cancellation, so a missing item can be told apart from a changed one.
+     */
+    Update update(
+            Map<String, AttributeValue> key,
+            String updateExpression,
+            Map<String, String> expressionAttributeNames,
+            Map<String, AttributeValue> expressionAttributeValues,
+            String conditionExpression) {
+        return Update.builder()
+                .tableName(tableName)
+                .key(key)
+                .updateExpression(updateExpression)
+                .conditionExpression(conditionExpression)
+                .expressionAttributeNames(expressionAttributeNames)
+                .expressionAttributeValues(expressionAttributeValues)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+    }
+
+    GetItemRequest get(Map<String, AttributeValue> key, boolean consistent) {
+        return GetItemRequest.builder()
+                .tableName(tableName)
+                .key(key)
+                .consistentRead(consistent)
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    GetItemRequest version(AttributeValue partitionKey) {
+        return GetItemRequest.builder()
+                .tableName(tableName)
+                .key(versionKey(partitionKey))
+                .consistentRead(true)
+                .projectionExpression("#version")
+                .expressionAttributeNames(Map.of("#version", VERSION_ATTRIBUTE))
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    BatchGetItemRequest existing(List<Map<String, AttributeValue>> keys) {
+        return BatchGetItemRequest.builder()
+                .requestItems(
+                        Map.of(
+                                tableName,
+                                KeysAndAttributes.builder()
+                                        .keys(keys)
+                                        .consistentRead(true)
+                                        .projectionExpression("PK, SK")
+                                        .build()))
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    BatchWriteItemRequest batchAdd(List<Map<String, AttributeValue>> items) {
+        List<WriteRequest> writeRequests = new ArrayList<>(items.size());
+        for (Map<String, AttributeValue> item : items) {
+            writeRequests.add(
+                    WriteRequest.builder()
+                            .putRequest(PutRequest.builder().item(item).build())
+                            .build());
+        }
+        return BatchWriteItemRequest.builder()
+                .requestItems(Map.of(tableName, writeRequests))
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    /** Bumps the partition version on its own, for a write that could not do it in a transaction. */
+    UpdateItemRequest versionUpdate(AttributeValue partitionKey) {
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(versionKey(partitionKey))
+                .updateExpression(VERSION_UPDATE_EXPRESSION)
+                .expressionAttributeNames(VERSION_ATTRIBUTE_NAMES)
+                .expressionAttributeValues(VERSION_ATTRIBUTE_VALUES)
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    QueryRequest query(
+            String keyConditionExpression,
+            Map<String, AttributeValue> expressionAttributeValues,
+            Integer limit,
+            Map<String, AttributeValue> exclusiveStartKey,
+            String projectionExpression,
+            Map<String, String> expressionAttributeNames) {
+        return QueryRequest.builder()
+                .tableName(tableName)
+                .keyConditionExpression(keyConditionExpression)
+                .expressionAttributeValues(expressionAttributeValues)
+                .limit(limit)
+                .exclusiveStartKey(exclusiveStartKey)
+                .projectionExpression(projectionExpression)
+                .expressionAttributeNames(expressionAttributeNames)
+                .returnConsumedCapacity(TOTAL)
+                .build();
+    }
+
+    /** Returns the version the response holds, zero when it has none, or null with no item. */
+    static Long version(Map<String, AttributeValue> item) {
+        if (null == item) {
+            return null;
+        }
+        return item.containsKey(VERSION_ATTRIBUTE)
+                ? Long.parseLong(item.get(VERSION_ATTRIBUTE).n())
+                : 0L;
+    }
+
+    Set<Map<String, AttributeValue>> found(BatchGetItemResponse response) {
+        Set<Map<String, AttributeValue>> found = new HashSet<>();
+        for (Map<String, AttributeValue> item :
+                response.responses().getOrDefault(tableName, List.of())) {
+            found.add(key(item));
+        }
+        return found;
+    }
+
+    /**
+     * Returns the keys of the response left unprocessed, telling the limiter when there are any.
+     * DynamoDB throttles the request instead when it can process none of them, so asking for the
+     * rest again always makes progress.
+     */
+    List<Map<String, AttributeValue>> unprocessedKeys(BatchGetItemResponse response) {
+        KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+        List<Map<String, AttributeValue>> keys =
+                null != unprocessed ? unprocessed.keys() : List.of();
+        if (!keys.isEmpty()) {
+            limiter.throttled();
+        }
+        return keys;
+    }
+
+    /** Returns the items of the response left unprocessed, telling the limiter when there are any. */
+    List<Map<String, AttributeValue>> unprocessedItems(BatchWriteItemResponse response) {
+        List<Map<String, AttributeValue>> unprocessed = new ArrayList<>();
+        for (WriteRequest writeRequest :
+                response.unprocessedItems().getOrDefault(tableName, List.of())) {
+            unprocessed.add(writeRequest.putRequest().item());
+        }
+        if (!unprocessed.isEmpty()) {
+            limiter.throttled();
+        }
+        return unprocessed;
+    }
+
+    /** The partitions a batch wrote to, which is none when every item was left unprocessed. */
+    static Set<AttributeValue> partitionsWritten(
+            List<Map<String, AttributeValue>> items,
+            List<Map<String, AttributeValue>> unprocessed) {
+        Set<AttributeValue> partitionKeys = new LinkedHashSet<>();
+        if (unprocessed.size() == items.size()) {
+            return partitionKeys;
+        }
+        for (Map<String, AttributeValue> item : items) {
+            partitionKeys.add(item.get("PK"));
+        }
+        return partitionKeys;
+    }
+
+    /** Sends the request once the limiter allows, telling it when the table throttled it. */
+    <T> T send(Supplier<T> request) {
+        limiter.acquire();
+        try {
+            return request.get();
+        } catch (SdkException exception) {
+            if (throttled(exception)) {
+                limiter.throttled();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Sends the request once the limiter allows, without blocking the caller while it waits, and
+     * tells the limiter when the table throttled it.
+     */
+    <T> CompletableFuture<T> sendAsync(Supplier<CompletableFuture<T>> request) {
+        return limiter.permit()
+                .thenCompose(ignored -> request.get())
+                .whenComplete(
+                        (response, failure) -> {
+                            Throwable cause = unwrap(failure);
+                            if (cause instanceof SdkException && throttled((SdkException) cause)) {
+                                limiter.throttled();
+                            }
+                        });
+    }
+
+    static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && null != failure.getCause()
+                ? failure.getCause()
+                : failure;
+    }
+
+    /** Only the first item of a write carries a condition, so only its reason is checked. */
+    static boolean conditionFailed(TransactionCanceledException exception) {
+        return exception.hasCancellationReasons()
+                && !exception.cancellationReasons().isEmpty()
+                && CONDITIONAL_CHECK_FAILED.equals(exception.cancellationReasons().get(0).code());
+    }
+
+    /**
+     * Whether the first item of a write that failed its condition was missing, which only a write
+     * asking for the item on failure can tell.
+     */
+    static boolean itemMissing(TransactionCanceledException exception) {
+        CancellationReason reason = exception.cancellationReasons().get(0);
+        return !reason.hasItem() || reason.item().isEmpty();
+    }
+
+    /** A transaction is cancelled rather than throttled when one of its items is. */
+    static boolean throttled(SdkException exception) {
+        if (RetryUtils.isThrottlingException(exception)) {
+            return true;
+        }
+        if (exception instanceof TransactionCanceledException
+                && ((TransactionCanceledException) exception).hasCancellationReasons()) {
+            for (CancellationReason reason :
+                    ((TransactionCanceledException) exception).cancellationReasons()) {
+                if (THROTTLING_ERROR.equals(reason.code())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static Map<String, AttributeValue> key(Map<String, AttributeValue> item) {
+        return Map.of("PK", item.get("PK"), "SK", item.get("SK"));
+    }
+
+    private TransactWriteItem versionBump(AttributeValue partitionKey) {
+        return TransactWriteItem.builder()
+                .update(
+                        Update.builder()
+                                .tableName(tableName)
+                                .key(versionKey(partitionKey))
+                                .updateExpression(VERSION_UPDATE_EXPRESSION)
+                                .expressionAttributeNames(VERSION_ATTRIBUTE_NAMES)
+                                .expressionAttributeValues(VERSION_ATTRIBUTE_VALUES)
+                                .build())
+                .build();
+    }
+
+    private static Map<String, AttributeValue> versionKey(AttributeValue partitionKey) {
+        return Map.of(
+                "PK", partitionKey, "SK", AttributeValue.builder().s(VERSION_SORT_KEY).build());
+    }
+}
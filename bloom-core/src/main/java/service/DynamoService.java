@@ -1,48 +1,290 @@
 package service;
 
+import static priming.Priming.dryRun;
+import static priming.PrimingInterceptor.PRIMING_OVERRIDE;
+import static provider.DynamoProvider.provideRateLimiter;
+import static service.DynamoRequests.conditionFailed;
+import static service.DynamoRequests.itemMissing;
+import static service.DynamoRequests.partitionsWritten;
+
+import exception.ConflictException;
+import exception.NotFoundException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionCheck;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import throttling.AdaptiveRateLimiter;
 
+/**
+ * Reads and writes the items of the table. Every write to a user's partition also increments the
+ * Version attribute of that partition's VERSION item, in the same transaction where the write
+ * allows it, so readers can tell whether anything they hold for the user is still current.
+ *
+ * <p>Every request asks for the capacity it consumes, which the client's metrics interceptor adds
+ * to the operation's and the invocation's metrics.
+ *
+ * <p>Requests pass through a rate limiter, which slows them down once the table throttles one or
+ * leaves items of a batch unprocessed. The clients of {@link provider.DynamoProvider} also report
+ * each throttled attempt they retry, so the limiter need not wait for the retries to run out.
+ */
 public class DynamoService {
 
+    static final String VERSION_SORT_KEY = DynamoRequests.VERSION_SORT_KEY;
+
+    private static final String PRIMING_KEY = "PRIMING";
+
     private final DynamoDbClient client;
     private final String tableName;
+    private final DynamoRequests requests;
 
     public DynamoService(DynamoDbClient client, String tableName) {
+        this(client, tableName, provideRateLimiter());
+    }
+
+    public DynamoService(DynamoDbClient client, String tableName, AdaptiveRateLimiter limiter) {
         this.client = client;
         this.tableName = tableName;
+        this.requests = new DynamoRequests(tableName, limiter);
     }
 
+    /**
+     * Puts the item only while there is none with its key, throwing {@link ConflictException}
+     * otherwise, so an add never overwrites an item and starts its version again.
+     */
     public void add(Map<String, AttributeValue> attributeValueMap) {
-        PutItemRequest request =
-                PutItemRequest.builder().tableName(tableName).item(attributeValueMap).build();
+        TransactWriteItemsRequest request = requests.add(attributeValueMap);
+
+        try {
+            requests.send(() -> client.transactWriteItems(request));
+        } catch (TransactionCanceledException exception) {
+            if (conditionFailed(exception)) {
+                throw new ConflictException(
+                        "item " + attributeValueMap.get("SK").s() + " already exists", exception);
+            }
+            throw exception;
+        }
+    }
+
+    /** Returns the item with the given key, or null when there is none. */
+    public Map<String, AttributeValue> get(Map<String, AttributeValue> key) {
+        return get(key, false);
+    }
+
+    /**
+     * Returns the item with the given key, or null when there is none, read consistently when asked
+     * so that a conditional write based on it is not rejected for reading a stale copy.
+     */
+    public Map<String, AttributeValue> get(Map<String, AttributeValue> key, boolean consistent) {
+        GetItemRequest request = requests.get(key, consistent);
+
+        GetItemResponse response = requests.send(() -> client.getItem(request));
+        return response.hasItem() ? response.item() : null;
+    }
+
+    /**
+     * Returns the version of the partition, read consistently, or zero when it has never been
+     * written.
+     */
+    public long version(AttributeValue partitionKey) {
+        GetItemRequest request = requests.version(partitionKey);
+
+        GetItemResponse response = requests.send(() -> client.getItem(request));
+        Long version = DynamoRequests.version(response.hasItem() ? response.item() : null);
+        return null != version ? version : 0;
+    }
+
+    /**
+     * Returns which of the keys already have an item, read consistently with BatchGetItem. A batch
+     * write cannot be conditioned, so this is how a batch add avoids overwriting items, though an
+     * item added between the read and the write is still overwritten. Keys left unprocessed are
+     * asked for again through the limiter, which slows down as they are; DynamoDB throttles the
+     * request instead when it can process none of them, so each round makes progress.
+     */
+    public Set<Map<String, AttributeValue>> existing(List<Map<String, AttributeValue>> keys) {
+        Set<Map<String, AttributeValue>> existing = new HashSet<>();
+        List<Map<String, AttributeValue>> pending = keys;
+        while (!pending.isEmpty()) {
+            BatchGetItemRequest request = requests.existing(pending);
 
-        client.putItem(request);
+            BatchGetItemResponse response = requests.send(() -> client.batchGetItem(request));
+
+            existing.addAll(requests.found(response));
+            pending = requests.unprocessedKeys(response);
+        }
+        return existing;
+    }
+
+    /**
+     * Puts the items in a single BatchWriteItem call and returns the ones left unprocessed. A batch
+     * cannot take part in a transaction, so the partitions of the items written are bumped straight
+     * after it instead.
+     */
+    public List<Map<String, AttributeValue>> batchAdd(List<Map<String, AttributeValue>> items) {
+        BatchWriteItemRequest request = requests.batchAdd(items);
+
+        BatchWriteItemResponse response = requests.send(() -> client.batchWriteItem(request));
+
+        List<Map<String, AttributeValue>> unprocessed = requests.unprocessedItems(response);
+        for (AttributeValue partitionKey : partitionsWritten(items, unprocessed)) {
+            bumpVersion(partitionKey);
+        }
+        return unprocessed;
+    }
+
+    /**
+     * Bumps the partition version on its own, for a write that could not do it in a transaction.
+     */
+    private void bumpVersion(AttributeValue partitionKey) {
+        UpdateItemRequest versionUpdate = requests.versionUpdate(partitionKey);
+        requests.send(() -> client.updateItem(versionUpdate));
     }
 
     public QueryResponse list(
             String keyConditionExpression, Map<String, AttributeValue> expressionAttributeValues) {
+        return list(keyConditionExpression, expressionAttributeValues, null, null);
+    }
+
+    public QueryResponse list(
+            String keyConditionExpression,
+            Map<String, AttributeValue> expressionAttributeValues,
+            Integer limit,
+            Map<String, AttributeValue> exclusiveStartKey) {
+        return list(
+                keyConditionExpression,
+                expressionAttributeValues,
+                limit,
+                exclusiveStartKey,
+                null,
+                null);
+    }
+
+    /**
+     * Lists a page of items holding only the attributes in the projection expression, or every
+     * attribute when it is null.
+     */
+    public QueryResponse list(
+            String keyConditionExpression,
+            Map<String, AttributeValue> expressionAttributeValues,
+            Integer limit,
+            Map<String, AttributeValue> exclusiveStartKey,
+            String projectionExpression,
+            Map<String, String> expressionAttributeNames) {
         QueryRequest request =
-                QueryRequest.builder()
-                        .tableName(tableName)
-                        .keyConditionExpression(keyConditionExpression)
-                        .expressionAttributeValues(expressionAttributeValues)
+                requests.query(
+                        keyConditionExpression,
+                        expressionAttributeValues,
+                        limit,
+                        exclusiveStartKey,
+                        projectionExpression,
+                        expressionAttributeNames);
+
+        return requests.send(() -> client.query(request));
+    }
+
+    public SdkIterable<Map<String, AttributeValue>> listAll(
+            String keyConditionExpression, Map<String, AttributeValue> expressionAttributeValues) {
+        return listAll(keyConditionExpression, expressionAttributeValues, null, null);
+    }
+
+    /**
+     * Lists every item holding only the attributes in the projection expression, or every attribute
+     * when it is null.
+     */
+    public SdkIterable<Map<String, AttributeValue>> listAll(
+            String keyConditionExpression,
+            Map<String, AttributeValue> expressionAttributeValues,
+            String projectionExpression,
+            Map<String, String> expressionAttributeNames) {
+        return listAll(
+                keyConditionExpression,
+                expressionAttributeValues,
+                projectionExpression,
+                expressionAttributeNames,
+                false);
+    }
+
+    /**
+     * Lists every item holding only the attributes in the projection expression, read consistently
+     * when asked so that the items include every write the partition version has counted.
+     */
+    public SdkIterable<Map<String, AttributeValue>> listAll(
+            String keyConditionExpression,
+            Map<String, AttributeValue> expressionAttributeValues,
+            String projectionExpression,
+            Map<String, String> expressionAttributeNames,
+            boolean consistent) {
+        QueryRequest request =
+                requests.query(
+                                keyConditionExpression,
+                                expressionAttributeValues,
+                                null,
+                                null,
+                                projectionExpression,
+                                expressionAttributeNames)
+                        .toBuilder()
+                        .consistentRead(consistent)
                         .build();
 
-        return client.query(request);
+        return () -> pages(request).stream().flatMap(page -> page.items().stream()).iterator();
+    }
+
+    /**
+     * Queries one page at a time as the pages are iterated, each through the limiter, so a long
+     * list waits for its share of the rate on every page and a page the table throttles slows the
+     * requests that follow.
+     */
+    private SdkIterable<QueryResponse> pages(QueryRequest request) {
+        return () ->
+                new Iterator<>() {
+                    private Map<String, AttributeValue> exclusiveStartKey;
+                    private boolean more = true;
+
+                    @Override
+                    public boolean hasNext() {
+                        return more;
+                    }
+
+                    @Override
+                    public QueryResponse next() {
+                        if (!more) {
+                            throw new NoSuchElementException();
+                        }
+                        QueryRequest page =
+                                request.toBuilder().exclusiveStartKey(exclusiveStartKey).build();
+                        QueryResponse response = requests.send(() -> client.query(page));
+                        exclusiveStartKey = response.lastEvaluatedKey();
+                        more = null != exclusiveStartKey && !exclusiveStartKey.isEmpty();
+                        return response;
+                    }
+                };
     }
 
     public void delete(Map<String, AttributeValue> key) {
-        DeleteItemRequest request =
-                DeleteItemRequest.builder().tableName(tableName).key(key).build();
+        TransactWriteItemsRequest request = requests.delete(key);
 
-        client.deleteItem(request);
+        requests.send(() -> client.transactWriteItems(request));
     }
 
     public void update(
@@ -50,15 +292,162 @@ public class DynamoService {
             String updateExpression,
             Map<String, String> expressionAttributeNames,
             Map<String, AttributeValue> attributeValueMap) {
-        UpdateItemRequest request =
-                UpdateItemRequest.builder()
-                        .tableName(tableName)
-                        .key(key)
-                        .updateExpression(updateExpression)
-                        .expressionAttributeNames(expressionAttributeNames)
-                        .expressionAttributeValues(attributeValueMap)
-                        .build();
+        update(key, updateExpression, expressionAttributeNames, attributeValueMap, null);
+    }
 
-        client.updateItem(request);
+    /**
+     * Updates the item only while the condition holds, throwing {@link NotFoundException} when
+     * there is no item to update and {@link ConflictException} when it has changed. The partition
+     * version is bumped in the same transaction, so it is left untouched by a rejected update.
+     */
+    public void update(
+            Map<String, AttributeValue> key,
+            String updateExpression,
+            Map<String, String> expressionAttributeNames,
+            Map<String, AttributeValue> attributeValueMap,
+            String conditionExpression) {
+        Update update =
+                requests.update(
+                        key,
+                        updateExpression,
+                        expressionAttributeNames,
+                        attributeValueMap,
+                        conditionExpression);
+
+        TransactWriteItemsRequest request =
+                requests.write(TransactWriteItem.builder().update(update).build(), key.get("PK"));
+
+        try {
+            requests.send(() -> client.transactWriteItems(request));
+        } catch (TransactionCanceledException exception) {
+            throw rejected(key, exception);
+        }
+    }
+
+    /**
+     * Updates the item only while the condition holds and returns it as written, throwing {@link
+     * NotFoundException} when there is no item to update and {@link ConflictException} when it has
+     * changed. The update and the partition version bump are one transaction, as for any update,
+     * and a transaction cannot return the item it wrote, so the item is then read consistently.
+     */
+    public Map<String, AttributeValue> updateAndGet(
+            Map<String, AttributeValue> key,
+            String updateExpression,
+            Map<String, String> expressionAttributeNames,
+            Map<String, AttributeValue> attributeValueMap,
+            String conditionExpression) {
+        update(
+                key,
+                updateExpression,
+                expressionAttributeNames,
+                attributeValueMap,
+                conditionExpression);
+
+        Map<String, AttributeValue> item = get(key, true);
+        if (null == item) {
+            throw new NotFoundException("item " + key.get("SK").s() + " not found");
+        }
+        return item;
+    }
+
+    /**
+     * Turns a cancelled update into the exception its caller should see, telling an item that does
+     * not exist from one that was changed when the update failed its condition.
+     */
+    private static RuntimeException rejected(
+            Map<String, AttributeValue> key, TransactionCanceledException exception) {
+        if (!conditionFailed(exception)) {
+            return exception;
+        }
+        if (itemMissing(exception)) {
+            return new NotFoundException("item " + key.get("SK").s() + " not found", exception);
+        }
+        return new ConflictException(
+                "item " + key.get("SK").s() + " was changed by another request", exception);
+    }
+
+    /**
+     * Issues one request for each operation this service performs so the client resolves its
+     * marshallers and signer up front. The client must have the priming interceptor registered,
+     * which stops the requests before they are sent. Should one reach the table anyway, the update
+     * and transaction carry a condition no item can satisfy, and the batch delete, which cannot
+     * take a condition, only ever removes the priming key, which holds no user's data.
+     */
+    public void prime() {
+        Map<String, AttributeValue> key =
+                Map.of(
+                        "PK", AttributeValue.builder().s(PRIMING_KEY).build(),
+                        "SK", AttributeValue.builder().s(PRIMING_KEY).build());
+        String condition = "attribute_exists(PK) AND attribute_not_exists(PK)";
+
+        WriteRequest write =
+                WriteRequest.builder()
+                        .deleteRequest(DeleteRequest.builder().key(key).build())
+                        .build();
+        dryRun(
+                () ->
+                        client.batchWriteItem(
+                                BatchWriteItemRequest.builder()
+                                        .requestItems(Map.of(tableName, List.of(write)))
+                                        .overrideConfiguration(PRIMING_OVERRIDE)
+                                        .build()));
+        dryRun(
+                () ->
+                        client.getItem(
+                                GetItemRequest.builder()
+                                        .tableName(tableName)
+                                        .key(key)
+                                        .overrideConfiguration(PRIMING_OVERRIDE)
+                                        .build()));
+        dryRun(
+                () ->
+                        client.batchGetItem(
+                                BatchGetItemRequest.builder()
+                                        .requestItems(
+                                                Map.of(
+                                                        tableName,
+                                                        KeysAndAttributes.builder()
+                                                                .keys(List.of(key))
+                                                                .build()))
+                                        .overrideConfiguration(PRIMING_OVERRIDE)
+                                        .build()));
+        dryRun(
+                () ->
+                        client.query(
+                                QueryRequest.builder()
+                                        .tableName(tableName)
+                                        .keyConditionExpression("PK = :pk")
+                                        .expressionAttributeValues(Map.of(":pk", key.get("PK")))
+                                        .limit(1)
+                                        .overrideConfiguration(PRIMING_OVERRIDE)
+                                        .build()));
+        dryRun(
+                () ->
+                        client.updateItem(
+                                UpdateItemRequest.builder()
+                                        .tableName(tableName)
+                                        .key(key)
+                                        .updateExpression("SET #name = :value")
+                                        .conditionExpression(condition)
+                                        .expressionAttributeNames(Map.of("#name", "Priming"))
+                                        .expressionAttributeValues(Map.of(":value", key.get("SK")))
+                                        .overrideConfiguration(PRIMING_OVERRIDE)
+                                        .build()));
+        dryRun(
+                () ->
+                        client.transactWriteItems(
+                                TransactWriteItemsRequest.builder()
+                                        .transactItems(
+                                                TransactWriteItem.builder()
+                                                        .conditionCheck(
+                                                                ConditionCheck.builder()
+                                                                        .tableName(tableName)
+                                                                        .key(key)
+                                                                        .conditionExpression(
+                                                                                condition)
+                                                                        .build())
+                                                        .build())
+                                        .overrideConfiguration(PRIMING_OVERRIDE)
+                                        .build()));
     }
 }
@@ -1,27 +1,124 @@
 package service;
 
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import model.Subject;
 import model.Type;
+import model.request.FieldsRequest;
+import model.request.PageRequest;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
 public class ListTypeService {
 
+    private static final String KEY_CONDITION_EXPRESSION =
+            "PK = :user AND begins_with ( SK, :type )";
+
+    private static final String PARTITION_CONDITION_EXPRESSION = "PK = :user";
+
+    private static final Type[] TYPES = Type.values();
+
     private final DynamoService service;
 
     public ListTypeService(DynamoService service) {
         this.service = service;
     }
 
-    public QueryResponse list(Subject subject, Type type) {
-        String keyConditionExpression = "PK = :user AND begins_with ( SK, :type )";
+    /**
+     * Lists every item of the type, read consistently, so that a list tagged or cached with the
+     * partition version read just before holds every write that version counts.
+     */
+    public SdkIterable<Map<String, AttributeValue>> list(Subject subject, Type type) {
+        return service.listAll(
+                KEY_CONDITION_EXPRESSION,
+                toExpressionAttributeValues(subject, type),
+                null,
+                null,
+                true);
+    }
+
+    /** Lists every item of the type, read consistently, holding only the requested attributes. */
+    public SdkIterable<Map<String, AttributeValue>> list(
+            Subject subject, Type type, FieldsRequest fieldsRequest) {
+        return service.listAll(
+                KEY_CONDITION_EXPRESSION,
+                toExpressionAttributeValues(subject, type),
+                fieldsRequest.getProjectionExpression(),
+                fieldsRequest.getExpressionAttributeNames(),
+                true);
+    }
+
+    /**
+     * Lists the items of every type in one query on the subject's partition, split by the type
+     * prefix of their sort key. Every type has an entry, empty when the subject holds none of it,
+     * and items of no known type are left out.
+     */
+    public Map<Type, List<Map<String, AttributeValue>>> listByType(Subject subject) {
+        Map<Type, List<Map<String, AttributeValue>>> itemsByType = new EnumMap<>(Type.class);
+        for (Type type : TYPES) {
+            itemsByType.put(type, new ArrayList<>());
+        }
 
-        Map<String, AttributeValue> expressionAttributeValues =
-                Map.of(
-                        ":user", AttributeValue.builder().s("USER#" + subject.getSubject()).build(),
-                        ":type", AttributeValue.builder().s(type.getType() + "#").build());
+        for (Map<String, AttributeValue> item :
+                service.listAll(
+                        PARTITION_CONDITION_EXPRESSION,
+                        Map.of(":user", builder().s("USER#" + subject.getSubject()).build()))) {
+            String sortKey = item.get("SK").s();
+            for (Type type : TYPES) {
+                if (sortKey.startsWith(type.getType() + "#")) {
+                    itemsByType.get(type).add(item);
+                    break;
+                }
+            }
+        }
+        return itemsByType;
+    }
+
+    /** Lists a page of items of the type, holding only the requested attributes. */
+    public QueryResponse list(
+            Subject subject, Type type, PageRequest pageRequest, FieldsRequest fieldsRequest) {
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        if (null != pageRequest.getStartKey()) {
+            if (!pageRequest.getStartKey().startsWith(type.getType() + "#")) {
+                throw new BadRequestException("cursor is not valid");
+            }
+            exclusiveStartKey =
+                    Map.of(
+                            "PK", builder().s("USER#" + subject.getSubject()).build(),
+                            "SK", builder().s(pageRequest.getStartKey()).build());
+        }
+
+        return service.list(
+                KEY_CONDITION_EXPRESSION,
+                toExpressionAttributeValues(subject, type),
+                pageRequest.getLimit(),
+                exclusiveStartKey,
+                fieldsRequest.getProjectionExpression(),
+                fieldsRequest.getExpressionAttributeNames());
+    }
+
+    /** Returns the version of the subject's partition, which changes with every write to it. */
+    public long version(Subject subject) {
+        return service.version(builder().s("USER#" + subject.getSubject()).build());
+    }
+
+    public String toCursor(QueryResponse response) {
+        if (!response.hasLastEvaluatedKey()) {
+            return null;
+        }
+        return PageRequest.encodeCursor(response.lastEvaluatedKey().get("SK").s());
+    }
 
-        return service.list(keyConditionExpression, expressionAttributeValues);
+    private static Map<String, AttributeValue> toExpressionAttributeValues(
+            Subject subject, Type type) {
+        return Map.of(
+                ":user", builder().s("USER#" + subject.getSubject()).build(),
+                ":type", builder().s(type.getType() + "#").build());
     }
 }
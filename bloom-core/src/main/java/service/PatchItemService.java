@@ -0,0 +1,86 @@
+package service;
+
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import exception.NotFoundException;
+import java.util.HashMap;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.UpdateExpression;
+
+public class PatchItemService {
+
+    private static final String VERSION_ATTRIBUTE = "Version";
+
+    private final DynamoService service;
+
+    public PatchItemService(DynamoService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the stored item, read consistently so the version it carries is the latest. The read
+     * is charged for the whole item, whichever attributes the patch changes.
+     */
+    public Map<String, AttributeValue> read(Map<String, AttributeValue> key) {
+        Map<String, AttributeValue> item = service.get(key, true);
+        if (null == item) {
+            String[] sortKey = key.get("SK").s().split("#", 2);
+            throw new NotFoundException(sortKey[0].toLowerCase() + " " + sortKey[1] + " not found");
+        }
+        return item;
+    }
+
+    /**
+     * Writes the changed attributes if the item is still at the given version, zero meaning it
+     * predates versions, and returns the version it was updated to. The write is a transaction that
+     * also bumps the partition version, so it is charged twice the write units of the whole item as
+     * it ends up, not of the changed attributes alone.
+     */
+    public long patch(Map<String, AttributeValue> key, UpdateExpression update, long version) {
+        Map<String, AttributeValue> expressionAttributeValues = versioned(update, version);
+
+        service.update(
+                key,
+                update.getUpdateExpression(),
+                update.getExpressionAttributeNames(),
+                expressionAttributeValues,
+                condition(version));
+        return version + 1;
+    }
+
+    /**
+     * Writes the changed attributes if the item is still at the given version, without reading it
+     * first, and returns the item as written. The write is the same transaction as for {@link
+     * #patch}, and the item is read consistently after it, as a transaction cannot return it.
+     */
+    public Map<String, AttributeValue> patchAndGet(
+            Map<String, AttributeValue> key, UpdateExpression update, long version) {
+        Map<String, AttributeValue> expressionAttributeValues = versioned(update, version);
+
+        return service.updateAndGet(
+                key,
+                update.getUpdateExpression(),
+                update.getExpressionAttributeNames(),
+                expressionAttributeValues,
+                condition(version));
+    }
+
+    private static Map<String, AttributeValue> versioned(UpdateExpression update, long version) {
+        update.add(VERSION_ATTRIBUTE, builder().n("1").build());
+
+        Map<String, AttributeValue> expressionAttributeValues =
+                new HashMap<>(update.getExpressionAttributeValues());
+        if (0 != version) {
+            expressionAttributeValues.put(
+                    ":expectedVersion", builder().n(Long.toString(version)).build());
+        }
+        return expressionAttributeValues;
+    }
+
+    private static String condition(long version) {
+        return 0 == version
+                ? "attribute_exists(PK) AND attribute_not_exists(#Version)"
+                : "#Version = :expectedVersion";
+    }
+}
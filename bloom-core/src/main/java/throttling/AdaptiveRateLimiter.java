@@ -0,0 +1,148 @@
+package throttling;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Spaces out the requests a process sends to a table once the table has throttled it. Until then
+ * requests pass straight through. A throttle cuts the rate to {@value #BACKOFF} of what the process
+ * was sending, after which the rate grows back by {@value #RECOVERY_PER_SECOND} of that each second
+ * until it is {@value #CEILING} times what was throttled, when limiting stops. Throttles arriving
+ * within a window of the last one come from requests already in flight and are not cut for again.
+ */
+public class AdaptiveRateLimiter {
+
+    public static final AdaptiveRateLimiter DISABLED =
+            new AdaptiveRateLimiter(false, System::nanoTime);
+
+    static final double BACKOFF = 0.7;
+    static final double RECOVERY_PER_SECOND = 0.1;
+    static final double CEILING = 2;
+    static final double MIN_RATE = 1;
+    static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static final double SMOOTHING = 0.8;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+
+    private boolean limiting;
+    private double throttledRate;
+    private long throttledAt;
+    private long nextFreeAt;
+
+    private long windowStart;
+    private int windowRequests;
+    private double sendRate;
+
+    public AdaptiveRateLimiter() {
+        this(true, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(boolean enabled, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.windowStart = clock.getAsLong();
+    }
+
+    /** Waits until the next request may be sent, which is at once unless the table throttled. */
+    public void acquire() {
+        long wait = reserve();
+        if (0 < wait) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Completes when the next request may be sent, which is at once unless the table throttled,
+     * without blocking the caller while it waits.
+     */
+    public CompletableFuture<Void> permit() {
+        long wait = reserve();
+        if (0 < wait) {
+            return CompletableFuture.runAsync(
+                    () -> {}, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /** Records that the table throttled a request, cutting the rate requests are sent at. */
+    public synchronized void throttled() {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (limiting && now - throttledAt < WINDOW_NANOS) {
+            return;
+        }
+        double sending = limiting ? Math.min(rate(now), sendRate(now)) : sendRate(now);
+        throttledRate = Math.max(MIN_RATE, sending);
+        throttledAt = now;
+        nextFreeAt = now;
+        limiting = true;
+    }
+
+    public synchronized boolean isLimiting() {
+        return limiting;
+    }
+
+    /** The requests per second allowed now, or infinity when not limiting. */
+    public synchronized double getRate() {
+        return limiting ? rate(clock.getAsLong()) : Double.POSITIVE_INFINITY;
+    }
+
+    /** Takes the next free slot and returns how long to wait for it, in nanoseconds. */
+    synchronized long reserve() {
+        if (!enabled) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        measure(now);
+        if (!limiting) {
+            return 0;
+        }
+        double rate = rate(now);
+        if (CEILING * throttledRate <= rate) {
+            limiting = false;
+            return 0;
+        }
+        long start = Math.max(nextFreeAt, now);
+        nextFreeAt = start + (long) (NANOS_PER_SECOND / rate);
+        return start - now;
+    }
+
+    private double rate(long now) {
+        return throttledRate
+                * (BACKOFF + RECOVERY_PER_SECOND * ((now - throttledAt) / NANOS_PER_SECOND));
+    }
+
+    /** Counts a request in fixed windows, starting afresh after an idle spell. */
+    private void measure(long now) {
+        long elapsed = now - windowStart;
+        if (2 * WINDOW_NANOS <= elapsed) {
+            windowStart = now;
+            windowRequests = 1;
+            sendRate = 0;
+            return;
+        }
+        windowRequests++;
+        if (WINDOW_NANOS <= elapsed) {
+            double rate = windowRequests / (elapsed / NANOS_PER_SECOND);
+            sendRate = 0 == sendRate ? rate : SMOOTHING * sendRate + (1 - SMOOTHING) * rate;
+            windowStart = now;
+            windowRequests = 0;
+        }
+    }
+
+    /** The smoothed rate requests were sent at, or that of the current window when higher. */
+    private double sendRate(long now) {
+        long elapsed = Math.max(now - windowStart, WINDOW_NANOS / 10);
+        return Math.max(sendRate, windowRequests / (elapsed / NANOS_PER_SECOND));
+    }
+}
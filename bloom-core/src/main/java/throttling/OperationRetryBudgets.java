@@ -0,0 +1,71 @@
+package throttling;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketExceptionCostFunction;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+
+/**
+ * Gives each DynamoDB operation its own retry quota, so a throttled operation spends only its own
+ * budget and a burst of failing writes cannot stop reads from being retried. Every retry costs
+ * {@value #RETRY_COST} tokens, throttled ones included, and every success refunds one.
+ */
+public class OperationRetryBudgets implements RetryCondition {
+
+    static final int RETRY_COST = 5;
+
+    private static final String UNNAMED_OPERATION = "";
+
+    private static final TokenBucketExceptionCostFunction COSTS =
+            TokenBucketExceptionCostFunction.builder()
+                    .throttlingExceptionCost(RETRY_COST)
+                    .defaultExceptionCost(RETRY_COST)
+                    .build();
+
+    private final int tokens;
+    private final Map<String, TokenBucketRetryCondition> budgets = new ConcurrentHashMap<>();
+
+    /** @param tokens the tokens each operation's budget holds when full */
+    public OperationRetryBudgets(int tokens) {
+        if (tokens < 0) {
+            throw new IllegalArgumentException("tokens cannot be negative");
+        }
+        this.tokens = tokens;
+    }
+
+    @Override
+    public boolean shouldRetry(RetryPolicyContext context) {
+        return budget(context).shouldRetry(context);
+    }
+
+    @Override
+    public void requestWillNotBeRetried(RetryPolicyContext context) {
+        budget(context).requestWillNotBeRetried(context);
+    }
+
+    @Override
+    public void requestSucceeded(RetryPolicyContext context) {
+        budget(context).requestSucceeded(context);
+    }
+
+    /** The tokens left in the operation's budget. */
+    public int getTokensAvailable(String operation) {
+        TokenBucketRetryCondition budget = budgets.get(operation);
+        return null != budget ? budget.tokensAvailable() : tokens;
+    }
+
+    private TokenBucketRetryCondition budget(RetryPolicyContext context) {
+        String operation =
+                context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        return budgets.computeIfAbsent(
+                null != operation ? operation : UNNAMED_OPERATION,
+                name ->
+                        TokenBucketRetryCondition.builder()
+                                .tokenBucketSize(tokens)
+                                .exceptionCostFunction(COSTS)
+                                .build());
+    }
+}
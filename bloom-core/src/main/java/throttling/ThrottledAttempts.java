@@ -0,0 +1,39 @@
+package throttling;
+
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+/**
+ * Tells the limiter about every attempt the table throttles as the client decides whether to retry
+ * it, so requests slow down from the first throttled attempt rather than only once one has run out
+ * of retries. Whether to retry is left to the condition it wraps.
+ */
+public class ThrottledAttempts implements RetryCondition {
+
+    private final AdaptiveRateLimiter limiter;
+    private final RetryCondition condition;
+
+    public ThrottledAttempts(AdaptiveRateLimiter limiter, RetryCondition condition) {
+        this.limiter = limiter;
+        this.condition = condition;
+    }
+
+    @Override
+    public boolean shouldRetry(RetryPolicyContext context) {
+        if (null != context.exception() && RetryUtils.isThrottlingException(context.exception())) {
+            limiter.throttled();
+        }
+        return condition.shouldRetry(context);
+    }
+
+    @Override
+    public void requestWillNotBeRetried(RetryPolicyContext context) {
+        condition.requestWillNotBeRetried(context);
+    }
+
+    @Override
+    public void requestSucceeded(RetryPolicyContext context) {
+        condition.requestSucceeded(context);
+    }
+}
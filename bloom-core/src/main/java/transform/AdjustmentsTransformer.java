@@ -1,5 +1,6 @@
 package transform;
 
+import static provider.EncodingProvider.providePackedLists;
 import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
 
 import java.util.ArrayList;
@@ -9,13 +10,35 @@ import model.Adjustment;
 import model.Amount;
 import model.Date;
 import model.Rate;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import util.PackedReader;
+import util.PackedWriter;
 
+/**
+ * Maps adjustments to a list of maps, or when packing to a binary attribute: a format version byte,
+ * the count, then each adjustment's month index, amount and rate as varints. Both are read back.
+ */
 public class AdjustmentsTransformer {
 
-    public AdjustmentsTransformer() {}
+    static final int FORMAT_VERSION = 1;
+
+    private static final int PACKED_BYTES_PER_ADJUSTMENT = 8;
+
+    private final boolean packed;
+
+    public AdjustmentsTransformer() {
+        this(providePackedLists());
+    }
+
+    public AdjustmentsTransformer(boolean packed) {
+        this.packed = packed;
+    }
 
     public AttributeValue toAdjustmentsAttribute(List<Adjustment> adjustments) {
+        if (packed && canPack(adjustments)) {
+            return builder().b(SdkBytes.fromByteArrayUnsafe(pack(adjustments))).build();
+        }
         List<AttributeValue> attributeList = new ArrayList<>();
         for (Adjustment adjustment : adjustments) {
             Map<String, AttributeValue> attribute =
@@ -30,6 +53,9 @@ public class AdjustmentsTransformer {
     }
 
     public List<Adjustment> toAdjustmentsList(AttributeValue adjustmentsAttribute) {
+        if (null != adjustmentsAttribute.b()) {
+            return unpack(adjustmentsAttribute.b().asByteArrayUnsafe());
+        }
         List<Adjustment> adjustments = new ArrayList<>();
         for (AttributeValue attributeValue : adjustmentsAttribute.l()) {
             Adjustment adjustment =
@@ -41,4 +67,53 @@ public class AdjustmentsTransformer {
         }
         return adjustments;
     }
+
+    /**
+     * Whether new adjustments can be joined to the stored attribute with list_append, which needs
+     * the list layout on both sides; otherwise the whole list has to be written again.
+     */
+    public boolean isAppendable(AttributeValue adjustmentsAttribute) {
+        return !packed && null != adjustmentsAttribute && adjustmentsAttribute.hasL();
+    }
+
+    private static boolean canPack(List<Adjustment> adjustments) {
+        for (Adjustment adjustment : adjustments) {
+            if (!PackedWriter.canWrite(adjustment.getAmount().getAmount())
+                    || !PackedWriter.canWrite(adjustment.getRate().getRate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] pack(List<Adjustment> adjustments) {
+        PackedWriter writer =
+                new PackedWriter(2 + PACKED_BYTES_PER_ADJUSTMENT * adjustments.size())
+                        .writeByte(FORMAT_VERSION)
+                        .writeUnsigned(adjustments.size());
+        for (Adjustment adjustment : adjustments) {
+            writer.writeMonth(adjustment.getDateFrom().getDate())
+                    .writeDecimal(adjustment.getAmount().getAmount())
+                    .writeDecimal(adjustment.getRate().getRate());
+        }
+        return writer.toByteArray();
+    }
+
+    private static List<Adjustment> unpack(byte[] bytes) {
+        PackedReader reader = new PackedReader(bytes);
+        int version = reader.readByte();
+        if (FORMAT_VERSION != version) {
+            throw new IllegalArgumentException(
+                    "packed adjustments format " + version + " is unknown");
+        }
+        long count = reader.readUnsigned();
+        List<Adjustment> adjustments = new ArrayList<>((int) Math.min(count, bytes.length));
+        for (long i = 0; i < count; i++) {
+            Date dateFrom = new Date(reader.readMonth().toString());
+            Amount amount = new Amount(reader.readDecimal().toString());
+            Rate rate = new Rate(reader.readDecimal().toString());
+            adjustments.add(new Adjustment(amount, dateFrom, rate));
+        }
+        return adjustments;
+    }
 }
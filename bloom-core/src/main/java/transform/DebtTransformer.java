@@ -0,0 +1,150 @@
+package transform;
+
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Debt;
+import model.Name;
+import model.Subject;
+import model.request.DebtPatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+public class DebtTransformer {
+
+    private final AdjustmentsTransformer adjustmentsTransformer;
+    private final OneTimePaymentsTransformer oneTimePaymentsTransformer;
+
+    public DebtTransformer() {
+        this(new AdjustmentsTransformer(), new OneTimePaymentsTransformer());
+    }
+
+    DebtTransformer(
+            AdjustmentsTransformer adjustmentsTransformer,
+            OneTimePaymentsTransformer oneTimePaymentsTransformer) {
+        this.adjustmentsTransformer = adjustmentsTransformer;
+        this.oneTimePaymentsTransformer = oneTimePaymentsTransformer;
+    }
+
+    public Map<String, AttributeValue> toKey(Name name, Subject subject) {
+        return Map.of(
+                "PK", AttributeValue.builder().s("USER#" + subject.getSubject()).build(),
+                "SK", AttributeValue.builder().s("DEBT#" + name.getName()).build());
+    }
+
+    public Map<String, AttributeValue> toAttributeMap(Debt debt, Subject subject) {
+        Map<String, AttributeValue> debtItem = new HashMap<>();
+
+        debtItem.put("PK", builder().s("USER#" + subject.getSubject()).build());
+        debtItem.put("SK", builder().s("DEBT#" + debt.getName().getName()).build());
+        debtItem.put("StartAmount", builder().s(debt.getStartAmount().toString()).build());
+        debtItem.put("MonthlyAmount", builder().s(debt.getMonthlyAmount().toString()).build());
+        debtItem.put("StartDate", builder().s(debt.getStartDate().toString()).build());
+        debtItem.put("YearlyRate", builder().s(debt.getYearlyRate().toString()).build());
+        debtItem.put(
+                "Adjustments",
+                adjustmentsTransformer.toAdjustmentsAttribute(debt.getAdjustments()));
+        debtItem.put(
+                "OneTimePayments",
+                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(debt.getOneTimePayments()));
+        debtItem.put("Version", builder().n("1").build());
+
+        return debtItem;
+    }
+
+    public Map<String, AttributeValue> toAttributeMap(Debt debt) {
+        Map<String, AttributeValue> debtItem = new HashMap<>();
+
+        debtItem.put(":startAmount", builder().s(debt.getStartAmount().toString()).build());
+        debtItem.put(":monthlyAmount", builder().s(debt.getMonthlyAmount().toString()).build());
+        debtItem.put(":startDate", builder().s(debt.getStartDate().toString()).build());
+        debtItem.put(":yearlyRate", builder().s(debt.getYearlyRate().toString()).build());
+        debtItem.put(
+                ":adjustments",
+                adjustmentsTransformer.toAdjustmentsAttribute(debt.getAdjustments()));
+        debtItem.put(
+                ":oneTimePayments",
+                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(debt.getOneTimePayments()));
+
+        return debtItem;
+    }
+
+    /**
+     * The update writing only the attributes present in the patch to the stored item. Appended
+     * adjustments and one-time payments are sent alone and joined to stored lists with list_append,
+     * so the write grows with the change rather than with the history; a packed list is small
+     * enough to be written again whole.
+     */
+    public UpdateExpression toUpdateExpression(DebtPatch patch, Map<String, AttributeValue> item) {
+        UpdateExpression update = new UpdateExpression();
+
+        if (null != patch.getStartAmount()) {
+            update.set("StartAmount", builder().s(patch.getStartAmount().toString()).build());
+        }
+        if (null != patch.getMonthlyAmount()) {
+            update.set("MonthlyAmount", builder().s(patch.getMonthlyAmount().toString()).build());
+        }
+        if (null != patch.getStartDate()) {
+            update.set("StartDate", builder().s(patch.getStartDate().toString()).build());
+        }
+        if (null != patch.getYearlyRate()) {
+            update.set("YearlyRate", builder().s(patch.getYearlyRate().toString()).build());
+        }
+        if (null != patch.getAdjustments()) {
+            update.set(
+                    "Adjustments",
+                    adjustmentsTransformer.toAdjustmentsAttribute(patch.getAdjustments()));
+        } else if (null != patch.getAppendAdjustments()) {
+            AttributeValue stored = item.get("Adjustments");
+            if (adjustmentsTransformer.isAppendable(stored)) {
+                update.append(
+                        "Adjustments",
+                        adjustmentsTransformer.toAdjustmentsAttribute(
+                                patch.getAppendAdjustments()));
+            } else {
+                update.set(
+                        "Adjustments",
+                        adjustmentsTransformer.toAdjustmentsAttribute(
+                                appended(
+                                        null != stored
+                                                ? adjustmentsTransformer.toAdjustmentsList(stored)
+                                                : List.of(),
+                                        patch.getAppendAdjustments())));
+            }
+        }
+        if (null != patch.getOneTimePayments()) {
+            update.set(
+                    "OneTimePayments",
+                    oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                            patch.getOneTimePayments()));
+        } else if (null != patch.getAppendOneTimePayments()) {
+            AttributeValue stored = item.get("OneTimePayments");
+            if (oneTimePaymentsTransformer.isAppendable(stored)) {
+                update.append(
+                        "OneTimePayments",
+                        oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                                patch.getAppendOneTimePayments()));
+            } else {
+                update.set(
+                        "OneTimePayments",
+                        oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                                appended(
+                                        null != stored
+                                                ? oneTimePaymentsTransformer.toOneTimePaymentsList(
+                                                        stored)
+                                                : List.of(),
+                                        patch.getAppendOneTimePayments())));
+            }
+        }
+
+        return update;
+    }
+
+    private static <T> List<T> appended(List<T> stored, List<T> appended) {
+        List<T> list = new ArrayList<>(stored);
+        list.addAll(appended);
+        return list;
+    }
+}
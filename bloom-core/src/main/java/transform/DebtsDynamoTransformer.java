@@ -11,6 +11,7 @@ import model.Name;
 import model.Rate;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import util.Iterables;
 
 public class DebtsDynamoTransformer {
 
@@ -28,9 +29,17 @@ public class DebtsDynamoTransformer {
         this.oneTimePaymentsTransformer = oneTimePaymentsTransformer;
     }
 
+    public Iterable<Debt> toDebts(Iterable<Map<String, AttributeValue>> items) {
+        return Iterables.transform(items, this::toDebt);
+    }
+
     public List<Debt> toDebtsList(QueryResponse response) {
+        return toDebtsList(response.items());
+    }
+
+    public List<Debt> toDebtsList(List<Map<String, AttributeValue>> items) {
         List<Debt> debts = new ArrayList<>();
-        for (Map<String, AttributeValue> attributeValueMap : response.items()) {
+        for (Map<String, AttributeValue> attributeValueMap : items) {
             Debt debt = toDebt(attributeValueMap);
             debts.add(debt);
         }
@@ -38,7 +47,7 @@ public class DebtsDynamoTransformer {
         return debts;
     }
 
-    private Debt toDebt(Map<String, AttributeValue> attributeValueMap) {
+    public Debt toDebt(Map<String, AttributeValue> attributeValueMap) {
         Builder builder = Debt.newBuilder();
 
         builder.withName(new Name(attributeValueMap.get("SK").s().split("#")[1]));
@@ -51,7 +60,61 @@ public class DebtsDynamoTransformer {
         builder.withOneTimePayments(
                 oneTimePaymentsTransformer.toOneTimePaymentsList(
                         attributeValueMap.get("OneTimePayments")));
+        builder.withVersion(
+                attributeValueMap.containsKey("Version")
+                        ? Long.parseLong(attributeValueMap.get("Version").n())
+                        : 0L);
 
         return builder.build();
     }
+
+    /** Transforms items holding only some attributes, as read with a projection. */
+    public Iterable<Debt> toPartialDebts(Iterable<Map<String, AttributeValue>> items) {
+        return Iterables.transform(items, this::toPartialDebt);
+    }
+
+    public List<Debt> toPartialDebtsList(QueryResponse response) {
+        List<Debt> debts = new ArrayList<>();
+        for (Map<String, AttributeValue> attributeValueMap : response.items()) {
+            debts.add(toPartialDebt(attributeValueMap));
+        }
+
+        return debts;
+    }
+
+    /**
+     * Transforms the attributes the item holds and leaves the rest unset, so the lists are only
+     * decoded when they were asked for.
+     */
+    public Debt toPartialDebt(Map<String, AttributeValue> attributeValueMap) {
+        Builder builder = Debt.newBuilder();
+
+        builder.withName(new Name(attributeValueMap.get("SK").s().split("#")[1]));
+        if (attributeValueMap.containsKey("StartAmount")) {
+            builder.withStartAmount(new Amount(attributeValueMap.get("StartAmount").s()));
+        }
+        if (attributeValueMap.containsKey("MonthlyAmount")) {
+            builder.withMonthlyAmount(new Amount(attributeValueMap.get("MonthlyAmount").s()));
+        }
+        if (attributeValueMap.containsKey("StartDate")) {
+            builder.withStartDate(new Date(attributeValueMap.get("StartDate").s()));
+        }
+        if (attributeValueMap.containsKey("YearlyRate")) {
+            builder.withYearlyRate(new Rate(attributeValueMap.get("YearlyRate").s()));
+        }
+        if (attributeValueMap.containsKey("Adjustments")) {
+            builder.withAdjustments(
+                    adjustmentsTransformer.toAdjustmentsList(attributeValueMap.get("Adjustments")));
+        }
+        if (attributeValueMap.containsKey("OneTimePayments")) {
+            builder.withOneTimePayments(
+                    oneTimePaymentsTransformer.toOneTimePaymentsList(
+                            attributeValueMap.get("OneTimePayments")));
+        }
+        if (attributeValueMap.containsKey("Version")) {
+            builder.withVersion(Long.parseLong(attributeValueMap.get("Version").n()));
+        }
+
+        return builder.buildPartial();
+    }
 }
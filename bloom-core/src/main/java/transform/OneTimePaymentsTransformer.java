@@ -1,5 +1,6 @@
 package transform;
 
+import static provider.EncodingProvider.providePackedLists;
 import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
 
 import java.util.ArrayList;
@@ -8,13 +9,35 @@ import java.util.Map;
 import model.Amount;
 import model.Date;
 import model.OneTimePayment;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import util.PackedReader;
+import util.PackedWriter;
 
+/**
+ * Maps one-time payments to a list of maps, or when packing to a binary attribute: a format version
+ * byte, the count, then each payment's month index and amount as varints. Both are read back.
+ */
 public class OneTimePaymentsTransformer {
 
-    public OneTimePaymentsTransformer() {}
+    static final int FORMAT_VERSION = 1;
+
+    private static final int PACKED_BYTES_PER_PAYMENT = 5;
+
+    private final boolean packed;
+
+    public OneTimePaymentsTransformer() {
+        this(providePackedLists());
+    }
+
+    public OneTimePaymentsTransformer(boolean packed) {
+        this.packed = packed;
+    }
 
     public AttributeValue toOneTimePaymentsAttribute(List<OneTimePayment> oneTimePayments) {
+        if (packed && canPack(oneTimePayments)) {
+            return builder().b(SdkBytes.fromByteArrayUnsafe(pack(oneTimePayments))).build();
+        }
         List<AttributeValue> attributeList = new ArrayList<>();
         for (OneTimePayment oneTimePayment : oneTimePayments) {
             Map<String, AttributeValue> attribute =
@@ -27,6 +50,9 @@ public class OneTimePaymentsTransformer {
     }
 
     public List<OneTimePayment> toOneTimePaymentsList(AttributeValue oneTimePaymentsAttribute) {
+        if (null != oneTimePaymentsAttribute.b()) {
+            return unpack(oneTimePaymentsAttribute.b().asByteArrayUnsafe());
+        }
         List<OneTimePayment> oneTimePayments = new ArrayList<>();
         for (AttributeValue attributeValue : oneTimePaymentsAttribute.l()) {
             OneTimePayment oneTimePayment =
@@ -37,4 +63,50 @@ public class OneTimePaymentsTransformer {
         }
         return oneTimePayments;
     }
+
+    /**
+     * Whether new payments can be joined to the stored attribute with list_append, which needs the
+     * list layout on both sides; otherwise the whole list has to be written again.
+     */
+    public boolean isAppendable(AttributeValue oneTimePaymentsAttribute) {
+        return !packed && null != oneTimePaymentsAttribute && oneTimePaymentsAttribute.hasL();
+    }
+
+    private static boolean canPack(List<OneTimePayment> oneTimePayments) {
+        for (OneTimePayment oneTimePayment : oneTimePayments) {
+            if (!PackedWriter.canWrite(oneTimePayment.getAmount().getAmount())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] pack(List<OneTimePayment> oneTimePayments) {
+        PackedWriter writer =
+                new PackedWriter(2 + PACKED_BYTES_PER_PAYMENT * oneTimePayments.size())
+                        .writeByte(FORMAT_VERSION)
+                        .writeUnsigned(oneTimePayments.size());
+        for (OneTimePayment oneTimePayment : oneTimePayments) {
+            writer.writeMonth(oneTimePayment.getDate().getDate())
+                    .writeDecimal(oneTimePayment.getAmount().getAmount());
+        }
+        return writer.toByteArray();
+    }
+
+    private static List<OneTimePayment> unpack(byte[] bytes) {
+        PackedReader reader = new PackedReader(bytes);
+        int version = reader.readByte();
+        if (FORMAT_VERSION != version) {
+            throw new IllegalArgumentException(
+                    "packed oneTimePayments format " + version + " is unknown");
+        }
+        long count = reader.readUnsigned();
+        List<OneTimePayment> oneTimePayments = new ArrayList<>((int) Math.min(count, bytes.length));
+        for (long i = 0; i < count; i++) {
+            Date date = new Date(reader.readMonth().toString());
+            Amount amount = new Amount(reader.readDecimal().toString());
+            oneTimePayments.add(new OneTimePayment(amount, date));
+        }
+        return oneTimePayments;
+    }
 }
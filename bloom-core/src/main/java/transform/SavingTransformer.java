@@ -0,0 +1,159 @@
+package transform;
+
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Name;
+import model.Saving;
+import model.Subject;
+import model.request.SavingPatch;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+public class SavingTransformer {
+
+    private final AdjustmentsTransformer adjustmentsTransformer;
+    private final OneTimePaymentsTransformer oneTimePaymentsTransformer;
+
+    public SavingTransformer() {
+        this(new AdjustmentsTransformer(), new OneTimePaymentsTransformer());
+    }
+
+    SavingTransformer(
+            AdjustmentsTransformer adjustmentsTransformer,
+            OneTimePaymentsTransformer oneTimePaymentsTransformer) {
+        this.adjustmentsTransformer = adjustmentsTransformer;
+        this.oneTimePaymentsTransformer = oneTimePaymentsTransformer;
+    }
+
+    public Map<String, AttributeValue> toAttributeMap(Saving saving, Subject subject) {
+        Map<String, AttributeValue> savingItem = new HashMap<>();
+
+        savingItem.put("PK", builder().s("USER#" + subject.getSubject()).build());
+        savingItem.put("SK", builder().s("SAVING#" + saving.getName().getName()).build());
+        savingItem.put("StartAmount", builder().s(saving.getStartAmount().toString()).build());
+        savingItem.put("MonthlyAmount", builder().s(saving.getMonthlyAmount().toString()).build());
+        savingItem.put("StartDate", builder().s(saving.getStartDate().toString()).build());
+        savingItem.put("EndDate", builder().s(saving.getEndDate().toString()).build());
+        savingItem.put("YearlyRate", builder().s(saving.getYearlyRate().toString()).build());
+        savingItem.put(
+                "Adjustments",
+                adjustmentsTransformer.toAdjustmentsAttribute(saving.getAdjustments()));
+        savingItem.put(
+                "OneTimePayments",
+                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(saving.getOneTimePayments()));
+        savingItem.put("Version", builder().n("1").build());
+
+        return savingItem;
+    }
+
+    public Map<String, AttributeValue> toAttributeMap(Saving saving) {
+        Map<String, AttributeValue> savingItem = new HashMap<>();
+
+        savingItem.put(":startAmount", builder().s(saving.getStartAmount().toString()).build());
+        savingItem.put(":monthlyAmount", builder().s(saving.getMonthlyAmount().toString()).build());
+        savingItem.put(":startDate", builder().s(saving.getStartDate().toString()).build());
+        savingItem.put(":endDate", builder().s(saving.getEndDate().toString()).build());
+        savingItem.put(":yearlyRate", builder().s(saving.getYearlyRate().toString()).build());
+        savingItem.put(
+                ":adjustments",
+                adjustmentsTransformer.toAdjustmentsAttribute(saving.getAdjustments()));
+        savingItem.put(
+                ":oneTimePayments",
+                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(saving.getOneTimePayments()));
+
+        return savingItem;
+    }
+
+    /**
+     * The update writing only the attributes present in the patch to the stored item. Appended
+     * adjustments and one-time payments are sent alone and joined to stored lists with list_append,
+     * so the write grows with the change rather than with the history; a packed list is small
+     * enough to be written again whole.
+     */
+    public UpdateExpression toUpdateExpression(
+            SavingPatch patch, Map<String, AttributeValue> item) {
+        UpdateExpression update = new UpdateExpression();
+
+        if (null != patch.getStartAmount()) {
+            update.set("StartAmount", builder().s(patch.getStartAmount().toString()).build());
+        }
+        if (null != patch.getMonthlyAmount()) {
+            update.set("MonthlyAmount", builder().s(patch.getMonthlyAmount().toString()).build());
+        }
+        if (null != patch.getStartDate()) {
+            update.set("StartDate", builder().s(patch.getStartDate().toString()).build());
+        }
+        if (null != patch.getEndDate()) {
+            update.set("EndDate", builder().s(patch.getEndDate().toString()).build());
+        }
+        if (null != patch.getYearlyRate()) {
+            update.set("YearlyRate", builder().s(patch.getYearlyRate().toString()).build());
+        }
+        if (null != patch.getAdjustments()) {
+            update.set(
+                    "Adjustments",
+                    adjustmentsTransformer.toAdjustmentsAttribute(patch.getAdjustments()));
+        } else if (null != patch.getAppendAdjustments()) {
+            AttributeValue stored = item.get("Adjustments");
+            if (adjustmentsTransformer.isAppendable(stored)) {
+                update.append(
+                        "Adjustments",
+                        adjustmentsTransformer.toAdjustmentsAttribute(
+                                patch.getAppendAdjustments()));
+            } else {
+                update.set(
+                        "Adjustments",
+                        adjustmentsTransformer.toAdjustmentsAttribute(
+                                appended(
+                                        null != stored
+                                                ? adjustmentsTransformer.toAdjustmentsList(stored)
+                                                : List.of(),
+                                        patch.getAppendAdjustments())));
+            }
+        }
+        if (null != patch.getOneTimePayments()) {
+            update.set(
+                    "OneTimePayments",
+                    oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                            patch.getOneTimePayments()));
+        } else if (null != patch.getAppendOneTimePayments()) {
+            AttributeValue stored = item.get("OneTimePayments");
+            if (oneTimePaymentsTransformer.isAppendable(stored)) {
+                update.append(
+                        "OneTimePayments",
+                        oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                                patch.getAppendOneTimePayments()));
+            } else {
+                update.set(
+                        "OneTimePayments",
+                        oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                                appended(
+                                        null != stored
+                                                ? oneTimePaymentsTransformer.toOneTimePaymentsList(
+                                                        stored)
+                                                : List.of(),
+                                        patch.getAppendOneTimePayments())));
+            }
+        }
+
+        return update;
+    }
+
+    private static <T> List<T> appended(List<T> stored, List<T> appended) {
+        List<T> list = new ArrayList<>(stored);
+        list.addAll(appended);
+        return list;
+    }
+
+    public Map<String, AttributeValue> toKey(Name name, Subject subject) {
+        Map<String, AttributeValue> key = new HashMap<>();
+
+        key.put("PK", builder().s("USER#" + subject.getSubject()).build());
+        key.put("SK", builder().s("SAVING#" + name.getName()).build());
+
+        return key;
+    }
+}
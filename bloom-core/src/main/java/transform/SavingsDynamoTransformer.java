@@ -10,6 +10,7 @@ import model.Rate;
 import model.Saving;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import util.Iterables;
 
 public class SavingsDynamoTransformer {
 
@@ -27,9 +28,17 @@ public class SavingsDynamoTransformer {
         this.oneTimePaymentsTransformer = oneTimePaymentsTransformer;
     }
 
+    public Iterable<Saving> toSavings(Iterable<Map<String, AttributeValue>> items) {
+        return Iterables.transform(items, this::toSaving);
+    }
+
     public List<Saving> toSavingsList(QueryResponse response) {
+        return toSavingsList(response.items());
+    }
+
+    public List<Saving> toSavingsList(List<Map<String, AttributeValue>> items) {
         List<Saving> savingsList = new ArrayList<>();
-        for (Map<String, AttributeValue> attributeValueMap : response.items()) {
+        for (Map<String, AttributeValue> attributeValueMap : items) {
             Saving saving = toSaving(attributeValueMap);
             savingsList.add(saving);
         }
@@ -51,7 +60,64 @@ public class SavingsDynamoTransformer {
         builder.withOneTimePayments(
                 oneTimePaymentsTransformer.toOneTimePaymentsList(
                         attributeValueMap.get("OneTimePayments")));
+        builder.withVersion(
+                attributeValueMap.containsKey("Version")
+                        ? Long.parseLong(attributeValueMap.get("Version").n())
+                        : 0L);
 
         return builder.build();
     }
+
+    /** Transforms items holding only some attributes, as read with a projection. */
+    public Iterable<Saving> toPartialSavings(Iterable<Map<String, AttributeValue>> items) {
+        return Iterables.transform(items, this::toPartialSaving);
+    }
+
+    public List<Saving> toPartialSavingsList(QueryResponse response) {
+        List<Saving> savingsList = new ArrayList<>();
+        for (Map<String, AttributeValue> attributeValueMap : response.items()) {
+            savingsList.add(toPartialSaving(attributeValueMap));
+        }
+
+        return savingsList;
+    }
+
+    /**
+     * Transforms the attributes the item holds and leaves the rest unset, so the lists are only
+     * decoded when they were asked for.
+     */
+    public Saving toPartialSaving(Map<String, AttributeValue> attributeValueMap) {
+        Saving.Builder builder = Saving.newBuilder();
+
+        builder.withName(new Name(attributeValueMap.get("SK").s().split("#")[1]));
+        if (attributeValueMap.containsKey("StartAmount")) {
+            builder.withStartAmount(new Amount(attributeValueMap.get("StartAmount").s()));
+        }
+        if (attributeValueMap.containsKey("MonthlyAmount")) {
+            builder.withMonthlyAmount(new Amount(attributeValueMap.get("MonthlyAmount").s()));
+        }
+        if (attributeValueMap.containsKey("StartDate")) {
+            builder.withStartDate(new Date(attributeValueMap.get("StartDate").s()));
+        }
+        if (attributeValueMap.containsKey("EndDate")) {
+            builder.withEndDate(new Date(attributeValueMap.get("EndDate").s()));
+        }
+        if (attributeValueMap.containsKey("YearlyRate")) {
+            builder.withYearlyRate(new Rate(attributeValueMap.get("YearlyRate").s()));
+        }
+        if (attributeValueMap.containsKey("Adjustments")) {
+            builder.withAdjustments(
+                    adjustmentsTransformer.toAdjustmentsList(attributeValueMap.get("Adjustments")));
+        }
+        if (attributeValueMap.containsKey("OneTimePayments")) {
+            builder.withOneTimePayments(
+                    oneTimePaymentsTransformer.toOneTimePaymentsList(
+                            attributeValueMap.get("OneTimePayments")));
+        }
+        if (attributeValueMap.containsKey("Version")) {
+            builder.withVersion(Long.parseLong(attributeValueMap.get("Version").n()));
+        }
+
+        return builder.buildPartial();
+    }
 }
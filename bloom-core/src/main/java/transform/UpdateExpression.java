@@ -0,0 +1,74 @@
+package transform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Collects the clauses of an update that touches only some attributes of an item. Each attribute is
+ * referred to as {@code #Attribute} and its value as {@code :Attribute}, so an attribute can appear
+ * in one clause only.
+ */
+public class UpdateExpression {
+
+    private final List<String> setClauses = new ArrayList<>();
+    private final List<String> addClauses = new ArrayList<>();
+    private final Map<String, String> expressionAttributeNames = new HashMap<>();
+    private final Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+
+    /** Replaces the attribute with the value. */
+    public UpdateExpression set(String attribute, AttributeValue value) {
+        setClauses.add(name(attribute) + " = " + value(attribute, value));
+        return this;
+    }
+
+    /** Appends the elements of the list value to the list attribute, without reading it first. */
+    public UpdateExpression append(String attribute, AttributeValue value) {
+        String name = name(attribute);
+        setClauses.add(name + " = list_append(" + name + ", " + value(attribute, value) + ")");
+        return this;
+    }
+
+    /** Adds the number value to the number attribute, starting from zero when it is missing. */
+    public UpdateExpression add(String attribute, AttributeValue value) {
+        addClauses.add(name(attribute) + " " + value(attribute, value));
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return setClauses.isEmpty() && addClauses.isEmpty();
+    }
+
+    public String getUpdateExpression() {
+        List<String> actions = new ArrayList<>();
+        if (!setClauses.isEmpty()) {
+            actions.add("SET " + String.join(", ", setClauses));
+        }
+        if (!addClauses.isEmpty()) {
+            actions.add("ADD " + String.join(", ", addClauses));
+        }
+        return String.join(" ", actions);
+    }
+
+    public Map<String, String> getExpressionAttributeNames() {
+        return Map.copyOf(expressionAttributeNames);
+    }
+
+    public Map<String, AttributeValue> getExpressionAttributeValues() {
+        return Map.copyOf(expressionAttributeValues);
+    }
+
+    private String name(String attribute) {
+        if (null != expressionAttributeNames.putIfAbsent("#" + attribute, attribute)) {
+            throw new IllegalArgumentException(attribute + " cannot be updated twice");
+        }
+        return "#" + attribute;
+    }
+
+    private String value(String attribute, AttributeValue value) {
+        expressionAttributeValues.put(":" + attribute, value);
+        return ":" + attribute;
+    }
+}
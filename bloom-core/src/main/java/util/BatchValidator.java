@@ -0,0 +1,31 @@
+package util;
+
+import exception.BadRequestException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import model.Name;
+
+public class BatchValidator {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private BatchValidator() {}
+
+    public static <T> void checkBatch(List<T> items, Function<T, Name> nameOf, String name) {
+        if (items.isEmpty() || MAX_BATCH_SIZE < items.size()) {
+            throw new BadRequestException(
+                    name + " should contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+        Set<String> seen = new HashSet<>();
+        for (T item : items) {
+            if (null == item) {
+                throw new BadRequestException(name + " cannot contain null items");
+            }
+            if (!seen.add(nameOf.apply(item).getName())) {
+                throw new BadRequestException(name + " should have unique names");
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package util;
+
+import java.util.List;
+import java.util.Map;
+import model.Subject;
+import model.Type;
+
+public class EntityTags {
+
+    public static final String IF_NONE_MATCH = "If-None-Match";
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+    private static final List<String> CODINGS = List.of("gzip", "deflate");
+
+    /**
+     * A strong entity tag for the full list of one type, derived from the partition version. The
+     * subject is part of the tag so a browser switching users never replays another user's
+     * validator against an equal version.
+     */
+    public static String strong(Subject subject, Type type, long version) {
+        return "\"" + subject.getSubject() + "-" + type.name().toLowerCase() + "-" + version + "\"";
+    }
+
+    /**
+     * A strong entity tag for the list of one type holding only the given fields, which differs
+     * from the full list's tag and from that of any other selection of fields.
+     */
+    public static String strong(Subject subject, Type type, long version, List<String> fields) {
+        String tag = strong(subject, type, version);
+        return tag.substring(0, tag.length() - 1) + "-" + String.join(".", fields) + "\"";
+    }
+
+    /**
+     * The tag of the body sent with the given content coding. A strong tag names one exact byte
+     * sequence, so a compressed body has a tag of its own.
+     */
+    public static String encoded(String eTag, String coding) {
+        return eTag.substring(0, eTag.length() - 1) + "-" + coding + "\"";
+    }
+
+    /**
+     * Whether the If-None-Match request header, matched case-insensitively, lists the tag or one of
+     * its encoded forms. Weak tags compare equal to their strong form, as If-None-Match uses the
+     * weak comparison.
+     */
+    public static boolean matches(Map<String, String> headers, String eTag) {
+        return null != matching(headers, eTag);
+    }
+
+    /**
+     * Returns the form of the tag the If-None-Match request header lists, which is the tag itself
+     * or one of its encoded forms, or null when it lists none of them.
+     */
+    public static String matching(Map<String, String> headers, String eTag) {
+        if (null == headers || null == eTag) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (IF_NONE_MATCH.equalsIgnoreCase(header.getKey())) {
+                String listed = listed(header.getValue(), eTag);
+                if (null != listed) {
+                    return listed;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String listed(String value, String eTag) {
+        if (null == value) {
+            return null;
+        }
+        for (String candidate : value.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (ANY.equals(tag) || eTag.equals(tag)) {
+                return eTag;
+            }
+            for (String coding : CODINGS) {
+                if (tag.equals(encoded(eTag, coding))) {
+                    return tag;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,151 @@
+package util;
+
+import java.math.BigDecimal;
+
+/**
+ * Packs a decimal with up to a fixed number of fraction digits into a single {@code long}: the
+ * value in units of that scale in the high bits and the number of fraction digits it was written
+ * with in the low three bits, so {@code "1.5"} and {@code "1.50"} keep their own string form.
+ * Amounts are packed in {@link #HUNDREDTHS} and rates in {@link #TEN_THOUSANDTHS}.
+ *
+ * <p>A value whose {@link BigDecimal} form has a negative scale, such as {@code "1e2"}, has no
+ * packed form, as formatting could not give back its exponent.
+ */
+public class FixedPoint {
+
+    public static final FixedPoint HUNDREDTHS = new FixedPoint(2);
+    public static final FixedPoint TEN_THOUSANDTHS = new FixedPoint(4);
+
+    private static final int SCALE_BITS = 3;
+    private static final int MAX_UNITS_DIGITS = 18;
+    private static final long[] POWERS = {1, 10, 100, 1_000, 10_000};
+
+    private final int scale;
+
+    private FixedPoint(int scale) {
+        this.scale = scale;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Packs a plain decimal such as {@code -12.50}, returning {@link Long#MIN_VALUE} when the value
+     * is not written that way so the caller can fall back to {@link BigDecimal}.
+     */
+    public long tryPack(String value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (0 < length && '-' == value.charAt(0)) {
+            negative = true;
+            index = 1;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int valueScale = -1;
+        for (; index < length; index++) {
+            char c = value.charAt(index);
+            if ('.' == c && -1 == valueScale) {
+                valueScale = 0;
+            } else if ('0' <= c && '9' >= c) {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (-1 != valueScale) {
+                    valueScale++;
+                }
+            } else {
+                return Long.MIN_VALUE;
+            }
+        }
+        if (-1 == valueScale) {
+            valueScale = 0;
+        } else if (0 == valueScale || scale < valueScale) {
+            return Long.MIN_VALUE;
+        }
+        if (0 == digits || MAX_UNITS_DIGITS < digits + scale - valueScale) {
+            return Long.MIN_VALUE;
+        }
+        return pack(negative ? -unscaled : unscaled, valueScale);
+    }
+
+    /**
+     * Packs a value already parsed to a {@link BigDecimal}, returning {@link Long#MIN_VALUE} when
+     * it has no packed form.
+     */
+    public long tryPack(BigDecimal value) {
+        if (0 > value.scale()
+                || scale < value.scale()
+                || MAX_UNITS_DIGITS < value.precision() + scale - value.scale()) {
+            return Long.MIN_VALUE;
+        }
+        // the precision check above keeps the unscaled value within eighteen digits
+        return pack(value.unscaledValue().longValue(), value.scale());
+    }
+
+    /** Packs a value already parsed to a {@link BigDecimal}, or throws if it has no packed form. */
+    public long pack(BigDecimal value, String name) {
+        if (0 > value.scale()) {
+            throw new IllegalArgumentException(name + " should be written without an exponent");
+        }
+        long packed = tryPack(value);
+        if (Long.MIN_VALUE == packed) {
+            throw new IllegalArgumentException(
+                    name + " should have at most " + scale + " decimal places");
+        }
+        return packed;
+    }
+
+    /** Packs a value in units of this scale with the full number of fraction digits. */
+    public long ofUnits(long units) {
+        return units << SCALE_BITS | scale;
+    }
+
+    private long pack(long unscaled, int valueScale) {
+        return (unscaled * POWERS[scale - valueScale]) << SCALE_BITS | valueScale;
+    }
+
+    /** Returns the value in units of this scale, whatever scale it was written with. */
+    public long units(long packed) {
+        return packed >> SCALE_BITS;
+    }
+
+    public int scale(long packed) {
+        return (int) (packed & ((1 << SCALE_BITS) - 1));
+    }
+
+    public BigDecimal toBigDecimal(long packed) {
+        int valueScale = scale(packed);
+        return BigDecimal.valueOf(units(packed) / POWERS[scale - valueScale], valueScale);
+    }
+
+    /** Formats exactly as {@link BigDecimal#toString()} would for the same value and scale. */
+    public String format(long packed) {
+        int valueScale = scale(packed);
+        long unscaled = units(packed) / POWERS[scale - valueScale];
+        if (0 == valueScale) {
+            return Long.toString(unscaled);
+        }
+
+        StringBuilder builder = new StringBuilder(MAX_UNITS_DIGITS + 3);
+        if (0 > unscaled) {
+            builder.append('-');
+            unscaled = -unscaled;
+        }
+        String digits = Long.toString(unscaled);
+        int integerDigits = digits.length() - valueScale;
+        if (0 < integerDigits) {
+            builder.append(digits, 0, integerDigits);
+        } else {
+            builder.append('0');
+        }
+        builder.append('.');
+        for (int i = integerDigits; 0 > i; i++) {
+            builder.append('0');
+        }
+        builder.append(digits, Math.max(0, integerDigits), digits.length());
+        return builder.toString();
+    }
+}
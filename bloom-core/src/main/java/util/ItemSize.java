@@ -0,0 +1,75 @@
+package util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Estimates the size DynamoDB bills an item at, following its published rules: names and strings by
+ * their UTF-8 length, numbers by half their significant digits plus one, binary by its length, and
+ * three bytes for each list or map plus one for each element in it.
+ */
+public class ItemSize {
+
+    private static final int CONTAINER_OVERHEAD = 3;
+    private static final int ELEMENT_OVERHEAD = 1;
+
+    private ItemSize() {}
+
+    public static long of(Map<String, AttributeValue> item) {
+        long size = 0;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            size += utf8Length(attribute.getKey()) + of(attribute.getValue());
+        }
+        return size;
+    }
+
+    public static long of(AttributeValue value) {
+        if (null != value.s()) {
+            return utf8Length(value.s());
+        }
+        if (null != value.n()) {
+            return number(value.n());
+        }
+        if (null != value.b()) {
+            return value.b().asByteArrayUnsafe().length;
+        }
+        if (null != value.bool() || null != value.nul()) {
+            return 1;
+        }
+        if (value.hasM()) {
+            return CONTAINER_OVERHEAD + value.m().size() * ELEMENT_OVERHEAD + of(value.m());
+        }
+        if (value.hasL()) {
+            long size = CONTAINER_OVERHEAD + value.l().size() * ELEMENT_OVERHEAD;
+            for (AttributeValue element : value.l()) {
+                size += of(element);
+            }
+            return size;
+        }
+        long size = 0;
+        for (String element : value.ss()) {
+            size += utf8Length(element);
+        }
+        for (String element : value.ns()) {
+            size += number(element);
+        }
+        for (SdkBytes element : value.bs()) {
+            size += element.asByteArrayUnsafe().length;
+        }
+        return size;
+    }
+
+    private static long number(String number) {
+        BigDecimal value = new BigDecimal(number);
+        int digits = 0 == value.signum() ? 1 : value.stripTrailingZeros().precision();
+        return (digits + 1) / 2 + 1 + (0 > value.signum() ? 1 : 0);
+    }
+
+    private static long utf8Length(String value) {
+        return value.getBytes(UTF_8).length;
+    }
+}
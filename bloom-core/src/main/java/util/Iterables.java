@@ -0,0 +1,26 @@
+package util;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+public class Iterables {
+
+    private Iterables() {}
+
+    public static <F, T> Iterable<T> transform(Iterable<F> from, Function<F, T> function) {
+        return () ->
+                new Iterator<>() {
+                    private final Iterator<F> iterator = from.iterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return function.apply(iterator.next());
+                    }
+                };
+    }
+}
@@ -0,0 +1,61 @@
+package util;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/** Reads the fields written by {@link PackedWriter}, in the order they were written. */
+public class PackedReader {
+
+    private static final int MAX_VARINT_BYTES = 10;
+
+    private final byte[] bytes;
+    private int position;
+
+    public PackedReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public boolean hasRemaining() {
+        return position < bytes.length;
+    }
+
+    public int readByte() {
+        checkRemaining();
+        return bytes[position++] & 0xFF;
+    }
+
+    public long readUnsigned() {
+        long value = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            int next = readByte();
+            value |= (long) (next & 0x7F) << (7 * i);
+            if (0 == (next & 0x80)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("packed varint is too long");
+    }
+
+    public long readSigned() {
+        long value = readUnsigned();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public YearMonth readMonth() {
+        return PackedWriter.EPOCH.plusMonths(readUnsigned());
+    }
+
+    public BigDecimal readDecimal() {
+        long scale = readSigned();
+        if (Integer.MIN_VALUE > scale || Integer.MAX_VALUE < scale) {
+            throw new IllegalArgumentException("packed decimal scale is out of range");
+        }
+        return BigDecimal.valueOf(readSigned(), (int) scale);
+    }
+
+    private void checkRemaining() {
+        if (!hasRemaining()) {
+            throw new IllegalArgumentException("packed value is truncated");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package util;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * Writes the fields of a packed binary attribute: unsigned and zig-zag varints, months as an index
+ * from {@link #EPOCH}, and decimals as their scale and unscaled value so they read back with the
+ * same string form.
+ */
+public class PackedWriter {
+
+    public static final YearMonth EPOCH = YearMonth.of(1970, 1);
+
+    private static final int MAX_UNSCALED_BITS = 63;
+
+    private byte[] bytes;
+    private int size;
+
+    public PackedWriter(int capacity) {
+        this.bytes = new byte[Math.max(1, capacity)];
+    }
+
+    /** Whether the decimal has a packed form, which needs its unscaled value to fit a long. */
+    public static boolean canWrite(BigDecimal value) {
+        return MAX_UNSCALED_BITS >= value.unscaledValue().bitLength();
+    }
+
+    public PackedWriter writeByte(int value) {
+        ensureCapacity(1);
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    public PackedWriter writeUnsigned(long value) {
+        ensureCapacity(10);
+        while (0 != (value & ~0x7FL)) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+        return this;
+    }
+
+    public PackedWriter writeSigned(long value) {
+        return writeUnsigned((value << 1) ^ (value >> 63));
+    }
+
+    public PackedWriter writeMonth(YearMonth month) {
+        return writeUnsigned((month.getYear() - EPOCH.getYear()) * 12L + month.getMonthValue() - 1);
+    }
+
+    public PackedWriter writeDecimal(BigDecimal value) {
+        if (!canWrite(value)) {
+            throw new IllegalArgumentException(value + " has no packed form");
+        }
+        return writeSigned(value.scale()).writeSigned(value.unscaledValue().longValue());
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (bytes.length < size + needed) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + needed));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import model.Subject;
+import model.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResponseCacheTest {
+
+    ResponseCache sut;
+
+    Subject subject;
+    Subject otherSubject;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new ResponseCache(10);
+        subject = new Subject("hsdf-324jds3");
+        otherSubject = new Subject("74sr7f7-j234fd");
+    }
+
+    @Test
+    void returnsResponseWhenVersionMatches() {
+        // given
+        byte[] body = {'[', ']'};
+        sut.put(subject, Type.SAVING, 3, body);
+
+        // when
+        byte[] actual = sut.get(subject, Type.SAVING, 3);
+
+        // then
+        assertThat(actual).isSameAs(body);
+    }
+
+    @Test
+    void returnsNullWhenNothingStored() {
+        // given
+
+        // when
+        byte[] actual = sut.get(subject, Type.SAVING, 0);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void keepsTypesAndSubjectsApart() {
+        // given
+        sut.put(subject, Type.SAVING, 1, new byte[] {'s'});
+
+        // when
+        // then
+        assertThat(sut.get(subject, Type.DEBT, 1)).isNull();
+        assertThat(sut.get(otherSubject, Type.SAVING, 1)).isNull();
+    }
+
+    @Test
+    void dropsResponseWhenPartitionWrittenSince() {
+        // given
+        sut.put(subject, Type.SAVING, 1, new byte[] {'s'});
+
+        // when
+        byte[] actual = sut.get(subject, Type.SAVING, 2);
+
+        // then
+        assertThat(actual).isNull();
+        assertThat(sut.size()).isEqualTo(0);
+        assertThat(sut.bytes()).isEqualTo(0);
+    }
+
+    @Test
+    void keepsLaterResponseWhenEarlierVersionStored() {
+        // given
+        byte[] later = {'b'};
+        sut.put(subject, Type.SAVING, 2, later);
+
+        // when
+        sut.put(subject, Type.SAVING, 1, new byte[] {'a'});
+
+        // then
+        assertThat(sut.get(subject, Type.SAVING, 2)).isSameAs(later);
+        assertThat(sut.get(subject, Type.SAVING, 1)).isNull();
+    }
+
+    @Test
+    void replacesResponseWhenLaterVersionStored() {
+        // given
+        sut.put(subject, Type.SAVING, 1, new byte[] {'a', 'a', 'a'});
+
+        // when
+        sut.put(subject, Type.SAVING, 2, new byte[] {'b'});
+
+        // then
+        assertThat(sut.size()).isEqualTo(1);
+        assertThat(sut.bytes()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverSize() {
+        // given
+        sut.put(subject, Type.SAVING, 1, new byte[4]);
+        sut.put(subject, Type.DEBT, 1, new byte[4]);
+        sut.get(subject, Type.SAVING, 1);
+
+        // when
+        sut.put(otherSubject, Type.SAVING, 1, new byte[4]);
+
+        // then
+        assertThat(sut.get(subject, Type.SAVING, 1)).isNotNull();
+        assertThat(sut.get(subject, Type.DEBT, 1)).isNull();
+        assertThat(sut.get(otherSubject, Type.SAVING, 1)).isNotNull();
+        assertThat(sut.bytes()).isEqualTo(8);
+    }
+
+    @Test
+    void ignoresResponseLargerThanCache() {
+        // given
+
+        // when
+        sut.put(subject, Type.SAVING, 1, new byte[11]);
+
+        // then
+        assertThat(sut.size()).isEqualTo(0);
+    }
+
+    @Test
+    void isDisabledWhenSizeZero() {
+        // given
+        sut = new ResponseCache(0);
+
+        // when
+        sut.put(subject, Type.SAVING, 1, new byte[] {'a'});
+
+        // then
+        assertThat(sut.isEnabled()).isFalse();
+        assertThat(sut.get(subject, Type.SAVING, 1)).isNull();
+    }
+
+    @Test
+    void throwsExceptionWhenSizeNegative() {
+        try {
+            // when
+            sut = new ResponseCache(-1);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("maxBytes cannot be negative");
+        }
+    }
+}
@@ -47,4 +47,20 @@ class BadRequestExceptionTest {
             assertThat(actual).hasCauseReference(expected);
         }
     }
+
+    @Test
+    void usesProvidedMessageWhenThrownWithoutCause() {
+        // given
+        String expected = "my bad request exception";
+
+        try {
+            // when
+            throw new BadRequestException(expected);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage(expected);
+            assertThat(actual.getCause()).isNull();
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ConflictExceptionTest {
+    RuntimeException sut;
+
+    @Test
+    void extendsRuntimeExceptionWhenConstructed() {
+        // given
+
+        // when
+        sut = new ConflictException("blah", null);
+
+        // then
+        // no exception
+    }
+
+    @Test
+    void usesProvidedMessageWhenThrown() {
+        // given
+        String expected = "my conflict exception";
+
+        try {
+            // when
+            throw new ConflictException(expected, null);
+
+        } catch (ConflictException actual) {
+            // then
+            assertThat(actual).hasMessage(expected);
+        }
+    }
+
+    @Test
+    void hasCorrectCauseWhenThrown() {
+        // given
+        Throwable expected = new RuntimeException("cause");
+
+        try {
+            // when
+            throw new ConflictException("my conflict exception", expected);
+
+        } catch (ConflictException actual) {
+            // then
+            assertThat(actual).hasCauseReference(expected);
+        }
+    }
+
+    @Test
+    void usesProvidedMessageWhenThrownWithoutCause() {
+        // given
+        String expected = "my conflict exception";
+
+        try {
+            // when
+            throw new ConflictException(expected);
+
+        } catch (ConflictException actual) {
+            // then
+            assertThat(actual).hasMessage(expected);
+            assertThat(actual.getCause()).isNull();
+        }
+    }
+}
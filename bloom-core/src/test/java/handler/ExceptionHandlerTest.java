@@ -7,6 +7,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import exception.BadRequestException;
+import exception.ConflictException;
+import exception.NotFoundException;
 import java.util.stream.Stream;
 import model.HandlerResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -67,6 +69,8 @@ class ExceptionHandlerTest {
     static Stream<Arguments> exceptionProvider() {
         return Stream.of(
                 arguments(new BadRequestException("exception", new Throwable()), 400),
+                arguments(new NotFoundException("exception"), 404),
+                arguments(new ConflictException("exception"), 409),
                 arguments(new RuntimeException("exception"), 500));
     }
 
@@ -0,0 +1,181 @@
+package handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import exception.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import model.request.NameRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestEnvelopeReaderTest {
+
+    ObjectMapper mapper;
+    ObjectReader bodyReader;
+
+    RequestEnvelopeReader sut;
+
+    @BeforeEach
+    void beforeEach() {
+        mapper = new ObjectMapper();
+        bodyReader = mapper.readerFor(NameRequest.class);
+        sut = new RequestEnvelopeReader(mapper.getFactory());
+    }
+
+    @Test
+    void readsBodyWhenPresent() throws IOException {
+        // given
+        InputStream input =
+                stream("{\"body\":\"{\\\"name\\\":\\\"My \\\\\\\"Saving\\\\\\\"\\\"}\"}");
+
+        // when
+        RequestEnvelope<NameRequest> actual = sut.read(input, bodyReader);
+
+        // then
+        assertThat(actual.getBody().getName()).isEqualTo("My \"Saving\"");
+    }
+
+    @Test
+    void readsBodyWhenAfterOtherFields() throws IOException {
+        // given
+        InputStream input =
+                stream(
+                        "{\"requestContext\":{\"authorizer\":{\"claims\":{\"sub\":\"abc\"}}},"
+                                + "\"headers\":{\"a\":\"b\"},"
+                                + "\"body\":\"{\\\"name\\\":\\\"x\\\"}\","
+                                + "\"path\":\"/debts\"}");
+
+        // when
+        RequestEnvelope<NameRequest> actual = sut.read(input, bodyReader);
+
+        // then
+        assertThat(actual.getBody().getName()).isEqualTo("x");
+        assertThat(actual.getSubject().getSubject()).isEqualTo("abc");
+        assertThat(actual.getDetails().getPath()).isEqualTo("/debts");
+        assertThat(actual.getDetails().getHeaders()).isEqualTo(Map.of("a", "b"));
+    }
+
+    @Test
+    void ignoresBodyWhenNoReader() throws IOException {
+        // given
+        InputStream input = stream("{\"body\":\"definitely not json\",\"httpMethod\":\"GET\"}");
+
+        // when
+        RequestEnvelope<Void> actual = sut.read(input, null);
+
+        // then
+        assertThat(actual.getBody()).isNull();
+        assertThat(actual.getDetails().getHttpMethod()).isEqualTo("GET");
+    }
+
+    @Test
+    void skipsUnknownAndNestedFieldsWhenInvoked() throws IOException {
+        // given
+        InputStream input =
+                stream(
+                        "{\"multiValueHeaders\":{\"a\":[\"b\",\"c\"]},"
+                                + "\"headers\":{\"a\":\"b\",\"n\":null,\"o\":{\"x\":1},\"num\":5},"
+                                + "\"queryStringParameters\":null,"
+                                + "\"isBase64Encoded\":false,"
+                                + "\"requestContext\":{\"identity\":{\"sub\":\"wrong\"},"
+                                + "\"authorizer\":{\"claims\":{\"aud\":[1,2],\"sub\":\"right\"},"
+                                + "\"other\":{\"sub\":\"wrong\"}},\"stage\":\"dev\"},"
+                                + "\"httpMethod\":\"DELETE\"}");
+
+        // when
+        RequestEnvelope<Void> actual = sut.read(input, null);
+
+        // then
+        assertThat(actual.getSubject().getSubject()).isEqualTo("right");
+        assertThat(actual.getDetails().getHeaders()).isEqualTo(Map.of("a", "b", "num", "5"));
+        assertThat(actual.getDetails().getQueryStringParameters()).isEmpty();
+        assertThat(actual.getDetails().getHttpMethod()).isEqualTo("DELETE");
+    }
+
+    @Test
+    void usesEmptySubjectWhenAuthorizerNull() throws IOException {
+        // given
+        InputStream input = stream("{\"requestContext\":{\"authorizer\":null}}");
+
+        // when
+        RequestEnvelope<Void> actual = sut.read(input, null);
+
+        // then
+        assertThat(actual.getSubject().getSubject()).isEqualTo("empty subject");
+    }
+
+    @Test
+    void usesEmptySubjectWhenClaimsMissing() throws IOException {
+        // given
+        InputStream input =
+                stream(
+                        "{\"requestContext\":{\"authorizer\":{\"principalId\":\"x\"}},\"path\":\"/p\"}");
+
+        // when
+        RequestEnvelope<Void> actual = sut.read(input, null);
+
+        // then
+        assertThat(actual.getSubject().getSubject()).isEqualTo("empty subject");
+        assertThat(actual.getDetails().getPath()).isEqualTo("/p");
+    }
+
+    @Test
+    void throwsExceptionWhenBodyInvalid() throws IOException {
+        // given
+        InputStream input = stream("{\"body\":\"{\\\"name\\\":\\\"\\\"}\"}");
+
+        try {
+            // when
+            sut.read(input, bodyReader);
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage("request body contained illegal values");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenBodyRequiredButMissing() throws IOException {
+        // given
+        InputStream input = stream("{\"httpMethod\":\"POST\"}");
+
+        try {
+            // when
+            sut.read(input, bodyReader);
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage("request body contained illegal values");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenEnvelopeNotObject() {
+        // given
+        InputStream input = stream("\"just a string\"");
+
+        try {
+            // when
+            sut.read(input, null);
+            shouldHaveThrown(JsonParseException.class);
+
+        } catch (IOException actual) {
+            // then
+            assertThat(actual).isInstanceOf(JsonParseException.class);
+        }
+    }
+
+    static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+}
@@ -1,24 +1,33 @@
 package handler;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.lambda.runtime.Context;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import exception.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
 import java.util.Map;
-import model.HandlerRequest;
+import java.util.zip.GZIPInputStream;
+import metrics.MetricsRecorder;
 import model.HandlerResponse;
+import model.Page;
 import model.RequestDetails;
 import model.Subject;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,188 +39,190 @@ class RequestStreamHandlerTest {
 
     ObjectMapper mapper;
     TestDelegate delegate;
-    InputStream input;
-    OutputStream output;
+    ByteArrayOutputStream output;
     Context context;
     ExceptionHandler exceptionHandler;
     Logger logger;
 
-    HandlerRequest handlerRequest;
-    Subject subject;
-    RequestDetails details;
-    String request, requestBody, response, mappedResponse;
+    String request, response;
 
     RequestStreamHandler<String, String> sut;
 
     @BeforeEach
-    void beforeEach() throws IOException {
-        mapper = mock(ObjectMapper.class);
+    void beforeEach() {
+        mapper = new ObjectMapper();
         delegate = mock(TestDelegate.class);
-        input = mock(InputStream.class);
-        output = mock(OutputStream.class);
+        output = new ByteArrayOutputStream();
         context = mock(Context.class);
         exceptionHandler = mock(ExceptionHandler.class);
         logger = mock(Logger.class);
 
-        sut = new RequestStreamHandler<>(mapper, delegate, String.class, exceptionHandler, logger);
-
-        handlerRequest = mock(HandlerRequest.class);
-        when(handlerRequest.getHttpMethod()).thenReturn("GET");
-        when(handlerRequest.getPath()).thenReturn("/blah");
-        when(handlerRequest.getQueryStringParameters()).thenReturn(Map.of());
-        when(handlerRequest.getPathParameters()).thenReturn(Map.of());
-        when(handlerRequest.getHeaders()).thenReturn(Map.of());
-        when(mapper.readValue(input, HandlerRequest.class)).thenReturn(handlerRequest);
-
-        details = RequestDetails.fromHandlerRequest(handlerRequest);
-
-        subject = mock(Subject.class);
-        when(handlerRequest.getSubject()).thenReturn(subject);
-
-        requestBody = "body";
-        when(handlerRequest.getBody()).thenReturn(requestBody);
+        sut =
+                new RequestStreamHandler<>(
+                        delegate,
+                        mapper.readerFor(String.class),
+                        mapper.writerFor(String.class),
+                        mapper.getFactory(),
+                        exceptionHandler,
+                        logger);
 
         request = "request";
-        when(mapper.readValue(handlerRequest.getBody(), String.class)).thenReturn(request);
-
         response = "response";
-        when(delegate.handle(eq(request), eq(subject), any())).thenReturn(response);
-
-        mappedResponse = "mapped response";
-        when(mapper.writeValueAsString(response)).thenReturn(mappedResponse);
+        when(delegate.handle(eq(request), any(), any())).thenReturn(response);
     }
 
     @Test
-    void readsRequestWhenInvoked() throws IOException {
+    void readsRequestBodyWhenInvoked() throws IOException {
         // given
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
-        verify(mapper, times(1)).readValue(input, HandlerRequest.class);
+        verify(delegate, times(1)).handle(eq(request), any(), any());
     }
 
     @Test
-    void readsRequestBodyWhenInvoked() throws IOException {
+    void readsSubjectFromAuthorizerClaimsWhenInvoked() throws IOException {
         // given
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
-        verify(mapper, times(1)).readValue(handlerRequest.getBody(), String.class);
+        ArgumentCaptor<Subject> captor = ArgumentCaptor.forClass(Subject.class);
+        verify(delegate, times(1)).handle(eq(request), captor.capture(), any());
+        Subject actual = captor.getValue();
+
+        assertThat(actual.getSubject()).isEqualTo("74sr7f7-j234fd");
     }
 
     @Test
-    void createsRequestDetailsWhenInvoked() throws IOException {
+    void usesEmptySubjectWhenNoRequestContext() throws IOException {
         // given
+        InputStream input = stream("{\"body\":\"\\\"request\\\"\"}");
 
         // when
         sut.handleRequest(input, output, context);
 
         // then
-        ArgumentCaptor<RequestDetails> captor = ArgumentCaptor.forClass(RequestDetails.class);
-        verify(delegate, times(1)).handle(eq(request), eq(subject), captor.capture());
-        RequestDetails actual = captor.getValue();
+        ArgumentCaptor<Subject> captor = ArgumentCaptor.forClass(Subject.class);
+        verify(delegate, times(1)).handle(eq(request), captor.capture(), any());
+        Subject actual = captor.getValue();
 
-        assertThat(actual).usingRecursiveComparison().isEqualTo(details);
+        assertThat(actual.getSubject()).isEqualTo("empty subject");
     }
 
     @Test
-    void handlesRequestWhenInvoked() throws IOException {
+    void createsRequestDetailsWhenInvoked() throws IOException {
         // given
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
-        verify(delegate, times(1)).handle(eq(request), eq(subject), any());
+        ArgumentCaptor<RequestDetails> captor = ArgumentCaptor.forClass(RequestDetails.class);
+        verify(delegate, times(1)).handle(eq(request), any(), captor.capture());
+        RequestDetails actual = captor.getValue();
+
+        assertThat(actual.getHttpMethod()).isEqualTo("PUT");
+        assertThat(actual.getPath()).isEqualTo("/savings/blah");
+        assertThat(actual.getQueryStringParameters()).isEqualTo(Map.of("limit", "5"));
+        assertThat(actual.getPathParameters()).isEqualTo(Map.of("name", "blah"));
+        assertThat(actual.getHeaders()).isEqualTo(Map.of("Accept", "application/json"));
     }
 
     @Test
-    void writesResponseUsingMapperWhenInvoked() throws IOException {
+    void writesResponseBodyWhenInvoked() throws IOException {
         // given
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
-        verify(mapper, times(1)).writeValueAsString(response);
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(200);
+        assertThat(actual.get("body").asText()).isEqualTo("\"response\"");
     }
 
     @Test
-    void doesNotWriteResponseWhenNullResponse() throws IOException {
+    void writesResponseHeadersWhenInvoked() throws IOException {
         // given
-        String response = null;
-        when(delegate.handle(eq(request), eq(subject), any())).thenReturn(response);
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
-        verify(mapper, never()).writeValueAsString(response);
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("headers").get("Content-Type").asText())
+                .isEqualTo("application/json");
+        assertThat(actual.get("headers").get("Access-Control-Allow-Origin").asText())
+                .isEqualTo("*");
     }
 
     @Test
-    void constructsCorrectResponseWhenInvoked() throws IOException {
+    void doesNotWriteResponseBodyWhenNullResponse() throws IOException {
         // given
+        when(delegate.handle(eq(request), any(), any())).thenReturn(null);
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
-        ArgumentCaptor<HandlerResponse> captor = ArgumentCaptor.forClass(HandlerResponse.class);
-        verify(mapper, times(1)).writeValueAsBytes(captor.capture());
-        HandlerResponse actual = captor.getValue();
+        JsonNode actual = readOutput();
 
-        assertThat(actual.getStatusCode()).isEqualTo(200);
-        assertThat(actual.getBody()).isEqualTo(mappedResponse);
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(200);
+        assertThat(actual.has("body")).isFalse();
     }
 
     @Test
-    void outputsCorrectResponseWhenCompleted() throws IOException {
+    void skipsBodyWhenRequestTypeIsVoid() throws IOException {
         // given
+        VoidDelegate voidDelegate = mock(VoidDelegate.class);
+        RequestStreamHandler<Void, String> sut =
+                new RequestStreamHandler<>(
+                        voidDelegate,
+                        null,
+                        mapper.writerFor(String.class),
+                        mapper.getFactory(),
+                        exceptionHandler,
+                        logger);
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("not json at all"), output, context);
 
         // then
-        ArgumentCaptor<HandlerResponse> captor = ArgumentCaptor.forClass(HandlerResponse.class);
-        verify(mapper, times(1)).writeValueAsBytes(captor.capture());
-        HandlerResponse actualResponse = captor.getValue();
-
-        verify(output, times(1)).write(mapper.writeValueAsBytes(actualResponse));
+        verify(voidDelegate, times(1)).handle(eq(null), any(), any());
     }
 
     @Test
-    void throwsExceptionWhenSerializationFails() throws IOException {
+    void returnsServerErrorWhenEnvelopeMalformed() throws IOException {
         // given
-        when(mapper.readValue(input, HandlerRequest.class)).thenThrow(IOException.class);
+        InputStream input = stream("{\"body\": ");
 
         // when
         sut.handleRequest(input, output, context);
 
         // then
-        ArgumentCaptor<HandlerResponse> captor = ArgumentCaptor.forClass(HandlerResponse.class);
-        verify(mapper, times(1)).writeValueAsBytes(captor.capture());
-        HandlerResponse actual = captor.getValue();
+        JsonNode actual = readOutput();
 
-        assertThat(actual.getStatusCode()).isEqualTo(500);
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(500);
+        verify(delegate, never()).handle(any(), any(), any());
     }
 
     @Test
-    void logsExceptionWhenSerializationFails() throws IOException {
+    void logsExceptionWhenEnvelopeMalformed() throws IOException {
         // given
-        String message = "blah";
-        IOException exception = new IOException(message);
-        when(mapper.readValue(input, HandlerRequest.class)).thenThrow(exception);
+        InputStream input = stream("[]");
 
         // when
         sut.handleRequest(input, output, context);
 
         // then
-        verify(logger, times(1)).error(message, exception);
+        verify(logger, times(1))
+                .error(startsWith("request should be a JSON object"), any(Throwable.class));
     }
 
     @Test
@@ -219,13 +230,13 @@ class RequestStreamHandlerTest {
         // given
         String message = "crash";
         RuntimeException expected = new RuntimeException(message);
-        when(mapper.readValue(input, HandlerRequest.class)).thenThrow(expected);
+        when(delegate.handle(eq(request), any(), any())).thenThrow(expected);
 
         when(exceptionHandler.handleException(expected))
                 .thenReturn(HandlerResponse.newBuilder().withStatusCode(500).build());
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(event("\"request\""), output, context);
 
         // then
         ArgumentCaptor<RuntimeException> captor = ArgumentCaptor.forClass(RuntimeException.class);
@@ -233,19 +244,37 @@ class RequestStreamHandlerTest {
         RuntimeException actual = captor.getValue();
 
         assertThat(actual.getMessage()).isEqualTo(message);
+        assertThat(readOutput().get("statusCode").asInt()).isEqualTo(500);
     }
 
     @Test
     void throwsExceptionWhenBadRequestBody() throws IOException {
         // given
-        JsonProcessingException exception = mock(JsonProcessingException.class);
-        when(mapper.readValue(handlerRequest.getBody(), String.class)).thenThrow(exception);
+        when(exceptionHandler.handleException(any()))
+                .thenReturn(HandlerResponse.newBuilder().withStatusCode(400).build());
 
+        // when
+        sut.handleRequest(event("{not valid"), output, context);
+
+        // then
+        ArgumentCaptor<BadRequestException> captor =
+                ArgumentCaptor.forClass(BadRequestException.class);
+        verify(exceptionHandler, times(1)).handleException(captor.capture());
+        BadRequestException actual = captor.getValue();
+
+        assertThat(actual.getCause()).isNotNull();
+        assertThat(actual.getMessage()).isEqualTo("request body contained illegal values");
+        assertThat(readOutput().get("statusCode").asInt()).isEqualTo(400);
+    }
+
+    @Test
+    void throwsExceptionWhenBodyMissing() throws IOException {
+        // given
         when(exceptionHandler.handleException(any()))
                 .thenReturn(HandlerResponse.newBuilder().withStatusCode(400).build());
 
         // when
-        sut.handleRequest(input, output, context);
+        sut.handleRequest(stream("{\"httpMethod\":\"POST\",\"body\":null}"), output, context);
 
         // then
         ArgumentCaptor<BadRequestException> captor =
@@ -253,7 +282,6 @@ class RequestStreamHandlerTest {
         verify(exceptionHandler, times(1)).handleException(captor.capture());
         BadRequestException actual = captor.getValue();
 
-        assertThat(actual.getCause()).isEqualTo(exception);
         assertThat(actual.getMessage()).isEqualTo("request body contained illegal values");
     }
 
@@ -261,15 +289,399 @@ class RequestStreamHandlerTest {
     void logsStatusCodeWhenRequestCompleted() throws IOException {
         // given
 
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        verify(logger).info("request completed with status {}", 200);
+    }
+
+    @Test
+    void addsCursorHeaderWhenPageHasCursor() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                new RequestStreamHandler<>(
+                        (req, sub, det) -> new Page<>(List.of("a"), "abc"),
+                        mapper.readerFor(String.class),
+                        mapper.writerFor(Page.class),
+                        mapper.getFactory(),
+                        exceptionHandler,
+                        logger);
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("body").asText()).isEqualTo("[\"a\"]");
+        assertThat(actual.get("headers").get("X-Next-Cursor").asText()).isEqualTo("abc");
+        assertThat(actual.get("headers").get("Access-Control-Expose-Headers").asText())
+                .isEqualTo("X-Next-Cursor");
+    }
+
+    @Test
+    void writesSerializedPageAsItIsWhenProvided() throws IOException {
+        // given
+        ObjectWriter mockWriter = mock(ObjectWriter.class);
+        RequestStreamHandler<String, Page<String>> sut =
+                new RequestStreamHandler<>(
+                        (req, sub, det) -> Page.serialized("[\"a\",\"b\"]".getBytes(UTF_8)),
+                        mapper.readerFor(String.class),
+                        mockWriter,
+                        mapper.getFactory(),
+                        exceptionHandler,
+                        logger);
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(200);
+        assertThat(actual.get("body").asText()).isEqualTo("[\"a\",\"b\"]");
+        verifyNoInteractions(mockWriter);
+    }
+
+    @Test
+    void omitsCursorHeaderWhenPageHasNoCursor() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                new RequestStreamHandler<>(
+                        (req, sub, det) -> new Page<>(List.of(), null),
+                        mapper.readerFor(String.class),
+                        mapper.writerFor(Page.class),
+                        mapper.getFactory(),
+                        exceptionHandler,
+                        logger);
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("headers").has("X-Next-Cursor")).isFalse();
+    }
+
+    @Test
+    void writesETagHeaderWhenPageHasETag() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                pageHandler(
+                        new Page<>(List.of("a"), null).withETag("\"v1\""),
+                        mapper.writerFor(Page.class));
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(200);
+        assertThat(actual.get("body").asText()).isEqualTo("[\"a\"]");
+        assertThat(actual.get("headers").get("ETag").asText()).isEqualTo("\"v1\"");
+        assertThat(actual.get("headers").get("Access-Control-Expose-Headers").asText())
+                .isEqualTo("ETag");
+    }
+
+    @Test
+    void exposesCursorAndETagWhenPageHasBoth() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                pageHandler(
+                        new Page<>(List.of("a"), "abc").withETag("\"v1\""),
+                        mapper.writerFor(Page.class));
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("headers").get("Access-Control-Expose-Headers").asText())
+                .isEqualTo("X-Next-Cursor, ETag");
+    }
+
+    @Test
+    void answersNotModifiedWithoutBodyWhenIfNoneMatchReplaysETag() throws IOException {
+        // given
+        ObjectWriter mockWriter = mock(ObjectWriter.class);
+        RequestStreamHandler<String, Page<String>> sut =
+                pageHandler(new Page<>(List.of("a"), null).withETag("\"v1\""), mockWriter);
+        InputStream input =
+                stream(
+                        "{\"headers\":{\"If-None-Match\":\"\\\"v1\\\"\"},"
+                                + "\"body\":\"\\\"request\\\"\"}");
+
+        // when
+        sut.handleRequest(input, output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(304);
+        assertThat(actual.has("body")).isFalse();
+        assertThat(actual.get("headers").get("ETag").asText()).isEqualTo("\"v1\"");
+        verifyNoInteractions(mockWriter);
+    }
+
+    @Test
+    void answersNotModifiedWhenPageNotModified() throws IOException {
+        // given
+        ObjectWriter mockWriter = mock(ObjectWriter.class);
+        RequestStreamHandler<String, Page<String>> sut =
+                pageHandler(Page.notModified("\"v1\""), mockWriter);
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(304);
+        assertThat(actual.has("body")).isFalse();
+        assertThat(actual.get("headers").get("ETag").asText()).isEqualTo("\"v1\"");
+        verifyNoInteractions(mockWriter);
+    }
+
+    @Test
+    void compressesBodyWhenAcceptedAndLongEnough() throws IOException {
+        // given
+        sut = encodingHandler(delegate, mapper.writerFor(String.class), new ResponseEncoder(1));
+
+        // when
+        sut.handleRequest(gzipEvent(), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(200);
+        assertThat(actual.get("isBase64Encoded").asBoolean()).isTrue();
+        assertThat(actual.get("headers").get("Content-Encoding").asText()).isEqualTo("gzip");
+        assertThat(actual.get("headers").get("Vary").asText()).isEqualTo("Accept-Encoding");
+        assertThat(gunzip(actual.get("body").binaryValue())).isEqualTo("\"response\"");
+    }
+
+    @Test
+    void compressesSerializedPageWhenAcceptedAndLongEnough() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                encodingHandler(
+                        (req, sub, det) -> Page.serialized("[\"a\"]".getBytes(UTF_8)),
+                        mock(ObjectWriter.class),
+                        new ResponseEncoder(1));
+
+        // when
+        sut.handleRequest(gzipEvent(), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("headers").get("Content-Encoding").asText()).isEqualTo("gzip");
+        assertThat(gunzip(actual.get("body").binaryValue())).isEqualTo("[\"a\"]");
+    }
+
+    @Test
+    void namesCodingInETagWhenPageCompressed() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                encodingHandler(
+                        (req, sub, det) ->
+                                Page.<String>serialized("[\"a\"]".getBytes(UTF_8))
+                                        .withETag("\"v1\""),
+                        mock(ObjectWriter.class),
+                        new ResponseEncoder(1));
+
+        // when
+        sut.handleRequest(gzipEvent(), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("headers").get("Content-Encoding").asText()).isEqualTo("gzip");
+        assertThat(actual.get("headers").get("ETag").asText()).isEqualTo("\"v1-gzip\"");
+    }
+
+    @Test
+    void keepsETagWhenPageLeftUncompressed() throws IOException {
+        // given
+        RequestStreamHandler<String, Page<String>> sut =
+                encodingHandler(
+                        (req, sub, det) ->
+                                Page.<String>serialized("[\"a\"]".getBytes(UTF_8))
+                                        .withETag("\"v1\""),
+                        mock(ObjectWriter.class),
+                        new ResponseEncoder(1000));
+
+        // when
+        sut.handleRequest(gzipEvent(), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.get("headers").has("Content-Encoding")).isFalse();
+        assertThat(actual.get("headers").get("ETag").asText()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void answersNotModifiedWithEncodedETagAndVaryWhenIfNoneMatchReplaysIt() throws IOException {
+        // given
+        ObjectWriter mockWriter = mock(ObjectWriter.class);
+        RequestStreamHandler<String, Page<String>> sut =
+                encodingHandler(
+                        (req, sub, det) -> new Page<>(List.of("a"), null).withETag("\"v1\""),
+                        mockWriter,
+                        new ResponseEncoder(1));
+        InputStream input =
+                stream(
+                        "{\"headers\":{\"Accept-Encoding\":\"gzip\","
+                                + "\"If-None-Match\":\"\\\"v1-gzip\\\"\"},"
+                                + "\"body\":\"\\\"request\\\"\"}");
+
         // when
         sut.handleRequest(input, output, context);
 
         // then
-        ArgumentCaptor<HandlerResponse> captor = ArgumentCaptor.forClass(HandlerResponse.class);
-        verify(mapper).writeValueAsBytes(captor.capture());
-        HandlerResponse actual = captor.getValue();
+        JsonNode actual = readOutput();
 
-        verify(logger).info("request completed with status {}", actual.getStatusCode());
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(304);
+        assertThat(actual.get("headers").get("ETag").asText()).isEqualTo("\"v1-gzip\"");
+        assertThat(actual.get("headers").get("Vary").asText()).isEqualTo("Accept-Encoding");
+        verifyNoInteractions(mockWriter);
+    }
+
+    @Test
+    void leavesBodyUncompressedWhenShorterThanThreshold() throws IOException {
+        // given
+        sut = encodingHandler(delegate, mapper.writerFor(String.class), new ResponseEncoder(1000));
+
+        // when
+        sut.handleRequest(gzipEvent(), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.has("isBase64Encoded")).isFalse();
+        assertThat(actual.get("headers").has("Content-Encoding")).isFalse();
+        assertThat(actual.get("headers").get("Vary").asText()).isEqualTo("Accept-Encoding");
+        assertThat(actual.get("body").asText()).isEqualTo("\"response\"");
+    }
+
+    @Test
+    void leavesBodyUncompressedWhenEncoderDisabled() throws IOException {
+        // given
+
+        // when
+        sut.handleRequest(gzipEvent(), output, context);
+
+        // then
+        JsonNode actual = readOutput();
+
+        assertThat(actual.has("isBase64Encoded")).isFalse();
+        assertThat(actual.get("headers").has("Vary")).isFalse();
+        assertThat(actual.get("body").asText()).isEqualTo("\"response\"");
+    }
+
+    @Test
+    void writesStageMetricsWhenRecorderEnabled() throws IOException {
+        // given
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        sut =
+                new RequestStreamHandler<>(
+                        new ListThingsHandlerDelegate(),
+                        mapper.readerFor(String.class),
+                        mapper.writerFor(String.class),
+                        mapper.getFactory(),
+                        new ResponseEncoder(ResponseEncoder.DISABLED),
+                        exceptionHandler,
+                        new MetricsRecorder(true, false, new PrintStream(records, true, UTF_8)),
+                        logger);
+
+        // when
+        sut.handleRequest(event("\"request\""), output, context);
+
+        // then
+        JsonNode actual = mapper.readTree(records.toByteArray());
+
+        assertThat(actual.get("Operation").asText()).isEqualTo("ListThings");
+        assertThat(actual.get("User").asText()).isEqualTo("74sr7f7-j234fd");
+        assertThat(actual.get("StatusCode").asInt()).isEqualTo(200);
+        assertThat(actual.get("TotalTime").asLong())
+                .isGreaterThanOrEqualTo(actual.get("DelegateTime").asLong());
+        assertThat(actual.has("EnvelopeTime")).isTrue();
+        assertThat(actual.has("BodyTime")).isTrue();
+        assertThat(actual.has("SerializeTime")).isTrue();
+        assertThat(actual.has("WriteTime")).isTrue();
+    }
+
+    InputStream event(String body) throws IOException {
+        Map<String, Object> event =
+                Map.of(
+                        "resource", "/savings/{name}",
+                        "httpMethod", "PUT",
+                        "path", "/savings/blah",
+                        "queryStringParameters", Map.of("limit", "5"),
+                        "pathParameters", Map.of("name", "blah"),
+                        "headers", Map.of("Accept", "application/json"),
+                        "multiValueHeaders", Map.of("Accept", List.of("application/json")),
+                        "body", body,
+                        "requestContext",
+                                Map.of(
+                                        "stage",
+                                        "dev",
+                                        "authorizer",
+                                        Map.of(
+                                                "principalId",
+                                                "x",
+                                                "claims",
+                                                Map.of(
+                                                        "email", "a@b.c",
+                                                        "sub", "74sr7f7-j234fd"))));
+        return new ByteArrayInputStream(mapper.writeValueAsBytes(event));
+    }
+
+    RequestStreamHandler<String, Page<String>> pageHandler(Page<String> page, ObjectWriter writer) {
+        return new RequestStreamHandler<>(
+                (req, sub, det) -> page,
+                mapper.readerFor(String.class),
+                writer,
+                mapper.getFactory(),
+                exceptionHandler,
+                logger);
+    }
+
+    <T> RequestStreamHandler<String, T> encodingHandler(
+            Handler<String, T> delegate, ObjectWriter writer, ResponseEncoder encoder) {
+        return new RequestStreamHandler<>(
+                delegate,
+                mapper.readerFor(String.class),
+                writer,
+                mapper.getFactory(),
+                encoder,
+                exceptionHandler,
+                logger);
+    }
+
+    static InputStream gzipEvent() {
+        return stream(
+                "{\"headers\":{\"Accept-Encoding\":\"gzip, deflate\"},"
+                        + "\"body\":\"\\\"request\\\"\"}");
+    }
+
+    static String gunzip(byte[] body) throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(input.readAllBytes(), UTF_8);
+        }
+    }
+
+    static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(UTF_8));
+    }
+
+    JsonNode readOutput() throws IOException {
+        return mapper.readTree(output.toByteArray());
     }
 
     static class TestDelegate implements Handler<String, String> {
@@ -278,4 +690,18 @@ class RequestStreamHandlerTest {
             return null;
         }
     }
+
+    static class ListThingsHandlerDelegate implements Handler<String, String> {
+        @Override
+        public String handle(String s, Subject subject, RequestDetails details) {
+            return s;
+        }
+    }
+
+    static class VoidDelegate implements Handler<Void, String> {
+        @Override
+        public String handle(Void v, Subject subject, RequestDetails details) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import handler.ResponseEncoder.Encoding;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResponseEncoderTest {
+
+    ResponseEncoder sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new ResponseEncoder(100);
+    }
+
+    @Test
+    void throwsExceptionWhenMinBytesBelowDisabled() {
+        // given
+
+        // when / then
+        assertThatThrownBy(() -> new ResponseEncoder(-2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("minBytes cannot be less than -1");
+    }
+
+    @Test
+    void negotiatesNothingWhenDisabled() {
+        // given
+        sut = new ResponseEncoder(ResponseEncoder.DISABLED);
+
+        // when
+        Encoding actual = sut.negotiate(Map.of("Accept-Encoding", "gzip"), 1000);
+
+        // then
+        assertThat(sut.isEnabled()).isFalse();
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void negotiatesNothingWhenBodyBelowThreshold() {
+        // given
+
+        // when
+        Encoding actual = sut.negotiate(Map.of("Accept-Encoding", "gzip"), 99);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void negotiatesNothingWhenHeaderMissing() {
+        // given
+
+        // when
+        Encoding actual = sut.negotiate(Map.of("Accept", "application/json"), 1000);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void prefersGzipWhenBothAccepted() {
+        // given
+
+        // when
+        Encoding actual = sut.negotiate(Map.of("accept-encoding", "deflate, gzip, br"), 100);
+
+        // then
+        assertThat(actual).isEqualTo(Encoding.GZIP);
+    }
+
+    @Test
+    void prefersHigherQualityWhenGiven() {
+        // given
+
+        // when
+        Encoding actual =
+                sut.negotiate(Map.of("Accept-Encoding", "gzip;q=0.5, deflate;q=0.8"), 100);
+
+        // then
+        assertThat(actual).isEqualTo(Encoding.DEFLATE);
+    }
+
+    @Test
+    void refusesCodingWithZeroQuality() {
+        // given
+
+        // when
+        Encoding actual = sut.negotiate(Map.of("Accept-Encoding", "gzip;q=0, br"), 100);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void acceptsUnlistedCodingWhenWildcardGiven() {
+        // given
+
+        // when
+        Encoding actual = sut.negotiate(Map.of("Accept-Encoding", "gzip;q=0, *"), 100);
+
+        // then
+        assertThat(actual).isEqualTo(Encoding.DEFLATE);
+    }
+
+    @Test
+    void gzipsBytesWhenEncoded() throws IOException {
+        // given
+        byte[] body = "[{\"name\":\"saving\"}]".getBytes(UTF_8);
+
+        // when
+        byte[] actual = sut.encode(Encoding.GZIP, body);
+
+        // then
+        assertThat(read(new GZIPInputStream(new ByteArrayInputStream(actual)))).isEqualTo(body);
+    }
+
+    @Test
+    void deflatesCharactersAsUtf8WhenEncoded() throws IOException {
+        // given
+        char[] body = "[{\"name\":\"\u00a350 saving\"}]xyz".toCharArray();
+
+        // when
+        byte[] actual = sut.encode(Encoding.DEFLATE, body, body.length - 3);
+
+        // then
+        assertThat(read(new InflaterInputStream(new ByteArrayInputStream(actual))))
+                .isEqualTo("[{\"name\":\"\u00a350 saving\"}]".getBytes(UTF_8));
+    }
+
+    private static byte[] read(InputStream input) throws IOException {
+        try (input) {
+            return input.readAllBytes();
+        }
+    }
+}
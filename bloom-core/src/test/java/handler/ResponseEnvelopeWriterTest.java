@@ -0,0 +1,123 @@
+package handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import model.HandlerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResponseEnvelopeWriterTest {
+
+    ObjectMapper mapper;
+    ByteArrayOutputStream output;
+
+    ResponseEnvelopeWriter sut;
+
+    @BeforeEach
+    void beforeEach() {
+        mapper = new ObjectMapper();
+        output = new ByteArrayOutputStream();
+        sut = new ResponseEnvelopeWriter(mapper.getFactory());
+    }
+
+    @Test
+    void writesSameEnvelopeAsMapperWhenInvoked() throws IOException {
+        // given
+        HandlerResponse response =
+                HandlerResponse.newBuilder()
+                        .withStatusCode(404)
+                        .withHeader("my header", "kaboom")
+                        .withBody("hello")
+                        .build();
+
+        // when
+        sut.write(output, response);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+        JsonNode expected = mapper.valueToTree(response);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void omitsBodyWhenNoneProvided() throws IOException {
+        // given
+        HandlerResponse response = HandlerResponse.newBuilder().withStatusCode(200).build();
+
+        // when
+        sut.write(output, response);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+
+        assertThat(actual.has("body")).isFalse();
+    }
+
+    @Test
+    void escapesBufferedBodyWhenProvided() throws IOException {
+        // given
+        HandlerResponse response = HandlerResponse.newBuilder().withStatusCode(200).build();
+        BodyBuffer body = new BodyBuffer();
+        body.write("[{\"name\":\"quote \\\" and\\nnewline\"}]");
+
+        // when
+        sut.write(output, response, body);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+
+        assertThat(actual.get("body").asText())
+                .isEqualTo("[{\"name\":\"quote \\\" and\\nnewline\"}]");
+    }
+
+    @Test
+    void escapesSerializedBodyWhenProvided() throws IOException {
+        // given
+        HandlerResponse response = HandlerResponse.newBuilder().withStatusCode(200).build();
+        byte[] body = "[{\"name\":\"quote \\\" and\\nnewline \u00a3\"}]".getBytes(UTF_8);
+
+        // when
+        sut.write(output, response, body);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+
+        assertThat(actual.get("body").asText())
+                .isEqualTo("[{\"name\":\"quote \\\" and\\nnewline \u00a3\"}]");
+    }
+
+    @Test
+    void writesEncodedBodyAsBase64WhenProvided() throws IOException {
+        // given
+        HandlerResponse response = HandlerResponse.newBuilder().withStatusCode(200).build();
+        byte[] encoded = {0x1f, (byte) 0x8b, 0x08, 0x00};
+
+        // when
+        sut.writeEncoded(output, response, encoded);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+
+        assertThat(actual.get("isBase64Encoded").asBoolean()).isTrue();
+        assertThat(actual.get("body").asText()).isEqualTo("H4sIAA==");
+    }
+
+    @Test
+    void leavesOutputOpenWhenWritten() throws IOException {
+        // given
+        HandlerResponse response = HandlerResponse.newBuilder().withStatusCode(200).build();
+
+        // when
+        sut.write(output, response);
+        output.write('x');
+
+        // then
+        assertThat(output.toString()).endsWith("}x");
+    }
+}
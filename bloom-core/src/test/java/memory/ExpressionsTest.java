@@ -0,0 +1,172 @@
+package memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+class ExpressionsTest {
+
+    static final Map<String, AttributeValue> ITEM =
+            Map.of(
+                    "PK", builder().s("USER#someone").build(),
+                    "SK", builder().s("DEBT#car").build(),
+                    "Version", builder().n("3").build(),
+                    "Tags", builder().ss("a", "b").build());
+
+    @Test
+    void holdsWhenConditionsCombined() {
+        // given
+        Expressions sut =
+                new Expressions(
+                        Map.of("#version", "Version"),
+                        Map.of(
+                                ":low", builder().n("1").build(),
+                                ":high", builder().n("5").build(),
+                                ":type", builder().s("DEBT#").build()));
+
+        // when
+        boolean actual =
+                sut.condition(
+                                "attribute_exists(PK) AND (#version BETWEEN :low AND :high"
+                                        + " OR NOT begins_with(SK, :type))")
+                        .test(ITEM);
+
+        // then
+        assertThat(actual).isTrue();
+        sut.checkAllUsed();
+    }
+
+    @Test
+    void failsWhenComparedAttributeMissing() {
+        // given
+        Expressions sut = new Expressions(null, Map.of(":version", builder().n("3").build()));
+
+        // when
+        boolean actual = sut.condition("Missing = :version").test(ITEM);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void comparesNumbersByValue() {
+        // given
+        Expressions sut = new Expressions(null, Map.of(":version", builder().n("3.00").build()));
+
+        // when
+        boolean actual = sut.condition("Version = :version").test(ITEM);
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void appliesEveryClauseWhenUpdated() {
+        // given
+        Expressions sut =
+                new Expressions(
+                        Map.of("#version", "Version"),
+                        Map.of(
+                                ":one", builder().n("1").build(),
+                                ":tag", builder().ss("a").build(),
+                                ":amount", builder().s("10.00").build()));
+
+        // when
+        Map<String, AttributeValue> actual =
+                sut.update(
+                                "SET Amount = if_not_exists(Amount, :amount) REMOVE PK"
+                                        + " ADD #version :one DELETE Tags :tag")
+                        .apply(ITEM);
+
+        // then
+        assertThat(actual)
+                .containsEntry("Amount", builder().s("10.00").build())
+                .containsEntry("Version", builder().n("4").build())
+                .containsEntry("Tags", builder().ss("b").build())
+                .doesNotContainKey("PK");
+    }
+
+    @Test
+    void readsOperandsFromItemBeforeUpdate() {
+        // given
+        Expressions sut = new Expressions(null, Map.of(":one", builder().n("1").build()));
+
+        // when
+        Map<String, AttributeValue> actual =
+                sut.update("SET Version = Version + :one, Previous = Version").apply(ITEM);
+
+        // then
+        assertThat(actual)
+                .containsEntry("Version", builder().n("4").build())
+                .containsEntry("Previous", builder().n("3").build());
+    }
+
+    @Test
+    void throwsExceptionWhenPathsOverlap() {
+        // given
+        Expressions sut = new Expressions(null, Map.of(":one", builder().n("1").build()));
+
+        try {
+            // when
+            sut.update("SET Version = :one ADD Version :one");
+            shouldHaveThrown(DynamoDbException.class);
+
+        } catch (DynamoDbException actual) {
+            // then
+            assertThat(actual.awsErrorDetails().errorMessage())
+                    .isEqualTo(
+                            "Invalid UpdateExpression: two document paths overlap with each other;"
+                                    + " Version");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenValueUndefined() {
+        // given
+        Expressions sut = new Expressions(null, null);
+
+        try {
+            // when
+            sut.condition("Version = :version");
+            shouldHaveThrown(DynamoDbException.class);
+
+        } catch (DynamoDbException actual) {
+            // then
+            assertThat(actual.awsErrorDetails().errorMessage())
+                    .isEqualTo(
+                            "An expression attribute value used in expression is not defined;"
+                                    + " attribute value: :version");
+        }
+    }
+
+    @Test
+    void returnsAttributesWhenProjected() {
+        // given
+        Expressions sut = new Expressions(Map.of("#sk", "SK"), null);
+
+        // when
+        List<String> actual = sut.projection("PK, #sk");
+
+        // then
+        assertThat(actual).containsExactly("PK", "SK");
+    }
+
+    @Test
+    void ordersStringsByUtf8Bytes() {
+        // given
+        String ascii = "z";
+        String accented = "\u00e9";
+
+        // when
+        int actual = Expressions.UTF8_ORDER.compare(ascii, accented);
+
+        // then
+        assertThat(actual).isNegative();
+    }
+}
@@ -0,0 +1,629 @@
+package memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import exception.ConflictException;
+import exception.NotFoundException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import model.Subject;
+import model.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.DynamoService;
+import service.ListTypeService;
+import service.PatchItemService;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TableStatus;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import transform.UpdateExpression;
+
+class InMemoryDynamoDbClientTest {
+
+    static final String TABLE_NAME = "table";
+
+    AtomicLong clock;
+    InMemoryDynamoDbClient sut;
+    DynamoService service;
+
+    @BeforeEach
+    void beforeEach() {
+        clock = new AtomicLong();
+        sut = InMemoryDynamoDbClient.newBuilder().withClock(clock::get).build();
+        service = new DynamoService(sut, TABLE_NAME);
+    }
+
+    @Test
+    void returnsAddedItemWhenGot() {
+        // given
+        Map<String, AttributeValue> item = item("USER#someone", "SAVING#isa", 1);
+        service.add(item);
+
+        // when
+        Map<String, AttributeValue> actual = service.get(key("USER#someone", "SAVING#isa"));
+
+        // then
+        assertThat(actual).isEqualTo(item);
+        assertThat(service.version(builder().s("USER#someone").build())).isEqualTo(1L);
+    }
+
+    @Test
+    void describesTableAsActiveWithItemsHeld() {
+        // given
+        service.add(item("USER#someone", "SAVING#isa", 1));
+
+        // when
+        DescribeTableResponse actual =
+                sut.describeTable(DescribeTableRequest.builder().tableName(TABLE_NAME).build());
+
+        // then
+        assertThat(actual.table().tableName()).isEqualTo(TABLE_NAME);
+        assertThat(actual.table().tableStatus()).isEqualTo(TableStatus.ACTIVE);
+        // the item and the partition's VERSION item
+        assertThat(actual.table().itemCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void listsOnlyItemsOfTypeInSortKeyOrderWhenListed() {
+        // given
+        service.add(item("USER#someone", "SAVING#lisa", 1));
+        service.add(item("USER#someone", "DEBT#car", 1));
+        service.add(item("USER#someone", "SAVING#isa", 1));
+        service.add(item("USER#another", "SAVING#pension", 1));
+
+        // when
+        List<String> actual = new ArrayList<>();
+        new ListTypeService(service)
+                .list(new Subject("someone"), Type.SAVING)
+                .forEach(item -> actual.add(item.get("SK").s()));
+
+        // then
+        assertThat(actual).containsExactly("SAVING#isa", "SAVING#lisa");
+    }
+
+    @Test
+    void listsInReverseWhenScanningBackwards() {
+        // given
+        service.add(item("USER#someone", "SAVING#a", 1));
+        service.add(item("USER#someone", "SAVING#b", 1));
+        service.add(item("USER#someone", "SAVING#c", 1));
+        QueryRequest request =
+                QueryRequest.builder()
+                        .tableName(TABLE_NAME)
+                        .keyConditionExpression("PK = :user AND begins_with ( SK, :type )")
+                        .expressionAttributeValues(
+                                Map.of(
+                                        ":user", builder().s("USER#someone").build(),
+                                        ":type", builder().s("SAVING#").build()))
+                        .scanIndexForward(false)
+                        .limit(2)
+                        .build();
+
+        // when
+        QueryResponse actual = sut.query(request);
+
+        // then
+        assertThat(actual.items())
+                .extracting(item -> item.get("SK").s())
+                .containsExactly("SAVING#c", "SAVING#b");
+        assertThat(actual.lastEvaluatedKey()).isEqualTo(key("USER#someone", "SAVING#b"));
+    }
+
+    @Test
+    void endsPageAtPageBytesWhenListed() {
+        // given
+        sut = InMemoryDynamoDbClient.newBuilder().withPageBytes(100).build();
+        service = new DynamoService(sut, TABLE_NAME);
+        for (int i = 0; i < 5; i++) {
+            service.add(item("USER#someone", "SAVING#" + i, 40));
+        }
+        Map<String, AttributeValue> values =
+                Map.of(
+                        ":user", builder().s("USER#someone").build(),
+                        ":type", builder().s("SAVING#").build());
+
+        // when
+        QueryResponse actual =
+                service.list("PK = :user AND begins_with ( SK, :type )", values, null, null);
+
+        // then
+        assertThat(actual.count()).isEqualTo(1);
+        assertThat(actual.lastEvaluatedKey()).isEqualTo(key("USER#someone", "SAVING#0"));
+        List<Map<String, AttributeValue>> all = new ArrayList<>();
+        service.listAll("PK = :user AND begins_with ( SK, :type )", values).forEach(all::add);
+        assertThat(all).hasSize(5);
+    }
+
+    @Test
+    void continuesAfterStartKeyWhenListed() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            service.add(item("USER#someone", "SAVING#" + i, 1));
+        }
+        Map<String, AttributeValue> values =
+                Map.of(
+                        ":user", builder().s("USER#someone").build(),
+                        ":type", builder().s("SAVING#").build());
+
+        // when
+        QueryResponse actual =
+                service.list(
+                        "PK = :user AND begins_with ( SK, :type )",
+                        values,
+                        2,
+                        key("USER#someone", "SAVING#1"));
+
+        // then
+        assertThat(actual.items())
+                .extracting(item -> item.get("SK").s())
+                .containsExactly("SAVING#2", "SAVING#3");
+        assertThat(actual.lastEvaluatedKey()).isEqualTo(key("USER#someone", "SAVING#3"));
+    }
+
+    @Test
+    void returnsOnlyProjectedAttributesWhenListed() {
+        // given
+        service.add(item("USER#someone", "SAVING#isa", 1));
+
+        // when
+        QueryResponse actual =
+                service.list(
+                        "PK = :user",
+                        Map.of(":user", builder().s("USER#someone").build()),
+                        null,
+                        null,
+                        "#SK, #Payload",
+                        Map.of("#SK", "SK", "#Payload", "Payload"));
+
+        // then
+        assertThat(actual.items())
+                .containsExactly(
+                        Map.of("SK", builder().s("SAVING#isa").build(), "Payload", payload(1)),
+                        Map.of("SK", builder().s("VERSION").build()));
+    }
+
+    @Test
+    void throwsConflictExceptionWhenPatchedAtStaleVersion() {
+        // given
+        Map<String, AttributeValue> item = new HashMap<>(item("USER#someone", "DEBT#car", 1));
+        item.put("Version", builder().n("2").build());
+        service.add(item);
+        PatchItemService patchItemService = new PatchItemService(service);
+        UpdateExpression update =
+                new UpdateExpression().set("MonthlyAmount", builder().s("60.00").build());
+
+        try {
+            // when
+            patchItemService.patch(key("USER#someone", "DEBT#car"), update, 1);
+            shouldHaveThrown(ConflictException.class);
+
+        } catch (ConflictException actual) {
+            // then
+            assertThat(actual).hasMessage("item DEBT#car was changed by another request");
+            assertThat(service.version(builder().s("USER#someone").build())).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void throwsNotFoundExceptionWhenUpdatingMissingItem() {
+        // given
+        service.add(item("USER#someone", "DEBT#loan", 1));
+
+        try {
+            // when
+            service.update(
+                    key("USER#someone", "DEBT#car"),
+                    "SET #monthlyAmount = :monthlyAmount",
+                    Map.of("#monthlyAmount", "MonthlyAmount"),
+                    Map.of(":monthlyAmount", builder().s("60.00").build()),
+                    "attribute_exists(PK)");
+            shouldHaveThrown(NotFoundException.class);
+
+        } catch (NotFoundException actual) {
+            // then
+            assertThat(actual).hasMessage("item DEBT#car not found");
+            assertThat(service.get(key("USER#someone", "DEBT#car"))).isNull();
+            assertThat(service.version(builder().s("USER#someone").build())).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void appliesUpdateWhenPatchedAtCurrentVersion() {
+        // given
+        service.add(item("USER#someone", "DEBT#car", 1));
+        PatchItemService patchItemService = new PatchItemService(service);
+        UpdateExpression update =
+                new UpdateExpression()
+                        .set("MonthlyAmount", builder().s("60.00").build())
+                        .append(
+                                "Adjustments",
+                                builder().l(builder().s("adjustment").build()).build());
+
+        // when
+        long actual = patchItemService.patch(key("USER#someone", "DEBT#car"), update, 0);
+
+        // then
+        Map<String, AttributeValue> stored = service.get(key("USER#someone", "DEBT#car"));
+        assertThat(actual).isEqualTo(1L);
+        assertThat(stored.get("MonthlyAmount").s()).isEqualTo("60.00");
+        assertThat(stored.get("Adjustments").l()).hasSize(2);
+        assertThat(stored.get("Version").n()).isEqualTo("1");
+    }
+
+    @Test
+    void chargesWholeItemForReadAndTwiceForTransactionWhenPatched() {
+        // given
+        service.add(item("USER#someone", "DEBT#car", 5000));
+        PatchItemService patchItemService = new PatchItemService(service);
+        UpdateExpression update =
+                new UpdateExpression().set("MonthlyAmount", builder().s("60.00").build());
+        double readUnits = sut.getConsumedReadUnits();
+        double writeUnits = sut.getConsumedWriteUnits();
+
+        // when
+        patchItemService.read(key("USER#someone", "DEBT#car"));
+        patchItemService.patch(key("USER#someone", "DEBT#car"), update, 0);
+
+        // then
+        assertThat(sut.getConsumedReadUnits() - readUnits).isEqualTo(2.0);
+        assertThat(sut.getConsumedWriteUnits() - writeUnits).isEqualTo(12.0);
+    }
+
+    @Test
+    void chargesTransactionAndReadAfterItWhenPatchedWithoutRead() {
+        // given
+        service.add(item("USER#someone", "DEBT#car", 5000));
+        PatchItemService patchItemService = new PatchItemService(service);
+        UpdateExpression update =
+                new UpdateExpression().set("MonthlyAmount", builder().s("60.00").build());
+        double readUnits = sut.getConsumedReadUnits();
+        double writeUnits = sut.getConsumedWriteUnits();
+
+        // when
+        Map<String, AttributeValue> actual =
+                patchItemService.patchAndGet(key("USER#someone", "DEBT#car"), update, 0);
+
+        // then
+        assertThat(actual.get("MonthlyAmount").s()).isEqualTo("60.00");
+        assertThat(actual.get("Version").n()).isEqualTo("1");
+        assertThat(sut.getConsumedReadUnits() - readUnits).isEqualTo(2.0);
+        assertThat(sut.getConsumedWriteUnits() - writeUnits).isEqualTo(12.0);
+        assertThat(service.version(builder().s("USER#someone").build())).isEqualTo(2L);
+    }
+
+    @Test
+    void throwsNotFoundExceptionWhenPatchedWithoutReadOnMissingItem() {
+        // given
+        PatchItemService patchItemService = new PatchItemService(service);
+        UpdateExpression update =
+                new UpdateExpression().set("MonthlyAmount", builder().s("60.00").build());
+
+        try {
+            // when
+            patchItemService.patchAndGet(key("USER#someone", "DEBT#car"), update, 3);
+            shouldHaveThrown(NotFoundException.class);
+
+        } catch (NotFoundException actual) {
+            // then
+            assertThat(actual).hasMessage("item DEBT#car not found");
+            assertThat(service.version(builder().s("USER#someone").build())).isZero();
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenAppendingToBinaryAttribute() {
+        // given
+        Map<String, AttributeValue> item = new HashMap<>(item("USER#someone", "DEBT#car", 1));
+        item.put("Adjustments", builder().b(SdkBytes.fromByteArray(new byte[] {1})).build());
+        service.add(item);
+        UpdateExpression update =
+                new UpdateExpression()
+                        .append(
+                                "Adjustments",
+                                builder().l(builder().s("adjustment").build()).build());
+
+        try {
+            // when
+            service.update(
+                    key("USER#someone", "DEBT#car"),
+                    update.getUpdateExpression(),
+                    update.getExpressionAttributeNames(),
+                    update.getExpressionAttributeValues());
+            shouldHaveThrown(DynamoDbException.class);
+
+        } catch (DynamoDbException actual) {
+            // then
+            assertThat(actual.awsErrorDetails().errorCode()).isEqualTo("ValidationException");
+            assertThat(actual.awsErrorDetails().errorMessage())
+                    .isEqualTo("An operand in the update expression has an incorrect data type");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenAttributeValueUnused() {
+        // given
+        GetItemRequest request =
+                GetItemRequest.builder()
+                        .tableName(TABLE_NAME)
+                        .key(key("USER#someone", "DEBT#car"))
+                        .projectionExpression("#SK")
+                        .expressionAttributeNames(Map.of("#SK", "SK", "#PK", "PK"))
+                        .build();
+
+        try {
+            // when
+            sut.getItem(request);
+            shouldHaveThrown(DynamoDbException.class);
+
+        } catch (DynamoDbException actual) {
+            // then
+            assertThat(actual.awsErrorDetails().errorMessage())
+                    .isEqualTo(
+                            "Value provided in ExpressionAttributeNames unused in expressions: keys: {#PK}");
+        }
+    }
+
+    @Test
+    void throttlesPartitionWhenWriteUnitsUsedUp() {
+        // given
+        sut =
+                InMemoryDynamoDbClient.newBuilder()
+                        .withPartitionWriteUnits(4)
+                        .withClock(clock::get)
+                        .build();
+        service = new DynamoService(sut, TABLE_NAME);
+        service.add(item("USER#someone", "SAVING#isa", 1));
+
+        try {
+            // when
+            service.add(item("USER#someone", "SAVING#lisa", 1));
+            shouldHaveThrown(TransactionCanceledException.class);
+
+        } catch (TransactionCanceledException actual) {
+            // then
+            assertThat(actual.cancellationReasons())
+                    .extracting(reason -> reason.code())
+                    .containsExactly("ThrottlingError", "ThrottlingError");
+            assertThat(sut.getThrottledRequests()).isEqualTo(1L);
+        }
+        service.add(item("USER#another", "SAVING#isa", 1));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        service.add(item("USER#someone", "SAVING#lisa", 1));
+        assertThat(sut.getConsumedUnitsByPartition())
+                .containsEntry("USER#someone", 8.0)
+                .containsEntry("USER#another", 4.0);
+    }
+
+    @Test
+    void returnsThrottledWritesUnprocessedWhenBatched() {
+        // given
+        sut =
+                InMemoryDynamoDbClient.newBuilder()
+                        .withPartitionWriteUnits(1)
+                        .withClock(clock::get)
+                        .build();
+        service = new DynamoService(sut, TABLE_NAME);
+        service.add(item("USER#someone", "SAVING#isa", 1));
+        WriteRequest throttled = put(item("USER#someone", "SAVING#lisa", 1));
+        WriteRequest written = put(item("USER#another", "SAVING#isa", 1));
+        BatchWriteItemRequest request =
+                BatchWriteItemRequest.builder()
+                        .requestItems(Map.of(TABLE_NAME, List.of(throttled, written)))
+                        .build();
+
+        // when
+        BatchWriteItemResponse actual = sut.batchWriteItem(request);
+
+        // then
+        assertThat(actual.unprocessedItems()).isEqualTo(Map.of(TABLE_NAME, List.of(throttled)));
+        assertThat(service.get(key("USER#another", "SAVING#isa"))).isNotNull();
+    }
+
+    @Test
+    void throwsExceptionWhenEveryBatchedWriteThrottled() {
+        // given
+        sut =
+                InMemoryDynamoDbClient.newBuilder()
+                        .withPartitionWriteUnits(1)
+                        .withClock(clock::get)
+                        .build();
+        service = new DynamoService(sut, TABLE_NAME);
+        service.add(item("USER#someone", "SAVING#isa", 1));
+
+        try {
+            // when
+            service.batchAdd(List.of(item("USER#someone", "SAVING#lisa", 1)));
+            shouldHaveThrown(ProvisionedThroughputExceededException.class);
+
+        } catch (ProvisionedThroughputExceededException actual) {
+            // then
+            assertThat(actual.awsErrorDetails().errorCode())
+                    .isEqualTo("ProvisionedThroughputExceededException");
+        }
+    }
+
+    @Test
+    void throwsConflictWhenAddingExistingItem() {
+        // given
+        service.add(item("USER#someone", "SAVING#isa", 1));
+
+        try {
+            // when
+            service.add(item("USER#someone", "SAVING#isa", 2));
+            shouldHaveThrown(ConflictException.class);
+
+        } catch (ConflictException actual) {
+            // then
+            assertThat(service.get(key("USER#someone", "SAVING#isa")))
+                    .isEqualTo(item("USER#someone", "SAVING#isa", 1));
+            assertThat(service.version(builder().s("USER#someone").build())).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void returnsOnlyExistingKeysWhenBatchRead() {
+        // given
+        service.add(item("USER#someone", "SAVING#isa", 1));
+        service.add(item("USER#another", "SAVING#isa", 1));
+
+        // when
+        Set<Map<String, AttributeValue>> actual =
+                service.existing(
+                        List.of(
+                                key("USER#someone", "SAVING#isa"),
+                                key("USER#someone", "SAVING#lisa"),
+                                key("USER#another", "SAVING#isa")));
+
+        // then
+        assertThat(actual)
+                .containsExactlyInAnyOrder(
+                        key("USER#someone", "SAVING#isa"), key("USER#another", "SAVING#isa"));
+    }
+
+    @Test
+    void returnsThrottledReadsUnprocessedWhenBatched() {
+        // given
+        sut =
+                InMemoryDynamoDbClient.newBuilder()
+                        .withPartitionReadUnits(1)
+                        .withClock(clock::get)
+                        .build();
+        service = new DynamoService(sut, TABLE_NAME);
+        service.add(item("USER#someone", "SAVING#isa", 1));
+        service.add(item("USER#another", "SAVING#isa", 1));
+        service.get(key("USER#someone", "SAVING#isa"), true);
+        BatchGetItemRequest request =
+                BatchGetItemRequest.builder()
+                        .requestItems(
+                                Map.of(
+                                        TABLE_NAME,
+                                        KeysAndAttributes.builder()
+                                                .keys(
+                                                        key("USER#someone", "SAVING#isa"),
+                                                        key("USER#another", "SAVING#isa"))
+                                                .consistentRead(true)
+                                                .build()))
+                        .build();
+
+        // when
+        BatchGetItemResponse actual = sut.batchGetItem(request);
+
+        // then
+        assertThat(actual.responses().get(TABLE_NAME))
+                .containsExactly(item("USER#another", "SAVING#isa", 1));
+        assertThat(actual.unprocessedKeys().get(TABLE_NAME).keys())
+                .containsExactly(key("USER#someone", "SAVING#isa"));
+        assertThat(sut.getThrottledRequests()).isEqualTo(1L);
+    }
+
+    @Test
+    void reportsConsumedCapacityWhenAsked() {
+        // given
+        service.add(item("USER#someone", "SAVING#isa", 5000));
+        GetItemRequest request =
+                GetItemRequest.builder()
+                        .tableName(TABLE_NAME)
+                        .key(key("USER#someone", "SAVING#isa"))
+                        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                        .build();
+
+        // when
+        GetItemResponse actual = sut.getItem(request);
+
+        // then
+        assertThat(actual.consumedCapacity().readCapacityUnits()).isEqualTo(1.0);
+        assertThat(actual.consumedCapacity().tableName()).isEqualTo(TABLE_NAME);
+        assertThat(sut.getConsumedReadUnits()).isEqualTo(1.0);
+        assertThat(sut.getConsumedWriteUnits()).isEqualTo(12.0);
+    }
+
+    @Test
+    void leavesTablesUntouchedWhenPrimed() {
+        // given
+
+        // when
+        service.prime();
+
+        // then
+        assertThat(sut.scan(ScanRequest.builder().tableName(TABLE_NAME).build()).count()).isZero();
+    }
+
+    @Test
+    void throwsExceptionWhenLatencyNegative() {
+        // given
+        InMemoryDynamoDbClient.Builder builder =
+                InMemoryDynamoDbClient.newBuilder().withLatency(Duration.ofMillis(-1));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("latency cannot be negative");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenPageBytesNotPositive() {
+        // given
+        InMemoryDynamoDbClient.Builder builder =
+                InMemoryDynamoDbClient.newBuilder().withPageBytes(0);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("pageBytes must be greater than 0");
+        }
+    }
+
+    static Map<String, AttributeValue> key(String partitionKey, String sortKey) {
+        return Map.of("PK", builder().s(partitionKey).build(), "SK", builder().s(sortKey).build());
+    }
+
+    static Map<String, AttributeValue> item(String partitionKey, String sortKey, int payload) {
+        return Map.of(
+                "PK", builder().s(partitionKey).build(),
+                "SK", builder().s(sortKey).build(),
+                "Payload", payload(payload),
+                "Adjustments", builder().l(builder().s("adjustment").build()).build());
+    }
+
+    static AttributeValue payload(int bytes) {
+        return builder().s("x".repeat(bytes)).build();
+    }
+
+    static WriteRequest put(Map<String, AttributeValue> item) {
+        return WriteRequest.builder().putRequest(PutRequest.builder().item(item).build()).build();
+    }
+}
@@ -0,0 +1,51 @@
+package memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PartitionBudgetTest {
+
+    static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void hasCapacityUntilUnitsUsedUp() {
+        // given
+        PartitionBudget sut = new PartitionBudget(10, 0);
+        sut.charge(9, 0);
+
+        // when
+        boolean actual = sut.hasCapacity(0);
+
+        // then
+        assertThat(actual).isTrue();
+        sut.charge(1, 0);
+        assertThat(sut.hasCapacity(0)).isFalse();
+    }
+
+    @Test
+    void refillsAtUnitsPerSecondWhenTimePasses() {
+        // given
+        PartitionBudget sut = new PartitionBudget(10, 0);
+        sut.charge(30, 0);
+
+        // when
+        boolean actual = sut.hasCapacity(2 * SECOND);
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(sut.hasCapacity(2 * SECOND + SECOND / 5)).isTrue();
+    }
+
+    @Test
+    void holdsAtMostOneSecondOfUnitsWhenIdle() {
+        // given
+        PartitionBudget sut = new PartitionBudget(10, 0);
+
+        // when
+        sut.charge(10, 60 * SECOND);
+
+        // then
+        assertThat(sut.hasCapacity(60 * SECOND)).isFalse();
+    }
+}
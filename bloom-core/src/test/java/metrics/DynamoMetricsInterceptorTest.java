@@ -0,0 +1,148 @@
+package metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+
+class DynamoMetricsInterceptorTest {
+
+    DynamoMetrics dynamoMetrics;
+    ExecutionAttributes attributes;
+
+    DynamoMetricsInterceptor sut;
+
+    @BeforeEach
+    void beforeEach() {
+        dynamoMetrics = new DynamoMetrics();
+        attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "TransactWriteItems");
+        sut = new DynamoMetricsInterceptor(dynamoMetrics);
+    }
+
+    @AfterEach
+    void afterEach() {
+        InvocationMetrics.current().end(-1);
+    }
+
+    @Test
+    void recordsCallAgainstOperationWhenExecuted() {
+        // given
+        sut.beforeExecution(null, attributes);
+        sut.beforeTransmission(null, attributes);
+        sut.beforeTransmission(null, attributes);
+
+        // when
+        sut.afterExecution(
+                afterExecution(
+                        TransactWriteItemsResponse.builder()
+                                .consumedCapacity(capacity(2.0), capacity(1.5))
+                                .build()),
+                attributes);
+
+        // then
+        OperationMetrics actual = dynamoMetrics.getOperation("TransactWriteItems");
+
+        assertThat(actual.getCalls()).isEqualTo(1);
+        assertThat(actual.getRetries()).isEqualTo(1);
+        assertThat(actual.getFailures()).isZero();
+        assertThat(actual.getConsumedCapacity()).isEqualTo(3.5);
+        assertThat(actual.getLatency().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void timesCallAgainstInvocationWhenExecuted() {
+        // given
+        InvocationMetrics metrics = InvocationMetrics.begin(-1);
+        sut.beforeExecution(null, attributes);
+        sut.beforeTransmission(null, attributes);
+
+        // when
+        sut.afterExecution(
+                afterExecution(GetItemResponse.builder().consumedCapacity(capacity(0.5)).build()),
+                attributes);
+
+        // then
+        assertThat(metrics.getCount(Stage.DYNAMO)).isEqualTo(1);
+        assertThat(metrics.getConsumedCapacity()).isEqualTo(0.5);
+        assertThat(metrics.getRetries()).isZero();
+    }
+
+    @Test
+    void countsFailureWhenExecutionFails() {
+        // given
+        sut.beforeExecution(null, attributes);
+        sut.beforeTransmission(null, attributes);
+
+        // when
+        sut.onExecutionFailure(null, attributes);
+
+        // then
+        assertThat(dynamoMetrics.getOperation("TransactWriteItems").getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsNothingWhenStoppedBeforeTransmission() {
+        // given
+        InvocationMetrics metrics = InvocationMetrics.begin(-1);
+        sut.beforeExecution(null, attributes);
+
+        // when
+        sut.onExecutionFailure(null, attributes);
+
+        // then
+        assertThat(dynamoMetrics.getOperations()).isEmpty();
+        assertThat(metrics.getCount(Stage.DYNAMO)).isZero();
+    }
+
+    @Test
+    void recordsNothingAgainstInvocationWhenNoneActive() {
+        // given
+        sut.beforeExecution(null, attributes);
+        sut.beforeTransmission(null, attributes);
+        InvocationMetrics metrics = InvocationMetrics.begin(-1);
+
+        // when
+        sut.afterExecution(afterExecution(GetItemResponse.builder().build()), attributes);
+
+        // then
+        assertThat(metrics.getCount(Stage.DYNAMO)).isZero();
+        assertThat(dynamoMetrics.getOperation("TransactWriteItems").getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void timesOnlyInvocationWhenOperationMetricsDisabled() {
+        // given
+        sut = new DynamoMetricsInterceptor(DynamoMetrics.DISABLED);
+        InvocationMetrics metrics = InvocationMetrics.begin(-1);
+        sut.beforeExecution(null, attributes);
+        sut.beforeTransmission(null, attributes);
+
+        // when
+        sut.afterExecution(afterExecution(GetItemResponse.builder().build()), attributes);
+
+        // then
+        assertThat(metrics.getCount(Stage.DYNAMO)).isEqualTo(1);
+        assertThat(DynamoMetrics.DISABLED.getOperations()).isEmpty();
+    }
+
+    static Context.AfterExecution afterExecution(SdkResponse response) {
+        Context.AfterExecution context = mock(Context.AfterExecution.class);
+        when(context.response()).thenReturn(response);
+        return context;
+    }
+
+    static ConsumedCapacity capacity(double units) {
+        return ConsumedCapacity.builder().tableName("table").capacityUnits(units).build();
+    }
+}
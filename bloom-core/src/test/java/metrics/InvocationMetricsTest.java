@@ -0,0 +1,100 @@
+package metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class InvocationMetricsTest {
+
+    @AfterEach
+    void afterEach() {
+        InvocationMetrics.current().end(-1);
+    }
+
+    @Test
+    void excludesNestedStagesFromSelfTime() {
+        // given
+        InvocationMetrics sut = InvocationMetrics.begin(-1);
+        long started = sut.now();
+        sut.lap(Stage.BODY, started - 30);
+
+        // when
+        sut.lap(Stage.ENVELOPE, started - 100);
+
+        // then
+        assertThat(sut.getNanos(Stage.ENVELOPE)).isGreaterThanOrEqualTo(100);
+        assertThat(sut.getSelfNanos(Stage.ENVELOPE))
+                .isEqualTo(sut.getNanos(Stage.ENVELOPE) - sut.getNanos(Stage.BODY));
+    }
+
+    @Test
+    void nestsDynamoCallsInStageEntered() {
+        // given
+        InvocationMetrics sut = InvocationMetrics.begin(-1);
+        sut.enter(Stage.DELEGATE);
+        long started = sut.now();
+        sut.addDynamoCall(started - 30, 0, 1.0);
+        sut.lap(Stage.DELEGATE, started - 100);
+        sut.enter(Stage.SERIALIZE);
+
+        // when
+        sut.addDynamoCall(sut.now() - 1000, 1, 0.5);
+        sut.lap(Stage.SERIALIZE, started - 2000);
+
+        // then
+        assertThat(sut.getCount(Stage.DYNAMO)).isEqualTo(2);
+        assertThat(sut.getSelfNanos(Stage.DELEGATE)).isNotNegative();
+        assertThat(sut.getSelfNanos(Stage.SERIALIZE)).isNotNegative();
+        assertThat(sut.getSelfNanos(Stage.DELEGATE) + sut.getSelfNanos(Stage.SERIALIZE))
+                .isEqualTo(
+                        sut.getNanos(Stage.DELEGATE)
+                                + sut.getNanos(Stage.SERIALIZE)
+                                - sut.getNanos(Stage.DYNAMO));
+        assertThat(sut.getRetries()).isEqualTo(1);
+        assertThat(sut.getConsumedCapacity()).isEqualTo(1.5);
+    }
+
+    @Test
+    void resetsStagesWhenInvocationBegins() {
+        // given
+        InvocationMetrics previous = InvocationMetrics.begin(-1);
+        previous.lap(Stage.ENVELOPE, previous.now());
+        previous.end(-1);
+
+        // when
+        InvocationMetrics actual = InvocationMetrics.begin(-1);
+
+        // then
+        assertThat(actual).isSameAs(previous);
+        assertThat(actual.getNanos(Stage.ENVELOPE)).isZero();
+        assertThat(actual.getCount(Stage.ENVELOPE)).isZero();
+    }
+
+    @Test
+    void returnsDisabledWhenNoInvocationActive() {
+        // given
+        InvocationMetrics.begin(-1).end(-1);
+
+        // when
+        InvocationMetrics actual = InvocationMetrics.current();
+
+        // then
+        assertThat(actual).isSameAs(InvocationMetrics.DISABLED);
+        assertThat(actual.lap(Stage.DYNAMO, 0)).isZero();
+        assertThat(actual.getCount(Stage.DYNAMO)).isZero();
+    }
+
+    @Test
+    void countsAllocatedBytesSinceBeginning() {
+        // given
+        InvocationMetrics sut = InvocationMetrics.begin(1000);
+
+        // when
+        sut.end(1500);
+
+        // then
+        assertThat(sut.getAllocatedBytes()).isEqualTo(500);
+        assertThat(sut.getTotalNanos()).isPositive();
+    }
+}
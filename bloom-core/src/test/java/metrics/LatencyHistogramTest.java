@@ -0,0 +1,70 @@
+package metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void reportsPercentilesWithinPrecisionWhenRecorded() {
+        // given
+        LatencyHistogram sut = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            sut.record(value * 1000);
+        }
+
+        // when
+        long actual = sut.getValueAtPercentile(99);
+
+        // then
+        assertThat((double) actual).isCloseTo(9_900_000, within(9_900_000 * 0.04));
+        assertThat(sut.getValueAtPercentile(100)).isEqualTo(10_000_000);
+        assertThat(sut.getCount()).isEqualTo(10_000);
+    }
+
+    @Test
+    void keepsSmallValuesExactWhenRecorded() {
+        // given
+        LatencyHistogram sut = new LatencyHistogram();
+        sut.record(3);
+        sut.record(5);
+
+        // when
+        long actual = sut.getValueAtPercentile(50);
+
+        // then
+        assertThat(actual).isEqualTo(3);
+    }
+
+    @Test
+    void placesEveryValueInBucketCoveringIt() {
+        // given
+        long[] values = {0, 63, 64, 65, 127, 128, 1_000_003, Long.MAX_VALUE};
+
+        for (long value : values) {
+            // when
+            int actual = LatencyHistogram.index(value);
+
+            // then
+            assertThat(LatencyHistogram.highestEquivalent(actual)).isGreaterThanOrEqualTo(value);
+            assertThat(actual).isLessThan(LatencyHistogram.BUCKETS);
+            if (0 < actual) {
+                assertThat(LatencyHistogram.highestEquivalent(actual - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void returnsZeroWhenNothingRecorded() {
+        // given
+        LatencyHistogram sut = new LatencyHistogram();
+
+        // when
+        long actual = sut.getValueAtPercentile(99);
+
+        // then
+        assertThat(actual).isZero();
+    }
+}
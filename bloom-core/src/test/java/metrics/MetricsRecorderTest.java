@@ -0,0 +1,92 @@
+package metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetricsRecorderTest {
+
+    ByteArrayOutputStream output;
+
+    @BeforeEach
+    void beforeEach() {
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void writesEmbeddedMetricRecordWhenEnded() throws IOException {
+        // given
+        MetricsRecorder sut =
+                new MetricsRecorder(true, false, new PrintStream(output, true, UTF_8));
+        InvocationMetrics metrics = sut.begin();
+        metrics.addDynamoCall(metrics.now() - 2_000, 1, 0.5);
+
+        // when
+        sut.end(metrics, "ListSavings", "someone \"quoted\"", 200);
+
+        // then
+        JsonNode actual = new ObjectMapper().readTree(output.toString(UTF_8));
+        JsonNode declaration = actual.at("/_aws/CloudWatchMetrics/0");
+        assertThat(declaration.get("Namespace").asText()).isEqualTo(MetricsRecorder.NAMESPACE);
+        assertThat(declaration.at("/Dimensions/0/0").asText()).isEqualTo("Operation");
+        assertThat(names(declaration.get("Metrics")))
+                .contains("EnvelopeTime", "DynamoTime", "TotalTime", "DynamoCalls")
+                .doesNotContain("AllocatedBytes");
+        assertThat(actual.get("Operation").asText()).isEqualTo("ListSavings");
+        assertThat(actual.get("User").asText()).isEqualTo("someone \"quoted\"");
+        assertThat(actual.get("StatusCode").asInt()).isEqualTo(200);
+        assertThat(actual.get("DynamoCalls").asInt()).isEqualTo(1);
+        assertThat(actual.get("DynamoRetries").asInt()).isEqualTo(1);
+        assertThat(actual.get("ConsumedCapacity").asDouble()).isEqualTo(0.5);
+        assertThat(actual.get("DynamoTime").asLong()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void writesAllocatedBytesWhenSampled() throws IOException {
+        // given
+        MetricsRecorder sut = new MetricsRecorder(true, true, new PrintStream(output, true, UTF_8));
+        InvocationMetrics metrics = sut.begin();
+        List<byte[]> allocated = new ArrayList<>();
+        allocated.add(new byte[4096]);
+
+        // when
+        sut.end(metrics, "ListSavings", null, 200);
+
+        // then
+        JsonNode actual = new ObjectMapper().readTree(output.toString(UTF_8));
+        assertThat(names(actual.at("/_aws/CloudWatchMetrics/0/Metrics")))
+                .contains("AllocatedBytes");
+        assertThat(allocated).hasSize(1);
+        assertThat(actual.get("AllocatedBytes").asLong()).isGreaterThanOrEqualTo(4096);
+        assertThat(actual.has("User")).isFalse();
+    }
+
+    @Test
+    void writesNothingWhenDisabled() {
+        // given
+        MetricsRecorder sut = MetricsRecorder.DISABLED;
+
+        // when
+        InvocationMetrics actual = sut.begin();
+        sut.end(actual, "ListSavings", null, 200);
+
+        // then
+        assertThat(actual).isSameAs(InvocationMetrics.DISABLED);
+        assertThat(output.size()).isZero();
+    }
+
+    static List<String> names(JsonNode metrics) {
+        List<String> names = new ArrayList<>();
+        metrics.forEach(metric -> names.add(metric.get("Name").asText()));
+        return names;
+    }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import provider.MapperProvider;
+
+class AmortisationTest {
+
+    Amortisation sut;
+
+    @Test
+    void writesPayoffWhenSerializedPaidOff() throws JsonProcessingException {
+        // given
+        sut =
+                new Amortisation(
+                        new Name("car"),
+                        new Date("2020-11"),
+                        2,
+                        125,
+                        new long[] {10050, 5075, 0},
+                        new long[] {50, 25, 50},
+                        new long[] {5000, 5000, 5125});
+
+        // when
+        String actual = MapperProvider.provideWriter(Amortisation.class).writeValueAsString(sut);
+
+        // then
+        assertThat(actual)
+                .isEqualTo(
+                        "{\"name\":\"car\",\"startDate\":\"2020-11\","
+                                + "\"payoffDate\":\"2021-01\",\"totalInterest\":\"1.25\","
+                                + "\"balances\":[\"100.50\",\"50.75\",\"0.00\"],"
+                                + "\"interest\":[\"0.50\",\"0.25\",\"0.50\"],"
+                                + "\"payments\":[\"50.00\",\"50.00\",\"51.25\"]}");
+    }
+
+    @Test
+    void omitsPayoffWhenSerializedNeverPaidOff() throws JsonProcessingException {
+        // given
+        sut =
+                new Amortisation(
+                        new Name("car"),
+                        new Date("2020-01"),
+                        Amortisation.NEVER,
+                        0,
+                        new long[] {10100},
+                        new long[] {100},
+                        new long[] {0});
+
+        // when
+        String actual = MapperProvider.provideWriter(Amortisation.class).writeValueAsString(sut);
+
+        // then
+        assertThat(actual)
+                .isEqualTo(
+                        "{\"name\":\"car\",\"startDate\":\"2020-01\",\"balances\":[\"101.00\"],"
+                                + "\"interest\":[\"1.00\"],\"payments\":[\"0.00\"]}");
+    }
+
+    @Test
+    void returnsValuesWhenGetInvoked() {
+        // given
+        long[] balances = {0};
+        long[] interest = {0};
+        long[] payments = {100};
+        sut =
+                new Amortisation(
+                        new Name("car"), new Date("2020-01"), 0, 0, balances, interest, payments);
+
+        // when
+        // then
+        assertThat(sut.getName().getName()).isEqualTo("car");
+        assertThat(sut.getStartDate().toString()).isEqualTo("2020-01");
+        assertThat(sut.isPaidOff()).isTrue();
+        assertThat(sut.getPayoffMonth()).isEqualTo(0);
+        assertThat(sut.getTotalInterest()).isEqualTo(0);
+        assertThat(sut.getBalances()).isSameAs(balances);
+        assertThat(sut.getInterest()).isSameAs(interest);
+        assertThat(sut.getPayments()).isSameAs(payments);
+    }
+
+    @Test
+    void throwsExceptionWhenBalancesNull() {
+        try {
+            // when
+            sut =
+                    new Amortisation(
+                            new Name("car"),
+                            new Date("2020-01"),
+                            0,
+                            0,
+                            null,
+                            new long[0],
+                            new long[0]);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("balances cannot be null");
+        }
+    }
+}
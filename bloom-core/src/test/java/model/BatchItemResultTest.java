@@ -0,0 +1,51 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import org.junit.jupiter.api.Test;
+
+class BatchItemResultTest {
+
+    BatchItemResult sut;
+
+    @Test
+    void returnsValuesWhenGetInvoked() {
+        // given
+        sut = new BatchItemResult("name", WriteStatus.WRITTEN);
+
+        // when
+        String name = sut.getName();
+        WriteStatus status = sut.getStatus();
+
+        // then
+        assertThat(name).isEqualTo("name");
+        assertThat(status).isEqualTo(WriteStatus.WRITTEN);
+    }
+
+    @Test
+    void throwsExceptionWhenNameNull() {
+        try {
+            // when
+            sut = new BatchItemResult(null, WriteStatus.WRITTEN);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("name cannot be null");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenStatusNull() {
+        try {
+            // when
+            sut = new BatchItemResult("name", null);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("status cannot be null");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompactAmountTest {
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "0",
+                "100",
+                "100.5",
+                "100.50",
+                "-12.05",
+                "0.01",
+                "-0.00",
+                "007.10",
+                "+5",
+                ".5",
+                "5.",
+                "9999999999999999.99"
+            })
+    void formatsAsAmountWouldWhenParsed(String value) {
+        // given
+        String expected = new Amount(value).toString();
+
+        // when
+        String actual = CompactAmount.format(CompactAmount.parse(value));
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void returnsMinorUnitsWhenParsed() {
+        // given
+
+        // when
+        // then
+        assertThat(CompactAmount.minorUnits(CompactAmount.parse("1000.00"))).isEqualTo(100000);
+        assertThat(CompactAmount.minorUnits(CompactAmount.parse("12.5"))).isEqualTo(1250);
+        assertThat(CompactAmount.minorUnits(CompactAmount.parse("-3"))).isEqualTo(-300);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "abc", "1.2.3", "--1", "1,000", "."})
+    void throwsSameExceptionAsAmountWhenInvalid(String value) {
+        // given
+        Throwable expected = catchThrowable(() -> new Amount(value));
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactAmount.parse(value));
+
+        // then
+        assertThat(actual).isExactlyInstanceOf(expected.getClass());
+        assertThat(actual).hasMessage(expected.getMessage());
+    }
+
+    @Test
+    void throwsExceptionWhenAmountHasMoreThanTwoDecimalPlaces() {
+        // given
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactAmount.parse("1.005"));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("amount should have at most 2 decimal places");
+    }
+
+    @Test
+    void throwsExceptionWhenAmountHasPositiveExponent() {
+        // given
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactAmount.parse("1e2"));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("amount should be written without an exponent");
+    }
+
+    @Test
+    void roundsHalfEvenWhenAmountHasNoPackedForm() {
+        // given
+
+        // when
+        // then
+        assertThat(CompactAmount.toMinorUnits(new Amount("12.5"))).isEqualTo(1250);
+        assertThat(CompactAmount.toMinorUnits(new Amount("0.015"))).isEqualTo(2);
+        assertThat(CompactAmount.toMinorUnits(new Amount("1e2"))).isEqualTo(10000);
+    }
+
+    @Test
+    void returnsEqualAmountWhenConvertedBack() {
+        // given
+        Amount expected = new Amount("250.10");
+
+        // when
+        Amount actual = CompactAmount.toAmount(CompactAmount.of(expected));
+
+        // then
+        assertThat(actual.getAmount()).isEqualTo(expected.getAmount());
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.YearMonth;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompactDateTest {
+
+    @Test
+    void formatsAsDateWouldForEveryMonthInRange() {
+        for (int year = 1970; year <= 2050; year++) {
+            for (int month = 1; month <= 12; month++) {
+                // given
+                String value = YearMonth.of(year, month).toString();
+
+                // when
+                int actual = CompactDate.parse(value);
+
+                // then
+                assertThat(CompactDate.format(actual)).isEqualTo(new Date(value).toString());
+                assertThat(CompactDate.toYearMonth(actual)).isEqualTo(YearMonth.of(year, month));
+            }
+        }
+    }
+
+    @Test
+    void returnsMonthsSinceEpochWhenParsed() {
+        // given
+
+        // when
+        // then
+        assertThat(CompactDate.parse("1970-01")).isEqualTo(0);
+        assertThat(CompactDate.parse("1971-02")).isEqualTo(13);
+        assertThat(CompactDate.parse("2020-01")).isEqualTo(600);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(
+            strings = {
+                " ",
+                "2020",
+                "2020-1",
+                "2020-13",
+                "2020-00",
+                "1969-12",
+                "2051-01",
+                "20-01",
+                "abcd-ef",
+                "2020/01",
+                "2020-01-01"
+            })
+    void throwsSameExceptionAsDateWhenInvalid(String value) {
+        // given
+        Throwable expected = catchThrowable(() -> new Date(value));
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactDate.parse(value));
+
+        // then
+        assertThat(actual).isExactlyInstanceOf(expected.getClass());
+        assertThat(actual).hasMessage(expected.getMessage());
+    }
+
+    @Test
+    void returnsEqualDateWhenConvertedBack() {
+        // given
+        Date expected = new Date("2031-07");
+
+        // when
+        Date actual = CompactDate.toDate(CompactDate.of(expected));
+
+        // then
+        assertThat(actual.getDate()).isEqualTo(expected.getDate());
+    }
+}
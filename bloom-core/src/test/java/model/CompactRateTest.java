@@ -0,0 +1,101 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompactRateTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "1.5", "1.50", "12", "-0.25", "0.01", "3.875", "0.0001", "1e-2"})
+    void formatsAsRateWouldWhenParsed(String value) {
+        // given
+        String expected = new Rate(value).toString();
+
+        // when
+        String actual = CompactRate.format(CompactRate.parse(value));
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void returnsTenThousandthsWhenParsed() {
+        // given
+
+        // when
+        // then
+        assertThat(CompactRate.scaled(CompactRate.parse("1.5"))).isEqualTo(15000);
+        assertThat(CompactRate.scaled(CompactRate.parse("3.875"))).isEqualTo(38750);
+        assertThat(CompactRate.scaled(CompactRate.parse("20"))).isEqualTo(200000);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {" ", "abc", "1%", "1e"})
+    void throwsSameExceptionAsRateWhenInvalid(String value) {
+        // given
+        Throwable expected = catchThrowable(() -> new Rate(value));
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactRate.parse(value));
+
+        // then
+        assertThat(actual).isExactlyInstanceOf(expected.getClass());
+        assertThat(actual).hasMessage(expected.getMessage());
+    }
+
+    @Test
+    void throwsExceptionWhenRateHasMoreThanFourDecimalPlaces() {
+        // given
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactRate.parse("3.87501"));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("rate should have at most 4 decimal places");
+    }
+
+    @Test
+    void throwsExceptionWhenRateHasPositiveExponent() {
+        // given
+
+        // when
+        Throwable actual = catchThrowable(() -> CompactRate.parse("1e2"));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("rate should be written without an exponent");
+    }
+
+    @Test
+    void roundsHalfEvenWhenRateHasNoPackedForm() {
+        // given
+
+        // when
+        // then
+        assertThat(CompactRate.toScaled(new Rate("3.875"))).isEqualTo(38750);
+        assertThat(CompactRate.toScaled(new Rate("0.00005"))).isEqualTo(0);
+        assertThat(CompactRate.toScaled(new Rate("0.00015"))).isEqualTo(2);
+        assertThat(CompactRate.toScaled(new Rate("1e2"))).isEqualTo(1000000);
+    }
+
+    @Test
+    void returnsEqualRateWhenConvertedBack() {
+        // given
+        Rate expected = new Rate("4.2");
+
+        // when
+        Rate actual = CompactRate.toRate(CompactRate.of(expected));
+
+        // then
+        assertThat(actual.toString()).isEqualTo(expected.toString());
+    }
+}
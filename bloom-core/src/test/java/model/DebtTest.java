@@ -244,6 +244,106 @@ class DebtTest {
         assertThat(actual.getStartAmount().getAmount()).isEqualTo(startAmount.getAmount());
     }
 
+    @Test
+    void throwsExceptionWhenVersionNegative() {
+        // given
+        Builder builder =
+                Debt.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withYearlyRate(yearlyRate)
+                        .withVersion(-1L);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("version cannot be negative");
+        }
+    }
+
+    @Test
+    void copiesEveryFieldAtNewVersionWhenWithVersionInvoked() {
+        // given
+        Debt debt =
+                Debt.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withYearlyRate(yearlyRate)
+                        .withAdjustments(adjustments)
+                        .withOneTimePayments(oneTimePayments)
+                        .build();
+
+        // when
+        Debt actual = debt.withVersion(4L);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(4L);
+        assertThat(actual).usingRecursiveComparison().ignoringFields("version").isEqualTo(debt);
+        assertThat(debt.getVersion()).isNull();
+    }
+
+    @Test
+    void leavesUnsetAttributesNullWhenBuiltPartially() {
+        // given
+        Debt.Builder builder = Debt.newBuilder().withName(name).withMonthlyAmount(monthlyAmount);
+
+        // when
+        Debt actual = builder.buildPartial();
+
+        // then
+        assertThat(actual.getMonthlyAmount()).isEqualTo(monthlyAmount);
+        assertThat(actual.getStartAmount()).isNull();
+        assertThat(actual.getAdjustments()).isNull();
+        assertThat(actual.getOneTimePayments()).isNull();
+        assertThat(new ObjectMapper().valueToTree(actual).fieldNames())
+                .toIterable()
+                .containsExactlyInAnyOrder("name", "monthlyAmount");
+    }
+
+    @Test
+    void throwsExceptionWhenBuiltPartiallyWithoutName() {
+        // given
+        Debt.Builder builder = Debt.newBuilder().withMonthlyAmount(monthlyAmount);
+
+        try {
+            // when
+            builder.buildPartial();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("name cannot be null");
+        }
+    }
+
+    @Test
+    void serializesVersionWhenPresent() {
+        // given
+        Debt sut =
+                Debt.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withYearlyRate(yearlyRate)
+                        .withVersion(4L)
+                        .build();
+
+        // when
+        JsonNode actual = new ObjectMapper().valueToTree(sut);
+
+        // then
+        assertThat(actual.get("version").asLong()).isEqualTo(4L);
+    }
+
     @ParameterizedTest
     @MethodSource("builtExceptionProvider")
     void throwsExceptionWhenNullParametersProvided(Builder builder, String exceptionMessage) {
@@ -118,7 +118,7 @@ class HandlerResponseTest {
 
         // then
         assertThat(sut.getHeaders().get("Access-Control-Allow-Methods"))
-                .isEqualTo("GET, POST, OPTIONS, PUT, DELETE");
+                .isEqualTo("GET, POST, OPTIONS, PUT, PATCH, DELETE");
     }
 
     @ParameterizedTest
@@ -143,15 +143,15 @@ class HandlerResponseTest {
         return Stream.of(
                 arguments(
                         HandlerResponse.newBuilder().withStatusCode(200),
-                        "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\",\"Access-Control-Allow-Origin\":\"*\",\"Access-Control-Allow-Methods\":\"GET, POST, OPTIONS, PUT, DELETE\"}}"),
+                        "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\",\"Access-Control-Allow-Origin\":\"*\",\"Access-Control-Allow-Methods\":\"GET, POST, OPTIONS, PUT, PATCH, DELETE\"}}"),
                 arguments(
                         HandlerResponse.newBuilder().withStatusCode(200).withBody("hello"),
-                        "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\",\"Access-Control-Allow-Origin\":\"*\",\"Access-Control-Allow-Methods\":\"GET, POST, OPTIONS, PUT, DELETE\"},\"body\":\"hello\"}"),
+                        "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\",\"Access-Control-Allow-Origin\":\"*\",\"Access-Control-Allow-Methods\":\"GET, POST, OPTIONS, PUT, PATCH, DELETE\"},\"body\":\"hello\"}"),
                 arguments(
                         HandlerResponse.newBuilder()
                                 .withStatusCode(200)
                                 .withBody("hello")
                                 .withHeader("my header", "kaboom"),
-                        "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\",\"Access-Control-Allow-Origin\":\"*\",\"Access-Control-Allow-Methods\":\"GET, POST, OPTIONS, PUT, DELETE\",\"my header\":\"kaboom\"},\"body\":\"hello\"}"));
+                        "{\"statusCode\":200,\"headers\":{\"Content-Type\":\"application/json\",\"Access-Control-Allow-Origin\":\"*\",\"Access-Control-Allow-Methods\":\"GET, POST, OPTIONS, PUT, PATCH, DELETE\",\"my header\":\"kaboom\"},\"body\":\"hello\"}"));
     }
 }
@@ -0,0 +1,55 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ItemsTest {
+
+    Items sut;
+
+    @Test
+    void returnsValuesWhenGetInvoked() {
+        // given
+        List<Saving> savings = List.of(mock(Saving.class));
+        List<Debt> debts = List.of(mock(Debt.class));
+        sut = new Items(savings, debts);
+
+        // when
+        List<Saving> actualSavings = sut.getSavings();
+        List<Debt> actualDebts = sut.getDebts();
+
+        // then
+        assertThat(actualSavings).isSameAs(savings);
+        assertThat(actualDebts).isSameAs(debts);
+    }
+
+    @Test
+    void throwsExceptionWhenSavingsNull() {
+        try {
+            // when
+            sut = new Items(null, List.of());
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("savings cannot be null");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenDebtsNull() {
+        try {
+            // when
+            sut = new Items(List.of(), null);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("debts cannot be null");
+        }
+    }
+}
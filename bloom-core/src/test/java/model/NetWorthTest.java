@@ -0,0 +1,59 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import provider.MapperProvider;
+
+class NetWorthTest {
+
+    NetWorth sut;
+
+    @Test
+    void writesSeriesAsAmountStringsWhenSerialized() throws JsonProcessingException {
+        // given
+        sut =
+                new NetWorth(
+                        new Date("2020-01"),
+                        new long[] {100000, 100500},
+                        new long[] {50000, 0},
+                        new long[] {50000, 100500});
+
+        // when
+        String actual = MapperProvider.provideWriter(NetWorth.class).writeValueAsString(sut);
+
+        // then
+        assertThat(actual)
+                .isEqualTo(
+                        "{\"startDate\":\"2020-01\",\"savings\":[\"1000.00\",\"1005.00\"],"
+                                + "\"debts\":[\"500.00\",\"0.00\"],"
+                                + "\"netWorth\":[\"500.00\",\"1005.00\"]}");
+    }
+
+    @Test
+    void omitsStartDateWhenSerializedEmpty() throws JsonProcessingException {
+        // given
+        sut = new NetWorth(null, new long[0], new long[0], new long[0]);
+
+        // when
+        String actual = MapperProvider.provideWriter(NetWorth.class).writeValueAsString(sut);
+
+        // then
+        assertThat(actual).isEqualTo("{\"savings\":[],\"debts\":[],\"netWorth\":[]}");
+    }
+
+    @Test
+    void throwsExceptionWhenNetWorthNull() {
+        try {
+            // when
+            sut = new NetWorth(new Date("2020-01"), new long[0], new long[0], null);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("netWorth cannot be null");
+        }
+    }
+}
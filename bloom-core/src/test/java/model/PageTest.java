@@ -0,0 +1,82 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PageTest {
+
+    Page<String> sut;
+
+    @Test
+    void returnsItemsAndCursorWhenGetInvoked() {
+        // given
+        List<String> items = List.of("a", "b");
+
+        // when
+        sut = new Page<>(items, "cursor");
+
+        // then
+        assertThat(sut.getItems()).isEqualTo(items);
+        assertThat(sut.getCursor()).isEqualTo("cursor");
+    }
+
+    @Test
+    void holdsSerializedItemsWithoutCursorWhenCreatedSerialized() {
+        // given
+        byte[] json = {'[', ']'};
+
+        // when
+        sut = Page.serialized(json);
+
+        // then
+        assertThat(sut.getSerialized()).isSameAs(json);
+        assertThat(sut.getItems()).isNull();
+        assertThat(sut.getCursor()).isNull();
+    }
+
+    @Test
+    void keepsItemsAndCursorWhenETagAdded() {
+        // given
+        List<String> items = List.of("a");
+
+        // when
+        sut = new Page<>(items, "cursor").withETag("\"v1\"");
+
+        // then
+        assertThat(sut.getItems()).isEqualTo(items);
+        assertThat(sut.getCursor()).isEqualTo("cursor");
+        assertThat(sut.getETag()).isEqualTo("\"v1\"");
+        assertThat(sut.isNotModified()).isFalse();
+    }
+
+    @Test
+    void holdsOnlyETagWhenNotModified() {
+        // given
+
+        // when
+        sut = Page.notModified("\"v1\"");
+
+        // then
+        assertThat(sut.isNotModified()).isTrue();
+        assertThat(sut.getETag()).isEqualTo("\"v1\"");
+        assertThat(sut.getItems()).isNull();
+        assertThat(sut.getSerialized()).isNull();
+    }
+
+    @Test
+    void serializesAsArrayWhenInvoked() throws JsonProcessingException {
+        // given
+        Iterable<String> items = () -> List.of("a", "b").iterator();
+        sut = new Page<>(items, "cursor");
+
+        // when
+        String actual = new ObjectMapper().writeValueAsString(sut);
+
+        // then
+        assertThat(actual).isEqualTo("[\"a\",\"b\"]");
+    }
+}
@@ -0,0 +1,54 @@
+package model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import provider.MapperProvider;
+
+class ProjectionTest {
+
+    Projection sut;
+
+    @Test
+    void writesBalancesAsAmountStringsWhenSerialized() throws JsonProcessingException {
+        // given
+        sut = new Projection(new Name("house"), new Date("2020-01"), new long[] {100000, 5, -250});
+
+        // when
+        String actual = MapperProvider.provideWriter(Projection.class).writeValueAsString(sut);
+
+        // then
+        assertThat(actual)
+                .isEqualTo(
+                        "{\"name\":\"house\",\"startDate\":\"2020-01\","
+                                + "\"balances\":[\"1000.00\",\"0.05\",\"-2.50\"]}");
+    }
+
+    @Test
+    void returnsValuesWhenGetInvoked() {
+        // given
+        long[] balances = {1, 2};
+        sut = new Projection(new Name("house"), new Date("2020-01"), balances);
+
+        // when
+        // then
+        assertThat(sut.getName().getName()).isEqualTo("house");
+        assertThat(sut.getStartDate().toString()).isEqualTo("2020-01");
+        assertThat(sut.getBalances()).isSameAs(balances);
+    }
+
+    @Test
+    void throwsExceptionWhenBalancesNull() {
+        try {
+            // when
+            sut = new Projection(new Name("house"), new Date("2020-01"), null);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("balances cannot be null");
+        }
+    }
+}
@@ -191,4 +191,39 @@ class RequestDetailsTest {
         // then
         // no exception
     }
+
+    @Test
+    void builderConstructsCorrectDetailsWhenBuilt() {
+        // given
+        RequestDetails.Builder builder =
+                RequestDetails.newBuilder()
+                        .withHttpMethod(httpMethod)
+                        .withPath(path)
+                        .withQueryStringParameters(Map.of("limit", "5"))
+                        .withPathParameters(Map.of("name", "blah"))
+                        .withHeaders(Map.of("Accept", "application/json"));
+
+        // when
+        sut = builder.build();
+
+        // then
+        assertThat(sut.getHttpMethod()).isEqualTo(httpMethod);
+        assertThat(sut.getPath()).isEqualTo(path);
+        assertThat(sut.getQueryStringParameters()).isEqualTo(Map.of("limit", "5"));
+        assertThat(sut.getPathParameters()).isEqualTo(Map.of("name", "blah"));
+        assertThat(sut.getHeaders()).isEqualTo(Map.of("Accept", "application/json"));
+    }
+
+    @Test
+    void builderDefaultsToEmptyMapsWhenNotProvided() {
+        // given
+
+        // when
+        sut = RequestDetails.newBuilder().build();
+
+        // then
+        assertThat(sut.getQueryStringParameters()).isEmpty();
+        assertThat(sut.getPathParameters()).isEmpty();
+        assertThat(sut.getHeaders()).isEmpty();
+    }
 }
@@ -262,6 +262,110 @@ class SavingTest {
         // no exception
     }
 
+    @Test
+    void throwsExceptionWhenVersionNegative() {
+        // given
+        Builder builder =
+                Saving.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withEndDate(endDate)
+                        .withYearlyRate(yearlyRate)
+                        .withVersion(-1L);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("version cannot be negative");
+        }
+    }
+
+    @Test
+    void copiesEveryFieldAtNewVersionWhenWithVersionInvoked() {
+        // given
+        Saving saving =
+                Saving.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withEndDate(endDate)
+                        .withYearlyRate(yearlyRate)
+                        .withAdjustments(adjustments)
+                        .withOneTimePayments(oneTimePayments)
+                        .build();
+
+        // when
+        Saving actual = saving.withVersion(4L);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(4L);
+        assertThat(actual).usingRecursiveComparison().ignoringFields("version").isEqualTo(saving);
+        assertThat(saving.getVersion()).isNull();
+    }
+
+    @Test
+    void leavesUnsetAttributesNullWhenBuiltPartially() {
+        // given
+        Saving.Builder builder =
+                Saving.newBuilder().withName(name).withMonthlyAmount(monthlyAmount);
+
+        // when
+        Saving actual = builder.buildPartial();
+
+        // then
+        assertThat(actual.getMonthlyAmount()).isEqualTo(monthlyAmount);
+        assertThat(actual.getStartAmount()).isNull();
+        assertThat(actual.getAdjustments()).isNull();
+        assertThat(actual.getOneTimePayments()).isNull();
+        assertThat(new ObjectMapper().valueToTree(actual).fieldNames())
+                .toIterable()
+                .containsExactlyInAnyOrder("name", "monthlyAmount");
+    }
+
+    @Test
+    void throwsExceptionWhenBuiltPartiallyWithoutName() {
+        // given
+        Saving.Builder builder = Saving.newBuilder().withMonthlyAmount(monthlyAmount);
+
+        try {
+            // when
+            builder.buildPartial();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("name cannot be null");
+        }
+    }
+
+    @Test
+    void serializesVersionWhenPresent() {
+        // given
+        Saving sut =
+                Saving.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withEndDate(endDate)
+                        .withYearlyRate(yearlyRate)
+                        .withVersion(4L)
+                        .build();
+
+        // when
+        JsonNode actual = new ObjectMapper().valueToTree(sut);
+
+        // then
+        assertThat(actual.get("version").asLong()).isEqualTo(4L);
+    }
+
     @ParameterizedTest
     @MethodSource("builtExceptionProvider")
     void throwsExceptionWhenNullParametersProvided(Builder builder, String exceptionMessage) {
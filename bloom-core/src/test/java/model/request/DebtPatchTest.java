@@ -0,0 +1,259 @@
+package model.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DebtPatchTest {
+
+    Debt debt;
+    Adjustment adjustment;
+    OneTimePayment oneTimePayment;
+
+    @BeforeEach
+    void beforeEach() {
+        adjustment = new Adjustment(new Amount("20.00"), new Date("2016-01"), new Rate("1.75"));
+        oneTimePayment = new OneTimePayment(new Amount("100.00"), new Date("2016-03"));
+        debt =
+                Debt.newBuilder()
+                        .withName(new Name("car"))
+                        .withStartAmount(new Amount("1000.00"))
+                        .withMonthlyAmount(new Amount("50.00"))
+                        .withStartDate(new Date("2015-02"))
+                        .withYearlyRate(new Rate("3.00"))
+                        .withAdjustments(List.of(adjustment))
+                        .withOneTimePayments(List.of(oneTimePayment))
+                        .withVersion(4L)
+                        .build();
+    }
+
+    @Test
+    void throwsExceptionWhenNothingChanged() {
+        // given
+        DebtPatch.Builder builder = DebtPatch.newBuilder().withVersion(1L);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("patch must change at least one attribute");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenAdjustmentsReplacedAndAppended() {
+        // given
+        DebtPatch.Builder builder =
+                DebtPatch.newBuilder()
+                        .withAdjustments(List.of())
+                        .withAppendAdjustments(List.of(adjustment));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("adjustments and appendAdjustments cannot both be set");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenOneTimePaymentsReplacedAndAppended() {
+        // given
+        DebtPatch.Builder builder =
+                DebtPatch.newBuilder()
+                        .withOneTimePayments(List.of())
+                        .withAppendOneTimePayments(List.of(oneTimePayment));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual)
+                    .hasMessage("oneTimePayments and appendOneTimePayments cannot both be set");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenVersionNegative() {
+        // given
+        DebtPatch.Builder builder =
+                DebtPatch.newBuilder().withMonthlyAmount(new Amount("1.00")).withVersion(-1L);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("version cannot be negative");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenStartAmountInvalid() {
+        // given
+        DebtPatch.Builder builder = DebtPatch.newBuilder().withStartAmount(new Amount("0.00"));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("startAmount must be greater than 0");
+        }
+    }
+
+    @Test
+    void needsStoredDebtOnlyWhenDatesOrListsChanged() {
+        // given
+        DebtPatch amounts =
+                DebtPatch.newBuilder()
+                        .withStartAmount(new Amount("1.00"))
+                        .withMonthlyAmount(new Amount("1.00"))
+                        .withYearlyRate(new Rate("1.5"))
+                        .build();
+        DebtPatch dates = DebtPatch.newBuilder().withStartDate(new Date("2020-01")).build();
+        DebtPatch lists = DebtPatch.newBuilder().withAppendAdjustments(List.of(adjustment)).build();
+
+        // when
+        // then
+        assertThat(amounts.needsStoredDebt()).isFalse();
+        assertThat(dates.needsStoredDebt()).isTrue();
+        assertThat(lists.needsStoredDebt()).isTrue();
+    }
+
+    @Test
+    void listsCannotBeModifiedWhenConstructed() {
+        // given
+        List<Adjustment> adjustments = new ArrayList<>(List.of(adjustment));
+        DebtPatch sut = DebtPatch.newBuilder().withAppendAdjustments(adjustments).build();
+
+        // when
+        adjustments.clear();
+
+        // then
+        assertThat(sut.getAppendAdjustments()).containsExactly(adjustment);
+    }
+
+    @Test
+    void appliesPresentAttributesOnlyWhenApplied() {
+        // given
+        DebtPatch sut =
+                DebtPatch.newBuilder()
+                        .withMonthlyAmount(new Amount("75.00"))
+                        .withYearlyRate(new Rate("2.50"))
+                        .build();
+
+        // when
+        Debt actual = sut.applyTo(debt);
+
+        // then
+        assertThat(actual.getName()).isSameAs(debt.getName());
+        assertThat(actual.getStartAmount()).isSameAs(debt.getStartAmount());
+        assertThat(actual.getMonthlyAmount().toString()).isEqualTo("75.00");
+        assertThat(actual.getStartDate()).isSameAs(debt.getStartDate());
+        assertThat(actual.getYearlyRate().toString()).isEqualTo("2.50");
+        assertThat(actual.getAdjustments()).containsExactly(adjustment);
+        assertThat(actual.getOneTimePayments()).containsExactly(oneTimePayment);
+        assertThat(actual.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void appendsToStoredListsWhenApplied() {
+        // given
+        Adjustment appendedAdjustment =
+                new Adjustment(new Amount("30.00"), new Date("2017-01"), new Rate("1.00"));
+        OneTimePayment appendedPayment =
+                new OneTimePayment(new Amount("5.00"), new Date("2017-02"));
+        DebtPatch sut =
+                DebtPatch.newBuilder()
+                        .withAppendAdjustments(List.of(appendedAdjustment))
+                        .withAppendOneTimePayments(List.of(appendedPayment))
+                        .build();
+
+        // when
+        Debt actual = sut.applyTo(debt);
+
+        // then
+        assertThat(actual.getAdjustments()).containsExactly(adjustment, appendedAdjustment);
+        assertThat(actual.getOneTimePayments()).containsExactly(oneTimePayment, appendedPayment);
+    }
+
+    @Test
+    void replacesStoredListsWhenApplied() {
+        // given
+        DebtPatch sut =
+                DebtPatch.newBuilder()
+                        .withAdjustments(List.of())
+                        .withOneTimePayments(List.of())
+                        .build();
+
+        // when
+        Debt actual = sut.applyTo(debt);
+
+        // then
+        assertThat(actual.getAdjustments()).isEmpty();
+        assertThat(actual.getOneTimePayments()).isEmpty();
+    }
+
+    @Test
+    void throwsExceptionWhenAppliedDebtInvalid() {
+        // given
+        DebtPatch sut = DebtPatch.newBuilder().withStartDate(new Date("2016-02")).build();
+
+        try {
+            // when
+            sut.applyTo(debt);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual)
+                    .hasMessage("adjustment dates should be in range (startDate, 2050-12)");
+        }
+    }
+
+    @Test
+    void patchDeserializesCorrectlyWhenInvoked() throws JsonProcessingException {
+        // given
+        String json =
+                "{\"monthlyAmount\":\"60.00\",\"appendOneTimePayments\":[{\"amount\":\"100.00\",\"date\":\"2016-03\"}],\"version\":2}";
+
+        // when
+        DebtPatch actual = new ObjectMapper().readValue(json, DebtPatch.class);
+
+        // then
+        assertThat(actual.getMonthlyAmount().toString()).isEqualTo("60.00");
+        assertThat(actual.getAppendOneTimePayments())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(oneTimePayment);
+        assertThat(actual.getVersion()).isEqualTo(2L);
+        assertThat(actual.getStartAmount()).isNull();
+        assertThat(actual.getOneTimePayments()).isNull();
+    }
+}
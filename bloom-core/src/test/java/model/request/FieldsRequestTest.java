@@ -0,0 +1,93 @@
+package model.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import exception.BadRequestException;
+import java.util.Map;
+import model.Type;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FieldsRequestTest {
+
+    FieldsRequest sut;
+
+    @Test
+    void isNotPartialWhenNoParameters() {
+        // given
+
+        // when
+        sut = FieldsRequest.fromQueryStringParameters(null, Type.SAVING);
+
+        // then
+        assertThat(sut.isPartial()).isFalse();
+        assertThat(sut.getFields()).isNull();
+        assertThat(sut.getProjectionExpression()).isNull();
+        assertThat(sut.getExpressionAttributeNames()).isNull();
+    }
+
+    @Test
+    void isNotPartialWhenFieldsNotProvided() {
+        // given
+
+        // when
+        sut = FieldsRequest.fromQueryStringParameters(Map.of("limit", "5"), Type.DEBT);
+
+        // then
+        assertThat(sut.isPartial()).isFalse();
+    }
+
+    @Test
+    void addsNameAndSortsFieldsWhenFieldsProvided() {
+        // given
+
+        // when
+        sut =
+                FieldsRequest.fromQueryStringParameters(
+                        Map.of("fields", "version, monthlyAmount,version"), Type.SAVING);
+
+        // then
+        assertThat(sut.isPartial()).isTrue();
+        assertThat(sut.getFields()).containsExactly("monthlyAmount", "name", "version");
+    }
+
+    @Test
+    void projectsRequestedAttributesWhenFieldsProvided() {
+        // given
+
+        // when
+        sut =
+                FieldsRequest.fromQueryStringParameters(
+                        Map.of("fields", "endDate,oneTimePayments"), Type.SAVING);
+
+        // then
+        assertThat(sut.getProjectionExpression()).isEqualTo("#EndDate, #SK, #OneTimePayments");
+        assertThat(sut.getExpressionAttributeNames())
+                .isEqualTo(
+                        Map.of(
+                                "#EndDate", "EndDate",
+                                "#SK", "SK",
+                                "#OneTimePayments", "OneTimePayments"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "balance", "name,,version", "endDate"})
+    void throwsExceptionWhenFieldUnknown(String fields) {
+        // given
+
+        try {
+            // when
+            FieldsRequest.fromQueryStringParameters(Map.of("fields", fields), Type.DEBT);
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual)
+                    .hasMessage(
+                            "fields should be among name, startAmount, monthlyAmount, startDate,"
+                                    + " yearlyRate, adjustments, oneTimePayments, version");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package model.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import exception.BadRequestException;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PageRequestTest {
+
+    PageRequest sut;
+
+    @Test
+    void isNotPagedWhenNoParameters() {
+        // given
+
+        // when
+        sut = PageRequest.fromQueryStringParameters(null);
+
+        // then
+        assertThat(sut.isPaged()).isFalse();
+        assertThat(sut.getLimit()).isNull();
+        assertThat(sut.getStartKey()).isNull();
+    }
+
+    @Test
+    void isPagedWhenLimitProvided() {
+        // given
+
+        // when
+        sut = PageRequest.fromQueryStringParameters(Map.of("limit", "25"));
+
+        // then
+        assertThat(sut.isPaged()).isTrue();
+        assertThat(sut.getLimit()).isEqualTo(25);
+    }
+
+    @Test
+    void decodesStartKeyWhenCursorProvided() {
+        // given
+        String cursor = PageRequest.encodeCursor("SAVING#My Saving");
+
+        // when
+        sut = PageRequest.fromQueryStringParameters(Map.of("cursor", cursor));
+
+        // then
+        assertThat(sut.isPaged()).isTrue();
+        assertThat(sut.getStartKey()).isEqualTo("SAVING#My Saving");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-3", "101"})
+    void throwsExceptionWhenLimitOutOfRange(String limit) {
+        // given
+
+        try {
+            // when
+            PageRequest.fromQueryStringParameters(Map.of("limit", limit));
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage("limit should be in range [1, 100]");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ten", "1.5", ""})
+    void throwsExceptionWhenLimitNotNumber(String limit) {
+        // given
+
+        try {
+            // when
+            PageRequest.fromQueryStringParameters(Map.of("limit", limit));
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage("limit should be a whole number");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenCursorMalformed() {
+        // given
+
+        try {
+            // when
+            PageRequest.fromQueryStringParameters(Map.of("cursor", "not base64!"));
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage("cursor is not valid");
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package model.request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Saving;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SavingPatchTest {
+
+    Saving saving;
+    Adjustment adjustment;
+    OneTimePayment oneTimePayment;
+
+    @BeforeEach
+    void beforeEach() {
+        adjustment = new Adjustment(new Amount("20.00"), new Date("2016-01"), new Rate("1.75"));
+        oneTimePayment = new OneTimePayment(new Amount("100.00"), new Date("2016-03"));
+        saving =
+                Saving.newBuilder()
+                        .withName(new Name("house"))
+                        .withStartAmount(new Amount("1000.00"))
+                        .withMonthlyAmount(new Amount("50.00"))
+                        .withStartDate(new Date("2015-02"))
+                        .withEndDate(new Date("2030-01"))
+                        .withYearlyRate(new Rate("3.00"))
+                        .withAdjustments(List.of(adjustment))
+                        .withOneTimePayments(List.of(oneTimePayment))
+                        .withVersion(4L)
+                        .build();
+    }
+
+    @Test
+    void throwsExceptionWhenNothingChanged() {
+        // given
+        SavingPatch.Builder builder = SavingPatch.newBuilder().withVersion(1L);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("patch must change at least one attribute");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenAdjustmentsReplacedAndAppended() {
+        // given
+        SavingPatch.Builder builder =
+                SavingPatch.newBuilder()
+                        .withAdjustments(List.of())
+                        .withAppendAdjustments(List.of(adjustment));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("adjustments and appendAdjustments cannot both be set");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenOneTimePaymentsReplacedAndAppended() {
+        // given
+        SavingPatch.Builder builder =
+                SavingPatch.newBuilder()
+                        .withOneTimePayments(List.of())
+                        .withAppendOneTimePayments(List.of(oneTimePayment));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual)
+                    .hasMessage("oneTimePayments and appendOneTimePayments cannot both be set");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenVersionNegative() {
+        // given
+        SavingPatch.Builder builder =
+                SavingPatch.newBuilder().withMonthlyAmount(new Amount("1.00")).withVersion(-1L);
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("version cannot be negative");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenStartAmountInvalid() {
+        // given
+        SavingPatch.Builder builder = SavingPatch.newBuilder().withStartAmount(new Amount("-1.00"));
+
+        try {
+            // when
+            builder.build();
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("startAmount cannot be negative");
+        }
+    }
+
+    @Test
+    void needsStoredSavingOnlyWhenDatesOrListsChanged() {
+        // given
+        SavingPatch amounts =
+                SavingPatch.newBuilder()
+                        .withStartAmount(new Amount("1.00"))
+                        .withMonthlyAmount(new Amount("1.00"))
+                        .withYearlyRate(new Rate("1.5"))
+                        .build();
+        SavingPatch dates = SavingPatch.newBuilder().withEndDate(new Date("2020-01")).build();
+        SavingPatch lists =
+                SavingPatch.newBuilder().withAppendAdjustments(List.of(adjustment)).build();
+
+        // when
+        // then
+        assertThat(amounts.needsStoredSaving()).isFalse();
+        assertThat(dates.needsStoredSaving()).isTrue();
+        assertThat(lists.needsStoredSaving()).isTrue();
+    }
+
+    @Test
+    void listsCannotBeModifiedWhenConstructed() {
+        // given
+        List<Adjustment> adjustments = new ArrayList<>(List.of(adjustment));
+        SavingPatch sut = SavingPatch.newBuilder().withAppendAdjustments(adjustments).build();
+
+        // when
+        adjustments.clear();
+
+        // then
+        assertThat(sut.getAppendAdjustments()).containsExactly(adjustment);
+    }
+
+    @Test
+    void appliesPresentAttributesOnlyWhenApplied() {
+        // given
+        SavingPatch sut =
+                SavingPatch.newBuilder()
+                        .withMonthlyAmount(new Amount("75.00"))
+                        .withYearlyRate(new Rate("2.50"))
+                        .build();
+
+        // when
+        Saving actual = sut.applyTo(saving);
+
+        // then
+        assertThat(actual.getName()).isSameAs(saving.getName());
+        assertThat(actual.getStartAmount()).isSameAs(saving.getStartAmount());
+        assertThat(actual.getMonthlyAmount().toString()).isEqualTo("75.00");
+        assertThat(actual.getStartDate()).isSameAs(saving.getStartDate());
+        assertThat(actual.getEndDate()).isSameAs(saving.getEndDate());
+        assertThat(actual.getYearlyRate().toString()).isEqualTo("2.50");
+        assertThat(actual.getAdjustments()).containsExactly(adjustment);
+        assertThat(actual.getOneTimePayments()).containsExactly(oneTimePayment);
+        assertThat(actual.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void appendsToStoredListsWhenApplied() {
+        // given
+        Adjustment appendedAdjustment =
+                new Adjustment(new Amount("30.00"), new Date("2017-01"), new Rate("1.00"));
+        OneTimePayment appendedPayment =
+                new OneTimePayment(new Amount("5.00"), new Date("2017-02"));
+        SavingPatch sut =
+                SavingPatch.newBuilder()
+                        .withAppendAdjustments(List.of(appendedAdjustment))
+                        .withAppendOneTimePayments(List.of(appendedPayment))
+                        .build();
+
+        // when
+        Saving actual = sut.applyTo(saving);
+
+        // then
+        assertThat(actual.getAdjustments()).containsExactly(adjustment, appendedAdjustment);
+        assertThat(actual.getOneTimePayments()).containsExactly(oneTimePayment, appendedPayment);
+    }
+
+    @Test
+    void replacesStoredListsWhenApplied() {
+        // given
+        SavingPatch sut =
+                SavingPatch.newBuilder()
+                        .withAdjustments(List.of())
+                        .withOneTimePayments(List.of())
+                        .build();
+
+        // when
+        Saving actual = sut.applyTo(saving);
+
+        // then
+        assertThat(actual.getAdjustments()).isEmpty();
+        assertThat(actual.getOneTimePayments()).isEmpty();
+    }
+
+    @Test
+    void throwsExceptionWhenAppliedSavingInvalid() {
+        // given
+        SavingPatch sut = SavingPatch.newBuilder().withEndDate(new Date("2016-02")).build();
+
+        try {
+            // when
+            sut.applyTo(saving);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual)
+                    .hasMessage("oneTimePayment dates should be in range (startDate, endDate)");
+        }
+    }
+
+    @Test
+    void appliesEndDateWhenApplied() {
+        // given
+        SavingPatch sut = SavingPatch.newBuilder().withEndDate(new Date("2040-01")).build();
+
+        // when
+        Saving actual = sut.applyTo(saving);
+
+        // then
+        assertThat(actual.getEndDate().toString()).isEqualTo("2040-01");
+    }
+
+    @Test
+    void patchDeserializesCorrectlyWhenInvoked() throws JsonProcessingException {
+        // given
+        String json =
+                "{\"monthlyAmount\":\"60.00\",\"appendOneTimePayments\":[{\"amount\":\"100.00\",\"date\":\"2016-03\"}],\"version\":2}";
+
+        // when
+        SavingPatch actual = new ObjectMapper().readValue(json, SavingPatch.class);
+
+        // then
+        assertThat(actual.getMonthlyAmount().toString()).isEqualTo("60.00");
+        assertThat(actual.getAppendOneTimePayments())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(oneTimePayment);
+        assertThat(actual.getVersion()).isEqualTo(2L);
+        assertThat(actual.getStartAmount()).isNull();
+        assertThat(actual.getOneTimePayments()).isNull();
+    }
+}
@@ -0,0 +1,96 @@
+package priming;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+class PrimerTest {
+
+    PrimingAction first, second;
+    Logger logger;
+
+    Primer sut;
+
+    @BeforeEach
+    void beforeEach() {
+        first = mock(PrimingAction.class);
+        second = mock(PrimingAction.class);
+        logger = mock(Logger.class);
+
+        sut = new Primer(List.of(first, second), true, logger);
+    }
+
+    @Test
+    void runsEachActionWhenPrimed() throws Exception {
+        // given
+
+        // when
+        sut.prime();
+
+        // then
+        verify(first, times(1)).prime();
+        verify(second, times(1)).prime();
+        verify(logger, times(1)).info(eq("primed in {} ms"), anyLong());
+    }
+
+    @Test
+    void continuesAndLogsWarningWhenActionFails() throws Exception {
+        // given
+        Exception exception = new IllegalStateException("failed");
+        doThrow(exception).when(first).prime();
+
+        // when
+        sut.prime();
+
+        // then
+        verify(logger, times(1)).warn("priming action failed", exception);
+        verify(second, times(1)).prime();
+    }
+
+    @Test
+    void skipsActionsWhenDisabled() throws Exception {
+        // given
+        sut = new Primer(List.of(first, second), false, logger);
+
+        // when
+        sut.prime();
+
+        // then
+        verify(first, never()).prime();
+        verify(second, never()).prime();
+    }
+
+    @Test
+    void primesBeforeCheckpoint() throws Exception {
+        // given
+
+        // when
+        sut.beforeCheckpoint(null);
+
+        // then
+        verify(first, times(1)).prime();
+        verify(second, times(1)).prime();
+    }
+
+    @Test
+    void logsWhenRestored() {
+        // given
+
+        // when
+        sut.afterRestore(null);
+
+        // then
+        verify(logger, times(1)).info("restored from checkpoint");
+        verify(logger, never()).warn(any(), any(Throwable.class));
+    }
+}
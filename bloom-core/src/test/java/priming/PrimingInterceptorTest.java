@@ -0,0 +1,126 @@
+package priming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+class PrimingInterceptorTest {
+
+    AtomicInteger transmissions;
+
+    DynamoDbClient client;
+
+    @BeforeEach
+    void beforeEach() {
+        transmissions = new AtomicInteger();
+        client =
+                DynamoDbClient.builder()
+                        .httpClientBuilder(UrlConnectionHttpClient.builder())
+                        .region(Region.EU_WEST_2)
+                        .endpointOverride(URI.create("http://localhost:1"))
+                        .credentialsProvider(
+                                StaticCredentialsProvider.create(
+                                        AwsBasicCredentials.create("key", "secret")))
+                        .overrideConfiguration(
+                                configuration ->
+                                        configuration
+                                                .addExecutionInterceptor(new CountingInterceptor())
+                                                .addExecutionInterceptor(new PrimingInterceptor()))
+                        .build();
+    }
+
+    @Test
+    void stopsPrimingRequestBeforeTransmissionWhenInvoked() {
+        // given
+        GetItemRequest request =
+                GetItemRequest.builder()
+                        .tableName("table")
+                        .key(Map.of("PK", AttributeValue.builder().s("key").build()))
+                        .overrideConfiguration(PrimingInterceptor.PRIMING_OVERRIDE)
+                        .build();
+
+        // when
+        Throwable actual = null;
+        try {
+            client.getItem(request);
+        } catch (RuntimeException exception) {
+            actual = exception;
+        }
+
+        // then
+        assertThat(PrimingInterceptor.isAborted(actual)).isTrue();
+    }
+
+    @Test
+    void doesNotRetryPrimingRequestWhenStopped() {
+        // given
+        GetItemRequest request =
+                GetItemRequest.builder()
+                        .tableName("table")
+                        .key(Map.of("PK", AttributeValue.builder().s("key").build()))
+                        .overrideConfiguration(PrimingInterceptor.PRIMING_OVERRIDE)
+                        .build();
+
+        // when
+        Priming.dryRun(() -> client.getItem(request));
+
+        // then
+        assertThat(transmissions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesOtherRequestsAloneWhenInvoked() {
+        // given
+        GetItemRequest request =
+                GetItemRequest.builder()
+                        .tableName("table")
+                        .key(Map.of("PK", AttributeValue.builder().s("key").build()))
+                        .build();
+
+        // when
+        Throwable actual = null;
+        try {
+            client.getItem(request);
+        } catch (RuntimeException exception) {
+            actual = exception;
+        }
+
+        // then
+        assertThat(PrimingInterceptor.isAborted(actual)).isFalse();
+    }
+
+    @Test
+    void reportsNotAbortedWhenNoCauseMatches() {
+        // given
+        Throwable throwable = new IllegalStateException(new RuntimeException());
+
+        // when
+        boolean actual = PrimingInterceptor.isAborted(throwable);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    class CountingInterceptor implements ExecutionInterceptor {
+
+        @Override
+        public void beforeTransmission(
+                Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+            transmissions.incrementAndGet();
+        }
+    }
+}
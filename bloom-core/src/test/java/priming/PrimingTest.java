@@ -0,0 +1,99 @@
+package priming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.ArrayList;
+import java.util.List;
+import model.Debt;
+import org.junit.jupiter.api.Test;
+
+class PrimingTest {
+
+    @Test
+    void roundTripReadsWhatWasWrittenWhenPrimed() throws Exception {
+        // given
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectWriter writer = mapper.writerFor(Debt.class);
+        ObjectReader reader = mock(ObjectReader.class);
+        byte[] expected = writer.writeValueAsBytes(Samples.debt());
+
+        // when
+        Priming.roundTrip(Samples.debt(), writer, reader).prime();
+
+        // then
+        verify(reader, times(1)).readValue(expected);
+    }
+
+    @Test
+    void roundTripThrowsWhenSampleCannotBeRead() {
+        // given
+        ObjectMapper mapper = new ObjectMapper();
+        PrimingAction sut =
+                Priming.roundTrip(
+                        Samples.debt(), mapper.writerFor(Debt.class), mapper.readerFor(List.class));
+
+        // when
+
+        // then
+        assertThatThrownBy(sut::prime).isInstanceOf(Exception.class);
+    }
+
+    @Test
+    void writeSerialisesSampleWhenPrimed() throws Exception {
+        // given
+        ObjectWriter writer = mock(ObjectWriter.class);
+
+        // when
+        Priming.write("sample", writer).prime();
+
+        // then
+        verify(writer, times(1)).writeValueAsBytes("sample");
+    }
+
+    @Test
+    void drainIteratesItemsWhenPrimed() throws Exception {
+        // given
+        List<String> visited = new ArrayList<>();
+        Iterable<String> items = () -> List.of("a", "b").stream().peek(visited::add).iterator();
+
+        // when
+        Priming.drain(items).prime();
+
+        // then
+        assertThat(visited).containsExactly("a", "b");
+    }
+
+    @Test
+    void dryRunRethrowsOtherExceptionsWhenInvoked() {
+        // given
+        IllegalStateException exception = new IllegalStateException("failed");
+        Runnable request = mock(Runnable.class);
+        doThrow(exception).when(request).run();
+
+        // when
+
+        // then
+        assertThatThrownBy(() -> Priming.dryRun(request)).isSameAs(exception);
+    }
+
+    @Test
+    void dryRunSwallowsAbortWhenInvoked() {
+        // given
+        Runnable request = mock(Runnable.class);
+        doThrow(new PrimingInterceptor.PrimingAbortedException()).when(request).run();
+
+        // when
+        Priming.dryRun(request);
+
+        // then
+        verify(request, times(1)).run();
+    }
+}
@@ -0,0 +1,61 @@
+package priming;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import model.Debt;
+import model.Saving;
+import org.junit.jupiter.api.Test;
+import transform.DebtsDynamoTransformer;
+import transform.SavingsDynamoTransformer;
+
+class SamplesTest {
+
+    @Test
+    void debtItemTransformsToSampleDebt() {
+        // given
+        DebtsDynamoTransformer transformer = new DebtsDynamoTransformer();
+
+        // when
+        Iterable<Debt> actual = transformer.toDebts(List.of(Samples.debtItem()));
+
+        // then
+        assertThat(actual)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(Samples.debt());
+    }
+
+    @Test
+    void savingItemTransformsToSampleSaving() {
+        // given
+        SavingsDynamoTransformer transformer = new SavingsDynamoTransformer();
+
+        // when
+        Saving actual = transformer.toSaving(Samples.savingItem());
+
+        // then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(Samples.saving());
+    }
+
+    @Test
+    void debtPatchAppliesToSampleDebt() {
+        // given
+
+        // when
+        Debt actual = Samples.debtPatch().applyTo(Samples.debt());
+
+        // then
+        assertThat(actual.getOneTimePayments()).hasSize(2);
+    }
+
+    @Test
+    void savingPatchAppliesToSampleSaving() {
+        // given
+
+        // when
+        Saving actual = Samples.savingPatch().applyTo(Samples.saving());
+
+        // then
+        assertThat(actual.getOneTimePayments()).hasSize(2);
+    }
+}
@@ -0,0 +1,237 @@
+package projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import exception.BadRequestException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import model.Adjustment;
+import model.Amortisation;
+import model.Amount;
+import model.CompactDate;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DebtAmortiserTest {
+
+    DebtAmortiser sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new DebtAmortiser();
+    }
+
+    @Test
+    void paysOffInEqualInstalmentsWhenRateIsZero() {
+        // given
+        Debt debt = debt("1000.00", "100.00", "2020-01", "0").build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        assertThat(actual.getPayoffMonth()).isEqualTo(9);
+        assertThat(actual.getTotalInterest()).isEqualTo(0);
+        assertThat(actual.getBalances())
+                .containsExactly(90000, 80000, 70000, 60000, 50000, 40000, 30000, 20000, 10000, 0);
+        assertThat(actual.getPayments()).containsOnly(10000);
+    }
+
+    @Test
+    void takesOnlyWhatIsLeftInFinalPayment() {
+        // given
+        Debt debt = debt("250.00", "100.00", "2020-01", "0").build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        assertThat(actual.getPayoffMonth()).isEqualTo(2);
+        assertThat(actual.getPayments()).containsExactly(10000, 10000, 5000);
+        assertThat(actual.getBalances()).containsExactly(15000, 5000, 0);
+    }
+
+    @Test
+    void matchesMonthByMonthReferenceWhenInterestAccrues() {
+        // given
+        Debt debt = debt("18500.00", "425.00", "2020-01", "6.9").build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        BigDecimal balance = new BigDecimal("18500.00");
+        BigDecimal totalInterest = BigDecimal.ZERO;
+        int month = 0;
+        while (true) {
+            BigDecimal interest =
+                    balance.multiply(new BigDecimal("6.9"))
+                            .divide(BigDecimal.valueOf(1200), 2, RoundingMode.HALF_EVEN);
+            totalInterest = totalInterest.add(interest);
+            balance = balance.add(interest).subtract(new BigDecimal("425.00"));
+            if (0 >= balance.signum()) {
+                break;
+            }
+            assertThat(actual.getBalances()[month])
+                    .isCloseTo(
+                            balance.movePointRight(2).longValueExact(), within((long) month + 1));
+            month++;
+        }
+        assertThat(actual.getPayoffMonth()).isEqualTo(month);
+        assertThat(actual.getTotalInterest())
+                .isCloseTo(
+                        totalInterest.movePointRight(2).longValueExact(), within((long) month + 1));
+        assertThat(actual.getBalances()[month]).isEqualTo(0);
+    }
+
+    @Test
+    void neverPaysOffWhenPaymentDoesNotCoverInterest() {
+        // given
+        Debt debt = debt("10000.00", "50.00", "2020-01", "12").build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        assertThat(actual.isPaidOff()).isFalse();
+        assertThat(actual.getBalances()).hasSize(31 * 12);
+        assertThat(actual.getBalances()[0]).isEqualTo(1005000);
+        assertThat(actual.getBalances()[31 * 12 - 1]).isGreaterThan(actual.getBalances()[0]);
+    }
+
+    @Test
+    void paysOffOnceAdjustmentRaisesPayment() {
+        // given
+        Debt debt =
+                debt("10000.00", "50.00", "2020-01", "12")
+                        .withAdjustments(
+                                List.of(
+                                        new Adjustment(
+                                                new Amount("2000.00"),
+                                                new Date("2021-01"),
+                                                new Rate("0"))))
+                        .build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        assertThat(actual.isPaidOff()).isTrue();
+        assertThat(actual.getPayments()[11]).isEqualTo(5000);
+        assertThat(actual.getPayments()[12]).isEqualTo(200000);
+        assertThat(actual.getInterest()[12]).isEqualTo(0);
+        long balanceBeforeAdjustment = actual.getBalances()[11];
+        assertThat(actual.getPayoffMonth())
+                .isEqualTo(12 + (int) ((balanceBeforeAdjustment - 1) / 200000));
+    }
+
+    @Test
+    void paysOffWhenOneTimePaymentClearsBalance() {
+        // given
+        Debt debt =
+                debt("1000.00", "100.00", "2020-01", "0")
+                        .withOneTimePayments(
+                                List.of(
+                                        new OneTimePayment(
+                                                new Amount("5000.00"), new Date("2020-03"))))
+                        .build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        assertThat(actual.getPayoffMonth()).isEqualTo(2);
+        assertThat(actual.getPayments()).containsExactly(10000, 10000, 80000);
+        assertThat(actual.getBalances()).containsExactly(90000, 80000, 0);
+    }
+
+    @Test
+    void shortensTermWhenOneTimePaymentMade() {
+        // given
+        Debt debt =
+                debt("1000.00", "100.00", "2020-01", "0")
+                        .withOneTimePayments(
+                                List.of(
+                                        new OneTimePayment(
+                                                new Amount("300.00"), new Date("2020-02"))))
+                        .build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        assertThat(actual.getPayoffMonth()).isEqualTo(6);
+        assertThat(actual.getBalances())
+                .containsExactly(90000, 50000, 40000, 30000, 20000, 10000, 0);
+    }
+
+    @Test
+    void reportsPayoffBeyondScheduleWithoutExtendingIt() {
+        // given
+        Debt debt = debt("100000.00", "100.00", "2040-01", "0").build();
+
+        // when
+        Amortisation actual = sut.amortise(debt);
+
+        // then
+        int scheduleMonths = CompactDate.of(2050, 12) - CompactDate.of(2040, 1) + 1;
+        assertThat(actual.getPayoffMonth()).isEqualTo(999);
+        assertThat(actual.getBalances()).hasSize(scheduleMonths);
+        assertThat(actual.getTotalInterest()).isEqualTo(0);
+    }
+
+    @Test
+    void solvesPayoffMonthsDirectly() {
+        // given
+
+        // when
+        // then
+        assertThat(DebtAmortiser.monthsToPayoff(100000, 0.01, 10000)).isEqualTo(11);
+        assertThat(DebtAmortiser.monthsToPayoff(100000, 0, 10000)).isEqualTo(10);
+        assertThat(DebtAmortiser.monthsToPayoff(100000, 0.01, 1000)).isEqualTo(Long.MAX_VALUE);
+        assertThat(DebtAmortiser.monthsToPayoff(100000, 0.01, 0)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void throwsBadRequestWhenAmountDoesNotFitInMinorUnits() {
+        // given
+        Debt debt = debt("1e20", "100.00", "2020-01", "0").build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> sut.amortise(debt))
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasMessage("debt car is too large to amortise")
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void throwsBadRequestWhenBalanceGrowsPastLongRange() {
+        // given
+        Debt debt = debt("10000000000000", "0.01", "2020-01", "100").build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> sut.amortise(debt))
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    private static Debt.Builder debt(
+            String startAmount, String monthlyAmount, String startDate, String rate) {
+        return Debt.newBuilder()
+                .withName(new Name("car"))
+                .withStartAmount(new Amount(startAmount))
+                .withMonthlyAmount(new Amount(monthlyAmount))
+                .withStartDate(new Date(startDate))
+                .withYearlyRate(new Rate(rate));
+    }
+}
@@ -0,0 +1,46 @@
+package projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import model.Amount;
+import model.Rate;
+import org.junit.jupiter.api.Test;
+
+class InputsTest {
+
+    @Test
+    void roundsHalfToEvenWhenDividing() {
+        // given
+
+        // when
+        // then
+        assertThat(Inputs.divideHalfEven(5, 2)).isEqualTo(2);
+        assertThat(Inputs.divideHalfEven(7, 2)).isEqualTo(4);
+        assertThat(Inputs.divideHalfEven(-5, 2)).isEqualTo(-2);
+        assertThat(Inputs.divideHalfEven(-7, 2)).isEqualTo(-4);
+        assertThat(Inputs.divideHalfEven(7, 3)).isEqualTo(2);
+        assertThat(Inputs.divideHalfEven(-8, 3)).isEqualTo(-3);
+    }
+
+    @Test
+    void returnsMinorUnitsRoundedHalfToEven() {
+        // given
+
+        // when
+        // then
+        assertThat(Inputs.minorUnits(new Amount("12.5"))).isEqualTo(1250);
+        assertThat(Inputs.minorUnits(new Amount("0.005"))).isEqualTo(0);
+        assertThat(Inputs.minorUnits(new Amount("0.015"))).isEqualTo(2);
+    }
+
+    @Test
+    void returnsRateScaledByTenThousand() {
+        // given
+
+        // when
+        // then
+        assertThat(Inputs.scaledRate(new Rate("3.875"))).isEqualTo(38750);
+        assertThat(Inputs.scaledRate(new Rate("12"))).isEqualTo(120000);
+        assertThat(Inputs.monthlyRate(120000)).isEqualTo(0.01);
+    }
+}
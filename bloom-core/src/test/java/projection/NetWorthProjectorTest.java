@@ -0,0 +1,166 @@
+package projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.Amount;
+import model.CompactDate;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.NetWorth;
+import model.Rate;
+import model.Saving;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NetWorthProjectorTest {
+
+    NetWorthProjector sut;
+    ForkJoinPool pool;
+
+    @BeforeEach
+    void beforeEach() {
+        pool = new ForkJoinPool(4);
+        sut = new NetWorthProjector(new SavingProjector(), new DebtAmortiser(), pool);
+    }
+
+    @AfterEach
+    void afterEach() {
+        pool.shutdown();
+    }
+
+    @Test
+    void returnsEmptyTimelineWhenNothingHeld() {
+        // given
+
+        // when
+        NetWorth actual = sut.project(List.of(), List.of());
+
+        // then
+        assertThat(actual.getStartDate()).isNull();
+        assertThat(actual.getNetWorth()).isEmpty();
+    }
+
+    @Test
+    void startsTimelineAtEarliestStartDate() {
+        // given
+        Saving saving = saving("house", "100.00", "2020-03", "2020-04");
+        Debt debt = debt("car", "30.00", "2020-01");
+
+        // when
+        NetWorth actual = sut.project(List.of(saving), List.of(debt));
+
+        // then
+        assertThat(actual.getStartDate().toString()).isEqualTo("2020-01");
+        assertThat(actual.getSavings()).containsExactly(0, 0, 11000, 12000);
+        assertThat(actual.getDebts()).containsExactly(2000, 1000, 0, 0);
+        assertThat(actual.getNetWorth()).containsExactly(-2000, -1000, 11000, 12000);
+    }
+
+    @Test
+    void keepsFinalSavingBalanceAfterEndDate() {
+        // given
+        Saving saving = saving("house", "100.00", "2020-01", "2020-02");
+        Debt debt = debt("car", "50.00", "2020-01");
+
+        // when
+        NetWorth actual = sut.project(List.of(saving), List.of(debt));
+
+        // then
+        assertThat(actual.getSavings()).containsExactly(11000, 12000, 12000, 12000, 12000);
+        assertThat(actual.getDebts()).containsExactly(4000, 3000, 2000, 1000, 0);
+        assertThat(actual.getNetWorth()).containsExactly(7000, 9000, 10000, 11000, 12000);
+    }
+
+    @Test
+    void extendsTimelineToEndOfScheduleWhenDebtNeverPaidOff() {
+        // given
+        Debt debt =
+                Debt.newBuilder()
+                        .withName(new Name("loan"))
+                        .withStartAmount(new Amount("10000.00"))
+                        .withMonthlyAmount(new Amount("10.00"))
+                        .withStartDate(new Date("2040-01"))
+                        .withYearlyRate(new Rate("12"))
+                        .build();
+
+        // when
+        NetWorth actual = sut.project(List.of(), List.of(debt));
+
+        // then
+        assertThat(actual.getNetWorth())
+                .hasSize(CompactDate.of(2050, 12) - CompactDate.of(2040, 1) + 1);
+        assertThat(actual.getNetWorth()[0]).isEqualTo(-1009000);
+    }
+
+    @Test
+    void matchesSequentialSumWhenManyItemsSplitAcrossTasks() {
+        // given
+        List<Saving> savings = new ArrayList<>();
+        List<Debt> debts = new ArrayList<>();
+        for (int i = 0; i < 5 * NetWorthProjector.ITEMS_PER_TASK; i++) {
+            savings.add(saving("saving" + i, (100 + i) + ".00", "2020-01", "2021-12"));
+            debts.add(debt("debt" + i, (5 * i + 5) + ".00", "2020-01"));
+        }
+
+        // when
+        NetWorth actual = sut.project(savings, debts);
+
+        // then
+        long[] expected = new long[24];
+        for (Saving saving : savings) {
+            long[] balances = new SavingProjector().project(saving);
+            for (int month = 0; month < 24; month++) {
+                expected[month] += balances[month];
+            }
+        }
+        for (Debt debt : debts) {
+            long[] balances = new DebtAmortiser().amortise(debt).getBalances();
+            for (int month = 0; month < balances.length; month++) {
+                expected[month] -= balances[month];
+            }
+        }
+        assertThat(actual.getNetWorth()).containsExactly(expected);
+    }
+
+    @Test
+    void throwsBadRequestWhenTotalOverflows() {
+        // given
+        Saving house = saving("house", "50000000000000000.00", "2020-01", "2020-02");
+        Saving car = saving("car", "50000000000000000.00", "2020-01", "2020-02");
+
+        // when
+        // then
+        assertThatThrownBy(() -> sut.project(List.of(house, car), List.of()))
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasMessage("net worth is too large to project")
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    private static Saving saving(String name, String startAmount, String start, String end) {
+        return Saving.newBuilder()
+                .withName(new Name(name))
+                .withStartAmount(new Amount(startAmount))
+                .withMonthlyAmount(new Amount("10.00"))
+                .withStartDate(new Date(start))
+                .withEndDate(new Date(end))
+                .withYearlyRate(new Rate("0"))
+                .build();
+    }
+
+    private static Debt debt(String name, String startAmount, String start) {
+        return Debt.newBuilder()
+                .withName(new Name(name))
+                .withStartAmount(new Amount(startAmount))
+                .withMonthlyAmount(new Amount("10.00"))
+                .withStartDate(new Date(start))
+                .withYearlyRate(new Rate("0"))
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import exception.BadRequestException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Saving;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SavingProjectorTest {
+
+    SavingProjector sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new SavingProjector();
+    }
+
+    @Test
+    void returnsOneBalancePerMonthInclusiveOfEndDate() {
+        // given
+        Saving saving = saving("0", "0", "2010-01", "2050-12", "1.5").build();
+
+        // when
+        long[] actual = sut.project(saving);
+
+        // then
+        assertThat(actual).hasSize(41 * 12);
+    }
+
+    @Test
+    void addsMonthlyAmountWhenRateIsZero() {
+        // given
+        Saving saving = saving("100.00", "10.00", "2020-01", "2020-04", "0").build();
+
+        // when
+        long[] actual = sut.project(saving);
+
+        // then
+        assertThat(actual).containsExactly(11000, 12000, 13000, 14000);
+    }
+
+    @Test
+    void accruesMonthlyInterestRoundedToMinorUnits() {
+        // given
+        Saving saving = saving("1000.00", "0", "2020-01", "2020-03", "6").build();
+
+        // when
+        long[] actual = sut.project(saving);
+
+        // then
+        assertThat(actual).containsExactly(100500, 101002, 101507);
+    }
+
+    @Test
+    void appliesAdjustmentsFromTheirDate() {
+        // given
+        Saving saving =
+                saving("0", "10.00", "2020-01", "2020-06", "0")
+                        .withAdjustments(
+                                List.of(
+                                        new Adjustment(
+                                                new Amount("30.00"),
+                                                new Date("2020-05"),
+                                                new Rate("0")),
+                                        new Adjustment(
+                                                new Amount("20.00"),
+                                                new Date("2020-03"),
+                                                new Rate("0"))))
+                        .build();
+
+        // when
+        long[] actual = sut.project(saving);
+
+        // then
+        assertThat(actual).containsExactly(1000, 2000, 4000, 6000, 9000, 12000);
+    }
+
+    @Test
+    void addsOneTimePaymentsInTheirMonth() {
+        // given
+        Saving saving =
+                saving("0", "10.00", "2020-01", "2020-04", "0")
+                        .withOneTimePayments(
+                                List.of(
+                                        new OneTimePayment(new Amount("5.50"), new Date("2020-03")),
+                                        new OneTimePayment(new Amount("1"), new Date("2020-02")),
+                                        new OneTimePayment(new Amount("2"), new Date("2020-02"))))
+                        .build();
+
+        // when
+        long[] actual = sut.project(saving);
+
+        // then
+        assertThat(actual).containsExactly(1000, 2300, 3850, 4850);
+    }
+
+    @Test
+    void throwsBadRequestWhenAmountDoesNotFitInMinorUnits() {
+        // given
+        Saving saving = saving("1e20", "0", "2020-01", "2020-04", "0").build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> sut.project(saving))
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasMessage("saving house is too large to project")
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void throwsBadRequestWhenBalanceOverflows() {
+        // given
+        Saving saving =
+                saving("50000000000000000", "50000000000000000", "2020-01", "2020-04", "0")
+                        .build();
+
+        // when
+        // then
+        assertThatThrownBy(() -> sut.project(saving))
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void matchesBigDecimalReferenceOverFortyYears() {
+        // given
+        Saving saving =
+                saving("2500.00", "150.00", "2010-01", "2049-12", "3.25")
+                        .withAdjustments(
+                                List.of(
+                                        new Adjustment(
+                                                new Amount("275.00"),
+                                                new Date("2021-04"),
+                                                new Rate("4.1"))))
+                        .withOneTimePayments(
+                                List.of(
+                                        new OneTimePayment(
+                                                new Amount("10000.00"), new Date("2035-09"))))
+                        .build();
+
+        // when
+        long[] actual = sut.project(saving);
+
+        // then
+        BigDecimal balance = new BigDecimal("2500.00");
+        for (int month = 0; month < actual.length; month++) {
+            boolean adjusted = month >= (2021 - 2010) * 12 + 3;
+            BigDecimal rate = new BigDecimal(adjusted ? "4.1" : "3.25");
+            BigDecimal monthly = new BigDecimal(adjusted ? "275.00" : "150.00");
+            balance =
+                    balance.add(
+                                    balance.multiply(rate)
+                                            .divide(
+                                                    BigDecimal.valueOf(1200),
+                                                    2,
+                                                    RoundingMode.HALF_EVEN))
+                            .add(monthly);
+            if (month == (2035 - 2010) * 12 + 8) {
+                balance = balance.add(new BigDecimal("10000.00"));
+            }
+            assertThat(actual[month]).isEqualTo(balance.movePointRight(2).longValueExact());
+        }
+    }
+
+    @Test
+    void fillsArraysWhenProjectedFromPrimitives() {
+        // given
+        long[] balances = new long[4];
+
+        // when
+        SavingProjector.project(
+                0,
+                new int[] {0, 2},
+                new long[] {100, 200},
+                new long[] {0, 0},
+                2,
+                new int[] {1},
+                new long[] {50},
+                1,
+                balances,
+                3);
+
+        // then
+        assertThat(balances).containsExactly(100, 250, 450, 0);
+    }
+
+    private static Saving.Builder saving(
+            String startAmount,
+            String monthlyAmount,
+            String startDate,
+            String endDate,
+            String rate) {
+        return Saving.newBuilder()
+                .withName(new Name("house"))
+                .withStartAmount(new Amount(startAmount))
+                .withMonthlyAmount(new Amount(monthlyAmount))
+                .withStartDate(new Date(startDate))
+                .withEndDate(new Date(endDate))
+                .withYearlyRate(new Rate(rate));
+    }
+}
@@ -0,0 +1,31 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import cache.ResponseCache;
+import org.junit.jupiter.api.Test;
+
+class CacheProviderTest {
+
+    @Test
+    void providesDefaultMaxBytesWhenNotConfigured() {
+        // given
+
+        // when
+        long actual = CacheProvider.provideListCacheMaxBytes();
+
+        // then
+        assertThat(actual).isEqualTo(CacheProvider.DEFAULT_LIST_CACHE_MAX_BYTES);
+    }
+
+    @Test
+    void providesEnabledListCacheWhenNotConfigured() {
+        // given
+
+        // when
+        ResponseCache actual = CacheProvider.provideListCache();
+
+        // then
+        assertThat(actual.isEnabled()).isTrue();
+    }
+}
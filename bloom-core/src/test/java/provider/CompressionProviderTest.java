@@ -0,0 +1,31 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import handler.ResponseEncoder;
+import org.junit.jupiter.api.Test;
+
+class CompressionProviderTest {
+
+    @Test
+    void providesDefaultMinBytesWhenNotConfigured() {
+        // given
+
+        // when
+        int actual = CompressionProvider.provideCompressionMinBytes();
+
+        // then
+        assertThat(actual).isEqualTo(CompressionProvider.DEFAULT_COMPRESSION_MIN_BYTES);
+    }
+
+    @Test
+    void providesDisabledEncoderWhenNotConfigured() {
+        // given
+
+        // when
+        ResponseEncoder actual = CompressionProvider.provideResponseEncoder();
+
+        // then
+        assertThat(actual.isEnabled()).isFalse();
+    }
+}
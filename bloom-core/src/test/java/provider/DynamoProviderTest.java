@@ -0,0 +1,106 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import throttling.AdaptiveRateLimiter;
+import throttling.ThrottledAttempts;
+
+class DynamoProviderTest {
+
+    @ParameterizedTest
+    @EnumSource(
+            value = HttpEngine.class,
+            names = {"URL_CONNECTION", "APACHE"})
+    void providesClientWhenEngineIsSync(HttpEngine engine) {
+        // given
+
+        // when
+        try (DynamoDbClient actual = DynamoProvider.provideClient(engine)) {
+
+            // then
+            assertThat(actual).isNotNull();
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenEngineIsAsync() {
+        try {
+            // when
+            DynamoProvider.provideClient(HttpEngine.NETTY);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("netty engine is async only");
+        }
+    }
+
+    @Test
+    void providesAsyncClientWhenInvoked() {
+        // given
+
+        // when
+        try (DynamoDbAsyncClient actual = DynamoProvider.provideAsyncClient()) {
+
+            // then
+            assertThat(actual).isNotNull();
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenAsyncEngineIsSync() {
+        try {
+            // when
+            DynamoProvider.provideAsyncClient(HttpEngine.APACHE);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("apache engine is sync only");
+        }
+    }
+
+    @Test
+    void providesDefaultMaxConnectionsWhenNotConfigured() {
+        // given
+
+        // when
+        int actual = DynamoProvider.provideMaxConnections();
+
+        // then
+        assertThat(actual).isEqualTo(DynamoProvider.DEFAULT_MAX_CONNECTIONS);
+    }
+
+    @Test
+    void providesRetryPolicyWithOperationBudgetsWhenNotConfigured() {
+        // given
+
+        // when
+        RetryPolicy actual = DynamoProvider.provideRetryPolicy();
+
+        // then
+        assertThat(actual.numRetries()).isEqualTo(DynamoProvider.DEFAULT_MAX_RETRIES);
+        assertThat(actual.toBuilder().retryCapacityCondition())
+                .isSameAs(DynamoProvider.provideRetryBudgets());
+        assertThat(actual.toBuilder().retryCondition()).isInstanceOf(ThrottledAttempts.class);
+    }
+
+    @Test
+    void providesSameRateLimiterWhenInvokedTwice() {
+        // given
+        AdaptiveRateLimiter expected = DynamoProvider.provideRateLimiter();
+
+        // when
+        AdaptiveRateLimiter actual = DynamoProvider.provideRateLimiter();
+
+        // then
+        assertThat(actual).isSameAs(expected).isNotSameAs(AdaptiveRateLimiter.DISABLED);
+    }
+}
@@ -0,0 +1,19 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class EncodingProviderTest {
+
+    @Test
+    void providesUnpackedListsWhenNotConfigured() {
+        // given
+
+        // when
+        boolean actual = EncodingProvider.providePackedLists();
+
+        // then
+        assertThat(actual).isFalse();
+    }
+}
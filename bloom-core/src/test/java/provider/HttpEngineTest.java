@@ -0,0 +1,49 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class HttpEngineTest {
+
+    @ParameterizedTest
+    @EnumSource(HttpEngine.class)
+    void returnsEngineWhenFromNameInvoked(HttpEngine expected) {
+        // given
+        String name = expected.getName();
+
+        // when
+        HttpEngine actual = HttpEngine.fromName(name);
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void throwsExceptionWhenNameUnknown() {
+        try {
+            // when
+            HttpEngine.fromName("crt");
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("unknown http engine crt");
+        }
+    }
+
+    @Test
+    void onlyNettyIsAsync() {
+        // given
+
+        // when
+
+        // then
+        assertThat(HttpEngine.URL_CONNECTION.isAsync()).isFalse();
+        assertThat(HttpEngine.APACHE.isAsync()).isFalse();
+        assertThat(HttpEngine.NETTY.isAsync()).isTrue();
+    }
+}
@@ -0,0 +1,75 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.List;
+import model.Page;
+import model.Saving;
+import model.request.NameRequest;
+import org.junit.jupiter.api.Test;
+
+class MapperProviderTest {
+
+    @Test
+    void returnsSameReaderWhenTypeRequestedTwice() {
+        // given
+        ObjectReader first = MapperProvider.provideReader(Saving.class);
+
+        // when
+        ObjectReader actual = MapperProvider.provideReader(Saving.class);
+
+        // then
+        assertThat(actual).isSameAs(first);
+    }
+
+    @Test
+    void returnsSameWriterWhenGenericTypeRequestedTwice() {
+        // given
+        ObjectWriter first = MapperProvider.provideWriter(new TypeReference<Page<Saving>>() {});
+
+        // when
+        ObjectWriter actual = MapperProvider.provideWriter(new TypeReference<Page<Saving>>() {});
+
+        // then
+        assertThat(actual).isSameAs(first);
+    }
+
+    @Test
+    void returnsDifferentReadersWhenTypesDiffer() {
+        // given
+        ObjectReader first = MapperProvider.provideReader(Saving.class);
+
+        // when
+        ObjectReader actual = MapperProvider.provideReader(NameRequest.class);
+
+        // then
+        assertThat(actual).isNotSameAs(first);
+    }
+
+    @Test
+    void readsValueWhenReaderProvided() throws Exception {
+        // given
+        ObjectReader sut = MapperProvider.provideReader(NameRequest.class);
+
+        // when
+        NameRequest actual = sut.readValue("{\"name\":\"some name\"}");
+
+        // then
+        assertThat(actual.getName()).isEqualTo("some name");
+    }
+
+    @Test
+    void writesValueWhenWriterProvided() throws Exception {
+        // given
+        ObjectWriter sut = MapperProvider.provideWriter(new TypeReference<Page<String>>() {});
+
+        // when
+        String actual = sut.writeValueAsString(new Page<>(List.of("a", "b"), "cursor"));
+
+        // then
+        assertThat(actual).isEqualTo("[\"a\",\"b\"]");
+    }
+}
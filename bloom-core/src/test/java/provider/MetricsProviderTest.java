@@ -0,0 +1,20 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import metrics.MetricsRecorder;
+import org.junit.jupiter.api.Test;
+
+class MetricsProviderTest {
+
+    @Test
+    void providesDisabledRecorderWhenNotConfigured() {
+        // given
+
+        // when
+        MetricsRecorder actual = MetricsProvider.provideRecorder();
+
+        // then
+        assertThat(actual.isEnabled()).isFalse();
+    }
+}
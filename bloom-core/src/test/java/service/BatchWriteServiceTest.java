@@ -0,0 +1,292 @@
+package service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.WriteStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class BatchWriteServiceTest {
+
+    BatchWriteService sut;
+
+    DynamoService mockService;
+    List<Long> sleeps;
+
+    @BeforeEach
+    void beforeEach() {
+        mockService = mock(DynamoService.class);
+        sleeps = new ArrayList<>();
+        sut =
+                new BatchWriteService(
+                        BatchWriteService.blocking(mockService),
+                        millis -> {
+                            sleeps.add(millis);
+                            return Runnable::run;
+                        },
+                        new Random(0));
+    }
+
+    @Test
+    void splitsItemsIntoChunksOfTwentyFiveWhenInvoked() {
+        // given
+        List<Map<String, AttributeValue>> items = items(60);
+        when(mockService.batchAdd(any())).thenReturn(List.of());
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        ArgumentCaptor<List<Map<String, AttributeValue>>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(mockService, times(3)).batchAdd(captor.capture());
+        assertThat(captor.getAllValues()).extracting(List::size).containsExactly(25, 25, 10);
+        assertThat(actual).hasSize(60).containsOnly(WriteStatus.WRITTEN);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    void retriesUnprocessedItemsWithBackoffWhenInvoked() {
+        // given
+        List<Map<String, AttributeValue>> items = items(3);
+        when(mockService.batchAdd(any()))
+                .thenReturn(List.of(items.get(1), items.get(2)))
+                .thenReturn(List.of(items.get(2)))
+                .thenReturn(List.of());
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        ArgumentCaptor<List<Map<String, AttributeValue>>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(mockService, times(3)).batchAdd(captor.capture());
+        assertThat(captor.getAllValues().get(1)).containsExactly(items.get(1), items.get(2));
+        assertThat(captor.getAllValues().get(2)).containsExactly(items.get(2));
+        assertThat(actual).containsOnly(WriteStatus.WRITTEN);
+        assertThat(sleeps).hasSize(2);
+    }
+
+    @Test
+    void marksItemsFailedWhenStillUnprocessedAfterMaxAttempts() {
+        // given
+        List<Map<String, AttributeValue>> items = items(30);
+        when(mockService.batchAdd(any()))
+                .thenAnswer(
+                        invocation -> {
+                            List<Map<String, AttributeValue>> chunk = invocation.getArgument(0);
+                            return chunk.contains(items.get(27))
+                                    ? List.of(items.get(27))
+                                    : List.of();
+                        });
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        verify(mockService, times(1 + BatchWriteService.MAX_ATTEMPTS)).batchAdd(any());
+        assertThat(actual.get(27)).isEqualTo(WriteStatus.FAILED);
+        assertThat(actual.subList(0, 27)).containsOnly(WriteStatus.WRITTEN);
+        assertThat(actual.subList(28, 30)).containsOnly(WriteStatus.WRITTEN);
+        assertThat(sleeps).hasSize(BatchWriteService.MAX_ATTEMPTS - 1);
+    }
+
+    @Test
+    void marksChunkFailedWhenRequestThrows() {
+        // given
+        List<Map<String, AttributeValue>> items = items(30);
+        when(mockService.batchAdd(any()))
+                .thenThrow(SdkClientException.create("failed"))
+                .thenReturn(List.of());
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        assertThat(actual.subList(0, 25)).containsOnly(WriteStatus.FAILED);
+        assertThat(actual.subList(25, 30)).containsOnly(WriteStatus.WRITTEN);
+    }
+
+    @Test
+    void marksExistingItemsConflictingWithoutWritingThemWhenInvoked() {
+        // given
+        List<Map<String, AttributeValue>> items = items(3);
+        when(mockService.existing(any())).thenReturn(Set.of(key(items.get(1))));
+        when(mockService.batchAdd(any())).thenReturn(List.of());
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        ArgumentCaptor<List<Map<String, AttributeValue>>> captor =
+                ArgumentCaptor.forClass(List.class);
+        verify(mockService).existing(captor.capture());
+        verify(mockService).batchAdd(List.of(items.get(0), items.get(2)));
+
+        assertThat(captor.getValue())
+                .containsExactly(key(items.get(0)), key(items.get(1)), key(items.get(2)));
+        assertThat(actual)
+                .containsExactly(WriteStatus.WRITTEN, WriteStatus.CONFLICT, WriteStatus.WRITTEN);
+    }
+
+    @Test
+    void marksChunkFailedWhenExistingCheckThrows() {
+        // given
+        List<Map<String, AttributeValue>> items = items(30);
+        when(mockService.existing(any()))
+                .thenThrow(SdkClientException.create("failed"))
+                .thenReturn(Set.of());
+        when(mockService.batchAdd(any())).thenReturn(List.of());
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        verify(mockService).batchAdd(items.subList(25, 30));
+        assertThat(actual.subList(0, 25)).containsOnly(WriteStatus.FAILED);
+        assertThat(actual.subList(25, 30)).containsOnly(WriteStatus.WRITTEN);
+    }
+
+    @Test
+    void keepsChunksInFlightWhenServiceIsAsync() {
+        // given
+        DynamoAsyncService mockAsyncService = mock(DynamoAsyncService.class);
+        sut =
+                new BatchWriteService(
+                        BatchWriteService.nonBlocking(() -> mockAsyncService),
+                        millis -> Runnable::run,
+                        new Random(0));
+        List<Map<String, AttributeValue>> items = items(150);
+        List<CompletableFuture<List<Map<String, AttributeValue>>>> writes =
+                new CopyOnWriteArrayList<>();
+        when(mockAsyncService.existing(any()))
+                .thenReturn(CompletableFuture.completedFuture(Set.of()));
+        when(mockAsyncService.batchAdd(any()))
+                .thenAnswer(
+                        invocation -> {
+                            CompletableFuture<List<Map<String, AttributeValue>>> write =
+                                    new CompletableFuture<>();
+                            writes.add(write);
+                            return write;
+                        });
+
+        // when
+        CompletableFuture<List<WriteStatus>> actual =
+                CompletableFuture.supplyAsync(() -> sut.write(items));
+
+        // then
+        verify(mockAsyncService, timeout(1000).times(BatchWriteService.CHUNKS_IN_FLIGHT))
+                .batchAdd(any());
+        assertThat(actual).isNotDone();
+
+        for (int completed = 0; completed < 6; completed++) {
+            verify(mockAsyncService, timeout(1000).atLeast(completed + 1)).batchAdd(any());
+            writes.get(completed).complete(List.of());
+        }
+        assertThat(actual.join()).hasSize(150).containsOnly(WriteStatus.WRITTEN);
+        verify(mockAsyncService, times(6)).batchAdd(any());
+    }
+
+    @Test
+    void asksForAsyncServiceOnlyWhenBatchWritten() {
+        // given
+        DynamoAsyncService mockAsyncService = mock(DynamoAsyncService.class);
+        AtomicInteger asked = new AtomicInteger();
+        sut =
+                new BatchWriteService(
+                        () -> {
+                            asked.incrementAndGet();
+                            return mockAsyncService;
+                        });
+        when(mockAsyncService.existing(any()))
+                .thenReturn(CompletableFuture.completedFuture(Set.of()));
+        when(mockAsyncService.batchAdd(any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        assertThat(asked).hasValue(0);
+
+        // when
+        List<WriteStatus> actual = sut.write(items(5));
+
+        // then
+        assertThat(actual).containsOnly(WriteStatus.WRITTEN);
+        assertThat(asked).hasPositiveValue();
+    }
+
+    @Test
+    void marksChunkFailedWhenAsyncRequestFails() {
+        // given
+        DynamoAsyncService mockAsyncService = mock(DynamoAsyncService.class);
+        sut =
+                new BatchWriteService(
+                        BatchWriteService.nonBlocking(() -> mockAsyncService),
+                        millis -> Runnable::run,
+                        new Random(0));
+        List<Map<String, AttributeValue>> items = items(30);
+        when(mockAsyncService.existing(any()))
+                .thenReturn(CompletableFuture.completedFuture(Set.of()));
+        when(mockAsyncService.batchAdd(any()))
+                .thenAnswer(
+                        invocation -> {
+                            List<Map<String, AttributeValue>> chunk = invocation.getArgument(0);
+                            return chunk.contains(items.get(0))
+                                    ? CompletableFuture.failedFuture(
+                                            SdkClientException.create("failed"))
+                                    : CompletableFuture.completedFuture(List.of());
+                        });
+
+        // when
+        List<WriteStatus> actual = sut.write(items);
+
+        // then
+        assertThat(actual.subList(0, 25)).containsOnly(WriteStatus.FAILED);
+        assertThat(actual.subList(25, 30)).containsOnly(WriteStatus.WRITTEN);
+    }
+
+    @Test
+    void backoffStaysWithinCappedCeilingWhenInvoked() {
+        // given
+
+        // when
+        // then
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long ceiling =
+                    Math.min(
+                            BatchWriteService.MAX_DELAY_MILLIS,
+                            BatchWriteService.BASE_DELAY_MILLIS << (attempt - 1));
+            assertThat(sut.backoff(attempt)).isBetween(1L, ceiling);
+        }
+    }
+
+    private static Map<String, AttributeValue> key(Map<String, AttributeValue> item) {
+        return Map.of("PK", item.get("PK"), "SK", item.get("SK"));
+    }
+
+    private static List<Map<String, AttributeValue>> items(int count) {
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(
+                    Map.of(
+                            "PK", AttributeValue.builder().s("USER#subject").build(),
+                            "SK", AttributeValue.builder().s("DEBT#" + i).build(),
+                            "Balance", AttributeValue.builder().s("1.00").build()));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,243 @@
+package service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.ConflictException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import throttling.AdaptiveRateLimiter;
+
+class DynamoAsyncServiceTest {
+
+    DynamoAsyncService sut;
+
+    DynamoDbAsyncClient mockClient;
+    String tableName;
+    AdaptiveRateLimiter limiter;
+
+    @BeforeEach
+    void beforeEach() {
+        mockClient = mock(DynamoDbAsyncClient.class);
+        tableName = "MY_TABLE_NAME";
+        limiter = new AdaptiveRateLimiter();
+        sut = new DynamoAsyncService(mockClient, tableName, limiter);
+
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                TransactWriteItemsResponse.builder().build()));
+        when(mockClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UpdateItemResponse.builder().build()));
+    }
+
+    @Test
+    void addRequestPutsItemAndBumpsVersionInSameTransactionWhenInvoked() {
+        // given
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
+
+        // when
+        sut.add(item).join();
+
+        // then
+        ArgumentCaptor<TransactWriteItemsRequest> captor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(mockClient).transactWriteItems(captor.capture());
+        List<TransactWriteItem> actual = captor.getValue().transactItems();
+        Put put = actual.get(0).put();
+
+        assertThat(put.tableName()).isEqualTo(tableName);
+        assertThat(put.item()).isEqualTo(item);
+        assertThat(put.conditionExpression()).isEqualTo("attribute_not_exists(PK)");
+        assertThat(actual.get(1).update().key()).isEqualTo(item("USER#1", "VERSION"));
+        assertThat(actual.get(1).update().updateExpression()).isEqualTo("ADD #version :one");
+    }
+
+    @Test
+    void addCompletesWithConflictWhenAddedItemExists() {
+        // given
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                TransactionCanceledException.builder()
+                                        .cancellationReasons(
+                                                CancellationReason.builder()
+                                                        .code("ConditionalCheckFailed")
+                                                        .build(),
+                                                CancellationReason.builder().code("None").build())
+                                        .build()));
+
+        // when
+        CompletableFuture<Void> actual = sut.add(item);
+
+        // then
+        assertThat(actual)
+                .hasFailedWithThrowableThat()
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("item SAVING#house already exists");
+    }
+
+    @Test
+    void existingCompletesWithKeysFoundAcrossUnprocessedRoundsWhenInvoked() {
+        // given
+        Map<String, AttributeValue> house = item("USER#1", "SAVING#house");
+        Map<String, AttributeValue> car = item("USER#1", "SAVING#car");
+        when(mockClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                BatchGetItemResponse.builder()
+                                        .responses(Map.of(tableName, List.of(house)))
+                                        .unprocessedKeys(
+                                                Map.of(
+                                                        tableName,
+                                                        KeysAndAttributes.builder()
+                                                                .keys(List.of(car))
+                                                                .build()))
+                                        .build()))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                BatchGetItemResponse.builder()
+                                        .responses(Map.of(tableName, List.of(car)))
+                                        .build()));
+
+        // when
+        Set<Map<String, AttributeValue>> actual = sut.existing(List.of(house, car)).join();
+
+        // then
+        ArgumentCaptor<BatchGetItemRequest> captor =
+                ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(mockClient, times(2)).batchGetItem(captor.capture());
+
+        assertThat(actual).containsExactlyInAnyOrder(house, car);
+        assertThat(captor.getAllValues().get(0).requestItems().get(tableName).consistentRead())
+                .isTrue();
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void batchAddCompletesWithUnprocessedItemsAfterBumpingVersionsWhenInvoked() {
+        // given
+        Map<String, AttributeValue> house = item("USER#1", "SAVING#house");
+        Map<String, AttributeValue> car = item("USER#2", "DEBT#car");
+        WriteRequest unprocessed =
+                WriteRequest.builder().putRequest(PutRequest.builder().item(car).build()).build();
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                BatchWriteItemResponse.builder()
+                                        .unprocessedItems(Map.of(tableName, List.of(unprocessed)))
+                                        .build()));
+
+        // when
+        List<Map<String, AttributeValue>> actual = sut.batchAdd(List.of(house, car)).join();
+
+        // then
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(mockClient, times(2)).updateItem(captor.capture());
+
+        assertThat(actual).containsExactly(car);
+        assertThat(captor.getAllValues())
+                .extracting(UpdateItemRequest::key)
+                .containsExactly(item("USER#1", "VERSION"), item("USER#2", "VERSION"));
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void batchAddLeavesVersionWhenNothingProcessed() {
+        // given
+        Map<String, AttributeValue> house = item("USER#1", "SAVING#house");
+        WriteRequest unprocessed =
+                WriteRequest.builder().putRequest(PutRequest.builder().item(house).build()).build();
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                BatchWriteItemResponse.builder()
+                                        .unprocessedItems(Map.of(tableName, List.of(unprocessed)))
+                                        .build()));
+
+        // when
+        sut.batchAdd(List.of(house)).join();
+
+        // then
+        verify(mockClient, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void listRequestSlowsDownWhenThrottled() {
+        // given
+        ProvisionedThroughputExceededException expected =
+                ProvisionedThroughputExceededException.builder()
+                        .statusCode(400)
+                        .awsErrorDetails(
+                                AwsErrorDetails.builder()
+                                        .errorCode("ProvisionedThroughputExceededException")
+                                        .build())
+                        .build();
+        when(mockClient.query(any(QueryRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(expected));
+
+        // when
+        CompletableFuture<QueryResponse> actual = sut.list("my key", Map.of(), 10, null);
+
+        // then
+        assertThat(actual).hasFailedWithThrowableThat().isSameAs(expected);
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void listRequestHasLimitAndAsksForConsumedCapacityWhenInvoked() {
+        // given
+        when(mockClient.query(any(QueryRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(QueryResponse.builder().build()));
+
+        // when
+        sut.list("my key", Map.of(), 10, null).join();
+
+        // then
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient).query(captor.capture());
+        QueryRequest actual = captor.getValue();
+
+        assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.limit()).isEqualTo(10);
+        assertThat(actual.returnConsumedCapacityAsString()).isEqualTo("TOTAL");
+    }
+
+    private static Map<String, AttributeValue> item(String partitionKey, String sortKey) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(partitionKey).build(),
+                "SK", AttributeValue.builder().s(sortKey).build());
+    }
+}
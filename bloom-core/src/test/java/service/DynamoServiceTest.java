@@ -1,22 +1,54 @@
 package service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import exception.ConflictException;
+import exception.NotFoundException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import priming.PrimingInterceptor;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import throttling.AdaptiveRateLimiter;
 
 class DynamoServiceTest {
 
@@ -24,44 +56,370 @@ class DynamoServiceTest {
 
     DynamoDbClient mockClient;
     String tableName;
+    AdaptiveRateLimiter limiter;
 
     @BeforeEach
     void beforeEach() {
         mockClient = mock(DynamoDbClient.class);
         tableName = "MY_TABLE_NAME";
-        sut = new DynamoService(mockClient, tableName);
+        limiter = new AdaptiveRateLimiter();
+        sut = new DynamoService(mockClient, tableName, limiter);
     }
 
     @Test
-    void addRequestHasCorrectTableNameWhenInvoked() {
+    void addRequestPutsItemIntoTableWhenInvoked() {
         // given
-        Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
 
         // when
-        sut.add(mockAttributeValueMap);
+        sut.add(item);
 
         // then
-        ArgumentCaptor<PutItemRequest> captor = ArgumentCaptor.forClass(PutItemRequest.class);
-        verify(mockClient).putItem(captor.capture());
-        PutItemRequest actual = captor.getValue();
+        Put actual = transaction().get(0).put();
 
         assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.item()).isEqualTo(item);
+        assertThat(actual.conditionExpression()).isEqualTo("attribute_not_exists(PK)");
     }
 
     @Test
-    void addRequestHasCorrectAttributeValueMapWhenInvoked() {
+    void throwsConflictWhenAddedItemExists() {
         // given
-        Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelled("ConditionalCheckFailed", "None"));
+
+        // when / then
+        assertThatThrownBy(() -> sut.add(item))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("item SAVING#house already exists")
+                .hasCauseInstanceOf(TransactionCanceledException.class);
+    }
+
+    @Test
+    void existingRequestReadsKeysConsistentlyWhenInvoked() {
+        // given
+        List<Map<String, AttributeValue>> keys =
+                List.of(item("USER#1", "SAVING#house"), item("USER#1", "SAVING#car"));
+        when(mockClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(BatchGetItemResponse.builder().build());
+
+        // when
+        sut.existing(keys);
+
+        // then
+        ArgumentCaptor<BatchGetItemRequest> captor =
+                ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(mockClient).batchGetItem(captor.capture());
+        KeysAndAttributes actual = captor.getValue().requestItems().get(tableName);
+
+        assertThat(actual.keys()).isEqualTo(keys);
+        assertThat(actual.consistentRead()).isTrue();
+        assertThat(actual.projectionExpression()).isEqualTo("PK, SK");
+    }
+
+    @Test
+    void existingReturnsKeysFoundAcrossUnprocessedRoundsWhenInvoked() {
+        // given
+        Map<String, AttributeValue> house = item("USER#1", "SAVING#house");
+        Map<String, AttributeValue> car = item("USER#1", "SAVING#car");
+        Map<String, AttributeValue> boat = item("USER#1", "SAVING#boat");
+        when(mockClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(
+                        BatchGetItemResponse.builder()
+                                .responses(Map.of(tableName, List.of(house)))
+                                .unprocessedKeys(
+                                        Map.of(
+                                                tableName,
+                                                KeysAndAttributes.builder()
+                                                        .keys(car, boat)
+                                                        .build()))
+                                .build())
+                .thenReturn(
+                        BatchGetItemResponse.builder()
+                                .responses(Map.of(tableName, List.of(car)))
+                                .build());
+
+        // when
+        Set<Map<String, AttributeValue>> actual = sut.existing(List.of(house, car, boat));
+
+        // then
+        ArgumentCaptor<BatchGetItemRequest> captor =
+                ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(mockClient, times(2)).batchGetItem(captor.capture());
+
+        assertThat(actual).containsExactlyInAnyOrder(house, car);
+        assertThat(captor.getAllValues().get(1).requestItems().get(tableName).keys())
+                .containsExactly(car, boat);
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void addRequestBumpsVersionOfPartitionInSameTransactionWhenInvoked() {
+        // given
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
+
+        // when
+        sut.add(item);
+
+        // then
+        List<TransactWriteItem> actual = transaction();
+
+        assertThat(actual).hasSize(2);
+        assertVersionBump(actual.get(1).update(), "USER#1");
+    }
+
+    @Test
+    void versionRequestReadsVersionItemConsistentlyWhenInvoked() {
+        // given
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when
+        sut.version(AttributeValue.builder().s("USER#1").build());
+
+        // then
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(mockClient).getItem(captor.capture());
+        GetItemRequest actual = captor.getValue();
+
+        assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.key()).isEqualTo(item("USER#1", "VERSION"));
+        assertThat(actual.consistentRead()).isTrue();
+    }
+
+    @Test
+    void versionReturnsCounterWhenItemFound() {
+        // given
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(
+                        GetItemResponse.builder()
+                                .item(Map.of("Version", AttributeValue.builder().n("42").build()))
+                                .build());
+
+        // when
+        long actual = sut.version(AttributeValue.builder().s("USER#1").build());
+
+        // then
+        assertThat(actual).isEqualTo(42);
+    }
+
+    @Test
+    void versionReturnsZeroWhenNeverWritten() {
+        // given
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when
+        long actual = sut.version(AttributeValue.builder().s("USER#1").build());
+
+        // then
+        assertThat(actual).isEqualTo(0);
+    }
+
+    @Test
+    void getRequestHasCorrectTableNameAndKeyWhenInvoked() {
+        // given
+        Map<String, AttributeValue> key = Map.of("PK", AttributeValue.builder().s("1").build());
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when
+        sut.get(key);
+
+        // then
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(mockClient).getItem(captor.capture());
+        GetItemRequest actual = captor.getValue();
+
+        assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.key()).isEqualTo(key);
+    }
+
+    @Test
+    void getReturnsItemWhenFound() {
+        // given
+        Map<String, AttributeValue> key = Map.of("PK", AttributeValue.builder().s("1").build());
+        Map<String, AttributeValue> expected =
+                Map.of("PK", AttributeValue.builder().s("1").build(), "SK", key.get("PK"));
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().item(expected).build());
+
+        // when
+        Map<String, AttributeValue> actual = sut.get(key);
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void getReturnsNullWhenNotFound() {
+        // given
+        Map<String, AttributeValue> key = Map.of("PK", AttributeValue.builder().s("1").build());
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when
+        Map<String, AttributeValue> actual = sut.get(key);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void getRequestIsEventuallyConsistentWhenInvoked() {
+        // given
+        Map<String, AttributeValue> key = Map.of("PK", AttributeValue.builder().s("1").build());
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when
+        sut.get(key);
+
+        // then
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(mockClient).getItem(captor.capture());
+        assertThat(captor.getValue().consistentRead()).isFalse();
+    }
+
+    @Test
+    void getRequestIsConsistentWhenAsked() {
+        // given
+        Map<String, AttributeValue> key = Map.of("PK", AttributeValue.builder().s("1").build());
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when
+        sut.get(key, true);
+
+        // then
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(mockClient).getItem(captor.capture());
+        GetItemRequest actual = captor.getValue();
+
+        assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.key()).isEqualTo(key);
+        assertThat(actual.consistentRead()).isTrue();
+    }
+
+    @Test
+    void batchAddRequestPutsEveryItemIntoTableWhenInvoked() {
+        // given
+        Map<String, AttributeValue> item1 = Map.of("PK", AttributeValue.builder().s("1").build());
+        Map<String, AttributeValue> item2 = Map.of("PK", AttributeValue.builder().s("2").build());
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+
+        // when
+        sut.batchAdd(List.of(item1, item2));
+
+        // then
+        ArgumentCaptor<BatchWriteItemRequest> captor =
+                ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(mockClient).batchWriteItem(captor.capture());
+        Map<String, List<WriteRequest>> actual = captor.getValue().requestItems();
+
+        assertThat(actual).containsOnlyKeys(tableName);
+        assertThat(actual.get(tableName))
+                .extracting(writeRequest -> writeRequest.putRequest().item())
+                .containsExactly(item1, item2);
+    }
+
+    @Test
+    void batchAddReturnsUnprocessedItemsWhenInvoked() {
+        // given
+        Map<String, AttributeValue> item1 = Map.of("PK", AttributeValue.builder().s("1").build());
+        Map<String, AttributeValue> item2 = Map.of("PK", AttributeValue.builder().s("2").build());
+        WriteRequest unprocessed =
+                WriteRequest.builder().putRequest(PutRequest.builder().item(item2).build()).build();
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(
+                        BatchWriteItemResponse.builder()
+                                .unprocessedItems(Map.of(tableName, List.of(unprocessed)))
+                                .build());
+
+        // when
+        List<Map<String, AttributeValue>> actual = sut.batchAdd(List.of(item1, item2));
+
+        // then
+        assertThat(actual).containsExactly(item2);
+    }
+
+    @Test
+    void batchAddSlowsDownWhenItemsUnprocessed() {
+        // given
+        Map<String, AttributeValue> item = Map.of("PK", AttributeValue.builder().s("1").build());
+        WriteRequest unprocessed =
+                WriteRequest.builder().putRequest(PutRequest.builder().item(item).build()).build();
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(
+                        BatchWriteItemResponse.builder()
+                                .unprocessedItems(Map.of(tableName, List.of(unprocessed)))
+                                .build());
+
+        // when
+        sut.batchAdd(List.of(item));
+
+        // then
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void batchAddBumpsVersionOfEachPartitionWrittenWhenInvoked() {
+        // given
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
+
+        // when
+        sut.batchAdd(
+                List.of(
+                        item("USER#1", "SAVING#house"),
+                        item("USER#1", "SAVING#car"),
+                        item("USER#2", "DEBT#car")));
+
+        // then
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(mockClient, times(2)).updateItem(captor.capture());
+
+        assertThat(captor.getAllValues())
+                .extracting(UpdateItemRequest::key)
+                .containsExactly(item("USER#1", "VERSION"), item("USER#2", "VERSION"));
+        assertThat(captor.getAllValues())
+                .extracting(UpdateItemRequest::updateExpression)
+                .containsOnly("ADD #version :one");
+    }
+
+    @Test
+    void batchAddLeavesVersionWhenNothingProcessed() {
+        // given
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
+        WriteRequest unprocessed =
+                WriteRequest.builder().putRequest(PutRequest.builder().item(item).build()).build();
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(
+                        BatchWriteItemResponse.builder()
+                                .unprocessedItems(Map.of(tableName, List.of(unprocessed)))
+                                .build());
 
         // when
-        sut.add(mockAttributeValueMap);
+        sut.batchAdd(List.of(item));
 
         // then
-        ArgumentCaptor<PutItemRequest> captor = ArgumentCaptor.forClass(PutItemRequest.class);
-        verify(mockClient).putItem(captor.capture());
-        PutItemRequest actual = captor.getValue();
+        verify(mockClient, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @Test
+    void batchAddReturnsNoItemsWhenAllProcessed() {
+        // given
+        Map<String, AttributeValue> item = Map.of("PK", AttributeValue.builder().s("1").build());
+        when(mockClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(BatchWriteItemResponse.builder().build());
 
-        assertThat(actual.item()).isEqualTo(mockAttributeValueMap);
+        // when
+        List<Map<String, AttributeValue>> actual = sut.batchAdd(List.of(item));
+
+        // then
+        assertThat(actual).isEmpty();
     }
 
     @Test
@@ -98,6 +456,115 @@ class DynamoServiceTest {
         assertThat(actual.keyConditionExpression()).isEqualTo(keyConditionExpression);
     }
 
+    @Test
+    void listRequestAsksForConsumedCapacityWhenInvoked() {
+        // given
+        String keyConditionExpression = "my key";
+        Map<String, AttributeValue> expressionAttributeValues = mock(Map.class);
+
+        // when
+        sut.list(keyConditionExpression, expressionAttributeValues);
+
+        // then
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient).query(captor.capture());
+        QueryRequest actual = captor.getValue();
+
+        assertThat(actual.returnConsumedCapacity()).isEqualTo(ReturnConsumedCapacity.TOTAL);
+    }
+
+    @Test
+    void listRequestSlowsDownWhenThrottled() {
+        // given
+        ProvisionedThroughputExceededException expected =
+                ProvisionedThroughputExceededException.builder()
+                        .statusCode(400)
+                        .awsErrorDetails(
+                                AwsErrorDetails.builder()
+                                        .errorCode("ProvisionedThroughputExceededException")
+                                        .build())
+                        .build();
+        when(mockClient.query(any(QueryRequest.class))).thenThrow(expected);
+
+        // when
+        assertThatThrownBy(() -> sut.list("my key", Map.of())).isSameAs(expected);
+
+        // then
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void updateRequestSlowsDownWhenTransactionThrottled() {
+        // given
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(
+                        TransactionCanceledException.builder()
+                                .cancellationReasons(
+                                        CancellationReason.builder()
+                                                .code("ThrottlingError")
+                                                .build(),
+                                        CancellationReason.builder().code("None").build())
+                                .build());
+
+        // when
+        assertThatThrownBy(
+                        () ->
+                                sut.update(
+                                        item("USER#1", "DEBT#car"),
+                                        "SET #a = :a",
+                                        Map.of(),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(TransactionCanceledException.class);
+
+        // then
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void keepsRateWhenRequestFailsForOtherReasons() {
+        // given
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(
+                        TransactionCanceledException.builder()
+                                .cancellationReasons(
+                                        CancellationReason.builder()
+                                                .code("ConditionalCheckFailed")
+                                                .build())
+                                .build());
+
+        // when
+        assertThatThrownBy(
+                        () ->
+                                sut.update(
+                                        item("USER#1", "DEBT#car"),
+                                        "SET #a = :a",
+                                        Map.of(),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(NotFoundException.class);
+
+        // then
+        assertThat(limiter.isLimiting()).isFalse();
+    }
+
+    @Test
+    void addRequestAsksForConsumedCapacityWhenInvoked() {
+        // given
+        Map<String, AttributeValue> item = item("USER#1", "SAVING#house");
+
+        // when
+        sut.add(item);
+
+        // then
+        ArgumentCaptor<TransactWriteItemsRequest> captor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(mockClient).transactWriteItems(captor.capture());
+        TransactWriteItemsRequest actual = captor.getValue();
+
+        assertThat(actual.returnConsumedCapacity()).isEqualTo(ReturnConsumedCapacity.TOTAL);
+    }
+
     @Test
     void listRequestHasCorrectExpressionAttributeValuesWhenInvoked() {
         // given
@@ -126,6 +593,7 @@ class DynamoServiceTest {
                         .tableName(tableName)
                         .keyConditionExpression(keyConditionExpression)
                         .expressionAttributeValues(expressionAttributeValues)
+                        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
                         .build();
 
         QueryResponse expected = QueryResponse.builder().build();
@@ -139,129 +607,476 @@ class DynamoServiceTest {
     }
 
     @Test
-    void deleteRequestHasCorrectTableNameWhenInvoked() {
+    void pagedListRequestHasLimitAndExclusiveStartKeyWhenInvoked() {
         // given
-        Map key = mock(Map.class);
+        String keyConditionExpression = "my key";
+        Map<String, AttributeValue> expressionAttributeValues = mock(Map.class);
+        Map<String, AttributeValue> exclusiveStartKey =
+                Map.of("SK", AttributeValue.builder().s("SAVING#a").build());
 
         // when
-        sut.delete(key);
+        sut.list(keyConditionExpression, expressionAttributeValues, 10, exclusiveStartKey);
 
         // then
-        ArgumentCaptor<DeleteItemRequest> captor = ArgumentCaptor.forClass(DeleteItemRequest.class);
-        verify(mockClient).deleteItem(captor.capture());
-        DeleteItemRequest actual = captor.getValue();
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient).query(captor.capture());
+        QueryRequest actual = captor.getValue();
+
+        assertThat(actual.limit()).isEqualTo(10);
+        assertThat(actual.exclusiveStartKey()).isEqualTo(exclusiveStartKey);
+    }
+
+    @Test
+    void listAllRequestHasCorrectParametersWhenIterated() {
+        // given
+        String keyConditionExpression = "my key";
+        Map<String, AttributeValue> expressionAttributeValues = mock(Map.class);
+
+        when(mockClient.query(any(QueryRequest.class))).thenReturn(QueryResponse.builder().build());
+
+        // when
+        sut.listAll(keyConditionExpression, expressionAttributeValues).forEach(item -> {});
+
+        // then
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient).query(captor.capture());
+        QueryRequest actual = captor.getValue();
 
         assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.keyConditionExpression()).isEqualTo(keyConditionExpression);
+        assertThat(actual.expressionAttributeValues()).isEqualTo(expressionAttributeValues);
+    }
+
+    @Test
+    void pagedListRequestHasProjectionWhenInvoked() {
+        // given
+        Map<String, String> expressionAttributeNames = Map.of("#SK", "SK");
+
+        // when
+        sut.list("my key", Map.of(), 10, null, "#SK", expressionAttributeNames);
+
+        // then
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient).query(captor.capture());
+        QueryRequest actual = captor.getValue();
+
+        assertThat(actual.projectionExpression()).isEqualTo("#SK");
+        assertThat(actual.expressionAttributeNames()).isEqualTo(expressionAttributeNames);
     }
 
     @Test
-    void deleteRequestHasCorrectKeyWhenInvoked() {
+    void listAllRequestHasProjectionWhenIterated() {
         // given
-        Map key = mock(Map.class);
+        Map<String, String> expressionAttributeNames = Map.of("#SK", "SK");
+
+        when(mockClient.query(any(QueryRequest.class))).thenReturn(QueryResponse.builder().build());
+
+        // when
+        sut.listAll("my key", Map.of(), "#SK", expressionAttributeNames).forEach(item -> {});
+
+        // then
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient).query(captor.capture());
+        QueryRequest actual = captor.getValue();
+
+        assertThat(actual.projectionExpression()).isEqualTo("#SK");
+        assertThat(actual.expressionAttributeNames()).isEqualTo(expressionAttributeNames);
+    }
+
+    @Test
+    void listAllRequestIsConsistentOnlyWhenAsked() {
+        // given
+        when(mockClient.query(any(QueryRequest.class))).thenReturn(QueryResponse.builder().build());
+
+        // when
+        sut.listAll("my key", Map.of(), null, null, true).forEach(item -> {});
+        sut.listAll("my key", Map.of()).forEach(item -> {});
+
+        // then
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient, times(2)).query(captor.capture());
+
+        assertThat(captor.getAllValues())
+                .extracting(QueryRequest::consistentRead)
+                .containsExactly(true, false);
+    }
+
+    @Test
+    void listAllFollowsLastEvaluatedKeyWhenIterated() {
+        // given
+        Map<String, AttributeValue> item1 = Map.of("SK", AttributeValue.builder().s("a").build());
+        Map<String, AttributeValue> item2 = Map.of("SK", AttributeValue.builder().s("b").build());
+
+        when(mockClient.query(any(QueryRequest.class)))
+                .thenReturn(QueryResponse.builder().items(item1).lastEvaluatedKey(item1).build())
+                .thenReturn(QueryResponse.builder().items(item2).build());
+
+        // when
+        SdkIterable<Map<String, AttributeValue>> actual = sut.listAll("my key", Map.of());
+
+        // then
+        assertThat(actual).containsExactly(item1, item2);
+
+        ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(mockClient, times(2)).query(captor.capture());
+        assertThat(captor.getAllValues().get(1).exclusiveStartKey()).isEqualTo(item1);
+    }
+
+    @Test
+    void listAllQueriesNothingUntilIterated() {
+        // when
+        sut.listAll("my key", Map.of());
+
+        // then
+        verify(mockClient, never()).query(any(QueryRequest.class));
+    }
+
+    @Test
+    void listAllSlowsDownWhenLaterPageThrottled() {
+        // given
+        Map<String, AttributeValue> item1 = Map.of("SK", AttributeValue.builder().s("a").build());
+        ProvisionedThroughputExceededException expected =
+                ProvisionedThroughputExceededException.builder()
+                        .statusCode(400)
+                        .awsErrorDetails(
+                                AwsErrorDetails.builder()
+                                        .errorCode("ProvisionedThroughputExceededException")
+                                        .build())
+                        .build();
+        when(mockClient.query(any(QueryRequest.class)))
+                .thenReturn(QueryResponse.builder().items(item1).lastEvaluatedKey(item1).build())
+                .thenThrow(expected);
+        Iterator<Map<String, AttributeValue>> actual = sut.listAll("my key", Map.of()).iterator();
+
+        // when
+        Map<String, AttributeValue> first = actual.next();
+        boolean limitingAfterFirstPage = limiter.isLimiting();
+        Throwable thrown = catchThrowable(actual::hasNext);
+
+        // then
+        assertThat(first).isEqualTo(item1);
+        assertThat(limitingAfterFirstPage).isFalse();
+        assertThat(thrown).isSameAs(expected);
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void deleteRequestDeletesKeyFromTableWhenInvoked() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
 
         // when
         sut.delete(key);
 
         // then
-        ArgumentCaptor<DeleteItemRequest> captor = ArgumentCaptor.forClass(DeleteItemRequest.class);
-        verify(mockClient).deleteItem(captor.capture());
-        DeleteItemRequest actual = captor.getValue();
+        Delete actual = transaction().get(0).delete();
 
+        assertThat(actual.tableName()).isEqualTo(tableName);
         assertThat(actual.key()).isEqualTo(key);
     }
 
     @Test
-    void updateRequestHasCorrectTableNameWhenInvoked() {
+    void deleteRequestBumpsVersionOfPartitionInSameTransactionWhenInvoked() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+
+        // when
+        sut.delete(key);
+
+        // then
+        List<TransactWriteItem> actual = transaction();
+
+        assertThat(actual).hasSize(2);
+        assertVersionBump(actual.get(1).update(), "USER#1");
+    }
+
+    @Test
+    void updateRequestHasCorrectParametersWhenInvoked() {
         // given
-        Map<String, AttributeValue> mockKey = mock(Map.class);
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
         String updateExpression = "my update expression";
         Map<String, String> mockExpressionAttributeNames = mock(Map.class);
         Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
 
         // when
-        sut.update(mockKey, updateExpression, mockExpressionAttributeNames, mockAttributeValueMap);
+        sut.update(key, updateExpression, mockExpressionAttributeNames, mockAttributeValueMap);
 
         // then
-        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
-        verify(mockClient).updateItem(captor.capture());
-        UpdateItemRequest actual = captor.getValue();
+        Update actual = transaction().get(0).update();
 
         assertThat(actual.tableName()).isEqualTo(tableName);
+        assertThat(actual.key()).isEqualTo(key);
+        assertThat(actual.updateExpression()).isEqualTo(updateExpression);
+        assertThat(actual.expressionAttributeNames()).isEqualTo(mockExpressionAttributeNames);
+        assertThat(actual.expressionAttributeValues()).isEqualTo(mockAttributeValueMap);
     }
 
     @Test
-    void updateRequestHasCorrectKeyWhenInvoked() {
+    void updateRequestBumpsVersionOfPartitionInSameTransactionWhenInvoked() {
         // given
-        Map<String, AttributeValue> mockKey = mock(Map.class);
-        String updateExpression = "my update expression";
-        Map<String, String> mockExpressionAttributeNames = mock(Map.class);
-        Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
 
         // when
-        sut.update(mockKey, updateExpression, mockExpressionAttributeNames, mockAttributeValueMap);
+        sut.update(key, "SET #a = :a", Map.of("#a", "A"), Map.of());
 
         // then
-        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
-        verify(mockClient).updateItem(captor.capture());
-        UpdateItemRequest actual = captor.getValue();
+        List<TransactWriteItem> actual = transaction();
 
-        assertThat(actual.key()).isEqualTo(mockKey);
+        assertThat(actual).hasSize(2);
+        assertVersionBump(actual.get(1).update(), "USER#1");
     }
 
     @Test
-    void updateRequestHasCorrectUpdateExpressionWhenInvoked() {
+    void conditionalUpdateRequestHasConditionWhenInvoked() {
         // given
-        Map<String, AttributeValue> mockKey = mock(Map.class);
-        String updateExpression = "my update expression";
-        Map<String, String> mockExpressionAttributeNames = mock(Map.class);
-        Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
 
         // when
-        sut.update(mockKey, updateExpression, mockExpressionAttributeNames, mockAttributeValueMap);
+        sut.update(key, "SET #a = :a", Map.of("#a", "A"), Map.of(), "#version = :version");
 
         // then
-        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
-        verify(mockClient).updateItem(captor.capture());
-        UpdateItemRequest actual = captor.getValue();
+        Update actual = transaction().get(0).update();
 
-        assertThat(actual.updateExpression()).isEqualTo(updateExpression);
+        assertThat(actual.conditionExpression()).isEqualTo("#version = :version");
+        assertThat(actual.returnValuesOnConditionCheckFailure())
+                .isEqualTo(ReturnValuesOnConditionCheckFailure.ALL_OLD);
     }
 
     @Test
-    void updateRequestHasCorrectExpressionAttributeNamesWhenInvoked() {
+    void throwsConflictWhenUpdateConditionFailsOnExistingItem() {
         // given
-        Map<String, AttributeValue> mockKey = mock(Map.class);
-        String updateExpression = "my update expression";
-        Map<String, String> mockExpressionAttributeNames = mock(Map.class);
-        Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(
+                        TransactionCanceledException.builder()
+                                .cancellationReasons(
+                                        CancellationReason.builder()
+                                                .code("ConditionalCheckFailed")
+                                                .item(key)
+                                                .build(),
+                                        CancellationReason.builder().code("None").build())
+                                .build());
+
+        // when / then
+        assertThatThrownBy(
+                        () ->
+                                sut.update(
+                                        key,
+                                        "SET #a = :a",
+                                        Map.of("#a", "A"),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("item DEBT#car was changed by another request")
+                .hasCauseInstanceOf(TransactionCanceledException.class);
+    }
+
+    @Test
+    void throwsNotFoundWhenUpdateConditionFailsOnMissingItem() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelled("ConditionalCheckFailed", "None"));
+
+        // when / then
+        assertThatThrownBy(
+                        () ->
+                                sut.update(
+                                        key,
+                                        "SET #a = :a",
+                                        Map.of("#a", "A"),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("item DEBT#car not found")
+                .hasCauseInstanceOf(TransactionCanceledException.class);
+    }
+
+    @Test
+    void updateAndGetUpdatesAndBumpsVersionInSameTransactionThenReadsItemWhenInvoked() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+        Map<String, AttributeValue> written = item("USER#1", "DEBT#car");
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().item(written).build());
 
         // when
-        sut.update(mockKey, updateExpression, mockExpressionAttributeNames, mockAttributeValueMap);
+        Map<String, AttributeValue> actual =
+                sut.updateAndGet(
+                        key, "SET #a = :a", Map.of("#a", "A"), Map.of(), "#version = :version");
 
         // then
-        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
-        verify(mockClient).updateItem(captor.capture());
-        UpdateItemRequest actual = captor.getValue();
+        List<TransactWriteItem> transaction = transaction();
+        ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(mockClient).getItem(captor.capture());
 
-        assertThat(actual.expressionAttributeNames()).isEqualTo(mockExpressionAttributeNames);
+        assertThat(actual).isEqualTo(written);
+        assertThat(transaction).hasSize(2);
+        assertThat(transaction.get(0).update().key()).isEqualTo(key);
+        assertThat(transaction.get(0).update().conditionExpression())
+                .isEqualTo("#version = :version");
+        assertVersionBump(transaction.get(1).update(), "USER#1");
+        assertThat(captor.getValue().key()).isEqualTo(key);
+        assertThat(captor.getValue().consistentRead()).isTrue();
+        verify(mockClient, never()).updateItem(any(UpdateItemRequest.class));
     }
 
     @Test
-    void updateRequestHasCorrectAttributeValueMapWhenInvoked() {
+    void throwsConflictWithoutReadingWhenUpdateAndGetConditionFailsOnExistingItem() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(
+                        TransactionCanceledException.builder()
+                                .cancellationReasons(
+                                        CancellationReason.builder()
+                                                .code("ConditionalCheckFailed")
+                                                .item(key)
+                                                .build(),
+                                        CancellationReason.builder().code("None").build())
+                                .build());
+
+        // when / then
+        assertThatThrownBy(
+                        () ->
+                                sut.updateAndGet(
+                                        key,
+                                        "SET #a = :a",
+                                        Map.of("#a", "A"),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("item DEBT#car was changed by another request");
+        verify(mockClient, never()).getItem(any(GetItemRequest.class));
+    }
+
+    @Test
+    void throwsNotFoundWhenItemRemovedBeforeUpdateAndGetReadsIt() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().build());
+
+        // when / then
+        assertThatThrownBy(
+                        () ->
+                                sut.updateAndGet(
+                                        key,
+                                        "SET #a = :a",
+                                        Map.of("#a", "A"),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("item DEBT#car not found");
+    }
+
+    @Test
+    void rethrowsWhenTransactionCancelledForOtherReason() {
+        // given
+        Map<String, AttributeValue> key = item("USER#1", "DEBT#car");
+        when(mockClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenThrow(cancelled("None", "TransactionConflict"));
+
+        // when / then
+        assertThatThrownBy(
+                        () ->
+                                sut.update(
+                                        key,
+                                        "SET #a = :a",
+                                        Map.of("#a", "A"),
+                                        Map.of(),
+                                        "#version = :version"))
+                .isInstanceOf(TransactionCanceledException.class);
+    }
+
+    @Test
+    void primeIssuesEachOperationWithPrimingOverrideWhenInvoked() {
         // given
-        Map<String, AttributeValue> mockKey = mock(Map.class);
-        String updateExpression = "my update expression";
-        Map<String, String> mockExpressionAttributeNames = mock(Map.class);
-        Map<String, AttributeValue> mockAttributeValueMap = mock(Map.class);
 
         // when
-        sut.update(mockKey, updateExpression, mockExpressionAttributeNames, mockAttributeValueMap);
+        sut.prime();
 
         // then
-        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
-        verify(mockClient).updateItem(captor.capture());
-        UpdateItemRequest actual = captor.getValue();
+        ArgumentCaptor<QueryRequest> queryCaptor = ArgumentCaptor.forClass(QueryRequest.class);
+        ArgumentCaptor<UpdateItemRequest> updateCaptor =
+                ArgumentCaptor.forClass(UpdateItemRequest.class);
+        ArgumentCaptor<TransactWriteItemsRequest> transactCaptor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(mockClient).query(queryCaptor.capture());
+        verify(mockClient).updateItem(updateCaptor.capture());
+        verify(mockClient).transactWriteItems(transactCaptor.capture());
+        ArgumentCaptor<BatchWriteItemRequest> batchCaptor =
+                ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(mockClient).batchWriteItem(batchCaptor.capture());
+        ArgumentCaptor<GetItemRequest> getCaptor = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(mockClient).getItem(getCaptor.capture());
+        ArgumentCaptor<BatchGetItemRequest> batchGetCaptor =
+                ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(mockClient).batchGetItem(batchGetCaptor.capture());
 
-        assertThat(actual.expressionAttributeValues()).isEqualTo(mockAttributeValueMap);
+        assertThat(getCaptor.getValue().overrideConfiguration())
+                .contains(PrimingInterceptor.PRIMING_OVERRIDE);
+        assertThat(batchGetCaptor.getValue().overrideConfiguration())
+                .contains(PrimingInterceptor.PRIMING_OVERRIDE);
+        assertThat(batchCaptor.getValue().overrideConfiguration())
+                .contains(PrimingInterceptor.PRIMING_OVERRIDE);
+        assertThat(queryCaptor.getValue().overrideConfiguration())
+                .contains(PrimingInterceptor.PRIMING_OVERRIDE);
+        assertThat(updateCaptor.getValue().overrideConfiguration())
+                .contains(PrimingInterceptor.PRIMING_OVERRIDE);
+        assertThat(transactCaptor.getValue().overrideConfiguration())
+                .contains(PrimingInterceptor.PRIMING_OVERRIDE);
+    }
+
+    @Test
+    void primeWritesAreUnsatisfiableWhenInvoked() {
+        // given
+
+        // when
+        sut.prime();
+
+        // then
+        ArgumentCaptor<UpdateItemRequest> updateCaptor =
+                ArgumentCaptor.forClass(UpdateItemRequest.class);
+        ArgumentCaptor<TransactWriteItemsRequest> transactCaptor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(mockClient).updateItem(updateCaptor.capture());
+        verify(mockClient).transactWriteItems(transactCaptor.capture());
+
+        assertThat(updateCaptor.getValue().conditionExpression())
+                .isEqualTo("attribute_exists(PK) AND attribute_not_exists(PK)");
+        assertThat(transactCaptor.getValue().transactItems())
+                .extracting(item -> item.conditionCheck().conditionExpression())
+                .containsOnly("attribute_exists(PK) AND attribute_not_exists(PK)");
+    }
+
+    private List<TransactWriteItem> transaction() {
+        ArgumentCaptor<TransactWriteItemsRequest> captor =
+                ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(mockClient).transactWriteItems(captor.capture());
+        return captor.getValue().transactItems();
+    }
+
+    private void assertVersionBump(Update update, String partitionKey) {
+        assertThat(update.tableName()).isEqualTo(tableName);
+        assertThat(update.key()).isEqualTo(item(partitionKey, "VERSION"));
+        assertThat(update.updateExpression()).isEqualTo("ADD #version :one");
+        assertThat(update.expressionAttributeNames()).containsEntry("#version", "Version");
+        assertThat(update.expressionAttributeValues())
+                .containsEntry(":one", AttributeValue.builder().n("1").build());
+    }
+
+    private static TransactionCanceledException cancelled(String... codes) {
+        List<CancellationReason> reasons = new ArrayList<>();
+        for (String code : codes) {
+            reasons.add(CancellationReason.builder().code(code).build());
+        }
+        return TransactionCanceledException.builder().cancellationReasons(reasons).build();
+    }
+
+    private static Map<String, AttributeValue> item(String partitionKey, String sortKey) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(partitionKey).build(),
+                "SK", AttributeValue.builder().s(sortKey).build());
     }
 }
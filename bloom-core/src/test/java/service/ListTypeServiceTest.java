@@ -1,19 +1,28 @@
 package service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import exception.BadRequestException;
+import java.util.List;
 import java.util.Map;
 import model.Subject;
 import model.Type;
+import model.request.FieldsRequest;
+import model.request.PageRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 
@@ -22,6 +31,7 @@ class ListTypeServiceTest {
     ListTypeService sut;
     DynamoService mockDynamoService;
     Subject mockSubject;
+    FieldsRequest allFields;
 
     @BeforeEach
     void beforeEach() {
@@ -30,6 +40,7 @@ class ListTypeServiceTest {
 
         mockSubject = mock(Subject.class);
         when(mockSubject.getSubject()).thenReturn("74sr7f7-j234fd-4385ds");
+        allFields = FieldsRequest.fromQueryStringParameters(null, Type.DEBT);
     }
 
     @Test
@@ -43,7 +54,7 @@ class ListTypeServiceTest {
 
         // then
         ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-        verify(mockDynamoService).list(captor.capture(), any());
+        verify(mockDynamoService).listAll(captor.capture(), any(), isNull(), isNull(), eq(true));
         String actual = captor.getValue();
 
         assertThat(actual).isEqualTo(keyConditionExpression);
@@ -65,23 +76,246 @@ class ListTypeServiceTest {
 
         // then
         ArgumentCaptor<Map<String, AttributeValue>> captor = ArgumentCaptor.forClass(Map.class);
-        verify(mockDynamoService).list(any(), captor.capture());
+        verify(mockDynamoService).listAll(any(), captor.capture(), isNull(), isNull(), eq(true));
         Map<String, AttributeValue> actual = captor.getValue();
 
         assertThat(actual).isEqualTo(expected);
     }
 
     @Test
-    void requestReturnsResponseFromServiceWhenInvoked() {
+    void requestReturnsItemsFromServiceWhenInvoked() {
         // given
         Type type = Type.SAVING;
+        SdkIterable<Map<String, AttributeValue>> expected = mock(SdkIterable.class);
+        when(mockDynamoService.listAll(any(), any(), isNull(), isNull(), eq(true)))
+                .thenReturn(expected);
+
+        // when
+        SdkIterable<Map<String, AttributeValue>> actual = sut.list(mockSubject, type);
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void typedRequestQueriesWholePartitionOnceWhenInvoked() {
+        // given
+        Map<String, AttributeValue> expected =
+                Map.of(
+                        ":user",
+                        AttributeValue.builder().s("USER#" + mockSubject.getSubject()).build());
+        when(mockDynamoService.listAll(any(), any())).thenReturn(items());
+
+        // when
+        sut.listByType(mockSubject);
+
+        // then
+        verify(mockDynamoService, times(1)).listAll(eq("PK = :user"), eq(expected));
+    }
+
+    @Test
+    void typedRequestSplitsItemsBySortKeyPrefixWhenInvoked() {
+        // given
+        Map<String, AttributeValue> saving = item("SAVING#house");
+        Map<String, AttributeValue> debt = item("DEBT#car");
+        Map<String, AttributeValue> otherSaving = item("SAVING#holiday");
+        when(mockDynamoService.listAll(any(), any())).thenReturn(items(saving, debt, otherSaving));
+
+        // when
+        Map<Type, List<Map<String, AttributeValue>>> actual = sut.listByType(mockSubject);
+
+        // then
+        assertThat(actual.get(Type.SAVING)).containsExactly(saving, otherSaving);
+        assertThat(actual.get(Type.DEBT)).containsExactly(debt);
+    }
+
+    @Test
+    void typedRequestHasEmptyListForEveryTypeWhenNothingHeld() {
+        // given
+        when(mockDynamoService.listAll(any(), any())).thenReturn(items());
+
+        // when
+        Map<Type, List<Map<String, AttributeValue>>> actual = sut.listByType(mockSubject);
+
+        // then
+        assertThat(actual).containsOnlyKeys(Type.values());
+        assertThat(actual.values()).allMatch(List::isEmpty);
+    }
+
+    @Test
+    void typedRequestLeavesOutItemsOfUnknownTypeWhenInvoked() {
+        // given
+        when(mockDynamoService.listAll(any(), any())).thenReturn(items(item("PROFILE")));
+
+        // when
+        Map<Type, List<Map<String, AttributeValue>>> actual = sut.listByType(mockSubject);
+
+        // then
+        assertThat(actual.values()).allMatch(List::isEmpty);
+    }
+
+    @Test
+    void pagedRequestHasLimitWhenInvoked() {
+        // given
+        PageRequest pageRequest = PageRequest.fromQueryStringParameters(Map.of("limit", "5"));
+
+        // when
+        sut.list(mockSubject, Type.DEBT, pageRequest, allFields);
+
+        // then
+        verify(mockDynamoService).list(any(), any(), eq(5), isNull(), isNull(), isNull());
+    }
+
+    @Test
+    void pagedRequestHasExclusiveStartKeyWhenCursorProvided() {
+        // given
+        PageRequest pageRequest =
+                PageRequest.fromQueryStringParameters(
+                        Map.of("cursor", PageRequest.encodeCursor("DEBT#Car")));
+        Map<String, AttributeValue> expected =
+                Map.of(
+                        "PK",
+                        AttributeValue.builder().s("USER#" + mockSubject.getSubject()).build(),
+                        "SK",
+                        AttributeValue.builder().s("DEBT#Car").build());
+
+        // when
+        sut.list(mockSubject, Type.DEBT, pageRequest, allFields);
+
+        // then
+        ArgumentCaptor<Map<String, AttributeValue>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(mockDynamoService)
+                .list(any(), any(), isNull(), captor.capture(), isNull(), isNull());
+        Map<String, AttributeValue> actual = captor.getValue();
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void pagedRequestHasProjectionWhenFieldsRequested() {
+        // given
+        PageRequest pageRequest = PageRequest.fromQueryStringParameters(Map.of("limit", "5"));
+        FieldsRequest fieldsRequest =
+                FieldsRequest.fromQueryStringParameters(
+                        Map.of("fields", "monthlyAmount"), Type.DEBT);
+
+        // when
+        sut.list(mockSubject, Type.DEBT, pageRequest, fieldsRequest);
+
+        // then
+        verify(mockDynamoService)
+                .list(
+                        any(),
+                        any(),
+                        eq(5),
+                        isNull(),
+                        eq("#MonthlyAmount, #SK"),
+                        eq(Map.of("#MonthlyAmount", "MonthlyAmount", "#SK", "SK")));
+    }
+
+    @Test
+    void requestHasProjectionWhenFieldsRequested() {
+        // given
+        FieldsRequest fieldsRequest =
+                FieldsRequest.fromQueryStringParameters(Map.of("fields", "endDate"), Type.SAVING);
+
+        // when
+        sut.list(mockSubject, Type.SAVING, fieldsRequest);
+
+        // then
+        verify(mockDynamoService)
+                .listAll(
+                        eq("PK = :user AND begins_with ( SK, :type )"),
+                        any(),
+                        eq("#EndDate, #SK"),
+                        eq(Map.of("#EndDate", "EndDate", "#SK", "SK")),
+                        eq(true));
+    }
+
+    @Test
+    void throwsExceptionWhenCursorForOtherType() {
+        // given
+        PageRequest pageRequest =
+                PageRequest.fromQueryStringParameters(
+                        Map.of("cursor", PageRequest.encodeCursor("SAVING#House")));
+
+        try {
+            // when
+            sut.list(mockSubject, Type.DEBT, pageRequest, allFields);
+            shouldHaveThrown(BadRequestException.class);
+
+        } catch (BadRequestException actual) {
+            // then
+            assertThat(actual).hasMessage("cursor is not valid");
+        }
+    }
+
+    @Test
+    void pagedRequestReturnsResponseFromServiceWhenInvoked() {
+        // given
+        PageRequest pageRequest = PageRequest.fromQueryStringParameters(Map.of("limit", "5"));
         QueryResponse expected = QueryResponse.builder().build();
-        when(mockDynamoService.list(any(), any())).thenReturn(expected);
+        when(mockDynamoService.list(any(), any(), any(), any(), any(), any())).thenReturn(expected);
 
         // when
-        QueryResponse actual = sut.list(mockSubject, type);
+        QueryResponse actual = sut.list(mockSubject, Type.SAVING, pageRequest, allFields);
 
         // then
         assertThat(actual).isEqualTo(expected);
     }
+
+    @Test
+    void versionReadForSubjectPartitionWhenInvoked() {
+        // given
+        when(mockDynamoService.version(
+                        AttributeValue.builder().s("USER#" + mockSubject.getSubject()).build()))
+                .thenReturn(7L);
+
+        // when
+        long actual = sut.version(mockSubject);
+
+        // then
+        assertThat(actual).isEqualTo(7);
+    }
+
+    @Test
+    void cursorIsNullWhenNoLastEvaluatedKey() {
+        // given
+        QueryResponse response = QueryResponse.builder().build();
+
+        // when
+        String actual = sut.toCursor(response);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void cursorEncodesSortKeyWhenLastEvaluatedKeyPresent() {
+        // given
+        QueryResponse response =
+                QueryResponse.builder()
+                        .lastEvaluatedKey(
+                                Map.of(
+                                        "PK", AttributeValue.builder().s("USER#abc").build(),
+                                        "SK", AttributeValue.builder().s("SAVING#Pot").build()))
+                        .build();
+
+        // when
+        String actual = sut.toCursor(response);
+
+        // then
+        assertThat(PageRequest.fromQueryStringParameters(Map.of("cursor", actual)).getStartKey())
+                .isEqualTo("SAVING#Pot");
+    }
+
+    @SafeVarargs
+    private static SdkIterable<Map<String, AttributeValue>> items(
+            Map<String, AttributeValue>... items) {
+        return () -> List.of(items).iterator();
+    }
+
+    private static Map<String, AttributeValue> item(String sortKey) {
+        return Map.of("SK", AttributeValue.builder().s(sortKey).build());
+    }
 }
@@ -0,0 +1,150 @@
+package service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import exception.NotFoundException;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.UpdateExpression;
+
+class PatchItemServiceTest {
+
+    PatchItemService sut;
+    DynamoService mockDynamoService;
+    Map<String, AttributeValue> key;
+    UpdateExpression update;
+
+    @BeforeEach
+    void beforeEach() {
+        mockDynamoService = mock(DynamoService.class);
+        sut = new PatchItemService(mockDynamoService);
+
+        key =
+                Map.of(
+                        "PK", builder().s("USER#74sr7f7-j234fd-4385ds").build(),
+                        "SK", builder().s("DEBT#car loan").build());
+        update = new UpdateExpression().set("MonthlyAmount", builder().s("20.00").build());
+    }
+
+    @Test
+    void readReturnsItemReadConsistentlyWhenFound() {
+        // given
+        Map<String, AttributeValue> expected = Map.of("SK", key.get("SK"));
+        when(mockDynamoService.get(key, true)).thenReturn(expected);
+
+        // when
+        Map<String, AttributeValue> actual = sut.read(key);
+
+        // then
+        assertThat(actual).isSameAs(expected);
+    }
+
+    @Test
+    void readThrowsNotFoundWhenItemMissing() {
+        // given
+        when(mockDynamoService.get(key, true)).thenReturn(null);
+
+        try {
+            // when
+            sut.read(key);
+            shouldHaveThrown(NotFoundException.class);
+
+        } catch (NotFoundException actual) {
+            // then
+            assertThat(actual).hasMessage("debt car loan not found");
+        }
+    }
+
+    @Test
+    void patchWritesChangesAndBumpsVersionWhenInvoked() {
+        // given
+
+        // when
+        long actual = sut.patch(key, update, 3);
+
+        // then
+        ArgumentCaptor<String> expression = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Map> names = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map> values = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<String> condition = ArgumentCaptor.forClass(String.class);
+        verify(mockDynamoService)
+                .update(
+                        eq(key),
+                        expression.capture(),
+                        names.capture(),
+                        values.capture(),
+                        condition.capture());
+
+        assertThat(actual).isEqualTo(4);
+        assertThat(expression.getValue())
+                .isEqualTo("SET #MonthlyAmount = :MonthlyAmount ADD #Version :Version");
+        assertThat(names.getValue())
+                .isEqualTo(Map.of("#MonthlyAmount", "MonthlyAmount", "#Version", "Version"));
+        assertThat(values.getValue())
+                .isEqualTo(
+                        Map.of(
+                                ":MonthlyAmount", builder().s("20.00").build(),
+                                ":Version", builder().n("1").build(),
+                                ":expectedVersion", builder().n("3").build()));
+        assertThat(condition.getValue()).isEqualTo("#Version = :expectedVersion");
+    }
+
+    @Test
+    void patchRequiresMissingVersionWhenItemPredatesVersions() {
+        // given
+
+        // when
+        long actual = sut.patch(key, update, 0);
+
+        // then
+        ArgumentCaptor<Map> values = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<String> condition = ArgumentCaptor.forClass(String.class);
+        verify(mockDynamoService)
+                .update(eq(key), anyString(), anyMap(), values.capture(), condition.capture());
+
+        assertThat(actual).isEqualTo(1);
+        assertThat(values.getValue()).doesNotContainKey(":expectedVersion");
+        assertThat(condition.getValue())
+                .isEqualTo("attribute_exists(PK) AND attribute_not_exists(#Version)");
+    }
+
+    @Test
+    void patchAndGetWritesChangesAtVersionAndReturnsItemWhenInvoked() {
+        // given
+        Map<String, AttributeValue> expected = Map.of("SK", key.get("SK"));
+        when(mockDynamoService.updateAndGet(eq(key), anyString(), anyMap(), anyMap(), anyString()))
+                .thenReturn(expected);
+
+        // when
+        Map<String, AttributeValue> actual = sut.patchAndGet(key, update, 3);
+
+        // then
+        ArgumentCaptor<String> expression = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Map> values = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<String> condition = ArgumentCaptor.forClass(String.class);
+        verify(mockDynamoService)
+                .updateAndGet(
+                        eq(key),
+                        expression.capture(),
+                        anyMap(),
+                        values.capture(),
+                        condition.capture());
+
+        assertThat(actual).isSameAs(expected);
+        assertThat(expression.getValue())
+                .isEqualTo("SET #MonthlyAmount = :MonthlyAmount ADD #Version :Version");
+        assertThat(values.getValue()).containsEntry(":expectedVersion", builder().n("3").build());
+        assertThat(condition.getValue()).isEqualTo("#Version = :expectedVersion");
+    }
+}
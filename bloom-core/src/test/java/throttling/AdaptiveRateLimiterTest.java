@@ -0,0 +1,122 @@
+package throttling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    long now;
+
+    AdaptiveRateLimiter sut;
+
+    @BeforeEach
+    void beforeEach() {
+        now = 0;
+        sut = new AdaptiveRateLimiter(true, () -> now);
+    }
+
+    @Test
+    void passesRequestsThroughWhenNeverThrottled() {
+        // given
+        sendAtRate(100, SECOND);
+
+        // when
+        long actual = sut.reserve();
+
+        // then
+        assertThat(actual).isZero();
+        assertThat(sut.isLimiting()).isFalse();
+    }
+
+    @Test
+    void cutsRateBelowSendRateWhenThrottled() {
+        // given
+        sendAtRate(100, SECOND);
+
+        // when
+        sut.throttled();
+
+        // then
+        assertThat(sut.isLimiting()).isTrue();
+        assertThat(sut.getRate()).isCloseTo(100 * AdaptiveRateLimiter.BACKOFF, within(5.0));
+    }
+
+    @Test
+    void spacesRequestsWhenLimiting() {
+        // given
+        sendAtRate(100, SECOND);
+        sut.throttled();
+
+        // when
+        long first = sut.reserve();
+        long second = sut.reserve();
+        long third = sut.reserve();
+
+        // then
+        assertThat(first).isZero();
+        assertThat(third - second).isEqualTo(second - first).isPositive();
+        assertThat((double) second).isCloseTo(SECOND / sut.getRate(), within(0.05 * SECOND / 70));
+    }
+
+    @Test
+    void ignoresThrottlesOfRequestsAlreadyInFlight() {
+        // given
+        sendAtRate(100, SECOND);
+        sut.throttled();
+        double expected = sut.getRate();
+
+        // when
+        now += MILLISECOND;
+        sut.throttled();
+
+        // then
+        assertThat(sut.getRate()).isCloseTo(expected, within(1.0));
+    }
+
+    @Test
+    void stopsLimitingWhenRateRecovered() {
+        // given
+        sendAtRate(100, SECOND);
+        sut.throttled();
+
+        // when
+        now +=
+                (long)
+                        ((AdaptiveRateLimiter.CEILING - AdaptiveRateLimiter.BACKOFF)
+                                / AdaptiveRateLimiter.RECOVERY_PER_SECOND
+                                * SECOND);
+        long actual = sut.reserve();
+
+        // then
+        assertThat(actual).isZero();
+        assertThat(sut.isLimiting()).isFalse();
+    }
+
+    @Test
+    void neverLimitsWhenDisabled() {
+        // given
+        AdaptiveRateLimiter sut = AdaptiveRateLimiter.DISABLED;
+
+        // when
+        sut.throttled();
+
+        // then
+        assertThat(sut.isLimiting()).isFalse();
+        assertThat(sut.reserve()).isZero();
+    }
+
+    void sendAtRate(int perSecond, long duration) {
+        long interval = SECOND / perSecond;
+        for (long sent = 0; sent < duration; sent += interval) {
+            sut.reserve();
+            now += interval;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package throttling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+class OperationRetryBudgetsTest {
+
+    @Test
+    void stopsRetryingOperationWhenItsBudgetSpent() {
+        // given
+        OperationRetryBudgets sut = new OperationRetryBudgets(2 * OperationRetryBudgets.RETRY_COST);
+        sut.shouldRetry(throttled("TransactWriteItems"));
+        sut.shouldRetry(throttled("TransactWriteItems"));
+
+        // when
+        boolean actual = sut.shouldRetry(throttled("TransactWriteItems"));
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(sut.getTokensAvailable("TransactWriteItems")).isZero();
+    }
+
+    @Test
+    void keepsRetryingOtherOperationsWhenOneBudgetSpent() {
+        // given
+        OperationRetryBudgets sut = new OperationRetryBudgets(OperationRetryBudgets.RETRY_COST);
+        sut.shouldRetry(throttled("TransactWriteItems"));
+
+        // when
+        boolean actual = sut.shouldRetry(throttled("Query"));
+
+        // then
+        assertThat(actual).isTrue();
+        assertThat(sut.getTokensAvailable("GetItem")).isEqualTo(OperationRetryBudgets.RETRY_COST);
+    }
+
+    @Test
+    void throwsExceptionWhenTokensNegative() {
+        try {
+            // when
+            new OperationRetryBudgets(-1);
+            shouldHaveThrown(IllegalArgumentException.class);
+
+            // then
+        } catch (IllegalArgumentException actual) {
+            assertThat(actual).hasMessage("tokens cannot be negative");
+        }
+    }
+
+    static RetryPolicyContext throttled(String operation) {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operation);
+        return RetryPolicyContext.builder()
+                .executionAttributes(attributes)
+                .exception(ProvisionedThroughputExceededException.builder().statusCode(400).build())
+                .build();
+    }
+}
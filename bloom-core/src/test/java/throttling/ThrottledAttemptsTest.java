@@ -0,0 +1,85 @@
+package throttling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+
+class ThrottledAttemptsTest {
+
+    ThrottledAttempts sut;
+
+    AdaptiveRateLimiter limiter;
+    RetryCondition mockCondition;
+
+    @BeforeEach
+    void beforeEach() {
+        limiter = new AdaptiveRateLimiter();
+        mockCondition = mock(RetryCondition.class);
+        sut = new ThrottledAttempts(limiter, mockCondition);
+    }
+
+    @Test
+    void slowsDownWhenAttemptThrottledEvenIfRetried() {
+        // given
+        RetryPolicyContext context = throttled();
+        when(mockCondition.shouldRetry(context)).thenReturn(true);
+
+        // when
+        boolean actual = sut.shouldRetry(context);
+
+        // then
+        assertThat(actual).isTrue();
+        assertThat(limiter.isLimiting()).isTrue();
+    }
+
+    @Test
+    void keepsRateWhenAttemptFailsForOtherReasons() {
+        // given
+        RetryPolicyContext context =
+                RetryPolicyContext.builder().exception(SdkClientException.create("reset")).build();
+        when(mockCondition.shouldRetry(context)).thenReturn(false);
+
+        // when
+        boolean actual = sut.shouldRetry(context);
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(limiter.isLimiting()).isFalse();
+    }
+
+    @Test
+    void passesOutcomesOnToWrappedCondition() {
+        // given
+        RetryPolicyContext context = throttled();
+
+        // when
+        sut.requestWillNotBeRetried(context);
+        sut.requestSucceeded(context);
+
+        // then
+        verify(mockCondition).requestWillNotBeRetried(context);
+        verify(mockCondition).requestSucceeded(context);
+    }
+
+    private static RetryPolicyContext throttled() {
+        return RetryPolicyContext.builder()
+                .exception(
+                        ProvisionedThroughputExceededException.builder()
+                                .statusCode(400)
+                                .awsErrorDetails(
+                                        AwsErrorDetails.builder()
+                                                .errorCode("ProvisionedThroughputExceededException")
+                                                .build())
+                                .build())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package transform;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
 
 import java.util.List;
@@ -11,6 +12,7 @@ import model.Date;
 import model.Rate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 class AdjustmentsTransformerTest {
@@ -134,4 +136,85 @@ class AdjustmentsTransformerTest {
         // then
         assertThat(actual).usingRecursiveComparison().isEqualTo(List.of(adjustment1, adjustment2));
     }
+
+    @Test
+    void returnsPackedAttributeWhenPacking() {
+        // given
+        sut = new AdjustmentsTransformer(true);
+        List<Adjustment> adjustments =
+                List.of(new Adjustment(new Amount("12.66"), new Date("2015-11"), new Rate("1.25")));
+
+        // when
+        AttributeValue actual = sut.toAdjustmentsAttribute(adjustments);
+
+        // then
+        assertThat(actual.hasL()).isFalse();
+        assertThat(actual.b().asByteArray())
+                .containsExactly(0x01, 0x01, 0xA6, 0x04, 0x04, 0xE4, 0x13, 0x04, 0xFA, 0x01);
+    }
+
+    @Test
+    void returnsSameListWhenPackedAttributeProvided() {
+        // given
+        sut = new AdjustmentsTransformer(true);
+        List<Adjustment> adjustments =
+                List.of(
+                        new Adjustment(new Amount("12.6"), new Date("1970-01"), new Rate("-1")),
+                        new Adjustment(new Amount("0.00"), new Date("2050-12"), new Rate("1.255")));
+
+        // when
+        List<Adjustment> actual = sut.toAdjustmentsList(sut.toAdjustmentsAttribute(adjustments));
+
+        // then
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().isEqualTo(adjustments);
+        assertThat(actual.get(0).getAmount().toString()).isEqualTo("12.6");
+        assertThat(actual.get(1).getRate().toString()).isEqualTo("1.255");
+    }
+
+    @Test
+    void keepsMappedLayoutWhenValueHasNoPackedForm() {
+        // given
+        sut = new AdjustmentsTransformer(true);
+        List<Adjustment> adjustments =
+                List.of(
+                        new Adjustment(
+                                new Amount("123456789012345678901234567890"),
+                                new Date("2015-11"),
+                                new Rate("1.25")));
+
+        // when
+        AttributeValue actual = sut.toAdjustmentsAttribute(adjustments);
+
+        // then
+        assertThat(actual.l()).hasSize(1);
+    }
+
+    @Test
+    void throwsExceptionWhenPackedFormatUnknown() {
+        // given
+        AttributeValue attribute = builder().b(SdkBytes.fromByteArray(new byte[] {2, 0})).build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.toAdjustmentsList(attribute));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("packed adjustments format 2 is unknown");
+    }
+
+    @Test
+    void appendableOnlyWhenStoredAsListAndNotPacking() {
+        // given
+        AttributeValue list = builder().l(List.of()).build();
+        AttributeValue packed = builder().b(SdkBytes.fromByteArray(new byte[] {1, 0})).build();
+
+        // when
+
+        // then
+        assertThat(sut.isAppendable(list)).isTrue();
+        assertThat(sut.isAppendable(packed)).isFalse();
+        assertThat(sut.isAppendable(null)).isFalse();
+        assertThat(new AdjustmentsTransformer(true).isAppendable(list)).isFalse();
+    }
 }
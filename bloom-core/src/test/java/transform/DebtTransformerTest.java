@@ -0,0 +1,334 @@
+package transform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.List;
+import java.util.Map;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.Subject;
+import model.request.DebtPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class DebtTransformerTest {
+
+    AdjustmentsTransformer adjustmentsTransformer;
+    OneTimePaymentsTransformer oneTimePaymentsTransformer;
+    DebtTransformer sut;
+
+    Subject mockSubject;
+    Debt.Builder builder;
+    Name name;
+    Amount startAmount;
+    Amount monthlyAmount;
+    Date startDate;
+    Rate yearlyRate;
+
+    @BeforeEach
+    void beforeEach() {
+        adjustmentsTransformer = mock(AdjustmentsTransformer.class);
+        oneTimePaymentsTransformer = mock(OneTimePaymentsTransformer.class);
+        sut = new DebtTransformer(adjustmentsTransformer, oneTimePaymentsTransformer);
+
+        mockSubject = mock(Subject.class);
+
+        name = new Name("new debt");
+        startAmount = new Amount("206.78");
+        monthlyAmount = new Amount("15.00");
+        startDate = new Date("2012-03");
+        yearlyRate = new Rate("2");
+
+        builder =
+                Debt.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withYearlyRate(yearlyRate);
+
+        when(mockSubject.getSubject()).thenReturn("74sr7f7-j234fd-4385ds");
+    }
+
+    @Test
+    void itemContainsRequiredAttributesWhenInvoked() {
+        // given
+        when(adjustmentsTransformer.toAdjustmentsAttribute(any()))
+                .thenReturn(builder().l(List.of()).build());
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(any()))
+                .thenReturn(builder().l(List.of()).build());
+        Debt debt = builder.build();
+
+        // when
+        Map<String, AttributeValue> actual = sut.toAttributeMap(debt, mockSubject);
+
+        // then
+        assertThat(actual.get("PK").s()).isEqualTo("USER#" + mockSubject.getSubject());
+        assertThat(actual.get("SK").s()).isEqualTo("DEBT#" + name.getName());
+        assertThat(actual.get("StartAmount").s()).isEqualTo(startAmount.toString());
+        assertThat(actual.get("MonthlyAmount").s()).isEqualTo(monthlyAmount.toString());
+        assertThat(actual.get("StartDate").s()).isEqualTo(startDate.toString());
+        assertThat(actual.get("YearlyRate").s()).isEqualTo(yearlyRate.toString());
+        assertThat(actual.get("Adjustments").l()).isEmpty();
+        assertThat(actual.get("OneTimePayments").l()).isEmpty();
+        assertThat(actual.get("Version").n()).isEqualTo("1");
+    }
+
+    @Test
+    void delegatesItemAdjustmentMappingToTransformer() {
+        // given
+        Adjustment adjustment =
+                new Adjustment(new Amount("12.66"), new Date("2015-11"), new Rate("1.25"));
+        List<Adjustment> adjustments = List.of(adjustment);
+
+        AttributeValue expected = builder().build();
+        when(adjustmentsTransformer.toAdjustmentsAttribute(adjustments))
+                .thenReturn(builder().l(expected).build());
+
+        Debt debt = builder.withAdjustments(adjustments).build();
+
+        // when
+        Map<String, AttributeValue> actual = sut.toAttributeMap(debt, mockSubject);
+
+        // then
+        verify(adjustmentsTransformer).toAdjustmentsAttribute(adjustments);
+        assertThat(actual.get("Adjustments").l()).containsOnly(expected);
+    }
+
+    @Test
+    void delegatesItemOneTimePaymentMappingToTransformer() {
+        // given
+        OneTimePayment oneTimePayment =
+                new OneTimePayment(new Amount("12.66"), new Date("2015-11"));
+        List<OneTimePayment> oneTimePayments = List.of(oneTimePayment);
+
+        AttributeValue expected = builder().build();
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(oneTimePayments))
+                .thenReturn(builder().l(expected).build());
+
+        Debt debt = builder.withOneTimePayments(oneTimePayments).build();
+
+        // when
+        Map<String, AttributeValue> actual = sut.toAttributeMap(debt, mockSubject);
+
+        // then
+        verify(oneTimePaymentsTransformer).toOneTimePaymentsAttribute(oneTimePayments);
+        assertThat(actual.get("OneTimePayments").l()).containsOnly(expected);
+    }
+
+    @Test
+    void updateValuesContainRequiredAttributesWhenInvoked() {
+        // given
+        when(adjustmentsTransformer.toAdjustmentsAttribute(any()))
+                .thenReturn(builder().l(List.of()).build());
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(any()))
+                .thenReturn(builder().l(List.of()).build());
+        Debt debt = builder.build();
+
+        // when
+        Map<String, AttributeValue> actual = sut.toAttributeMap(debt);
+
+        // then
+        assertThat(actual.get(":startAmount").s()).isEqualTo(startAmount.toString());
+        assertThat(actual.get(":monthlyAmount").s()).isEqualTo(monthlyAmount.toString());
+        assertThat(actual.get(":startDate").s()).isEqualTo(startDate.toString());
+        assertThat(actual.get(":yearlyRate").s()).isEqualTo(yearlyRate.toString());
+        assertThat(actual.get(":adjustments").l()).isEmpty();
+        assertThat(actual.get(":oneTimePayments").l()).isEmpty();
+    }
+
+    @Test
+    void delegatesUpdateAdjustmentMappingToTransformer() {
+        // given
+        Adjustment adjustment =
+                new Adjustment(new Amount("12.66"), new Date("2015-11"), new Rate("1.25"));
+        List<Adjustment> adjustments = List.of(adjustment);
+
+        AttributeValue expected = builder().build();
+        when(adjustmentsTransformer.toAdjustmentsAttribute(adjustments))
+                .thenReturn(builder().l(expected).build());
+
+        Debt debt = builder.withAdjustments(adjustments).build();
+
+        // when
+        Map<String, AttributeValue> actual = sut.toAttributeMap(debt);
+
+        // then
+        verify(adjustmentsTransformer).toAdjustmentsAttribute(adjustments);
+        assertThat(actual.get(":adjustments").l()).containsOnly(expected);
+    }
+
+    @Test
+    void delegatesUpdateOneTimePaymentMappingToTransformer() {
+        // given
+        OneTimePayment oneTimePayment =
+                new OneTimePayment(new Amount("12.66"), new Date("2015-11"));
+        List<OneTimePayment> oneTimePayments = List.of(oneTimePayment);
+
+        AttributeValue expected = builder().build();
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(oneTimePayments))
+                .thenReturn(builder().l(expected).build());
+
+        Debt debt = builder.withOneTimePayments(oneTimePayments).build();
+
+        // when
+        Map<String, AttributeValue> actual = sut.toAttributeMap(debt);
+
+        // then
+        verify(oneTimePaymentsTransformer).toOneTimePaymentsAttribute(oneTimePayments);
+        assertThat(actual.get(":oneTimePayments").l()).containsOnly(expected);
+    }
+
+    @Test
+    void keyMapConstructsCorrectlyWhenInvoked() {
+        // given
+
+        // when
+        Map<String, AttributeValue> actual = sut.toKey(name, mockSubject);
+
+        // then
+        assertThat(actual.get("PK").s()).isEqualTo("USER#" + mockSubject.getSubject());
+        assertThat(actual.get("SK").s()).isEqualTo("DEBT#" + name.getName());
+    }
+
+    @Test
+    void patchUpdateSetsOnlyPresentAttributesWhenInvoked() {
+        // given
+        DebtPatch patch = DebtPatch.newBuilder().withMonthlyAmount(new Amount("20.00")).build();
+
+        // when
+        UpdateExpression actual = sut.toUpdateExpression(patch, Map.of());
+
+        // then
+        assertThat(actual.getUpdateExpression()).isEqualTo("SET #MonthlyAmount = :MonthlyAmount");
+        assertThat(actual.getExpressionAttributeValues().get(":MonthlyAmount").s())
+                .isEqualTo("20.00");
+        verify(adjustmentsTransformer, never()).toAdjustmentsAttribute(any());
+        verify(oneTimePaymentsTransformer, never()).toOneTimePaymentsAttribute(any());
+    }
+
+    @Test
+    void patchUpdateAppendsNewEntriesWhenInvoked() {
+        // given
+        List<Adjustment> adjustments =
+                List.of(new Adjustment(new Amount("1"), new Date("2020-01"), new Rate("2")));
+        List<OneTimePayment> oneTimePayments =
+                List.of(new OneTimePayment(new Amount("5"), new Date("2020-02")));
+        AttributeValue adjustmentsAttribute = builder().l(List.of()).build();
+        AttributeValue oneTimePaymentsAttribute = builder().l(List.of()).build();
+        when(adjustmentsTransformer.toAdjustmentsAttribute(adjustments))
+                .thenReturn(adjustmentsAttribute);
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(oneTimePayments))
+                .thenReturn(oneTimePaymentsAttribute);
+        AttributeValue storedAdjustments = builder().l(List.of()).build();
+        AttributeValue storedPayments = builder().l(List.of()).build();
+        Map<String, AttributeValue> item =
+                Map.of("Adjustments", storedAdjustments, "OneTimePayments", storedPayments);
+        when(adjustmentsTransformer.isAppendable(storedAdjustments)).thenReturn(true);
+        when(oneTimePaymentsTransformer.isAppendable(storedPayments)).thenReturn(true);
+        DebtPatch patch =
+                DebtPatch.newBuilder()
+                        .withAppendAdjustments(adjustments)
+                        .withAppendOneTimePayments(oneTimePayments)
+                        .build();
+
+        // when
+        UpdateExpression actual = sut.toUpdateExpression(patch, item);
+
+        // then
+        assertThat(actual.getUpdateExpression())
+                .isEqualTo(
+                        "SET #Adjustments = list_append(#Adjustments, :Adjustments), "
+                                + "#OneTimePayments = list_append(#OneTimePayments, :OneTimePayments)");
+        assertThat(actual.getExpressionAttributeValues())
+                .containsEntry(":Adjustments", adjustmentsAttribute)
+                .containsEntry(":OneTimePayments", oneTimePaymentsAttribute);
+    }
+
+    @Test
+    void patchUpdateReplacesListsWhenInvoked() {
+        // given
+        AttributeValue adjustmentsAttribute = builder().l(List.of()).build();
+        AttributeValue oneTimePaymentsAttribute = builder().l(List.of()).build();
+        when(adjustmentsTransformer.toAdjustmentsAttribute(List.of()))
+                .thenReturn(adjustmentsAttribute);
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(List.of()))
+                .thenReturn(oneTimePaymentsAttribute);
+        DebtPatch patch =
+                DebtPatch.newBuilder()
+                        .withAdjustments(List.of())
+                        .withOneTimePayments(List.of())
+                        .build();
+
+        // when
+        UpdateExpression actual = sut.toUpdateExpression(patch, Map.of());
+
+        // then
+        assertThat(actual.getUpdateExpression())
+                .isEqualTo("SET #Adjustments = :Adjustments, #OneTimePayments = :OneTimePayments");
+        assertThat(actual.getExpressionAttributeValues())
+                .containsEntry(":Adjustments", adjustmentsAttribute)
+                .containsEntry(":OneTimePayments", oneTimePaymentsAttribute);
+    }
+
+    @Test
+    void patchUpdateRewritesListsWhenStoredListsNotAppendable() {
+        // given
+        Adjustment storedAdjustment =
+                new Adjustment(new Amount("1"), new Date("2020-01"), new Rate("2"));
+        Adjustment newAdjustment =
+                new Adjustment(new Amount("3"), new Date("2021-01"), new Rate("4"));
+        OneTimePayment storedPayment = new OneTimePayment(new Amount("5"), new Date("2020-02"));
+        OneTimePayment newPayment = new OneTimePayment(new Amount("6"), new Date("2021-02"));
+        AttributeValue storedAdjustments = builder().b(SdkBytes.fromUtf8String("a")).build();
+        AttributeValue storedPayments = builder().b(SdkBytes.fromUtf8String("o")).build();
+        AttributeValue adjustmentsAttribute = builder().b(SdkBytes.fromUtf8String("aa")).build();
+        AttributeValue oneTimePaymentsAttribute =
+                builder().b(SdkBytes.fromUtf8String("oo")).build();
+        when(adjustmentsTransformer.toAdjustmentsList(storedAdjustments))
+                .thenReturn(List.of(storedAdjustment));
+        when(oneTimePaymentsTransformer.toOneTimePaymentsList(storedPayments))
+                .thenReturn(List.of(storedPayment));
+        when(adjustmentsTransformer.toAdjustmentsAttribute(
+                        List.of(storedAdjustment, newAdjustment)))
+                .thenReturn(adjustmentsAttribute);
+        when(oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                        List.of(storedPayment, newPayment)))
+                .thenReturn(oneTimePaymentsAttribute);
+        DebtPatch patch =
+                DebtPatch.newBuilder()
+                        .withAppendAdjustments(List.of(newAdjustment))
+                        .withAppendOneTimePayments(List.of(newPayment))
+                        .build();
+
+        // when
+        UpdateExpression actual =
+                sut.toUpdateExpression(
+                        patch,
+                        Map.of(
+                                "Adjustments",
+                                storedAdjustments,
+                                "OneTimePayments",
+                                storedPayments));
+
+        // then
+        assertThat(actual.getUpdateExpression())
+                .isEqualTo("SET #Adjustments = :Adjustments, #OneTimePayments = :OneTimePayments");
+        assertThat(actual.getExpressionAttributeValues())
+                .containsEntry(":Adjustments", adjustmentsAttribute)
+                .containsEntry(":OneTimePayments", oneTimePaymentsAttribute);
+    }
+}
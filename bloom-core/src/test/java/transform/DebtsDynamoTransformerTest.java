@@ -2,6 +2,8 @@ package transform;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import model.Adjustment;
@@ -86,6 +88,7 @@ class DebtsDynamoTransformerTest {
                         .withMonthlyAmount(monthlyAmount)
                         .withStartDate(startDate)
                         .withYearlyRate(yearlyRate)
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -95,6 +98,28 @@ class DebtsDynamoTransformerTest {
         assertThat(actual).usingRecursiveComparison().isEqualTo(List.of(expected));
     }
 
+    @Test
+    void listContainsProvidedDebtWhenInvokedWithItems() {
+        // given
+        Map<String, AttributeValue> debt = basicDebt();
+
+        Debt expected =
+                Debt.newBuilder()
+                        .withName(name)
+                        .withStartAmount(startAmount)
+                        .withMonthlyAmount(monthlyAmount)
+                        .withStartDate(startDate)
+                        .withYearlyRate(yearlyRate)
+                        .withVersion(0L)
+                        .build();
+
+        // when
+        List<Debt> actual = sut.toDebtsList(List.of(debt));
+
+        // then
+        assertThat(actual).usingRecursiveComparison().isEqualTo(List.of(expected));
+    }
+
     @Test
     void listContainsMultipleDebtsWhenInvoked() {
         // given
@@ -108,6 +133,7 @@ class DebtsDynamoTransformerTest {
                         .withMonthlyAmount(monthlyAmount)
                         .withStartDate(startDate)
                         .withYearlyRate(yearlyRate)
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -132,6 +158,7 @@ class DebtsDynamoTransformerTest {
                         .withStartDate(startDate)
                         .withYearlyRate(yearlyRate)
                         .withAdjustments(adjustments)
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -156,6 +183,7 @@ class DebtsDynamoTransformerTest {
                         .withStartDate(startDate)
                         .withYearlyRate(yearlyRate)
                         .withOneTimePayments(oneTimePayments)
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -259,4 +287,87 @@ class DebtsDynamoTransformerTest {
                                         .build()))
                 .build();
     }
+
+    @Test
+    void readsVersionWhenItemHasOne() {
+        // given
+        Map<String, AttributeValue> item = new HashMap<>(basicDebt());
+        item.put("Version", AttributeValue.builder().n("5").build());
+
+        // when
+        Debt actual = sut.toDebt(item);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(5L);
+    }
+
+    @Test
+    void readsVersionZeroWhenItemPredatesVersions() {
+        // given
+
+        // when
+        Debt actual = sut.toDebt(basicDebt());
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void transformsItemsLazilyWhenIterated() {
+        // given
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+
+        // when
+        Iterable<Debt> actual = sut.toDebts(items);
+        items.add(basicDebt());
+
+        // then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.iterator().next().getName()).usingRecursiveComparison().isEqualTo(name);
+    }
+
+    @Test
+    void transformsOnlyHeldAttributesWhenPartial() {
+        // given
+        Map<String, AttributeValue> item =
+                Map.of(
+                        "SK", AttributeValue.builder().s("DEBT#" + name.getName()).build(),
+                        "MonthlyAmount",
+                                AttributeValue.builder().s(monthlyAmount.toString()).build(),
+                        "Version", AttributeValue.builder().n("2").build());
+
+        // when
+        Debt actual = sut.toPartialDebt(item);
+
+        // then
+        assertThat(actual.getName()).usingRecursiveComparison().isEqualTo(name);
+        assertThat(actual.getMonthlyAmount()).usingRecursiveComparison().isEqualTo(monthlyAmount);
+        assertThat(actual.getVersion()).isEqualTo(2L);
+        assertThat(actual.getStartAmount()).isNull();
+        assertThat(actual.getYearlyRate()).isNull();
+        assertThat(actual.getAdjustments()).isNull();
+        assertThat(actual.getOneTimePayments()).isNull();
+    }
+
+    @Test
+    void transformsHeldListsWhenPartial() {
+        // given
+        Map<String, AttributeValue> item =
+                Map.of(
+                        "SK", AttributeValue.builder().s("DEBT#" + name.getName()).build(),
+                        "OneTimePayments",
+                                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                                        List.of(oneTimePayment1)));
+
+        // when
+        List<Debt> actual =
+                sut.toPartialDebtsList(QueryResponse.builder().items(List.of(item)).build());
+
+        // then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getOneTimePayments())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(oneTimePayment1);
+        assertThat(actual.get(0).getAdjustments()).isNull();
+    }
 }
@@ -1,6 +1,7 @@
 package transform;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
 
 import java.util.List;
@@ -10,6 +11,7 @@ import model.Date;
 import model.OneTimePayment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 class OneTimePaymentsTransformerTest {
@@ -125,4 +127,66 @@ class OneTimePaymentsTransformerTest {
                 .usingRecursiveComparison()
                 .isEqualTo(List.of(oneTimePayment1, oneTimePayment2));
     }
+
+    @Test
+    void returnsPackedAttributeWhenPacking() {
+        // given
+        sut = new OneTimePaymentsTransformer(true);
+        List<OneTimePayment> oneTimePayments =
+                List.of(new OneTimePayment(new Amount("12.66"), new Date("2015-11")));
+
+        // when
+        AttributeValue actual = sut.toOneTimePaymentsAttribute(oneTimePayments);
+
+        // then
+        assertThat(actual.hasL()).isFalse();
+        assertThat(actual.b().asByteArray())
+                .containsExactly(0x01, 0x01, 0xA6, 0x04, 0x04, 0xE4, 0x13);
+    }
+
+    @Test
+    void returnsSameListWhenPackedAttributeProvided() {
+        // given
+        sut = new OneTimePaymentsTransformer(true);
+        List<OneTimePayment> oneTimePayments =
+                List.of(
+                        new OneTimePayment(new Amount("-5"), new Date("1970-01")),
+                        new OneTimePayment(new Amount("1000.50"), new Date("2050-12")));
+
+        // when
+        List<OneTimePayment> actual =
+                sut.toOneTimePaymentsList(sut.toOneTimePaymentsAttribute(oneTimePayments));
+
+        // then
+        assertThat(actual).usingRecursiveFieldByFieldElementComparator().isEqualTo(oneTimePayments);
+        assertThat(actual.get(1).getAmount().toString()).isEqualTo("1000.50");
+    }
+
+    @Test
+    void throwsExceptionWhenPackedAttributeTruncated() {
+        // given
+        AttributeValue attribute = builder().b(SdkBytes.fromByteArray(new byte[] {1, 1})).build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.toOneTimePaymentsList(attribute));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("packed value is truncated");
+    }
+
+    @Test
+    void appendableOnlyWhenStoredAsListAndNotPacking() {
+        // given
+        AttributeValue list = builder().l(List.of()).build();
+        AttributeValue packed = builder().b(SdkBytes.fromByteArray(new byte[] {1, 0})).build();
+
+        // when
+
+        // then
+        assertThat(sut.isAppendable(list)).isTrue();
+        assertThat(sut.isAppendable(packed)).isFalse();
+        assertThat(new OneTimePaymentsTransformer(true).isAppendable(list)).isFalse();
+    }
 }
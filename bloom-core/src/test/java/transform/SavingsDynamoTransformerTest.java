@@ -2,6 +2,8 @@ package transform;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import model.Adjustment;
@@ -186,6 +188,7 @@ class SavingsDynamoTransformerTest {
                         .withStartDate(startDate)
                         .withEndDate(endDate)
                         .withYearlyRate(yearlyRate)
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -195,6 +198,18 @@ class SavingsDynamoTransformerTest {
         assertThat(actual.get(0)).usingRecursiveComparison().isEqualTo(expectedSaving);
     }
 
+    @Test
+    void listContainsSavingWhenInvokedWithItems() {
+        // given
+
+        // when
+        List<Saving> actual = sut.toSavingsList(List.of(baseItem));
+
+        // then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getName()).usingRecursiveComparison().isEqualTo(name);
+    }
+
     @Test
     void listContainsComplexSavingWhenInvoked() {
         // given
@@ -210,6 +225,7 @@ class SavingsDynamoTransformerTest {
                         .withYearlyRate(yearlyRate)
                         .withAdjustments(List.of(adjustment1, adjustment2))
                         .withOneTimePayments(List.of(oneTimePayment1, oneTimePayment2))
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -232,6 +248,7 @@ class SavingsDynamoTransformerTest {
                         .withStartDate(startDate)
                         .withEndDate(endDate)
                         .withYearlyRate(yearlyRate)
+                        .withVersion(0L)
                         .build();
 
         Saving expectedComplexSaving =
@@ -244,6 +261,7 @@ class SavingsDynamoTransformerTest {
                         .withYearlyRate(yearlyRate)
                         .withAdjustments(List.of(adjustment1, adjustment2))
                         .withOneTimePayments(List.of(oneTimePayment1, oneTimePayment2))
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -266,6 +284,7 @@ class SavingsDynamoTransformerTest {
                         .withStartDate(startDate)
                         .withEndDate(endDate)
                         .withYearlyRate(yearlyRate)
+                        .withVersion(0L)
                         .build();
 
         // when
@@ -274,4 +293,87 @@ class SavingsDynamoTransformerTest {
         // then
         assertThat(actual).usingRecursiveComparison().isEqualTo(expectedSaving);
     }
+
+    @Test
+    void readsVersionWhenItemHasOne() {
+        // given
+        Map<String, AttributeValue> item = new HashMap<>(baseItem);
+        item.put("Version", AttributeValue.builder().n("5").build());
+
+        // when
+        Saving actual = sut.toSaving(item);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(5L);
+    }
+
+    @Test
+    void readsVersionZeroWhenItemPredatesVersions() {
+        // given
+
+        // when
+        Saving actual = sut.toSaving(baseItem);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void transformsItemsLazilyWhenIterated() {
+        // given
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+
+        // when
+        Iterable<Saving> actual = sut.toSavings(items);
+        items.add(baseItem);
+
+        // then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.iterator().next().getName()).usingRecursiveComparison().isEqualTo(name);
+    }
+
+    @Test
+    void transformsOnlyHeldAttributesWhenPartial() {
+        // given
+        Map<String, AttributeValue> item =
+                Map.of(
+                        "SK", AttributeValue.builder().s("SAVING#" + name.getName()).build(),
+                        "MonthlyAmount",
+                                AttributeValue.builder().s(monthlyAmount.toString()).build(),
+                        "Version", AttributeValue.builder().n("2").build());
+
+        // when
+        Saving actual = sut.toPartialSaving(item);
+
+        // then
+        assertThat(actual.getName()).usingRecursiveComparison().isEqualTo(name);
+        assertThat(actual.getMonthlyAmount()).usingRecursiveComparison().isEqualTo(monthlyAmount);
+        assertThat(actual.getVersion()).isEqualTo(2L);
+        assertThat(actual.getStartAmount()).isNull();
+        assertThat(actual.getYearlyRate()).isNull();
+        assertThat(actual.getAdjustments()).isNull();
+        assertThat(actual.getOneTimePayments()).isNull();
+    }
+
+    @Test
+    void transformsHeldListsWhenPartial() {
+        // given
+        Map<String, AttributeValue> item =
+                Map.of(
+                        "SK", AttributeValue.builder().s("SAVING#" + name.getName()).build(),
+                        "OneTimePayments",
+                                oneTimePaymentsTransformer.toOneTimePaymentsAttribute(
+                                        List.of(oneTimePayment1)));
+
+        // when
+        List<Saving> actual =
+                sut.toPartialSavingsList(QueryResponse.builder().items(List.of(item)).build());
+
+        // then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getOneTimePayments())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(oneTimePayment1);
+        assertThat(actual.get(0).getAdjustments()).isNull();
+    }
 }
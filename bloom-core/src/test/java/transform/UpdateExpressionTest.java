@@ -0,0 +1,99 @@
+package transform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class UpdateExpressionTest {
+
+    UpdateExpression sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new UpdateExpression();
+    }
+
+    @Test
+    void isEmptyWhenNothingAdded() {
+        // given
+
+        // when
+        boolean actual = sut.isEmpty();
+
+        // then
+        assertThat(actual).isTrue();
+        assertThat(sut.getUpdateExpression()).isEmpty();
+    }
+
+    @Test
+    void setReplacesAttributeWhenInvoked() {
+        // given
+        AttributeValue value = builder().s("10.00").build();
+
+        // when
+        sut.set("MonthlyAmount", value);
+
+        // then
+        assertThat(sut.isEmpty()).isFalse();
+        assertThat(sut.getUpdateExpression()).isEqualTo("SET #MonthlyAmount = :MonthlyAmount");
+        assertThat(sut.getExpressionAttributeNames())
+                .isEqualTo(Map.of("#MonthlyAmount", "MonthlyAmount"));
+        assertThat(sut.getExpressionAttributeValues()).isEqualTo(Map.of(":MonthlyAmount", value));
+    }
+
+    @Test
+    void appendJoinsListToAttributeWhenInvoked() {
+        // given
+        AttributeValue value = builder().l(List.of(builder().s("a").build())).build();
+
+        // when
+        sut.append("Adjustments", value);
+
+        // then
+        assertThat(sut.getUpdateExpression())
+                .isEqualTo("SET #Adjustments = list_append(#Adjustments, :Adjustments)");
+        assertThat(sut.getExpressionAttributeValues()).isEqualTo(Map.of(":Adjustments", value));
+    }
+
+    @Test
+    void combinesClausesInOrderWhenInvoked() {
+        // given
+        AttributeValue one = builder().n("1").build();
+        AttributeValue amount = builder().s("10.00").build();
+        AttributeValue list = builder().l(List.of()).build();
+
+        // when
+        sut.add("Version", one).set("StartAmount", amount).append("OneTimePayments", list);
+
+        // then
+        assertThat(sut.getUpdateExpression())
+                .isEqualTo(
+                        "SET #StartAmount = :StartAmount, "
+                                + "#OneTimePayments = list_append(#OneTimePayments, :OneTimePayments) "
+                                + "ADD #Version :Version");
+        assertThat(sut.getExpressionAttributeNames())
+                .containsOnlyKeys("#Version", "#StartAmount", "#OneTimePayments");
+    }
+
+    @Test
+    void throwsExceptionWhenAttributeUpdatedTwice() {
+        // given
+        sut.set("Adjustments", builder().l(List.of()).build());
+
+        try {
+            // when
+            sut.append("Adjustments", builder().l(List.of()).build());
+            shouldHaveThrown(IllegalArgumentException.class);
+
+        } catch (IllegalArgumentException actual) {
+            // then
+            assertThat(actual).hasMessage("Adjustments cannot be updated twice");
+        }
+    }
+}
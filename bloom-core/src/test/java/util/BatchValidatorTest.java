@@ -0,0 +1,91 @@
+package util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.shouldHaveThrown;
+
+import exception.BadRequestException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import model.Name;
+import org.junit.jupiter.api.Test;
+
+class BatchValidatorTest {
+
+    @Test
+    void acceptsBatchWithUniqueNames() {
+        // given
+        List<Name> items = List.of(new Name("one"), new Name("two"));
+
+        // when
+        BatchValidator.checkBatch(items, name -> name, "items");
+
+        // then
+        // no exception
+    }
+
+    @Test
+    void throwsExceptionWhenBatchEmpty() {
+        try {
+            // when
+            BatchValidator.checkBatch(List.<Name>of(), name -> name, "items");
+            shouldHaveThrown(BadRequestException.class);
+
+            // then
+        } catch (BadRequestException actual) {
+            assertThat(actual).hasMessage("items should contain between 1 and 100 items");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenBatchTooLarge() {
+        // given
+        List<Name> items = new ArrayList<>();
+        for (int i = 0; i <= BatchValidator.MAX_BATCH_SIZE; i++) {
+            items.add(new Name("name" + i));
+        }
+
+        try {
+            // when
+            BatchValidator.checkBatch(items, name -> name, "items");
+            shouldHaveThrown(BadRequestException.class);
+
+            // then
+        } catch (BadRequestException actual) {
+            assertThat(actual).hasMessage("items should contain between 1 and 100 items");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenBatchContainsNull() {
+        // given
+        List<Name> items = Arrays.asList(new Name("one"), null);
+
+        try {
+            // when
+            BatchValidator.checkBatch(items, name -> name, "items");
+            shouldHaveThrown(BadRequestException.class);
+
+            // then
+        } catch (BadRequestException actual) {
+            assertThat(actual).hasMessage("items cannot contain null items");
+        }
+    }
+
+    @Test
+    void throwsExceptionWhenNamesRepeated() {
+        // given
+        List<Name> items = Collections.nCopies(2, new Name("one"));
+
+        try {
+            // when
+            BatchValidator.checkBatch(items, name -> name, "items");
+            shouldHaveThrown(BadRequestException.class);
+
+            // then
+        } catch (BadRequestException actual) {
+            assertThat(actual).hasMessage("items should have unique names");
+        }
+    }
+}
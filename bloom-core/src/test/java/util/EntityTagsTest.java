@@ -0,0 +1,159 @@
+package util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import model.Subject;
+import model.Type;
+import org.junit.jupiter.api.Test;
+
+class EntityTagsTest {
+
+    static final String TAG = "\"sub-saving-3\"";
+
+    @Test
+    void derivesStrongTagFromSubjectTypeAndVersion() {
+        // given
+        Subject subject = new Subject("sub");
+
+        // when
+        String actual = EntityTags.strong(subject, Type.SAVING, 3);
+
+        // then
+        assertThat(actual).isEqualTo(TAG);
+    }
+
+    @Test
+    void derivesDistinctStrongTagForFields() {
+        // given
+        Subject subject = new Subject("sub");
+
+        // when
+        String actual =
+                EntityTags.strong(subject, Type.SAVING, 3, List.of("monthlyAmount", "name"));
+
+        // then
+        assertThat(actual).isEqualTo("\"sub-saving-3-monthlyAmount.name\"");
+    }
+
+    @Test
+    void matchesWhenHeaderListsTag() {
+        // given
+        Map<String, String> headers = Map.of("If-None-Match", "\"other\", " + TAG);
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void matchesHeaderNameCaseInsensitively() {
+        // given
+        Map<String, String> headers = Map.of("if-none-match", TAG);
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void matchesWeakFormOfTag() {
+        // given
+        Map<String, String> headers = Map.of("If-None-Match", "W/" + TAG);
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void matchesAnyTag() {
+        // given
+        Map<String, String> headers = Map.of("If-None-Match", "*");
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    void doesNotMatchOtherTag() {
+        // given
+        Map<String, String> headers = Map.of("If-None-Match", "\"sub-saving-2\"");
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void doesNotMatchWhenHeaderMissing() {
+        // given
+        Map<String, String> headers = Map.of("Accept", "application/json");
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void doesNotMatchWhenNoHeaders() {
+        // given
+
+        // when
+        boolean actual = EntityTags.matches(null, TAG);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void derivesEncodedTagFromTagAndCoding() {
+        // given
+
+        // when
+        String actual = EntityTags.encoded(TAG, "gzip");
+
+        // then
+        assertThat(actual).isEqualTo(TAG.substring(0, TAG.length() - 1) + "-gzip\"");
+    }
+
+    @Test
+    void returnsEncodedTagWhenHeaderListsIt() {
+        // given
+        String expected = EntityTags.encoded(TAG, "deflate");
+        Map<String, String> headers = Map.of("If-None-Match", "\"other\", W/" + expected);
+
+        // when
+        String actual = EntityTags.matching(headers, TAG);
+
+        // then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void doesNotMatchTagWithUnknownSuffix() {
+        // given
+        Map<String, String> headers =
+                Map.of("If-None-Match", TAG.substring(0, TAG.length() - 1) + "-name\"");
+
+        // when
+        boolean actual = EntityTags.matches(headers, TAG);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+}
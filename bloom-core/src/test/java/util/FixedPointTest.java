@@ -0,0 +1,94 @@
+package util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FixedPointTest {
+
+    @Test
+    void roundTripsRandomHundredthsExactly() {
+        // given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal expected =
+                    BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000L, random.nextInt(3));
+
+            // when
+            long packed = FixedPoint.HUNDREDTHS.tryPack(expected.toString());
+
+            // then
+            assertThat(FixedPoint.HUNDREDTHS.format(packed)).isEqualTo(expected.toString());
+            assertThat(FixedPoint.HUNDREDTHS.toBigDecimal(packed)).isEqualTo(expected);
+            assertThat(FixedPoint.HUNDREDTHS.units(packed))
+                    .isEqualTo(expected.movePointRight(2).longValueExact());
+            assertThat(FixedPoint.HUNDREDTHS.pack(expected, "value")).isEqualTo(packed);
+        }
+    }
+
+    @Test
+    void roundTripsRandomTenThousandthsExactly() {
+        // given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal expected =
+                    BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000L, random.nextInt(5));
+
+            // when
+            long packed = FixedPoint.TEN_THOUSANDTHS.tryPack(expected.toString());
+
+            // then
+            assertThat(FixedPoint.TEN_THOUSANDTHS.format(packed)).isEqualTo(expected.toString());
+            assertThat(FixedPoint.TEN_THOUSANDTHS.toBigDecimal(packed)).isEqualTo(expected);
+            assertThat(FixedPoint.TEN_THOUSANDTHS.units(packed))
+                    .isEqualTo(expected.movePointRight(4).longValueExact());
+            assertThat(FixedPoint.TEN_THOUSANDTHS.pack(expected, "value")).isEqualTo(packed);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {"", "-", ".", "1.", "1.234", "1e2", "+1", " 1", "1 ", "12345678901234567"})
+    void declinesValuesNotWrittenAsPlainDecimals(String value) {
+        // given
+
+        // when
+        long actual = FixedPoint.HUNDREDTHS.tryPack(value);
+
+        // then
+        assertThat(actual).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1e2", "1.23456", "123456789012345678"})
+    void declinesBigDecimalsWithoutPackedForm(String value) {
+        // given
+
+        // when
+        long actual = FixedPoint.TEN_THOUSANDTHS.tryPack(new BigDecimal(value));
+
+        // then
+        assertThat(actual).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void keepsScaleWhenPacked() {
+        // given
+
+        // when
+        // then
+        assertThat(FixedPoint.HUNDREDTHS.scale(FixedPoint.HUNDREDTHS.tryPack("1"))).isEqualTo(0);
+        assertThat(FixedPoint.HUNDREDTHS.scale(FixedPoint.HUNDREDTHS.tryPack("1.5"))).isEqualTo(1);
+        assertThat(FixedPoint.HUNDREDTHS.scale(FixedPoint.HUNDREDTHS.tryPack("1.50"))).isEqualTo(2);
+        assertThat(FixedPoint.TEN_THOUSANDTHS.scale(FixedPoint.TEN_THOUSANDTHS.tryPack("1.5000")))
+                .isEqualTo(4);
+        assertThat(FixedPoint.HUNDREDTHS.units(FixedPoint.HUNDREDTHS.tryPack("1.5")))
+                .isEqualTo(FixedPoint.HUNDREDTHS.units(FixedPoint.HUNDREDTHS.tryPack("1.50")));
+    }
+}
@@ -0,0 +1,86 @@
+package util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class ItemSizeTest {
+
+    @Test
+    void sizesStringsByUtf8Length() {
+        // given
+        AttributeValue value = builder().s("\u00a3100").build();
+
+        // when
+        long actual = ItemSize.of(value);
+
+        // then
+        assertThat(actual).isEqualTo(5);
+    }
+
+    @Test
+    void sizesNumbersByHalfTheirSignificantDigits() {
+        // given
+
+        // when
+
+        // then
+        assertThat(ItemSize.of(builder().n("0").build())).isEqualTo(2);
+        assertThat(ItemSize.of(builder().n("12345").build())).isEqualTo(4);
+        assertThat(ItemSize.of(builder().n("1000").build())).isEqualTo(2);
+        assertThat(ItemSize.of(builder().n("-12").build())).isEqualTo(3);
+    }
+
+    @Test
+    void sizesBinaryByLength() {
+        // given
+        AttributeValue value = builder().b(SdkBytes.fromByteArray(new byte[7])).build();
+
+        // when
+        long actual = ItemSize.of(value);
+
+        // then
+        assertThat(actual).isEqualTo(7);
+    }
+
+    @Test
+    void addsOverheadForListsAndMaps() {
+        // given
+        AttributeValue map =
+                builder()
+                        .m(
+                                Map.of(
+                                        "Amount", builder().s("20.00").build(),
+                                        "Date", builder().s("2016-03").build()))
+                        .build();
+        AttributeValue list = builder().l(List.of(map, map)).build();
+
+        // when
+        long actual = ItemSize.of(list);
+
+        // then
+        assertThat(ItemSize.of(map)).isEqualTo(3 + 2 + 6 + 5 + 4 + 7);
+        assertThat(actual).isEqualTo(3 + 2 + 2 * 27);
+    }
+
+    @Test
+    void sizesItemByNamesAndValues() {
+        // given
+        Map<String, AttributeValue> item =
+                Map.of(
+                        "PK", builder().s("USER#1").build(),
+                        "Version", builder().n("3").build(),
+                        "Adjustments", builder().l(List.of()).build());
+
+        // when
+        long actual = ItemSize.of(item);
+
+        // then
+        assertThat(actual).isEqualTo(2 + 6 + 7 + 2 + 11 + 3);
+    }
+}
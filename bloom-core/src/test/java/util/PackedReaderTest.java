@@ -0,0 +1,68 @@
+package util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class PackedReaderTest {
+
+    @Test
+    void readsBackEveryFieldWritten() {
+        // given
+        byte[] bytes =
+                new PackedWriter(16)
+                        .writeByte(0xFF)
+                        .writeUnsigned(Long.MAX_VALUE)
+                        .writeSigned(Long.MIN_VALUE)
+                        .writeMonth(YearMonth.of(2050, 12))
+                        .writeDecimal(new BigDecimal("1.50"))
+                        .writeDecimal(new BigDecimal("1E+3"))
+                        .toByteArray();
+        PackedReader sut = new PackedReader(bytes);
+
+        // when
+
+        // then
+        assertThat(sut.readByte()).isEqualTo(0xFF);
+        assertThat(sut.readUnsigned()).isEqualTo(Long.MAX_VALUE);
+        assertThat(sut.readSigned()).isEqualTo(Long.MIN_VALUE);
+        assertThat(sut.readMonth()).isEqualTo(YearMonth.of(2050, 12));
+        assertThat(sut.readDecimal().toString()).isEqualTo("1.50");
+        assertThat(sut.readDecimal().toString()).isEqualTo("1E+3");
+        assertThat(sut.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void throwsExceptionWhenTruncated() {
+        // given
+        PackedReader sut = new PackedReader(new byte[] {(byte) 0x80});
+
+        // when
+        Throwable actual = catchThrowable(sut::readUnsigned);
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("packed value is truncated");
+    }
+
+    @Test
+    void throwsExceptionWhenVarintTooLong() {
+        // given
+        byte[] bytes = new byte[11];
+        Arrays.fill(bytes, (byte) 0x80);
+        PackedReader sut = new PackedReader(bytes);
+
+        // when
+        Throwable actual = catchThrowable(sut::readUnsigned);
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("packed varint is too long");
+    }
+}
@@ -0,0 +1,100 @@
+package util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import org.junit.jupiter.api.Test;
+
+class PackedWriterTest {
+
+    @Test
+    void writesSmallUnsignedInOneByte() {
+        // given
+        PackedWriter sut = new PackedWriter(1);
+
+        // when
+        byte[] actual = sut.writeUnsigned(127).toByteArray();
+
+        // then
+        assertThat(actual).containsExactly(0x7F);
+    }
+
+    @Test
+    void writesLargerUnsignedInSevenBitGroups() {
+        // given
+        PackedWriter sut = new PackedWriter(1);
+
+        // when
+        byte[] actual = sut.writeUnsigned(300).toByteArray();
+
+        // then
+        assertThat(actual).containsExactly(0xAC, 0x02);
+    }
+
+    @Test
+    void writesSignedWithZigZag() {
+        // given
+        PackedWriter sut = new PackedWriter(4);
+
+        // when
+        byte[] actual =
+                sut.writeSigned(0).writeSigned(-1).writeSigned(1).writeSigned(-2).toByteArray();
+
+        // then
+        assertThat(actual).containsExactly(0x00, 0x01, 0x02, 0x03);
+    }
+
+    @Test
+    void writesMonthAsIndexFromEpoch() {
+        // given
+        PackedWriter sut = new PackedWriter(2);
+
+        // when
+        byte[] actual =
+                sut.writeMonth(PackedWriter.EPOCH).writeMonth(YearMonth.of(1971, 2)).toByteArray();
+
+        // then
+        assertThat(actual).containsExactly(0x00, 0x0D);
+    }
+
+    @Test
+    void writesDecimalAsScaleThenUnscaledValue() {
+        // given
+        PackedWriter sut = new PackedWriter(2);
+
+        // when
+        byte[] actual = sut.writeDecimal(new BigDecimal("-1.5")).toByteArray();
+
+        // then
+        assertThat(actual).containsExactly(0x02, 0x1D);
+    }
+
+    @Test
+    void growsWhenCapacityExceeded() {
+        // given
+        PackedWriter sut = new PackedWriter(0);
+
+        // when
+        byte[] actual = sut.writeUnsigned(Long.MAX_VALUE).writeSigned(Long.MIN_VALUE).toByteArray();
+
+        // then
+        assertThat(actual).hasSize(19);
+    }
+
+    @Test
+    void throwsExceptionWhenDecimalHasNoPackedForm() {
+        // given
+        BigDecimal value = new BigDecimal("123456789012345678901234567890");
+
+        // when
+        Throwable actual = catchThrowable(() -> new PackedWriter(1).writeDecimal(value));
+
+        // then
+        assertThat(PackedWriter.canWrite(value)).isFalse();
+        assertThat(actual)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(value + " has no packed form");
+    }
+}
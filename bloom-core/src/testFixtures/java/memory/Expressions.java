@@ -0,0 +1,766 @@
+package memory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+/**
+ * Parses and evaluates the expressions of one request against its attribute names and values, as
+ * DynamoDB does: conditions with comparisons, {@code BETWEEN}, {@code AND}, {@code OR}, {@code NOT}
+ * and the {@code attribute_exists}, {@code attribute_not_exists}, {@code begins_with} and {@code
+ * contains} functions; updates with {@code SET} (including {@code list_append}, {@code
+ * if_not_exists}, {@code +} and {@code -}), {@code REMOVE}, {@code ADD} and {@code DELETE}; and
+ * projections. Only top-level attributes can be referred to.
+ *
+ * <p>Like DynamoDB, a request is rejected when a name or value it supplies is not used by any of
+ * its expressions, so {@link #checkAllUsed()} is called once every expression has been parsed.
+ */
+final class Expressions {
+
+    /** Orders strings by their UTF-8 bytes, as DynamoDB orders string sort keys. */
+    static final Comparator<String> UTF8_ORDER =
+            (left, right) -> compareBytes(left.getBytes(UTF_8), right.getBytes(UTF_8));
+
+    private final Map<String, String> names;
+    private final Map<String, AttributeValue> values;
+    private final Set<String> usedNames = new HashSet<>();
+    private final Set<String> usedValues = new HashSet<>();
+
+    private List<String> tokens;
+    private int position;
+
+    Expressions(Map<String, String> names, Map<String, AttributeValue> values) {
+        this.names = null != names ? names : Map.of();
+        this.values = null != values ? values : Map.of();
+    }
+
+    static DynamoDbException validation(String message) {
+        return (DynamoDbException)
+                DynamoDbException.builder()
+                        .message(message)
+                        .statusCode(400)
+                        .awsErrorDetails(
+                                AwsErrorDetails.builder()
+                                        .errorCode("ValidationException")
+                                        .errorMessage(message)
+                                        .serviceName("DynamoDb")
+                                        .build())
+                        .build();
+    }
+
+    Condition condition(String expression) {
+        start(expression);
+        Condition condition = or();
+        end();
+        return condition;
+    }
+
+    Update update(String expression) {
+        start(expression);
+        Update update = new Update();
+        Set<String> clauses = new HashSet<>();
+        while (position < tokens.size()) {
+            String clause = next().toUpperCase();
+            if (!clauses.add(clause)) {
+                throw validation("The " + clause + " section can only be used once");
+            }
+            do {
+                switch (clause) {
+                    case "SET":
+                        String attribute = path();
+                        expect("=");
+                        update.actions.add(new SetAction(attribute, sum()));
+                        break;
+                    case "REMOVE":
+                        update.actions.add(new RemoveAction(path()));
+                        break;
+                    case "ADD":
+                    case "DELETE":
+                        update.actions.add(new SetOperation(clause, path(), operand()));
+                        break;
+                    default:
+                        throw validation("Invalid UpdateExpression: syntax error near " + clause);
+                }
+            } while (accept(","));
+        }
+        if (update.actions.isEmpty()) {
+            throw validation("Invalid UpdateExpression: the expression is empty");
+        }
+        Set<String> attributes = new HashSet<>();
+        for (Action action : update.actions) {
+            if (!attributes.add(action.attribute())) {
+                throw validation(
+                        "Invalid UpdateExpression: two document paths overlap with each other; "
+                                + action.attribute());
+            }
+        }
+        return update;
+    }
+
+    List<String> projection(String expression) {
+        start(expression);
+        List<String> attributes = new ArrayList<>();
+        do {
+            attributes.add(path());
+        } while (accept(","));
+        end();
+        return attributes;
+    }
+
+    void checkAllUsed() {
+        for (String name : names.keySet()) {
+            if (!usedNames.contains(name)) {
+                throw validation(
+                        "Value provided in ExpressionAttributeNames unused in expressions: keys: {"
+                                + name
+                                + "}");
+            }
+        }
+        for (String value : values.keySet()) {
+            if (!usedValues.contains(value)) {
+                throw validation(
+                        "Value provided in ExpressionAttributeValues unused in expressions: keys: {"
+                                + value
+                                + "}");
+            }
+        }
+    }
+
+    /** Compares two values of the same scalar type, or returns null when they cannot be ordered. */
+    static Integer compare(AttributeValue left, AttributeValue right) {
+        if (null != left.s() && null != right.s()) {
+            return UTF8_ORDER.compare(left.s(), right.s());
+        }
+        if (null != left.n() && null != right.n()) {
+            return new BigDecimal(left.n()).compareTo(new BigDecimal(right.n()));
+        }
+        if (null != left.b() && null != right.b()) {
+            return compareBytes(left.b().asByteArrayUnsafe(), right.b().asByteArrayUnsafe());
+        }
+        return null;
+    }
+
+    static boolean equal(AttributeValue left, AttributeValue right) {
+        Integer comparison = compare(left, right);
+        return null != comparison ? 0 == comparison : left.equals(right);
+    }
+
+    private static int compareBytes(byte[] left, byte[] right) {
+        int length = Math.min(left.length, right.length);
+        for (int i = 0; i < length; i++) {
+            int difference = (left[i] & 0xff) - (right[i] & 0xff);
+            if (0 != difference) {
+                return difference;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    private Condition or() {
+        Condition condition = and();
+        while (accept("OR")) {
+            Condition left = condition;
+            Condition right = and();
+            condition = item -> left.test(item) || right.test(item);
+        }
+        return condition;
+    }
+
+    private Condition and() {
+        Condition condition = not();
+        while (accept("AND")) {
+            condition = new And(condition, not());
+        }
+        return condition;
+    }
+
+    private Condition not() {
+        if (accept("NOT")) {
+            Condition condition = not();
+            return item -> !condition.test(item);
+        }
+        return primary();
+    }
+
+    private Condition primary() {
+        if (accept("(")) {
+            Condition condition = or();
+            expect(")");
+            return condition;
+        }
+        if (position + 1 < tokens.size() && "(".equals(tokens.get(position + 1))) {
+            return function(next());
+        }
+        Operand left = operand();
+        if (accept("BETWEEN")) {
+            Operand lower = operand();
+            expect("AND");
+            return new Between(left, lower, operand());
+        }
+        String operator = next();
+        if (!Arrays.asList("=", "<>", "<", "<=", ">", ">=").contains(operator)) {
+            throw validation("Invalid ConditionExpression: syntax error near " + operator);
+        }
+        return new Comparison(left, operator, operand());
+    }
+
+    private Condition function(String name) {
+        expect("(");
+        Condition condition;
+        switch (name) {
+            case "attribute_exists":
+                String present = path();
+                condition = item -> item.containsKey(present);
+                break;
+            case "attribute_not_exists":
+                String absent = path();
+                condition = item -> !item.containsKey(absent);
+                break;
+            case "begins_with":
+                Operand subject = operand();
+                expect(",");
+                condition = new BeginsWith(subject, operand());
+                break;
+            case "contains":
+                Operand container = operand();
+                expect(",");
+                Operand element = operand();
+                condition = item -> contains(container.value(item), element.value(item));
+                break;
+            default:
+                throw validation("Invalid ConditionExpression: unknown function " + name);
+        }
+        expect(")");
+        return condition;
+    }
+
+    private static boolean contains(AttributeValue container, AttributeValue element) {
+        if (null == container || null == element) {
+            return false;
+        }
+        if (null != container.s() && null != element.s()) {
+            return container.s().contains(element.s());
+        }
+        if (container.hasL()) {
+            return container.l().stream().anyMatch(value -> equal(value, element));
+        }
+        if (container.hasSs() && null != element.s()) {
+            return container.ss().contains(element.s());
+        }
+        if (container.hasNs() && null != element.n()) {
+            return container.ns().stream()
+                    .anyMatch(number -> equal(AttributeValue.builder().n(number).build(), element));
+        }
+        return container.hasBs() && null != element.b() && container.bs().contains(element.b());
+    }
+
+    private Value sum() {
+        Value left = term();
+        if (accept("+")) {
+            return new Arithmetic(left, true, term());
+        }
+        if (accept("-")) {
+            return new Arithmetic(left, false, term());
+        }
+        return left;
+    }
+
+    private Value term() {
+        if (accept("list_append")) {
+            expect("(");
+            Value first = operand();
+            expect(",");
+            Value second = operand();
+            expect(")");
+            return item -> listAppend(first.value(item), second.value(item));
+        }
+        if (accept("if_not_exists")) {
+            expect("(");
+            String attribute = path();
+            expect(",");
+            Value fallback = operand();
+            expect(")");
+            return item -> item.containsKey(attribute) ? item.get(attribute) : fallback.value(item);
+        }
+        return operand();
+    }
+
+    private static AttributeValue listAppend(AttributeValue first, AttributeValue second) {
+        if (null == first || null == second) {
+            throw validation(
+                    "The provided expression refers to an attribute that does not exist in the item");
+        }
+        if (!first.hasL() || !second.hasL()) {
+            throw validation("An operand in the update expression has an incorrect data type");
+        }
+        List<AttributeValue> list = new ArrayList<>(first.l());
+        list.addAll(second.l());
+        return AttributeValue.builder().l(list).build();
+    }
+
+    private Operand operand() {
+        String token = next();
+        if (token.startsWith(":")) {
+            AttributeValue value = values.get(token);
+            if (null == value) {
+                throw validation(
+                        "An expression attribute value used in expression is not defined; "
+                                + "attribute value: "
+                                + token);
+            }
+            usedValues.add(token);
+            return new Operand(null, value);
+        }
+        return new Operand(attribute(token), null);
+    }
+
+    private String path() {
+        String token = next();
+        if (token.startsWith(":")) {
+            throw validation("Invalid expression: a value cannot be used as a path: " + token);
+        }
+        return attribute(token);
+    }
+
+    private String attribute(String token) {
+        if (token.contains(".") || token.contains("[")) {
+            throw new UnsupportedOperationException(
+                    "nested attribute paths are not supported in memory: " + token);
+        }
+        if (!token.startsWith("#")) {
+            return token;
+        }
+        String name = names.get(token);
+        if (null == name) {
+            throw validation(
+                    "An expression attribute name used in the document path is not defined; "
+                            + "attribute name: "
+                            + token);
+        }
+        usedNames.add(token);
+        return name;
+    }
+
+    private void start(String expression) {
+        tokens = tokenize(expression);
+        position = 0;
+        if (tokens.isEmpty()) {
+            throw validation("Invalid expression: the expression is empty");
+        }
+    }
+
+    private void end() {
+        if (position < tokens.size()) {
+            throw validation("Invalid expression: syntax error near " + tokens.get(position));
+        }
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw validation("Invalid expression: unexpected end of input");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean accept(String token) {
+        if (position < tokens.size() && token.equalsIgnoreCase(tokens.get(position))) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw validation(
+                    "Invalid expression: expected "
+                            + token
+                            + " near "
+                            + (position < tokens.size() ? tokens.get(position) : "end of input"));
+        }
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        if (null == expression) {
+            return tokens;
+        }
+        int i = 0;
+        while (i < expression.length()) {
+            char character = expression.charAt(i);
+            if (Character.isWhitespace(character)) {
+                i++;
+            } else if ("(),=+-".indexOf(character) >= 0) {
+                tokens.add(String.valueOf(character));
+                i++;
+            } else if ('<' == character || '>' == character) {
+                int end = i + 1;
+                if (end < expression.length()
+                        && ('=' == expression.charAt(end)
+                                || ('<' == character && '>' == expression.charAt(end)))) {
+                    end++;
+                }
+                tokens.add(expression.substring(i, end));
+                i = end;
+            } else {
+                int end = i;
+                while (end < expression.length() && isWordCharacter(expression.charAt(end))) {
+                    end++;
+                }
+                if (end == i) {
+                    throw validation("Invalid expression: unexpected character " + character);
+                }
+                tokens.add(expression.substring(i, end));
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isWordCharacter(char character) {
+        return Character.isLetterOrDigit(character) || "_#:.[]".indexOf(character) >= 0;
+    }
+
+    interface Condition {
+        boolean test(Map<String, AttributeValue> item);
+    }
+
+    interface Value {
+        AttributeValue value(Map<String, AttributeValue> item);
+    }
+
+    /** An attribute of the item, or a value supplied with the request. */
+    static final class Operand implements Value {
+        final String attribute;
+        final AttributeValue constant;
+
+        private Operand(String attribute, AttributeValue constant) {
+            this.attribute = attribute;
+            this.constant = constant;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            return null != attribute ? item.get(attribute) : constant;
+        }
+    }
+
+    static final class And implements Condition {
+        final Condition left;
+        final Condition right;
+
+        private And(Condition left, Condition right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            return left.test(item) && right.test(item);
+        }
+    }
+
+    static final class Comparison implements Condition {
+        final Operand left;
+        final String operator;
+        final Operand right;
+
+        private Comparison(Operand left, String operator, Operand right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            AttributeValue leftValue = left.value(item);
+            AttributeValue rightValue = right.value(item);
+            if (null == leftValue || null == rightValue) {
+                return "<>".equals(operator);
+            }
+            if ("=".equals(operator)) {
+                return equal(leftValue, rightValue);
+            }
+            if ("<>".equals(operator)) {
+                return !equal(leftValue, rightValue);
+            }
+            Integer comparison = compare(leftValue, rightValue);
+            if (null == comparison) {
+                return false;
+            }
+            switch (operator) {
+                case "<":
+                    return comparison < 0;
+                case "<=":
+                    return comparison <= 0;
+                case ">":
+                    return comparison > 0;
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+
+    static final class Between implements Condition {
+        final Operand subject;
+        final Operand lower;
+        final Operand upper;
+
+        private Between(Operand subject, Operand lower, Operand upper) {
+            this.subject = subject;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            AttributeValue value = subject.value(item);
+            if (null == value) {
+                return false;
+            }
+            Integer fromLower = compare(value, lower.value(item));
+            Integer toUpper = compare(value, upper.value(item));
+            return null != fromLower && null != toUpper && fromLower >= 0 && toUpper <= 0;
+        }
+    }
+
+    static final class BeginsWith implements Condition {
+        final Operand subject;
+        final Operand prefix;
+
+        private BeginsWith(Operand subject, Operand prefix) {
+            this.subject = subject;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            AttributeValue value = subject.value(item);
+            AttributeValue start = prefix.value(item);
+            if (null == value || null == start) {
+                return false;
+            }
+            if (null != value.s() && null != start.s()) {
+                return value.s().startsWith(start.s());
+            }
+            if (null != value.b() && null != start.b()) {
+                byte[] bytes = value.b().asByteArrayUnsafe();
+                byte[] prefixBytes = start.b().asByteArrayUnsafe();
+                return bytes.length >= prefixBytes.length
+                        && Arrays.equals(Arrays.copyOf(bytes, prefixBytes.length), prefixBytes);
+            }
+            return false;
+        }
+    }
+
+    private static final class Arithmetic implements Value {
+        private final Value left;
+        private final boolean plus;
+        private final Value right;
+
+        private Arithmetic(Value left, boolean plus, Value right) {
+            this.left = left;
+            this.plus = plus;
+            this.right = right;
+        }
+
+        @Override
+        public AttributeValue value(Map<String, AttributeValue> item) {
+            AttributeValue leftValue = left.value(item);
+            AttributeValue rightValue = right.value(item);
+            if (null == leftValue || null == rightValue) {
+                throw validation(
+                        "The provided expression refers to an attribute that does not exist in the item");
+            }
+            if (null == leftValue.n() || null == rightValue.n()) {
+                throw validation("An operand in the update expression has an incorrect data type");
+            }
+            BigDecimal result =
+                    plus
+                            ? new BigDecimal(leftValue.n()).add(new BigDecimal(rightValue.n()))
+                            : new BigDecimal(leftValue.n())
+                                    .subtract(new BigDecimal(rightValue.n()));
+            return number(result);
+        }
+    }
+
+    private static AttributeValue number(BigDecimal number) {
+        return AttributeValue.builder()
+                .n(0 == number.signum() ? "0" : number.stripTrailingZeros().toPlainString())
+                .build();
+    }
+
+    private interface Action {
+        String attribute();
+
+        /** Applies the action to the new item, reading operands from the item as it was. */
+        void apply(Map<String, AttributeValue> before, Map<String, AttributeValue> after);
+    }
+
+    private static final class SetAction implements Action {
+        private final String attribute;
+        private final Value value;
+
+        private SetAction(String attribute, Value value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        @Override
+        public String attribute() {
+            return attribute;
+        }
+
+        @Override
+        public void apply(Map<String, AttributeValue> before, Map<String, AttributeValue> after) {
+            after.put(attribute, value.value(before));
+        }
+    }
+
+    private static final class RemoveAction implements Action {
+        private final String attribute;
+
+        private RemoveAction(String attribute) {
+            this.attribute = attribute;
+        }
+
+        @Override
+        public String attribute() {
+            return attribute;
+        }
+
+        @Override
+        public void apply(Map<String, AttributeValue> before, Map<String, AttributeValue> after) {
+            after.remove(attribute);
+        }
+    }
+
+    /** ADD to a number or set, or DELETE from a set. */
+    private static final class SetOperation implements Action {
+        private final boolean add;
+        private final String attribute;
+        private final Operand operand;
+
+        private SetOperation(String clause, String attribute, Operand operand) {
+            this.add = "ADD".equals(clause);
+            this.attribute = attribute;
+            this.operand = operand;
+        }
+
+        @Override
+        public String attribute() {
+            return attribute;
+        }
+
+        @Override
+        public void apply(Map<String, AttributeValue> before, Map<String, AttributeValue> after) {
+            AttributeValue current = before.get(attribute);
+            AttributeValue change = operand.value(before);
+            if (add && null != change.n()) {
+                if (null != current && null == current.n()) {
+                    throw validation(
+                            "An operand in the update expression has an incorrect data type");
+                }
+                BigDecimal base = null != current ? new BigDecimal(current.n()) : BigDecimal.ZERO;
+                after.put(attribute, number(base.add(new BigDecimal(change.n()))));
+                return;
+            }
+            if (null != current && !setType(current).equals(setType(change))) {
+                throw validation("An operand in the update expression has an incorrect data type");
+            }
+            AttributeValue result;
+            switch (setType(change)) {
+                case "SS":
+                    result =
+                            AttributeValue.builder()
+                                    .ss(combine(current, change.ss(), AttributeValue::ss))
+                                    .build();
+                    break;
+                case "NS":
+                    result =
+                            AttributeValue.builder()
+                                    .ns(combine(current, change.ns(), AttributeValue::ns))
+                                    .build();
+                    break;
+                case "BS":
+                    result =
+                            AttributeValue.builder()
+                                    .bs(combine(current, change.bs(), AttributeValue::bs))
+                                    .build();
+                    break;
+                default:
+                    throw validation(
+                            "Invalid UpdateExpression: Incorrect operand type for operator or function");
+            }
+            if (add || !isEmptySet(result)) {
+                after.put(attribute, result);
+            } else {
+                after.remove(attribute);
+            }
+        }
+
+        private <T> List<T> combine(
+                AttributeValue current,
+                List<T> change,
+                Function<AttributeValue, List<T>> elements) {
+            Set<T> set = new LinkedHashSet<>();
+            if (null != current) {
+                set.addAll(elements.apply(current));
+            }
+            if (add) {
+                set.addAll(change);
+            } else {
+                set.removeAll(change);
+            }
+            return new ArrayList<>(set);
+        }
+
+        private static String setType(AttributeValue value) {
+            if (value.hasSs()) {
+                return "SS";
+            }
+            if (value.hasNs()) {
+                return "NS";
+            }
+            return value.hasBs() ? "BS" : "";
+        }
+
+        private static boolean isEmptySet(AttributeValue value) {
+            return value.ss().isEmpty() && value.ns().isEmpty() && value.bs().isEmpty();
+        }
+    }
+
+    /** The actions of an update expression, applied together to a copy of the item. */
+    static final class Update {
+        private final List<Action> actions = new ArrayList<>();
+
+        Set<String> attributes() {
+            Set<String> attributes = new HashSet<>();
+            for (Action action : actions) {
+                attributes.add(action.attribute());
+            }
+            return attributes;
+        }
+
+        Map<String, AttributeValue> apply(Map<String, AttributeValue> item) {
+            Map<String, AttributeValue> updated = new HashMap<>(item);
+            for (Action action : actions) {
+                action.apply(item, updated);
+            }
+            return updated;
+        }
+    }
+}
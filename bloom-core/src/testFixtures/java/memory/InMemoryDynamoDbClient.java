@@ -0,0 +1,1333 @@
+package memory;
+
+import static memory.Expressions.UTF8_ORDER;
+import static memory.Expressions.validation;
+import static priming.PrimingInterceptor.PRIMING_OVERRIDE;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import memory.Expressions.And;
+import memory.Expressions.BeginsWith;
+import memory.Expressions.Between;
+import memory.Expressions.Comparison;
+import memory.Expressions.Condition;
+import memory.Expressions.Update;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionCheck;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+import software.amazon.awssdk.services.dynamodb.model.TableDescription;
+import software.amazon.awssdk.services.dynamodb.model.TableStatus;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import software.amazon.awssdk.services.dynamodb.paginators.ScanIterable;
+import util.ItemSize;
+
+/**
+ * A DynamoDB client backed by tables held in memory, keyed by the string attributes {@code PK} and
+ * {@code SK}, so {@link service.DynamoService} and everything built on it runs without a table.
+ * Each partition keeps its items sorted by sort key, so queries seek to the start of their key
+ * condition, and pages stop at the request's limit or after a megabyte of items, as in DynamoDB.
+ * Condition, update, key condition, filter and projection expressions are evaluated as DynamoDB
+ * evaluates them, for top-level attributes.
+ *
+ * <p>Every request waits out the configured latency before it is served. Each partition can be
+ * given read and write units per second; a request to a partition that has used them up is
+ * throttled, as DynamoDB throttles a hot partition, and the units each request consumes are
+ * reported when it asks for them and totalled by partition. Requests are not retried, as they never
+ * pass through the SDK's retry policy.
+ *
+ * <p>Requests marked for priming are answered empty without touching the tables. Operations other
+ * than describing a table, single-item reads and writes, queries, scans, batch reads and writes and
+ * write transactions are not supported.
+ */
+public class InMemoryDynamoDbClient implements DynamoDbClient {
+
+    static final String PARTITION_KEY = "PK";
+    static final String SORT_KEY = "SK";
+
+    private static final int READ_UNIT_BYTES = 4096;
+    private static final int WRITE_UNIT_BYTES = 1024;
+    private static final int MAX_ITEM_BYTES = 400 * 1024;
+    private static final int MAX_BATCH_READS = 100;
+    private static final int MAX_BATCH_WRITES = 25;
+    private static final int MAX_TRANSACTION_ITEMS = 100;
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+    private static final String THROTTLING_ERROR = "ThrottlingError";
+    private static final String NONE = "None";
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double partitionReadUnits;
+    private final double partitionWriteUnits;
+    private final int pageBytes;
+    private final LongSupplier clock;
+
+    private final Object lock = new Object();
+    private final Map<
+                    String, NavigableMap<String, NavigableMap<String, Map<String, AttributeValue>>>>
+            tables = new HashMap<>();
+    private final Map<String, PartitionBudget> readBudgets = new HashMap<>();
+    private final Map<String, PartitionBudget> writeBudgets = new HashMap<>();
+    private final Map<String, Double> consumedUnitsByPartition = new HashMap<>();
+    private double consumedReadUnits;
+    private double consumedWriteUnits;
+    private long throttledRequests;
+
+    private InMemoryDynamoDbClient(Builder builder) {
+        this.latencyNanos = builder.latency.toNanos();
+        this.jitterNanos = builder.jitter.toNanos();
+        this.partitionReadUnits = builder.partitionReadUnits;
+        this.partitionWriteUnits = builder.partitionWriteUnits;
+        this.pageBytes = builder.pageBytes;
+        this.clock = builder.clock;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {}
+
+    /** The read units consumed by every request so far. */
+    public double getConsumedReadUnits() {
+        synchronized (lock) {
+            return consumedReadUnits;
+        }
+    }
+
+    /** The write units consumed by every request so far. */
+    public double getConsumedWriteUnits() {
+        synchronized (lock) {
+            return consumedWriteUnits;
+        }
+    }
+
+    /** The requests throttled so far, counting each unprocessed item of a batch write. */
+    public long getThrottledRequests() {
+        synchronized (lock) {
+            return throttledRequests;
+        }
+    }
+
+    /** The read and write units consumed so far, by partition key value. */
+    public Map<String, Double> getConsumedUnitsByPartition() {
+        synchronized (lock) {
+            return Map.copyOf(consumedUnitsByPartition);
+        }
+    }
+
+    /** Describes a table as active, since tables are created on first use, with its item count. */
+    @Override
+    public DescribeTableResponse describeTable(DescribeTableRequest request) {
+        if (isPriming(request)) {
+            return DescribeTableResponse.builder().build();
+        }
+        pause();
+
+        synchronized (lock) {
+            long itemCount = 0;
+            for (Map<String, Map<String, AttributeValue>> partition :
+                    table(request.tableName()).values()) {
+                itemCount += partition.size();
+            }
+            return DescribeTableResponse.builder()
+                    .table(
+                            TableDescription.builder()
+                                    .tableName(request.tableName())
+                                    .tableStatus(TableStatus.ACTIVE)
+                                    .itemCount(itemCount)
+                                    .build())
+                    .build();
+        }
+    }
+
+    @Override
+    public GetItemResponse getItem(GetItemRequest request) {
+        if (isPriming(request)) {
+            return GetItemResponse.builder().build();
+        }
+        pause();
+        Expressions expressions = new Expressions(request.expressionAttributeNames(), null);
+        List<String> projection = projection(expressions, request.projectionExpression());
+        expressions.checkAllUsed();
+        Key key = key(request.key());
+        boolean consistent = Boolean.TRUE.equals(request.consistentRead());
+
+        synchronized (lock) {
+            throttleRead(request.tableName(), key.partition);
+            Map<String, AttributeValue> item = partition(request.tableName(), key).get(key.sort);
+            double units = readUnits(null != item ? ItemSize.of(item) : 0, consistent);
+            chargeRead(request.tableName(), key.partition, units);
+
+            GetItemResponse.Builder response = GetItemResponse.builder();
+            if (null != item) {
+                response.item(project(item, projection));
+            }
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(readCapacity(request.tableName(), units));
+            }
+            return response.build();
+        }
+    }
+
+    /**
+     * Reads each key, leaving unprocessed those whose partition has used up its read units. Each
+     * item is charged on its own size, as DynamoDB charges batch reads.
+     */
+    @Override
+    public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        if (isPriming(request)) {
+            return BatchGetItemResponse.builder()
+                    .responses(Map.of())
+                    .unprocessedKeys(Map.of())
+                    .build();
+        }
+        pause();
+        int reads = 0;
+        Set<String> keys = new HashSet<>();
+        Map<String, List<String>> projections = new HashMap<>();
+        for (Map.Entry<String, KeysAndAttributes> table : request.requestItems().entrySet()) {
+            Expressions expressions =
+                    new Expressions(table.getValue().expressionAttributeNames(), null);
+            projections.put(
+                    table.getKey(),
+                    projection(expressions, table.getValue().projectionExpression()));
+            expressions.checkAllUsed();
+            for (Map<String, AttributeValue> key : table.getValue().keys()) {
+                if (!keys.add(table.getKey() + "\u0000" + key(key))) {
+                    throw validation("Provided list of item keys contains duplicates");
+                }
+                reads++;
+            }
+        }
+        if (0 == reads || MAX_BATCH_READS < reads) {
+            throw validation(
+                    "1 validation error detected: Value at 'requestItems' failed to satisfy"
+                            + " constraint: Member must have length less than or equal to "
+                            + MAX_BATCH_READS);
+        }
+
+        synchronized (lock) {
+            Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+            Map<String, KeysAndAttributes> unprocessed = new HashMap<>();
+            List<ConsumedCapacity> capacities = new ArrayList<>();
+            int throttled = 0;
+            for (Map.Entry<String, KeysAndAttributes> table : request.requestItems().entrySet()) {
+                boolean consistent = Boolean.TRUE.equals(table.getValue().consistentRead());
+                List<Map<String, AttributeValue>> items = new ArrayList<>();
+                List<Map<String, AttributeValue>> pending = new ArrayList<>();
+                double tableUnits = 0;
+                for (Map<String, AttributeValue> requested : table.getValue().keys()) {
+                    Key key = key(requested);
+                    if (!hasCapacity(
+                            readBudgets, partitionReadUnits, table.getKey(), key.partition)) {
+                        pending.add(requested);
+                        throttled++;
+                        continue;
+                    }
+                    Map<String, AttributeValue> item = partition(table.getKey(), key).get(key.sort);
+                    double units = readUnits(null != item ? ItemSize.of(item) : 0, consistent);
+                    chargeRead(table.getKey(), key.partition, units);
+                    tableUnits += units;
+                    if (null != item) {
+                        items.add(project(item, projections.get(table.getKey())));
+                    }
+                }
+                responses.put(table.getKey(), items);
+                if (!pending.isEmpty()) {
+                    unprocessed.put(
+                            table.getKey(), table.getValue().toBuilder().keys(pending).build());
+                }
+                capacities.add(readCapacity(table.getKey(), tableUnits));
+            }
+            throttledRequests += throttled;
+            if (throttled == reads) {
+                throw throughputExceeded();
+            }
+
+            BatchGetItemResponse.Builder response =
+                    BatchGetItemResponse.builder()
+                            .responses(responses)
+                            .unprocessedKeys(unprocessed);
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(capacities);
+            }
+            return response.build();
+        }
+    }
+
+    @Override
+    public PutItemResponse putItem(PutItemRequest request) {
+        if (isPriming(request)) {
+            return PutItemResponse.builder().build();
+        }
+        pause();
+        Expressions expressions =
+                new Expressions(
+                        request.expressionAttributeNames(), request.expressionAttributeValues());
+        Condition condition = condition(expressions, request.conditionExpression());
+        expressions.checkAllUsed();
+        Key key = itemKey(request.item());
+        checkSize(request.item());
+
+        synchronized (lock) {
+            throttleWrite(request.tableName(), key.partition);
+            NavigableMap<String, Map<String, AttributeValue>> partition =
+                    partition(request.tableName(), key);
+            Map<String, AttributeValue> old = partition.get(key.sort);
+            check(condition, old);
+            partition.put(key.sort, Map.copyOf(request.item()));
+            double units = writeUnits(old, request.item());
+            chargeWrite(request.tableName(), key.partition, units);
+
+            PutItemResponse.Builder response = PutItemResponse.builder();
+            if (ReturnValue.ALL_OLD == request.returnValues() && null != old) {
+                response.attributes(old);
+            }
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(writeCapacity(request.tableName(), units));
+            }
+            return response.build();
+        }
+    }
+
+    @Override
+    public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+        if (isPriming(request)) {
+            return DeleteItemResponse.builder().build();
+        }
+        pause();
+        Expressions expressions =
+                new Expressions(
+                        request.expressionAttributeNames(), request.expressionAttributeValues());
+        Condition condition = condition(expressions, request.conditionExpression());
+        expressions.checkAllUsed();
+        Key key = key(request.key());
+
+        synchronized (lock) {
+            throttleWrite(request.tableName(), key.partition);
+            NavigableMap<String, Map<String, AttributeValue>> partition =
+                    partition(request.tableName(), key);
+            Map<String, AttributeValue> old = partition.get(key.sort);
+            check(condition, old);
+            partition.remove(key.sort);
+            double units = writeUnits(old, null);
+            chargeWrite(request.tableName(), key.partition, units);
+
+            DeleteItemResponse.Builder response = DeleteItemResponse.builder();
+            if (ReturnValue.ALL_OLD == request.returnValues() && null != old) {
+                response.attributes(old);
+            }
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(writeCapacity(request.tableName(), units));
+            }
+            return response.build();
+        }
+    }
+
+    @Override
+    public UpdateItemResponse updateItem(UpdateItemRequest request) {
+        if (isPriming(request)) {
+            return UpdateItemResponse.builder().build();
+        }
+        pause();
+        Expressions expressions =
+                new Expressions(
+                        request.expressionAttributeNames(), request.expressionAttributeValues());
+        Update update = update(expressions, request.updateExpression());
+        Condition condition = condition(expressions, request.conditionExpression());
+        expressions.checkAllUsed();
+        Key key = key(request.key());
+
+        synchronized (lock) {
+            throttleWrite(request.tableName(), key.partition);
+            NavigableMap<String, Map<String, AttributeValue>> partition =
+                    partition(request.tableName(), key);
+            Map<String, AttributeValue> old = partition.get(key.sort);
+            check(condition, old);
+            Map<String, AttributeValue> updated = update.apply(null != old ? old : request.key());
+            checkSize(updated);
+            partition.put(key.sort, Map.copyOf(updated));
+            double units = writeUnits(old, updated);
+            chargeWrite(request.tableName(), key.partition, units);
+
+            UpdateItemResponse.Builder response = UpdateItemResponse.builder();
+            Map<String, AttributeValue> returned =
+                    returnedValues(request.returnValues(), update, old, updated);
+            if (null != returned) {
+                response.attributes(returned);
+            }
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(writeCapacity(request.tableName(), units));
+            }
+            return response.build();
+        }
+    }
+
+    @Override
+    public QueryResponse query(QueryRequest request) {
+        if (isPriming(request)) {
+            return QueryResponse.builder().build();
+        }
+        pause();
+        if (null != request.indexName()) {
+            throw new UnsupportedOperationException("indexes are not supported in memory");
+        }
+        if (null == request.keyConditionExpression()) {
+            throw validation(
+                    "Either the KeyConditions or KeyConditionExpression parameter must be specified"
+                            + " in the request.");
+        }
+        Expressions expressions =
+                new Expressions(
+                        request.expressionAttributeNames(), request.expressionAttributeValues());
+        KeyCondition keyCondition =
+                new KeyCondition(expressions.condition(request.keyConditionExpression()));
+        Condition filter = condition(expressions, request.filterExpression());
+        List<String> projection = projection(expressions, request.projectionExpression());
+        expressions.checkAllUsed();
+        boolean forward = !Boolean.FALSE.equals(request.scanIndexForward());
+        String startAfter = null;
+        if (request.hasExclusiveStartKey()) {
+            Key start = key(request.exclusiveStartKey());
+            if (!start.partition.equals(keyCondition.partition)) {
+                throw validation("The provided starting key is invalid");
+            }
+            startAfter = start.sort;
+        }
+
+        synchronized (lock) {
+            throttleRead(request.tableName(), keyCondition.partition);
+            NavigableMap<String, Map<String, AttributeValue>> partition =
+                    partition(request.tableName(), new Key(keyCondition.partition, null));
+            Page page =
+                    page(
+                            keyCondition.range(partition, forward, startAfter).entrySet(),
+                            keyCondition,
+                            filter,
+                            projection,
+                            request.limit());
+            boolean consistent = Boolean.TRUE.equals(request.consistentRead());
+            double units = readUnits(page.bytes, consistent);
+            chargeRead(request.tableName(), keyCondition.partition, units);
+
+            QueryResponse.Builder response =
+                    QueryResponse.builder().count(page.items.size()).scannedCount(page.scanned);
+            if (Select.COUNT != request.select()) {
+                response.items(page.items);
+            }
+            if (null != page.lastKey) {
+                response.lastEvaluatedKey(page.lastKey);
+            }
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(readCapacity(request.tableName(), units));
+            }
+            return response.build();
+        }
+    }
+
+    @Override
+    public QueryIterable queryPaginator(QueryRequest request) {
+        return new QueryIterable(this, request);
+    }
+
+    /**
+     * Scans the table in partition key order. Scans read across partitions, so they are charged to
+     * the partitions they read but never throttled.
+     */
+    @Override
+    public ScanResponse scan(ScanRequest request) {
+        if (isPriming(request)) {
+            return ScanResponse.builder().build();
+        }
+        pause();
+        if (null != request.indexName() || null != request.totalSegments()) {
+            throw new UnsupportedOperationException(
+                    "indexes and parallel scans are not supported in memory");
+        }
+        Expressions expressions =
+                new Expressions(
+                        request.expressionAttributeNames(), request.expressionAttributeValues());
+        Condition filter = condition(expressions, request.filterExpression());
+        List<String> projection = projection(expressions, request.projectionExpression());
+        expressions.checkAllUsed();
+        Key startAfter = request.hasExclusiveStartKey() ? key(request.exclusiveStartKey()) : null;
+
+        synchronized (lock) {
+            NavigableMap<String, NavigableMap<String, Map<String, AttributeValue>>> table =
+                    table(request.tableName());
+            if (null != startAfter) {
+                table = table.tailMap(startAfter.partition, true);
+            }
+            List<Map.Entry<String, Map<String, AttributeValue>>> entries = new ArrayList<>();
+            for (Map.Entry<String, NavigableMap<String, Map<String, AttributeValue>>> partition :
+                    table.entrySet()) {
+                NavigableMap<String, Map<String, AttributeValue>> items = partition.getValue();
+                if (null != startAfter && partition.getKey().equals(startAfter.partition)) {
+                    items = items.tailMap(startAfter.sort, false);
+                }
+                entries.addAll(items.entrySet());
+            }
+            Page page = page(entries, item -> true, filter, projection, request.limit());
+            boolean consistent = Boolean.TRUE.equals(request.consistentRead());
+            double units = readUnits(page.bytes, consistent);
+            consumedReadUnits += units;
+            for (Map.Entry<String, Long> partitionBytes : page.bytesByPartition.entrySet()) {
+                consumedUnitsByPartition.merge(
+                        partitionBytes.getKey(),
+                        readUnits(partitionBytes.getValue(), consistent),
+                        Double::sum);
+            }
+
+            ScanResponse.Builder response =
+                    ScanResponse.builder().count(page.items.size()).scannedCount(page.scanned);
+            if (Select.COUNT != request.select()) {
+                response.items(page.items);
+            }
+            if (null != page.lastKey) {
+                response.lastEvaluatedKey(page.lastKey);
+            }
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(readCapacity(request.tableName(), units));
+            }
+            return response.build();
+        }
+    }
+
+    @Override
+    public ScanIterable scanPaginator(ScanRequest request) {
+        return new ScanIterable(this, request);
+    }
+
+    /**
+     * Writes each item unless its partition is throttled, in which case it is returned unprocessed.
+     * When every item is throttled the whole request is, as in DynamoDB.
+     */
+    @Override
+    public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+        if (isPriming(request)) {
+            return BatchWriteItemResponse.builder().unprocessedItems(Map.of()).build();
+        }
+        pause();
+        int writes = 0;
+        Set<String> keys = new HashSet<>();
+        for (Map.Entry<String, List<WriteRequest>> table : request.requestItems().entrySet()) {
+            for (WriteRequest write : table.getValue()) {
+                Key key =
+                        null != write.putRequest()
+                                ? itemKey(write.putRequest().item())
+                                : key(write.deleteRequest().key());
+                if (null != write.putRequest()) {
+                    checkSize(write.putRequest().item());
+                }
+                if (!keys.add(table.getKey() + "\u0000" + key)) {
+                    throw validation("Provided list of item keys contains duplicates");
+                }
+                writes++;
+            }
+        }
+        if (0 == writes || MAX_BATCH_WRITES < writes) {
+            throw validation(
+                    "1 validation error detected: Value at 'requestItems' failed to satisfy"
+                            + " constraint: Member must have length less than or equal to "
+                            + MAX_BATCH_WRITES);
+        }
+
+        synchronized (lock) {
+            Map<String, List<WriteRequest>> unprocessed = new HashMap<>();
+            List<ConsumedCapacity> capacities = new ArrayList<>();
+            int throttled = 0;
+            for (Map.Entry<String, List<WriteRequest>> table : request.requestItems().entrySet()) {
+                double tableUnits = 0;
+                for (WriteRequest write : table.getValue()) {
+                    Key key =
+                            null != write.putRequest()
+                                    ? itemKey(write.putRequest().item())
+                                    : key(write.deleteRequest().key());
+                    if (!hasCapacity(
+                            writeBudgets, partitionWriteUnits, table.getKey(), key.partition)) {
+                        unprocessed
+                                .computeIfAbsent(table.getKey(), name -> new ArrayList<>())
+                                .add(write);
+                        throttled++;
+                        continue;
+                    }
+                    NavigableMap<String, Map<String, AttributeValue>> partition =
+                            partition(table.getKey(), key);
+                    Map<String, AttributeValue> old;
+                    Map<String, AttributeValue> item = null;
+                    if (null != write.putRequest()) {
+                        item = write.putRequest().item();
+                        old = partition.put(key.sort, Map.copyOf(item));
+                    } else {
+                        old = partition.remove(key.sort);
+                    }
+                    double units = writeUnits(old, item);
+                    chargeWrite(table.getKey(), key.partition, units);
+                    tableUnits += units;
+                }
+                capacities.add(writeCapacity(table.getKey(), tableUnits));
+            }
+            throttledRequests += throttled;
+            if (throttled == writes) {
+                throw throughputExceeded();
+            }
+
+            BatchWriteItemResponse.Builder response =
+                    BatchWriteItemResponse.builder().unprocessedItems(unprocessed);
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                response.consumedCapacity(capacities);
+            }
+            return response.build();
+        }
+    }
+
+    /**
+     * Applies every write or none. Conditions are checked against the items as they are before the
+     * transaction, and each write costs twice its units, as transactional writes do in DynamoDB.
+     */
+    @Override
+    public TransactWriteItemsResponse transactWriteItems(TransactWriteItemsRequest request) {
+        if (isPriming(request)) {
+            return TransactWriteItemsResponse.builder().build();
+        }
+        pause();
+        int count = request.transactItems().size();
+        if (0 == count || MAX_TRANSACTION_ITEMS < count) {
+            throw validation(
+                    "1 validation error detected: Value at 'transactItems' failed to satisfy"
+                            + " constraint: Member must have length less than or equal to "
+                            + MAX_TRANSACTION_ITEMS);
+        }
+        List<Write> writes = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        for (TransactWriteItem item : request.transactItems()) {
+            Write write = new Write(item);
+            if (!keys.add(write.tableName + "\u0000" + write.key)) {
+                throw validation(
+                        "Transaction request cannot include multiple operations on one item");
+            }
+            writes.add(write);
+        }
+
+        synchronized (lock) {
+            List<CancellationReason> reasons = new ArrayList<>();
+            boolean cancelled = false;
+            boolean throttled = false;
+            for (Write write : writes) {
+                String code = NONE;
+                if (!hasCapacity(
+                        writeBudgets, partitionWriteUnits, write.tableName, write.key.partition)) {
+                    code = THROTTLING_ERROR;
+                    throttled = true;
+                } else if (null != write.condition && !write.condition.test(write.current())) {
+                    code = CONDITIONAL_CHECK_FAILED;
+                }
+                cancelled |= !NONE.equals(code);
+                reasons.add(
+                        CONDITIONAL_CHECK_FAILED.equals(code) && write.returnsOld
+                                ? reason(code, write.stored())
+                                : reason(code));
+            }
+            if (cancelled) {
+                if (throttled) {
+                    throttledRequests++;
+                }
+                throw transactionCanceled(reasons);
+            }
+
+            Map<String, Double> unitsByTable = new LinkedHashMap<>();
+            for (Write write : writes) {
+                double units = 2 * write.apply();
+                chargeWrite(write.tableName, write.key.partition, units);
+                unitsByTable.merge(write.tableName, units, Double::sum);
+            }
+
+            TransactWriteItemsResponse.Builder response = TransactWriteItemsResponse.builder();
+            if (reportsCapacity(request.returnConsumedCapacity())) {
+                List<ConsumedCapacity> capacities = new ArrayList<>();
+                unitsByTable.forEach(
+                        (tableName, units) -> capacities.add(writeCapacity(tableName, units)));
+                response.consumedCapacity(capacities);
+            }
+            return response.build();
+        }
+    }
+
+    private Page page(
+            Iterable<Map.Entry<String, Map<String, AttributeValue>>> entries,
+            Condition range,
+            Condition filter,
+            List<String> projection,
+            Integer limit) {
+        Page page = new Page();
+        boolean inRange = false;
+        Map.Entry<String, Map<String, AttributeValue>> last = null;
+        for (Map.Entry<String, Map<String, AttributeValue>> entry : entries) {
+            Map<String, AttributeValue> item = entry.getValue();
+            if (!range.test(item)) {
+                if (inRange) {
+                    break;
+                }
+                continue;
+            }
+            inRange = true;
+            long size = ItemSize.of(item);
+            if (0 < page.scanned && pageBytes < page.bytes + size) {
+                page.lastKey = keyOf(last.getValue());
+                return page;
+            }
+            page.bytes += size;
+            page.bytesByPartition.merge(item.get(PARTITION_KEY).s(), size, Long::sum);
+            page.scanned++;
+            last = entry;
+            if (null == filter || filter.test(item)) {
+                page.items.add(project(item, projection));
+            }
+            if (null != limit && limit == page.scanned) {
+                page.lastKey = keyOf(item);
+                return page;
+            }
+        }
+        return page;
+    }
+
+    private static Map<String, AttributeValue> keyOf(Map<String, AttributeValue> item) {
+        return Map.of(PARTITION_KEY, item.get(PARTITION_KEY), SORT_KEY, item.get(SORT_KEY));
+    }
+
+    private static Map<String, AttributeValue> returnedValues(
+            ReturnValue returnValue,
+            Update update,
+            Map<String, AttributeValue> old,
+            Map<String, AttributeValue> updated) {
+        if (null == returnValue || ReturnValue.NONE == returnValue) {
+            return null;
+        }
+        switch (returnValue) {
+            case ALL_OLD:
+                return old;
+            case ALL_NEW:
+                return updated;
+            case UPDATED_OLD:
+                return null != old ? project(old, new ArrayList<>(update.attributes())) : null;
+            case UPDATED_NEW:
+                return project(updated, new ArrayList<>(update.attributes()));
+            default:
+                throw validation("Return values set to invalid value");
+        }
+    }
+
+    private static Map<String, AttributeValue> project(
+            Map<String, AttributeValue> item, List<String> projection) {
+        if (null == projection) {
+            return item;
+        }
+        Map<String, AttributeValue> projected = new HashMap<>();
+        for (String attribute : projection) {
+            AttributeValue value = item.get(attribute);
+            if (null != value) {
+                projected.put(attribute, value);
+            }
+        }
+        return projected;
+    }
+
+    private static List<String> projection(Expressions expressions, String expression) {
+        return null != expression ? expressions.projection(expression) : null;
+    }
+
+    private static Condition condition(Expressions expressions, String expression) {
+        return null != expression ? expressions.condition(expression) : null;
+    }
+
+    private static Update update(Expressions expressions, String expression) {
+        if (null == expression) {
+            throw new UnsupportedOperationException(
+                    "only updates with an UpdateExpression are supported in memory");
+        }
+        Update update = expressions.update(expression);
+        for (String attribute : update.attributes()) {
+            if (PARTITION_KEY.equals(attribute) || SORT_KEY.equals(attribute)) {
+                throw validation(
+                        "Cannot update attribute "
+                                + attribute
+                                + ". This attribute is part of the key");
+            }
+        }
+        return update;
+    }
+
+    private static void check(Condition condition, Map<String, AttributeValue> item) {
+        if (null != condition && !condition.test(null != item ? item : Map.of())) {
+            throw ConditionalCheckFailedException.builder()
+                    .message("The conditional request failed")
+                    .statusCode(400)
+                    .awsErrorDetails(
+                            errorDetails(
+                                    "ConditionalCheckFailedException",
+                                    "The conditional request failed"))
+                    .build();
+        }
+    }
+
+    private static void checkSize(Map<String, AttributeValue> item) {
+        if (MAX_ITEM_BYTES < ItemSize.of(item)) {
+            throw validation("Item size has exceeded the maximum allowed size");
+        }
+    }
+
+    private static Key key(Map<String, AttributeValue> key) {
+        if (2 != key.size()) {
+            throw validation("The provided key element does not match the schema");
+        }
+        return itemKey(key);
+    }
+
+    private static Key itemKey(Map<String, AttributeValue> item) {
+        AttributeValue partition = item.get(PARTITION_KEY);
+        AttributeValue sort = item.get(SORT_KEY);
+        if (null == partition || null == partition.s() || null == sort || null == sort.s()) {
+            throw validation("The provided key element does not match the schema");
+        }
+        return new Key(partition.s(), sort.s());
+    }
+
+    private NavigableMap<String, NavigableMap<String, Map<String, AttributeValue>>> table(
+            String tableName) {
+        if (null == tableName) {
+            throw validation("Value null at 'tableName' failed to satisfy constraint");
+        }
+        return tables.computeIfAbsent(tableName, name -> new TreeMap<>(UTF8_ORDER));
+    }
+
+    private NavigableMap<String, Map<String, AttributeValue>> partition(String tableName, Key key) {
+        return table(tableName)
+                .computeIfAbsent(key.partition, partition -> new TreeMap<>(UTF8_ORDER));
+    }
+
+    private void throttleRead(String tableName, String partition) {
+        if (!hasCapacity(readBudgets, partitionReadUnits, tableName, partition)) {
+            throttledRequests++;
+            throw throughputExceeded();
+        }
+    }
+
+    private void throttleWrite(String tableName, String partition) {
+        if (!hasCapacity(writeBudgets, partitionWriteUnits, tableName, partition)) {
+            throttledRequests++;
+            throw throughputExceeded();
+        }
+    }
+
+    private void chargeRead(String tableName, String partition, double units) {
+        charge(readBudgets, partitionReadUnits, tableName, partition, units);
+        consumedReadUnits += units;
+        consumedUnitsByPartition.merge(partition, units, Double::sum);
+    }
+
+    private void chargeWrite(String tableName, String partition, double units) {
+        charge(writeBudgets, partitionWriteUnits, tableName, partition, units);
+        consumedWriteUnits += units;
+        consumedUnitsByPartition.merge(partition, units, Double::sum);
+    }
+
+    private boolean hasCapacity(
+            Map<String, PartitionBudget> budgets,
+            double unitsPerSecond,
+            String tableName,
+            String partition) {
+        return 0 == unitsPerSecond
+                || budget(budgets, unitsPerSecond, tableName, partition)
+                        .hasCapacity(clock.getAsLong());
+    }
+
+    private void charge(
+            Map<String, PartitionBudget> budgets,
+            double unitsPerSecond,
+            String tableName,
+            String partition,
+            double units) {
+        if (0 != unitsPerSecond) {
+            budget(budgets, unitsPerSecond, tableName, partition).charge(units, clock.getAsLong());
+        }
+    }
+
+    private PartitionBudget budget(
+            Map<String, PartitionBudget> budgets,
+            double unitsPerSecond,
+            String tableName,
+            String partition) {
+        return budgets.computeIfAbsent(
+                tableName + "\u0000" + partition,
+                key -> new PartitionBudget(unitsPerSecond, clock.getAsLong()));
+    }
+
+    private static double readUnits(long bytes, boolean consistent) {
+        double units = Math.max(1, (bytes + READ_UNIT_BYTES - 1) / READ_UNIT_BYTES);
+        return consistent ? units : units / 2;
+    }
+
+    private static double writeUnits(
+            Map<String, AttributeValue> old, Map<String, AttributeValue> item) {
+        long bytes =
+                Math.max(null != old ? ItemSize.of(old) : 0, null != item ? ItemSize.of(item) : 0);
+        return Math.max(1, (bytes + WRITE_UNIT_BYTES - 1) / WRITE_UNIT_BYTES);
+    }
+
+    private static boolean reportsCapacity(ReturnConsumedCapacity returnConsumedCapacity) {
+        return ReturnConsumedCapacity.TOTAL == returnConsumedCapacity
+                || ReturnConsumedCapacity.INDEXES == returnConsumedCapacity;
+    }
+
+    private static ConsumedCapacity readCapacity(String tableName, double units) {
+        return ConsumedCapacity.builder()
+                .tableName(tableName)
+                .capacityUnits(units)
+                .readCapacityUnits(units)
+                .build();
+    }
+
+    private static ConsumedCapacity writeCapacity(String tableName, double units) {
+        return ConsumedCapacity.builder()
+                .tableName(tableName)
+                .capacityUnits(units)
+                .writeCapacityUnits(units)
+                .build();
+    }
+
+    private static ProvisionedThroughputExceededException throughputExceeded() {
+        String message =
+                "The level of configured provisioned throughput for the table was exceeded."
+                        + " Consider increasing your provisioning level with the UpdateTable API.";
+        return ProvisionedThroughputExceededException.builder()
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(errorDetails("ProvisionedThroughputExceededException", message))
+                .build();
+    }
+
+    private static CancellationReason reason(String code) {
+        return reason(code, null);
+    }
+
+    /** The reason a write was cancelled, holding the item it found when one was asked for. */
+    private static CancellationReason reason(String code, Map<String, AttributeValue> item) {
+        CancellationReason.Builder reason = CancellationReason.builder().code(code).item(item);
+        if (CONDITIONAL_CHECK_FAILED.equals(code)) {
+            reason.message("The conditional request failed");
+        } else if (THROTTLING_ERROR.equals(code)) {
+            reason.message("Throughput exceeds the current capacity of your table or index.");
+        }
+        return reason.build();
+    }
+
+    private static TransactionCanceledException transactionCanceled(
+            List<CancellationReason> reasons) {
+        List<String> codes = new ArrayList<>();
+        for (CancellationReason reason : reasons) {
+            codes.add(reason.code());
+        }
+        String message =
+                "Transaction cancelled, please refer cancellation reasons for specific reasons "
+                        + codes;
+        return TransactionCanceledException.builder()
+                .message(message)
+                .cancellationReasons(reasons)
+                .statusCode(400)
+                .awsErrorDetails(errorDetails("TransactionCanceledException", message))
+                .build();
+    }
+
+    private static AwsErrorDetails errorDetails(String code, String message) {
+        return AwsErrorDetails.builder()
+                .errorCode(code)
+                .errorMessage(message)
+                .serviceName("DynamoDb")
+                .build();
+    }
+
+    private static boolean isPriming(AwsRequest request) {
+        return request.overrideConfiguration()
+                .map(
+                        configuration ->
+                                configuration
+                                        .headers()
+                                        .keySet()
+                                        .containsAll(PRIMING_OVERRIDE.headers().keySet()))
+                .orElse(false);
+    }
+
+    private void pause() {
+        long nanos = latencyNanos;
+        if (0 < jitterNanos) {
+            nanos += ThreadLocalRandom.current().nextLong(jitterNanos);
+        }
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; 0 < left; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private static final class Key {
+        private final String partition;
+        private final String sort;
+
+        private Key(String partition, String sort) {
+            this.partition = partition;
+            this.sort = sort;
+        }
+
+        private Map<String, AttributeValue> attributes() {
+            return Map.of(
+                    PARTITION_KEY,
+                    AttributeValue.builder().s(partition).build(),
+                    SORT_KEY,
+                    AttributeValue.builder().s(sort).build());
+        }
+
+        @Override
+        public String toString() {
+            return partition + "\u0000" + sort;
+        }
+    }
+
+    private static final class Page {
+        private final List<Map<String, AttributeValue>> items = new ArrayList<>();
+        private final Map<String, Long> bytesByPartition = new HashMap<>();
+        private int scanned;
+        private long bytes;
+        private Map<String, AttributeValue> lastKey;
+    }
+
+    /**
+     * A query's key condition: equality on the partition key, and optionally one comparison, {@code
+     * BETWEEN} or {@code begins_with} on the sort key.
+     */
+    private static final class KeyCondition implements Condition {
+        private final Condition condition;
+        private final String partition;
+        private final String lowerBound;
+        private final boolean lowerInclusive;
+
+        private KeyCondition(Condition condition) {
+            this.condition = condition;
+            Condition sortCondition = null;
+            String partition = partitionValue(condition);
+            if (null == partition && condition instanceof And) {
+                And and = (And) condition;
+                partition = partitionValue(and.left);
+                sortCondition = and.right;
+                if (null == partition) {
+                    partition = partitionValue(and.right);
+                    sortCondition = and.left;
+                }
+            }
+            if (null == partition || (null != sortCondition && !isSortCondition(sortCondition))) {
+                throw validation("Query key condition not supported");
+            }
+            this.partition = partition;
+
+            String lowerBound = null;
+            boolean lowerInclusive = true;
+            if (sortCondition instanceof Comparison) {
+                Comparison comparison = (Comparison) sortCondition;
+                if (!comparison.operator.startsWith("<")) {
+                    lowerBound = comparison.right.constant.s();
+                    lowerInclusive = !">".equals(comparison.operator);
+                }
+            } else if (sortCondition instanceof Between) {
+                lowerBound = ((Between) sortCondition).lower.constant.s();
+            } else if (sortCondition instanceof BeginsWith) {
+                lowerBound = ((BeginsWith) sortCondition).prefix.constant.s();
+            }
+            this.lowerBound = lowerBound;
+            this.lowerInclusive = lowerInclusive;
+        }
+
+        private static String partitionValue(Condition condition) {
+            if (!(condition instanceof Comparison)) {
+                return null;
+            }
+            Comparison comparison = (Comparison) condition;
+            if (!"=".equals(comparison.operator)
+                    || !PARTITION_KEY.equals(comparison.left.attribute)
+                    || null == comparison.right.constant
+                    || null == comparison.right.constant.s()) {
+                return null;
+            }
+            return comparison.right.constant.s();
+        }
+
+        private static boolean isSortCondition(Condition condition) {
+            if (condition instanceof Comparison) {
+                Comparison comparison = (Comparison) condition;
+                return SORT_KEY.equals(comparison.left.attribute)
+                        && !"<>".equals(comparison.operator)
+                        && isString(comparison.right);
+            }
+            if (condition instanceof Between) {
+                Between between = (Between) condition;
+                return SORT_KEY.equals(between.subject.attribute)
+                        && isString(between.lower)
+                        && isString(between.upper);
+            }
+            if (condition instanceof BeginsWith) {
+                BeginsWith beginsWith = (BeginsWith) condition;
+                return SORT_KEY.equals(beginsWith.subject.attribute) && isString(beginsWith.prefix);
+            }
+            return false;
+        }
+
+        private static boolean isString(Expressions.Operand operand) {
+            return null != operand.constant && null != operand.constant.s();
+        }
+
+        /**
+         * The partition's items from where the key condition can first hold, after the start key,
+         * in the order the query reads them.
+         */
+        private NavigableMap<String, Map<String, AttributeValue>> range(
+                NavigableMap<String, Map<String, AttributeValue>> items,
+                boolean forward,
+                String startAfter) {
+            if (!forward) {
+                NavigableMap<String, Map<String, AttributeValue>> descending =
+                        items.descendingMap();
+                return null != startAfter ? descending.tailMap(startAfter, false) : descending;
+            }
+            if (null != startAfter
+                    && (null == lowerBound || 0 <= UTF8_ORDER.compare(startAfter, lowerBound))) {
+                return items.tailMap(startAfter, false);
+            }
+            return null != lowerBound ? items.tailMap(lowerBound, lowerInclusive) : items;
+        }
+
+        @Override
+        public boolean test(Map<String, AttributeValue> item) {
+            return condition.test(item);
+        }
+    }
+
+    /** One write of a transaction, checked against and applied to the item it names. */
+    private final class Write {
+        private final String tableName;
+        private final Key key;
+        private final Condition condition;
+        private final Map<String, AttributeValue> putItem;
+        private final Update update;
+        private final boolean delete;
+        private final boolean returnsOld;
+
+        private Write(TransactWriteItem item) {
+            Expressions expressions;
+            String conditionExpression;
+            ReturnValuesOnConditionCheckFailure onFailure;
+            Update update = null;
+            Map<String, AttributeValue> putItem = null;
+            if (null != item.conditionCheck()) {
+                ConditionCheck check = item.conditionCheck();
+                tableName = check.tableName();
+                key = key(check.key());
+                expressions =
+                        new Expressions(
+                                check.expressionAttributeNames(),
+                                check.expressionAttributeValues());
+                conditionExpression = check.conditionExpression();
+                onFailure = check.returnValuesOnConditionCheckFailure();
+                if (null == conditionExpression) {
+                    throw validation("The ConditionCheck must have a ConditionExpression");
+                }
+            } else if (null != item.put()) {
+                Put put = item.put();
+                tableName = put.tableName();
+                key = itemKey(put.item());
+                checkSize(put.item());
+                expressions =
+                        new Expressions(
+                                put.expressionAttributeNames(), put.expressionAttributeValues());
+                conditionExpression = put.conditionExpression();
+                onFailure = put.returnValuesOnConditionCheckFailure();
+                putItem = put.item();
+            } else if (null != item.delete()) {
+                Delete delete = item.delete();
+                tableName = delete.tableName();
+                key = key(delete.key());
+                expressions =
+                        new Expressions(
+                                delete.expressionAttributeNames(),
+                                delete.expressionAttributeValues());
+                conditionExpression = delete.conditionExpression();
+                onFailure = delete.returnValuesOnConditionCheckFailure();
+            } else if (null != item.update()) {
+                software.amazon.awssdk.services.dynamodb.model.Update write = item.update();
+                tableName = write.tableName();
+                key = key(write.key());
+                expressions =
+                        new Expressions(
+                                write.expressionAttributeNames(),
+                                write.expressionAttributeValues());
+                update = InMemoryDynamoDbClient.update(expressions, write.updateExpression());
+                conditionExpression = write.conditionExpression();
+                onFailure = write.returnValuesOnConditionCheckFailure();
+            } else {
+                throw validation(
+                        "TransactItems can only contain one of Check, Put, Update or Delete");
+            }
+            this.condition = InMemoryDynamoDbClient.condition(expressions, conditionExpression);
+            expressions.checkAllUsed();
+            this.putItem = putItem;
+            this.update = update;
+            this.delete = null != item.delete();
+            this.returnsOld = ReturnValuesOnConditionCheckFailure.ALL_OLD == onFailure;
+        }
+
+        private Map<String, AttributeValue> current() {
+            Map<String, AttributeValue> item = stored();
+            return null != item ? item : Map.of();
+        }
+
+        /** The item the write names, or null when there is none. */
+        private Map<String, AttributeValue> stored() {
+            return partition(tableName, key).get(key.sort);
+        }
+
+        /** Applies the write and returns the units it consumes outside a transaction. */
+        private double apply() {
+            NavigableMap<String, Map<String, AttributeValue>> partition = partition(tableName, key);
+            Map<String, AttributeValue> old = partition.get(key.sort);
+            Map<String, AttributeValue> item = old;
+            if (null != putItem) {
+                item = putItem;
+            } else if (null != update) {
+                item = update.apply(null != old ? old : key.attributes());
+                checkSize(item);
+            } else if (delete) {
+                item = null;
+            }
+            if (null == item) {
+                partition.remove(key.sort);
+            } else if (item != old) {
+                partition.put(key.sort, Map.copyOf(item));
+            }
+            return writeUnits(old, item);
+        }
+    }
+
+    public static final class Builder {
+        private Duration latency = Duration.ZERO;
+        private Duration jitter = Duration.ZERO;
+        private double partitionReadUnits;
+        private double partitionWriteUnits;
+        private int pageBytes = 1024 * 1024;
+        private LongSupplier clock = System::nanoTime;
+
+        private Builder() {}
+
+        /** The time every request takes before it is served. */
+        public Builder withLatency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /** The most time, drawn uniformly, added to the latency of each request. */
+        public Builder withJitter(Duration jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        /** The read units each partition serves per second, or zero for no limit. */
+        public Builder withPartitionReadUnits(double partitionReadUnits) {
+            this.partitionReadUnits = partitionReadUnits;
+            return this;
+        }
+
+        /** The write units each partition serves per second, or zero for no limit. */
+        public Builder withPartitionWriteUnits(double partitionWriteUnits) {
+            this.partitionWriteUnits = partitionWriteUnits;
+            return this;
+        }
+
+        /** The bytes of items after which a query or scan page ends, a megabyte by default. */
+        public Builder withPageBytes(int pageBytes) {
+            this.pageBytes = pageBytes;
+            return this;
+        }
+
+        Builder withClock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public InMemoryDynamoDbClient build() {
+            if (latency.isNegative()) {
+                throw new IllegalArgumentException("latency cannot be negative");
+            }
+            if (jitter.isNegative()) {
+                throw new IllegalArgumentException("jitter cannot be negative");
+            }
+            if (0 > partitionReadUnits) {
+                throw new IllegalArgumentException("partitionReadUnits cannot be negative");
+            }
+            if (0 > partitionWriteUnits) {
+                throw new IllegalArgumentException("partitionWriteUnits cannot be negative");
+            }
+            if (1 > pageBytes) {
+                throw new IllegalArgumentException("pageBytes must be greater than 0");
+            }
+            return new InMemoryDynamoDbClient(this);
+        }
+    }
+}
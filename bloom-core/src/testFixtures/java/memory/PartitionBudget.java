@@ -0,0 +1,41 @@
+package memory;
+
+/**
+ * The capacity one partition has left this second, refilled continuously at its units per second
+ * and holding at most one second's worth. A request is throttled only once the budget is used up,
+ * and its actual units are charged afterwards, so a large item can overdraw it; the debt is paid
+ * back before the partition serves again, much as DynamoDB's adaptive capacity lets bursts through
+ * and throttles what follows.
+ */
+final class PartitionBudget {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double unitsPerSecond;
+    private double units;
+    private long refilledAt;
+
+    PartitionBudget(double unitsPerSecond, long now) {
+        this.unitsPerSecond = unitsPerSecond;
+        this.units = unitsPerSecond;
+        this.refilledAt = now;
+    }
+
+    boolean hasCapacity(long now) {
+        refill(now);
+        return 0 < units;
+    }
+
+    void charge(double consumed, long now) {
+        refill(now);
+        units -= consumed;
+    }
+
+    private void refill(long now) {
+        units =
+                Math.min(
+                        unitsPerSecond,
+                        units + (now - refilledAt) / NANOS_PER_SECOND * unitsPerSecond);
+        refilledAt = now;
+    }
+}
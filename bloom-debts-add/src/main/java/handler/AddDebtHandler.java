@@ -1,23 +1,28 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Samples.debt;
+import static priming.Samples.subject;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.util.Map;
 import model.Debt;
 import model.RequestDetails;
 import model.Subject;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DynamoService;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import transform.DebtTransformer;
 
 public class AddDebtHandler extends RequestStreamHandler<Debt, Void> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectReader REQUEST_READER = provideReader(Debt.class);
 
     public static final DynamoService DYNAMO_SERVICE =
             new DynamoService(provideClient(), provideTableName());
@@ -27,8 +32,17 @@ public class AddDebtHandler extends RequestStreamHandler<Debt, Void> {
     public static final AddDebtHandlerDelegate DELEGATE =
             new AddDebtHandlerDelegate(new DebtTransformer(), DYNAMO_SERVICE, LOGGER);
 
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(debt(), provideWriter(Debt.class), REQUEST_READER),
+                            () -> new DebtTransformer().toAttributeMap(debt(), subject()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
     public AddDebtHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Debt.class);
+        super(DELEGATE, REQUEST_READER, null);
     }
 
     static class AddDebtHandlerDelegate implements Handler<Debt, Void> {
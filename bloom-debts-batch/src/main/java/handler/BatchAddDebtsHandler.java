@@ -0,0 +1,110 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Priming.write;
+import static priming.Samples.debt;
+import static priming.Samples.subject;
+import static provider.DynamoProvider.provideAsyncClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
+import static util.BatchValidator.checkBatch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.BatchItemResult;
+import model.Debt;
+import model.RequestDetails;
+import model.Subject;
+import model.WriteStatus;
+import org.slf4j.Logger;
+import priming.Primer;
+import service.BatchWriteService;
+import service.DynamoAsyncService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtTransformer;
+
+public class BatchAddDebtsHandler extends RequestStreamHandler<List<Debt>, List<BatchItemResult>> {
+
+    public static final ObjectReader REQUEST_READER =
+            provideReader(new TypeReference<List<Debt>>() {});
+
+    public static final ObjectWriter RESPONSE_WRITER =
+            provideWriter(new TypeReference<List<BatchItemResult>>() {});
+
+    public static final DynamoAsyncService DYNAMO_SERVICE =
+            new DynamoAsyncService(provideAsyncClient(), provideTableName());
+
+    public static final BatchWriteService BATCH_SERVICE = new BatchWriteService(DYNAMO_SERVICE);
+
+    public static final Logger LOGGER = getLogger(BatchAddDebtsHandler.class);
+
+    public static final BatchAddDebtsHandlerDelegate DELEGATE =
+            new BatchAddDebtsHandlerDelegate(new DebtTransformer(), BATCH_SERVICE, LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(
+                                    List.of(debt()),
+                                    provideWriter(new TypeReference<List<Debt>>() {}),
+                                    REQUEST_READER),
+                            write(
+                                    List.of(new BatchItemResult("priming", WriteStatus.WRITTEN)),
+                                    RESPONSE_WRITER),
+                            () -> new DebtTransformer().toAttributeMap(debt(), subject()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public BatchAddDebtsHandler() {
+        super(DELEGATE, REQUEST_READER, RESPONSE_WRITER);
+    }
+
+    static class BatchAddDebtsHandlerDelegate
+            implements Handler<List<Debt>, List<BatchItemResult>> {
+
+        private final DebtTransformer transformer;
+        private final BatchWriteService service;
+        private final Logger logger;
+
+        BatchAddDebtsHandlerDelegate(
+                DebtTransformer transformer, BatchWriteService service, Logger logger) {
+            this.transformer = transformer;
+            this.service = service;
+            this.logger = logger;
+        }
+
+        @Override
+        public List<BatchItemResult> handle(
+                List<Debt> debts, Subject subject, RequestDetails details) {
+            checkBatch(debts, Debt::getName, "debts");
+
+            List<Map<String, AttributeValue>> items = new ArrayList<>(debts.size());
+            for (Debt debt : debts) {
+                items.add(transformer.toAttributeMap(debt, subject));
+            }
+            List<WriteStatus> statuses = service.write(items);
+
+            List<BatchItemResult> results = new ArrayList<>(debts.size());
+            int written = 0;
+            for (int i = 0; i < debts.size(); i++) {
+                results.add(new BatchItemResult(debts.get(i).getName().getName(), statuses.get(i)));
+                if (WriteStatus.WRITTEN == statuses.get(i)) {
+                    written++;
+                }
+            }
+            logger.info(
+                    "{} of {} debts added for subject {}",
+                    written,
+                    debts.size(),
+                    subject.getSubject());
+            return results;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.BadRequestException;
+import handler.BatchAddDebtsHandler.BatchAddDebtsHandlerDelegate;
+import java.util.List;
+import java.util.Map;
+import model.BatchItemResult;
+import model.Debt;
+import model.Name;
+import model.RequestDetails;
+import model.Subject;
+import model.WriteStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import service.BatchWriteService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtTransformer;
+
+class BatchAddDebtsHandlerTest {
+
+    BatchAddDebtsHandlerDelegate sut;
+
+    DebtTransformer mockTransformer;
+    BatchWriteService mockService;
+    Debt mockCar, mockLoan;
+    Map<String, AttributeValue> mockCarItem, mockLoanItem;
+    Subject mockSubject;
+    RequestDetails mockDetails;
+    Logger mockLogger;
+
+    @BeforeEach
+    void beforeEach() {
+        mockTransformer = mock(DebtTransformer.class);
+        mockService = mock(BatchWriteService.class);
+        mockCar = mockDebt("car");
+        mockLoan = mockDebt("loan");
+        mockCarItem = mock(Map.class);
+        mockLoanItem = mock(Map.class);
+        mockSubject = mock(Subject.class);
+        mockDetails = mock(RequestDetails.class);
+        mockLogger = mock(Logger.class);
+
+        when(mockTransformer.toAttributeMap(mockCar, mockSubject)).thenReturn(mockCarItem);
+        when(mockTransformer.toAttributeMap(mockLoan, mockSubject)).thenReturn(mockLoanItem);
+        when(mockSubject.getSubject()).thenReturn("blah");
+        when(mockService.write(List.of(mockCarItem, mockLoanItem)))
+                .thenReturn(List.of(WriteStatus.WRITTEN, WriteStatus.FAILED));
+
+        sut = new BatchAddDebtsHandlerDelegate(mockTransformer, mockService, mockLogger);
+    }
+
+    @Test
+    void writesTransformedItemsInRequestOrderWhenHandled() {
+        // given
+
+        // when
+        sut.handle(List.of(mockCar, mockLoan), mockSubject, mockDetails);
+
+        // then
+        verify(mockService).write(List.of(mockCarItem, mockLoanItem));
+    }
+
+    @Test
+    void reportsOutcomePerItemWhenHandled() {
+        // given
+
+        // when
+        List<BatchItemResult> actual =
+                sut.handle(List.of(mockCar, mockLoan), mockSubject, mockDetails);
+
+        // then
+        assertThat(actual).extracting(BatchItemResult::getName).containsExactly("car", "loan");
+        assertThat(actual)
+                .extracting(BatchItemResult::getStatus)
+                .containsExactly(WriteStatus.WRITTEN, WriteStatus.FAILED);
+    }
+
+    @Test
+    void logsWhenDebtsAdded() {
+        // given
+
+        // when
+        sut.handle(List.of(mockCar, mockLoan), mockSubject, mockDetails);
+
+        // then
+        verify(mockLogger).info("{} of {} debts added for subject {}", 1, 2, "blah");
+    }
+
+    @Test
+    void throwsWhenNamesDuplicated() {
+        // given
+        Debt mockOtherCar = mockDebt("car");
+
+        // when
+
+        // then
+        assertThatThrownBy(
+                        () -> sut.handle(List.of(mockCar, mockOtherCar), mockSubject, mockDetails))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("debts should have unique names");
+        verify(mockService, never()).write(any());
+    }
+
+    private static Debt mockDebt(String name) {
+        Debt debt = mock(Debt.class);
+        Name mockName = mock(Name.class);
+        when(debt.getName()).thenReturn(mockName);
+        when(mockName.getName()).thenReturn(name);
+        return debt;
+    }
+}
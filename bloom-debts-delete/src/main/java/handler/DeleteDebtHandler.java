@@ -1,33 +1,50 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Samples.nameRequest;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import model.RequestDetails;
 import model.Subject;
 import model.Type;
 import model.request.NameRequest;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DeleteItemService;
 import service.DynamoService;
 
 public class DeleteDebtHandler extends RequestStreamHandler<NameRequest, Void> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectReader REQUEST_READER = provideReader(NameRequest.class);
 
-    public static final DeleteItemService DELETE_SERVICE =
-            new DeleteItemService(new DynamoService(provideClient(), provideTableName()));
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final DeleteItemService DELETE_SERVICE = new DeleteItemService(DYNAMO_SERVICE);
 
     public static final Logger LOGGER = getLogger(DeleteDebtHandler.class);
 
     public static final DeleteDebtHandlerDelegate DELEGATE =
             new DeleteDebtHandlerDelegate(DELETE_SERVICE, LOGGER);
 
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(
+                                    nameRequest(),
+                                    provideWriter(NameRequest.class),
+                                    REQUEST_READER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
     public DeleteDebtHandler() {
-        super(OBJECT_MAPPER, DELEGATE, NameRequest.class);
+        super(DELEGATE, REQUEST_READER, null);
     }
 
     static class DeleteDebtHandlerDelegate implements Handler<NameRequest, Void> {
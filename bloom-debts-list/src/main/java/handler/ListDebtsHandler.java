@@ -1,58 +1,97 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.drain;
+import static priming.Priming.write;
+import static priming.Samples.debt;
+import static priming.Samples.debtItem;
+import static provider.CacheProvider.provideListCache;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cache.ResponseCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.util.List;
+import java.util.Map;
 import model.Debt;
-import model.RequestDetails;
-import model.Subject;
+import model.Page;
 import model.Type;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DynamoService;
 import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import transform.DebtsDynamoTransformer;
 
-public class ListDebtsHandler extends RequestStreamHandler<Void, List<Debt>> {
+public class ListDebtsHandler extends RequestStreamHandler<Void, Page<Debt>> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectWriter RESPONSE_WRITER =
+            provideWriter(new TypeReference<Page<Debt>>() {});
 
-    public static final ListTypeService LIST_SERVICE =
-            new ListTypeService(new DynamoService(provideClient(), provideTableName()));
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final ListTypeService LIST_SERVICE = new ListTypeService(DYNAMO_SERVICE);
 
     public static final Logger LOGGER = getLogger(ListDebtsHandler.class);
 
     public static final ListDebtsHandlerDelegate DELEGATE =
-            new ListDebtsHandlerDelegate(new DebtsDynamoTransformer(), LIST_SERVICE, LOGGER);
+            new ListDebtsHandlerDelegate(
+                    new DebtsDynamoTransformer(),
+                    LIST_SERVICE,
+                    provideListCache(),
+                    RESPONSE_WRITER,
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            drain(new DebtsDynamoTransformer().toDebts(List.of(debtItem()))),
+                            drain(new DebtsDynamoTransformer().toPartialDebts(List.of(debtItem()))),
+                            write(new Page<>(List.of(debt()), null), RESPONSE_WRITER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
 
     public ListDebtsHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Void.class);
+        super(DELEGATE, null, RESPONSE_WRITER);
     }
 
-    static class ListDebtsHandlerDelegate implements Handler<Void, List<Debt>> {
+    static class ListDebtsHandlerDelegate extends ListTypeDelegate<Debt> {
 
         private final DebtsDynamoTransformer transformer;
-        private final ListTypeService service;
-        private final Logger logger;
 
         ListDebtsHandlerDelegate(
-                DebtsDynamoTransformer transformer, ListTypeService service, Logger logger) {
+                DebtsDynamoTransformer transformer,
+                ListTypeService service,
+                ResponseCache cache,
+                ObjectWriter writer,
+                Logger logger) {
+            super(Type.DEBT, "debts", service, cache, writer, logger);
             this.transformer = transformer;
-            this.service = service;
-            this.logger = logger;
         }
 
         @Override
-        public List<Debt> handle(Void request, Subject subject, RequestDetails details) {
-            QueryResponse response = service.list(subject, Type.DEBT);
-            List<Debt> debts = transformer.toDebtsList(response);
+        protected Iterable<Debt> toItems(Iterable<Map<String, AttributeValue>> items) {
+            return transformer.toDebts(items);
+        }
+
+        @Override
+        protected Iterable<Debt> toPartialItems(Iterable<Map<String, AttributeValue>> items) {
+            return transformer.toPartialDebts(items);
+        }
 
-            logger.info("{} debts listed for subject {}", debts.size(), subject.getSubject());
-            return debts;
+        @Override
+        protected List<Debt> toItemsList(QueryResponse response) {
+            return transformer.toDebtsList(response);
+        }
+
+        @Override
+        protected List<Debt> toPartialItemsList(QueryResponse response) {
+            return transformer.toPartialDebtsList(response);
         }
     }
 }
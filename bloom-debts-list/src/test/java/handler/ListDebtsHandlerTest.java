@@ -1,21 +1,33 @@
 package handler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import cache.ResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import handler.ListDebtsHandler.ListDebtsHandlerDelegate;
 import java.util.List;
+import java.util.Map;
 import model.Debt;
+import model.Page;
 import model.RequestDetails;
 import model.Subject;
 import model.Type;
+import model.request.FieldsRequest;
+import model.request.PageRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
 import service.ListTypeService;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import transform.DebtsDynamoTransformer;
 
@@ -27,8 +39,11 @@ class ListDebtsHandlerTest {
     RequestDetails mockDetails;
     DebtsDynamoTransformer mockTransformer;
     ListTypeService mockService;
+    SdkIterable mockItems;
+    Iterable mockDebts;
     QueryResponse response;
     List mockDebtsList;
+    ObjectWriter mockWriter;
     Logger mockLogger;
 
     @BeforeEach
@@ -37,16 +52,28 @@ class ListDebtsHandlerTest {
         mockDetails = mock(RequestDetails.class);
         mockTransformer = mock(DebtsDynamoTransformer.class);
         mockService = mock(ListTypeService.class);
+        mockItems = mock(SdkIterable.class);
+        mockDebts = mock(Iterable.class);
+        response = QueryResponse.builder().build();
         mockDebtsList = mock(List.class);
+        mockWriter = mock(ObjectWriter.class);
         mockLogger = mock(Logger.class);
 
-        response = QueryResponse.builder().build();
-
         when(mockSubject.getSubject()).thenReturn("hsdf-324jds3");
-        when(mockService.list(mockSubject, Type.DEBT)).thenReturn(response);
+        when(mockService.list(mockSubject, Type.DEBT)).thenReturn(mockItems);
+        when(mockTransformer.toDebts(mockItems)).thenReturn(mockDebts);
+        when(mockService.list(
+                        eq(mockSubject),
+                        eq(Type.DEBT),
+                        any(PageRequest.class),
+                        any(FieldsRequest.class)))
+                .thenReturn(response);
+        when(mockService.toCursor(response)).thenReturn("REVCVCNOZXh0");
         when(mockTransformer.toDebtsList(response)).thenReturn(mockDebtsList);
 
-        sut = new ListDebtsHandlerDelegate(mockTransformer, mockService, mockLogger);
+        sut =
+                new ListDebtsHandlerDelegate(
+                        mockTransformer, mockService, new ResponseCache(0), mockWriter, mockLogger);
     }
 
     @Test
@@ -61,43 +88,278 @@ class ListDebtsHandlerTest {
     }
 
     @Test
-    void transformerInvokedForQueryResponseWhenDelegateHandled() {
+    void transformerInvokedForItemsWhenDelegateHandled() {
         // given
 
         // when
         sut.handle(null, mockSubject, mockDetails);
 
+        // then
+        verify(mockTransformer, times(1)).toDebts(mockItems);
+    }
+
+    @Test
+    void returnsCorrectResponseWhenDelegateInvoked() {
+        // given
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getItems()).isEqualTo(mockDebts);
+        assertThat(actual.getCursor()).isNull();
+    }
+
+    @Test
+    void logsWhenDebtsListReturned() {
+        // given
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        verify(mockLogger, times(1))
+                .info("{} listed for subject {}", "debts", mockSubject.getSubject());
+    }
+
+    @Test
+    void servicePagedWhenLimitProvided() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        ArgumentCaptor<PageRequest> captor = ArgumentCaptor.forClass(PageRequest.class);
+        verify(mockService)
+                .list(eq(mockSubject), eq(Type.DEBT), captor.capture(), any(FieldsRequest.class));
+        PageRequest actual = captor.getValue();
+
+        assertThat(actual.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void transformerInvokedForQueryResponseWhenPaged() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
         // then
         ArgumentCaptor<QueryResponse> captor = ArgumentCaptor.forClass(QueryResponse.class);
-        verify(mockTransformer).toDebtsList(captor.capture());
+        verify(mockTransformer, times(1)).toDebtsList(captor.capture());
         QueryResponse actual = captor.getValue();
 
         assertThat(actual).isEqualTo(response);
     }
 
     @Test
-    void returnsCorrectResponseWhenDelegateInvoked() {
+    void returnsPageWithCursorWhenPaged() {
         // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
 
         // when
-        List<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
 
         // then
-        assertThat(actual).isEqualTo(mockDebtsList);
+        assertThat(actual.getItems()).isEqualTo(mockDebtsList);
+        assertThat(actual.getCursor()).isEqualTo("REVCVCNOZXh0");
     }
 
     @Test
-    void logsWhenSavingsListReturned() {
+    void logsCountWhenPaged() {
         // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
 
         // when
         sut.handle(null, mockSubject, mockDetails);
 
         // then
-        verify(mockLogger)
+        verify(mockLogger, times(1))
                 .info(
-                        "{} debts listed for subject {}",
+                        "{} {} listed for subject {}",
                         mockDebtsList.size(),
+                        "debts",
                         mockSubject.getSubject());
     }
+
+    @Test
+    void servesListFromCacheWhenVersionUnchanged() throws JsonProcessingException {
+        // given
+        byte[] body = {'[', ']'};
+        when(mockService.version(mockSubject)).thenReturn(4L);
+        when(mockWriter.writeValueAsBytes(any())).thenReturn(body);
+        sut = cachingDelegate();
+        sut.handle(null, mockSubject, mockDetails);
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getSerialized()).isSameAs(body);
+        verify(mockService, times(1)).list(mockSubject, Type.DEBT);
+        verify(mockWriter, times(1)).writeValueAsBytes(any());
+        verify(mockLogger, times(1))
+                .info("{} listed from cache for subject {}", "debts", mockSubject.getSubject());
+    }
+
+    @Test
+    void readsListAgainWhenVersionChanged() throws JsonProcessingException {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(4L, 5L);
+        when(mockWriter.writeValueAsBytes(any())).thenReturn(new byte[] {'[', ']'});
+        sut = cachingDelegate();
+        sut.handle(null, mockSubject, mockDetails);
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        verify(mockService, times(2)).list(mockSubject, Type.DEBT);
+    }
+
+    @Test
+    void serializesListedItemsWhenCacheMissed() throws JsonProcessingException {
+        // given
+        when(mockWriter.writeValueAsBytes(any())).thenReturn(new byte[] {'[', ']'});
+        sut = cachingDelegate();
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        ArgumentCaptor<Page> captor = ArgumentCaptor.forClass(Page.class);
+        verify(mockWriter).writeValueAsBytes(captor.capture());
+        assertThat(captor.getValue().getItems()).isEqualTo(mockDebts);
+    }
+
+    @Test
+    void bypassesCacheWhenPaged() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+        sut = cachingDelegate();
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        verify(mockService, never()).version(any());
+    }
+
+    @Test
+    void returnsETagFromVersionWhenUnpaged() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(7L);
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getETag()).isEqualTo("\"hsdf-324jds3-debt-7\"");
+        assertThat(actual.isNotModified()).isFalse();
+    }
+
+    @Test
+    void returnsNotModifiedWithoutListingWhenETagMatches() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(7L);
+        when(mockDetails.getHeaders())
+                .thenReturn(Map.of("if-none-match", "\"hsdf-324jds3-debt-7\""));
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.isNotModified()).isTrue();
+        assertThat(actual.getETag()).isEqualTo("\"hsdf-324jds3-debt-7\"");
+        verify(mockService, never()).list(mockSubject, Type.DEBT);
+        verify(mockTransformer, never()).toDebts(mockItems);
+        verify(mockLogger).info("{} not modified for subject {}", "debts", "hsdf-324jds3");
+    }
+
+    @Test
+    void listsAgainWhenETagIsStale() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(8L);
+        when(mockDetails.getHeaders())
+                .thenReturn(Map.of("If-None-Match", "\"hsdf-324jds3-debt-7\""));
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.isNotModified()).isFalse();
+        assertThat(actual.getETag()).isEqualTo("\"hsdf-324jds3-debt-8\"");
+        verify(mockService).list(mockSubject, Type.DEBT);
+    }
+
+    @Test
+    void omitsETagWhenPaged() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getETag()).isNull();
+    }
+
+    @Test
+    void listsRequestedFieldsWhenFieldsProvided() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("fields", "monthlyAmount"));
+        when(mockService.list(eq(mockSubject), eq(Type.DEBT), any(FieldsRequest.class)))
+                .thenReturn(mockItems);
+        when(mockTransformer.toPartialDebts(mockItems)).thenReturn(mockDebts);
+        sut = cachingDelegate();
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        ArgumentCaptor<FieldsRequest> captor = ArgumentCaptor.forClass(FieldsRequest.class);
+        verify(mockService).list(eq(mockSubject), eq(Type.DEBT), captor.capture());
+        assertThat(captor.getValue().getFields()).containsExactly("monthlyAmount", "name");
+        assertThat(actual.getItems()).isEqualTo(mockDebts);
+        verify(mockService, never()).list(mockSubject, Type.DEBT);
+        verify(mockTransformer, never()).toDebts(any());
+    }
+
+    @Test
+    void returnsETagForFieldsWhenFieldsProvided() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(7L);
+        when(mockDetails.getQueryStringParameters())
+                .thenReturn(Map.of("fields", "version,monthlyAmount"));
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getETag())
+                .isEqualTo("\"hsdf-324jds3-debt-7-monthlyAmount.name.version\"");
+    }
+
+    @Test
+    void transformsPartialItemsWhenPagedWithFields() {
+        // given
+        when(mockDetails.getQueryStringParameters())
+                .thenReturn(Map.of("limit", "10", "fields", "name"));
+        when(mockTransformer.toPartialDebtsList(response)).thenReturn(mockDebtsList);
+
+        // when
+        Page<Debt> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getItems()).isEqualTo(mockDebtsList);
+        verify(mockTransformer, never()).toDebtsList(any(QueryResponse.class));
+    }
+
+    private ListDebtsHandlerDelegate cachingDelegate() {
+        return new ListDebtsHandlerDelegate(
+                mockTransformer, mockService, new ResponseCache(1024), mockWriter, mockLogger);
+    }
 }
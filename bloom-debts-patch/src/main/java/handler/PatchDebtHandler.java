@@ -0,0 +1,138 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Priming.write;
+import static priming.Samples.debt;
+import static priming.Samples.debtItem;
+import static priming.Samples.debtPatch;
+import static priming.Samples.subject;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import exception.BadRequestException;
+import exception.ConflictException;
+import java.util.Map;
+import model.Debt;
+import model.Name;
+import model.RequestDetails;
+import model.Subject;
+import model.request.DebtPatch;
+import org.slf4j.Logger;
+import priming.Primer;
+import service.DynamoService;
+import service.PatchItemService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
+
+public class PatchDebtHandler extends RequestStreamHandler<DebtPatch, Debt> {
+
+    public static final ObjectReader REQUEST_READER = provideReader(DebtPatch.class);
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Debt.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final PatchItemService PATCH_SERVICE = new PatchItemService(DYNAMO_SERVICE);
+
+    public static final Logger LOGGER = getLogger(PatchDebtHandler.class);
+
+    public static final PatchDebtHandlerDelegate DELEGATE =
+            new PatchDebtHandlerDelegate(
+                    new DebtTransformer(), new DebtsDynamoTransformer(), PATCH_SERVICE, LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(debtPatch(), provideWriter(DebtPatch.class), REQUEST_READER),
+                            write(debtPatch().applyTo(debt()), RESPONSE_WRITER),
+                            () -> new DebtsDynamoTransformer().toDebt(debtItem()),
+                            () -> new DebtTransformer().toUpdateExpression(debtPatch(), debtItem()),
+                            () -> new DebtTransformer().toKey(debt().getName(), subject()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public PatchDebtHandler() {
+        super(DELEGATE, REQUEST_READER, RESPONSE_WRITER);
+    }
+
+    static class PatchDebtHandlerDelegate implements Handler<DebtPatch, Debt> {
+
+        private final DebtTransformer transformer;
+        private final DebtsDynamoTransformer itemTransformer;
+        private final PatchItemService service;
+        private final Logger logger;
+
+        PatchDebtHandlerDelegate(
+                DebtTransformer transformer,
+                DebtsDynamoTransformer itemTransformer,
+                PatchItemService service,
+                Logger logger) {
+            this.transformer = transformer;
+            this.itemTransformer = itemTransformer;
+            this.service = service;
+            this.logger = logger;
+        }
+
+        /**
+         * Applies the patch to the stored debt, read consistently so the result is validated as a
+         * whole. A patch that carries its version and can be validated on its own is written
+         * without that read, and the debt is read back once it is written.
+         */
+        @Override
+        public Debt handle(DebtPatch request, Subject subject, RequestDetails details) {
+            String name = details.getPathParameters().get("name");
+            if (null == name || name.isBlank()) {
+                throw new BadRequestException("name cannot be null or empty");
+            }
+
+            Map<String, AttributeValue> key = transformer.toKey(new Name(name), subject);
+            if (null != request.getVersion() && !request.needsStoredDebt()) {
+                Debt patched =
+                        itemTransformer.toDebt(
+                                service.patchAndGet(
+                                        key,
+                                        transformer.toUpdateExpression(request, Map.of()),
+                                        request.getVersion()));
+
+                logger.info(
+                        "Debt {} patched to version {} for subject {}",
+                        name,
+                        patched.getVersion(),
+                        subject.getSubject());
+                return patched;
+            }
+
+            Map<String, AttributeValue> item = service.read(key);
+            Debt stored = itemTransformer.toDebt(item);
+            long storedVersion = null != stored.getVersion() ? stored.getVersion() : 0;
+            if (null != request.getVersion() && storedVersion != request.getVersion()) {
+                throw new ConflictException("debt " + name + " is at version " + storedVersion);
+            }
+
+            Debt patched;
+            try {
+                patched = request.applyTo(stored);
+            } catch (IllegalArgumentException exception) {
+                throw new BadRequestException(exception.getMessage(), exception);
+            }
+            long version =
+                    service.patch(
+                            key, transformer.toUpdateExpression(request, item), storedVersion);
+
+            logger.info(
+                    "Debt {} patched to version {} for subject {}",
+                    name,
+                    version,
+                    subject.getSubject());
+            return patched.withVersion(version);
+        }
+    }
+}
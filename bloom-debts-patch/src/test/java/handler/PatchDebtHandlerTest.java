@@ -0,0 +1,221 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.BadRequestException;
+import exception.ConflictException;
+import handler.PatchDebtHandler.PatchDebtHandlerDelegate;
+import java.util.List;
+import java.util.Map;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.OneTimePayment;
+import model.Rate;
+import model.RequestDetails;
+import model.Subject;
+import model.request.DebtPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import service.PatchItemService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
+import transform.UpdateExpression;
+
+class PatchDebtHandlerTest {
+
+    PatchDebtHandlerDelegate sut;
+
+    Subject subject;
+    RequestDetails details;
+    DebtTransformer mockTransformer;
+    DebtsDynamoTransformer mockItemTransformer;
+    PatchItemService mockService;
+    Logger mockLogger;
+    Map<String, AttributeValue> key;
+    Map<String, AttributeValue> item;
+    UpdateExpression update;
+    Debt stored;
+    DebtPatch patch;
+
+    @BeforeEach
+    void beforeEach() {
+        subject = new Subject("hsdf-324jds3");
+        details = RequestDetails.newBuilder().withPathParameters(Map.of("name", "car")).build();
+        mockTransformer = mock(DebtTransformer.class);
+        mockItemTransformer = mock(DebtsDynamoTransformer.class);
+        mockService = mock(PatchItemService.class);
+        mockLogger = mock(Logger.class);
+        key = Map.of("PK", AttributeValue.builder().s("USER#hsdf-324jds3").build());
+        item = Map.of("SK", AttributeValue.builder().s("DEBT#car").build());
+        update = new UpdateExpression();
+        stored =
+                Debt.newBuilder()
+                        .withName(new Name("car"))
+                        .withStartAmount(new Amount("1000.00"))
+                        .withMonthlyAmount(new Amount("50.00"))
+                        .withStartDate(new Date("2020-01"))
+                        .withYearlyRate(new Rate("3.5"))
+                        .withVersion(3L)
+                        .build();
+        patch = DebtPatch.newBuilder().withMonthlyAmount(new Amount("60.00")).build();
+
+        when(mockTransformer.toKey(any(Name.class), any(Subject.class))).thenReturn(key);
+        when(mockService.read(key)).thenReturn(item);
+        when(mockItemTransformer.toDebt(item)).thenReturn(stored);
+        when(mockTransformer.toUpdateExpression(patch, item)).thenReturn(update);
+        when(mockService.patch(key, update, 3L)).thenReturn(4L);
+
+        sut =
+                new PatchDebtHandlerDelegate(
+                        mockTransformer, mockItemTransformer, mockService, mockLogger);
+    }
+
+    @Test
+    void patchesStoredVersionWhenDelegateHandled() {
+        // given
+
+        // when
+        sut.handle(patch, subject, details);
+
+        // then
+        verify(mockService).patch(key, update, 3L);
+    }
+
+    @Test
+    void returnsPatchedDebtAtUpdatedVersionWhenDelegateHandled() {
+        // given
+
+        // when
+        Debt actual = sut.handle(patch, subject, details);
+
+        // then
+        assertThat(actual.getName().getName()).isEqualTo("car");
+        assertThat(actual.getMonthlyAmount().toString()).isEqualTo("60.00");
+        assertThat(actual.getStartAmount()).isSameAs(stored.getStartAmount());
+        assertThat(actual.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void patchesFromZeroWhenStoredDebtPredatesVersions() {
+        // given
+        when(mockItemTransformer.toDebt(item)).thenReturn(stored.withVersion(null));
+
+        // when
+        sut.handle(patch, subject, details);
+
+        // then
+        verify(mockService).patch(key, update, 0L);
+    }
+
+    @Test
+    void throwsConflictWhenVersionDiffersFromStored() {
+        // given
+        DebtPatch stale =
+                DebtPatch.newBuilder().withStartDate(new Date("2020-06")).withVersion(2L).build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(stale, subject, details));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("debt car is at version 3");
+        verify(mockService, never()).patch(any(), any(), anyLong());
+    }
+
+    @Test
+    void throwsBadRequestWhenPatchedDebtInvalid() {
+        // given
+        DebtPatch invalid =
+                DebtPatch.newBuilder()
+                        .withAppendOneTimePayments(
+                                List.of(
+                                        new OneTimePayment(
+                                                new Amount("100.00"), new Date("2019-06"))))
+                        .build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(invalid, subject, details));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("oneTimePayment dates should be in range (startDate, 2050-12)");
+        verify(mockService, never()).patch(any(), any(), anyLong());
+    }
+
+    @Test
+    void writesWithoutReadingWhenVersionGivenAndPatchStandsAlone() {
+        // given
+        DebtPatch versioned =
+                DebtPatch.newBuilder()
+                        .withMonthlyAmount(new Amount("60.00"))
+                        .withVersion(3L)
+                        .build();
+        Map<String, AttributeValue> written =
+                Map.of("Version", AttributeValue.builder().n("4").build());
+        when(mockTransformer.toUpdateExpression(versioned, Map.of())).thenReturn(update);
+        when(mockService.patchAndGet(key, update, 3L)).thenReturn(written);
+        when(mockItemTransformer.toDebt(written)).thenReturn(stored.withVersion(4L));
+
+        // when
+        Debt actual = sut.handle(versioned, subject, details);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(4L);
+        verify(mockService, never()).read(any());
+        verify(mockService, never()).patch(any(), any(), anyLong());
+    }
+
+    @Test
+    void readsStoredWhenVersionGivenButPatchNeedsIt() {
+        // given
+        DebtPatch versioned =
+                DebtPatch.newBuilder().withStartDate(new Date("2020-06")).withVersion(3L).build();
+        when(mockTransformer.toUpdateExpression(versioned, item)).thenReturn(update);
+
+        // when
+        sut.handle(versioned, subject, details);
+
+        // then
+        verify(mockService).read(key);
+        verify(mockService).patch(key, update, 3L);
+    }
+
+    @Test
+    void throwsBadRequestWhenNameMissing() {
+        // given
+        RequestDetails noName = RequestDetails.newBuilder().build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(patch, subject, noName));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("name cannot be null or empty");
+    }
+
+    @Test
+    void logsWhenDebtPatched() {
+        // given
+
+        // when
+        sut.handle(patch, subject, details);
+
+        // then
+        verify(mockLogger)
+                .info("Debt {} patched to version {} for subject {}", "car", 4L, "hsdf-324jds3");
+    }
+}
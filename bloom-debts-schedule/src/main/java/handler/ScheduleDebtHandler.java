@@ -0,0 +1,102 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.write;
+import static priming.Samples.debt;
+import static priming.Samples.debtItem;
+import static priming.Samples.subject;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import exception.BadRequestException;
+import exception.NotFoundException;
+import java.util.Map;
+import model.Amortisation;
+import model.Name;
+import model.RequestDetails;
+import model.Subject;
+import org.slf4j.Logger;
+import priming.Primer;
+import projection.DebtAmortiser;
+import service.DynamoService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
+
+public class ScheduleDebtHandler extends RequestStreamHandler<Void, Amortisation> {
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Amortisation.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final Logger LOGGER = getLogger(ScheduleDebtHandler.class);
+
+    public static final ScheduleDebtHandlerDelegate DELEGATE =
+            new ScheduleDebtHandlerDelegate(
+                    new DebtTransformer(),
+                    new DebtsDynamoTransformer(),
+                    DYNAMO_SERVICE,
+                    new DebtAmortiser(),
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            () -> new DebtsDynamoTransformer().toDebt(debtItem()),
+                            () -> new DebtTransformer().toKey(debt().getName(), subject()),
+                            write(new DebtAmortiser().amortise(debt()), RESPONSE_WRITER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public ScheduleDebtHandler() {
+        super(DELEGATE, null, RESPONSE_WRITER);
+    }
+
+    static class ScheduleDebtHandlerDelegate implements Handler<Void, Amortisation> {
+
+        private final DebtTransformer keyTransformer;
+        private final DebtsDynamoTransformer itemTransformer;
+        private final DynamoService service;
+        private final DebtAmortiser amortiser;
+        private final Logger logger;
+
+        ScheduleDebtHandlerDelegate(
+                DebtTransformer keyTransformer,
+                DebtsDynamoTransformer itemTransformer,
+                DynamoService service,
+                DebtAmortiser amortiser,
+                Logger logger) {
+            this.keyTransformer = keyTransformer;
+            this.itemTransformer = itemTransformer;
+            this.service = service;
+            this.amortiser = amortiser;
+            this.logger = logger;
+        }
+
+        @Override
+        public Amortisation handle(Void request, Subject subject, RequestDetails details) {
+            String name = details.getPathParameters().get("name");
+            if (null == name || name.isBlank()) {
+                throw new BadRequestException("name cannot be null or empty");
+            }
+
+            Map<String, AttributeValue> item =
+                    service.get(keyTransformer.toKey(new Name(name), subject));
+            if (null == item) {
+                throw new NotFoundException("debt " + name + " not found");
+            }
+            Amortisation amortisation = amortiser.amortise(itemTransformer.toDebt(item));
+
+            logger.info(
+                    "Debt {} scheduled over {} months for subject {}",
+                    name,
+                    amortisation.getBalances().length,
+                    subject.getSubject());
+            return amortisation;
+        }
+    }
+}
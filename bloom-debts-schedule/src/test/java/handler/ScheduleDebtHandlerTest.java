@@ -0,0 +1,152 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.BadRequestException;
+import exception.NotFoundException;
+import handler.ScheduleDebtHandler.ScheduleDebtHandlerDelegate;
+import java.util.Map;
+import model.Amortisation;
+import model.Amount;
+import model.Date;
+import model.Debt;
+import model.Name;
+import model.Rate;
+import model.RequestDetails;
+import model.Subject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import projection.DebtAmortiser;
+import service.DynamoService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
+
+class ScheduleDebtHandlerTest {
+
+    ScheduleDebtHandlerDelegate sut;
+
+    Subject subject;
+    DebtTransformer mockKeyTransformer;
+    DebtsDynamoTransformer mockItemTransformer;
+    DynamoService mockService;
+    DebtAmortiser mockAmortiser;
+    Logger mockLogger;
+    Map<String, AttributeValue> key;
+    Map<String, AttributeValue> item;
+    Debt debt;
+    Amortisation amortisation;
+
+    @BeforeEach
+    void beforeEach() {
+        subject = new Subject("hsdf-324jds3");
+        mockKeyTransformer = mock(DebtTransformer.class);
+        mockItemTransformer = mock(DebtsDynamoTransformer.class);
+        mockService = mock(DynamoService.class);
+        mockAmortiser = mock(DebtAmortiser.class);
+        mockLogger = mock(Logger.class);
+        key = Map.of("PK", AttributeValue.builder().s("USER#hsdf-324jds3").build());
+        item = Map.of("SK", AttributeValue.builder().s("DEBT#car").build());
+        debt =
+                Debt.newBuilder()
+                        .withName(new Name("car"))
+                        .withStartAmount(new Amount("30.00"))
+                        .withMonthlyAmount(new Amount("10.00"))
+                        .withStartDate(new Date("2020-01"))
+                        .withYearlyRate(new Rate("0"))
+                        .build();
+        amortisation =
+                new Amortisation(
+                        debt.getName(),
+                        debt.getStartDate(),
+                        2,
+                        0,
+                        new long[] {2000, 1000, 0},
+                        new long[] {0, 0, 0},
+                        new long[] {1000, 1000, 1000});
+
+        when(mockKeyTransformer.toKey(any(Name.class), any(Subject.class))).thenReturn(key);
+        when(mockService.get(key)).thenReturn(item);
+        when(mockItemTransformer.toDebt(item)).thenReturn(debt);
+        when(mockAmortiser.amortise(debt)).thenReturn(amortisation);
+
+        sut =
+                new ScheduleDebtHandlerDelegate(
+                        mockKeyTransformer,
+                        mockItemTransformer,
+                        mockService,
+                        mockAmortiser,
+                        mockLogger);
+    }
+
+    @Test
+    void returnsScheduleWhenDebtExists() {
+        // given
+        RequestDetails details = details("car");
+
+        // when
+        Amortisation actual = sut.handle(null, subject, details);
+
+        // then
+        assertThat(actual).isSameAs(amortisation);
+    }
+
+    @Test
+    void looksUpDebtByPathNameWhenInvoked() {
+        // given
+        RequestDetails details = details("car");
+
+        // when
+        sut.handle(null, subject, details);
+
+        // then
+        verify(mockKeyTransformer)
+                .toKey(argThat(name -> "car".equals(name.getName())), eq(subject));
+        verify(mockService).get(key);
+    }
+
+    @Test
+    void throwsNotFoundWhenDebtMissing() {
+        // given
+        when(mockService.get(key)).thenReturn(null);
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(null, subject, details("car")));
+
+        // then
+        assertThat(actual)
+                .isExactlyInstanceOf(NotFoundException.class)
+                .hasMessage("debt car not found");
+        verify(mockAmortiser, never()).amortise(any());
+    }
+
+    @Test
+    void throwsBadRequestWhenNameMissing() {
+        // given
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(null, subject, details(null)));
+
+        // then
+        assertThat(actual)
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasMessage("name cannot be null or empty");
+        verify(mockService, never()).get(any());
+    }
+
+    private static RequestDetails details(String name) {
+        return RequestDetails.newBuilder()
+                .withHttpMethod("GET")
+                .withPathParameters(null == name ? Map.of() : Map.of("name", name))
+                .build();
+    }
+}
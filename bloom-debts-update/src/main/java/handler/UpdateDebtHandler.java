@@ -1,60 +1,105 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Samples.debt;
+import static priming.Samples.debtItem;
+import static priming.Samples.subject;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.util.Map;
 import model.Debt;
 import model.RequestDetails;
 import model.Subject;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DynamoService;
 import service.UpdateDebtService;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
 
-public class UpdateDebtHandler extends RequestStreamHandler<Debt, Void> {
+public class UpdateDebtHandler extends RequestStreamHandler<Debt, Debt> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectReader REQUEST_READER = provideReader(Debt.class);
 
-    public static final UpdateDebtService UPDATE_SERVICE =
-            new UpdateDebtService(new DynamoService(provideClient(), provideTableName()));
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Debt.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final UpdateDebtService UPDATE_SERVICE = new UpdateDebtService(DYNAMO_SERVICE);
 
     public static final Logger LOGGER = getLogger(UpdateDebtHandler.class);
 
     public static final UpdateDebtHandlerDelegate DELEGATE =
-            new UpdateDebtHandlerDelegate(new DebtTransformer(), UPDATE_SERVICE, LOGGER);
+            new UpdateDebtHandlerDelegate(
+                    new DebtTransformer(), new DebtsDynamoTransformer(), UPDATE_SERVICE, LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(debt(), RESPONSE_WRITER, REQUEST_READER),
+                            () -> new DebtTransformer().toAttributeMap(debt()),
+                            () -> new DebtTransformer().toKey(debt().getName(), subject()),
+                            () -> new DebtsDynamoTransformer().toDebt(debtItem()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
 
     public UpdateDebtHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Debt.class);
+        super(DELEGATE, REQUEST_READER, RESPONSE_WRITER);
     }
 
-    static class UpdateDebtHandlerDelegate implements Handler<Debt, Void> {
+    static class UpdateDebtHandlerDelegate implements Handler<Debt, Debt> {
 
         private final DebtTransformer transformer;
+        private final DebtsDynamoTransformer itemTransformer;
         private final UpdateDebtService service;
         private final Logger logger;
 
         UpdateDebtHandlerDelegate(
-                DebtTransformer transformer, UpdateDebtService service, Logger logger) {
+                DebtTransformer transformer,
+                DebtsDynamoTransformer itemTransformer,
+                UpdateDebtService service,
+                Logger logger) {
             this.transformer = transformer;
+            this.itemTransformer = itemTransformer;
             this.service = service;
             this.logger = logger;
         }
 
+        /**
+         * An update naming the version it was based on only applies while the debt is still at it,
+         * so it never overwrites a newer one. One naming no version replaces whatever is stored, as
+         * before versions were kept, and is answered with the debt read back once it is written, so
+         * the client learns its version.
+         */
         @Override
-        public Void handle(Debt request, Subject subject, RequestDetails details) {
+        public Debt handle(Debt request, Subject subject, RequestDetails details) {
             Map<String, AttributeValue> key = transformer.toKey(request.getName(), subject);
             Map<String, AttributeValue> attributeValueMap = transformer.toAttributeMap(request);
-            service.update(key, attributeValueMap);
+            if (null == request.getVersion()) {
+                Debt updated = itemTransformer.toDebt(service.update(key, attributeValueMap));
+                logger.info(
+                        "Debt {} updated to version {} for subject {}",
+                        request.getName().getName(),
+                        updated.getVersion(),
+                        subject.getSubject());
+                return updated;
+            }
+            long version = service.update(key, attributeValueMap, request.getVersion());
             logger.info(
-                    "Debt {} updated for subject {}",
+                    "Debt {} updated to version {} for subject {}",
                     request.getName().getName(),
+                    version,
                     subject.getSubject());
-            return null;
+            return request.withVersion(version);
         }
     }
 }
@@ -1,6 +1,10 @@
 package handler;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import service.UpdateDebtService;
 import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
 
 class UpdateDebtHandlerTest {
     UpdateDebtHandlerDelegate sut;
@@ -22,8 +27,10 @@ class UpdateDebtHandlerTest {
     Subject mockSubject;
     RequestDetails mockDetails;
     DebtTransformer mockTransformer;
+    DebtsDynamoTransformer mockItemTransformer;
     UpdateDebtService mockService;
     Debt mockDebt;
+    Debt mockUpdatedDebt;
     Map mockKey;
     Map mockAttributeMap;
     Logger mockLogger;
@@ -33,8 +40,10 @@ class UpdateDebtHandlerTest {
         mockSubject = mock(Subject.class);
         mockDetails = mock(RequestDetails.class);
         mockTransformer = mock(DebtTransformer.class);
+        mockItemTransformer = mock(DebtsDynamoTransformer.class);
         mockService = mock(UpdateDebtService.class);
         mockDebt = mock(Debt.class);
+        mockUpdatedDebt = mock(Debt.class);
         mockLogger = mock(Logger.class);
 
         Name mockName = mock(Name.class);
@@ -44,8 +53,13 @@ class UpdateDebtHandlerTest {
 
         when(mockTransformer.toKey(mockDebt.getName(), mockSubject)).thenReturn(mockKey);
         when(mockTransformer.toAttributeMap(mockDebt)).thenReturn(mockAttributeMap);
+        when(mockDebt.getVersion()).thenReturn(3L);
+        when(mockService.update(mockKey, mockAttributeMap, 3L)).thenReturn(4L);
+        when(mockDebt.withVersion(4L)).thenReturn(mockUpdatedDebt);
 
-        sut = new UpdateDebtHandlerDelegate(mockTransformer, mockService, mockLogger);
+        sut =
+                new UpdateDebtHandlerDelegate(
+                        mockTransformer, mockItemTransformer, mockService, mockLogger);
     }
 
     @Test
@@ -78,7 +92,18 @@ class UpdateDebtHandlerTest {
         sut.handle(mockDebt, mockSubject, mockDetails);
 
         // then
-        verify(mockService).update(mockKey, mockAttributeMap);
+        verify(mockService).update(mockKey, mockAttributeMap, 3L);
+    }
+
+    @Test
+    void returnsDebtAtUpdatedVersionWhenDelegateHandled() {
+        // given
+
+        // when
+        Debt actual = sut.handle(mockDebt, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual).isSameAs(mockUpdatedDebt);
     }
 
     @Test
@@ -91,8 +116,33 @@ class UpdateDebtHandlerTest {
         // then
         verify(mockLogger)
                 .info(
-                        "Debt {} updated for subject {}",
+                        "Debt {} updated to version {} for subject {}",
+                        mockDebt.getName().getName(),
+                        4L,
+                        mockSubject.getSubject());
+    }
+
+    @Test
+    void returnsStoredDebtWhenNoVersionGiven() {
+        // given
+        Map mockItem = mock(Map.class);
+        Debt mockStoredDebt = mock(Debt.class);
+        when(mockDebt.getVersion()).thenReturn(null);
+        when(mockService.update(mockKey, mockAttributeMap)).thenReturn(mockItem);
+        when(mockItemTransformer.toDebt(mockItem)).thenReturn(mockStoredDebt);
+        when(mockStoredDebt.getVersion()).thenReturn(7L);
+
+        // when
+        Debt actual = sut.handle(mockDebt, mockSubject, mockDetails);
+
+        // then
+        verify(mockService, never()).update(any(), any(), anyLong());
+        verify(mockLogger)
+                .info(
+                        "Debt {} updated to version {} for subject {}",
                         mockDebt.getName().getName(),
+                        7L,
                         mockSubject.getSubject());
+        assertThat(actual).isSameAs(mockStoredDebt);
     }
 }
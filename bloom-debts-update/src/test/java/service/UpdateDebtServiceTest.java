@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,16 +17,19 @@ class UpdateDebtServiceTest {
     UpdateDebtService sut;
     DynamoService mockDynamoService;
 
-    Map<String, AttributeValue> mockKey;
-    Map<String, AttributeValue> mockAttributeValueMap;
+    Map<String, AttributeValue> key;
+    Map<String, AttributeValue> attributeValueMap;
 
     @BeforeEach
     void beforeEach() {
         mockDynamoService = mock(DynamoService.class);
         sut = new UpdateDebtService(mockDynamoService);
 
-        mockKey = mock(Map.class);
-        mockAttributeValueMap = mock(Map.class);
+        key =
+                Map.of(
+                        "PK", AttributeValue.builder().s("USER#sub").build(),
+                        "SK", AttributeValue.builder().s("DEBT#car").build());
+        attributeValueMap = Map.of(":startAmount", AttributeValue.builder().s("100").build());
     }
 
     @Test
@@ -33,28 +37,28 @@ class UpdateDebtServiceTest {
         // given
 
         // when
-        sut.update(mockKey, mockAttributeValueMap);
+        sut.update(key, attributeValueMap, 3L);
 
         // then
         ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
-        verify(mockDynamoService).update(captor.capture(), any(), any(), any());
+        verify(mockDynamoService).update(captor.capture(), any(), any(), any(), any());
         Map<String, AttributeValue> actual = captor.getValue();
 
-        assertThat(actual).isEqualTo(mockKey);
+        assertThat(actual).isEqualTo(key);
     }
 
     @Test
     void requestHasCorrectUpdateExpressionWhenInvoked() {
         // given
         String updateExpression =
-                "SET #a = :startAmount, #b = :monthlyAmount, #c = :startDate, #d = :yearlyRate, #e = :adjustments, #f = :oneTimePayments";
+                "SET #a = :startAmount, #b = :monthlyAmount, #c = :startDate, #d = :yearlyRate, #e = :adjustments, #f = :oneTimePayments ADD #version :one";
 
         // when
-        sut.update(mockKey, mockAttributeValueMap);
+        sut.update(key, attributeValueMap, 3L);
 
         // then
         ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-        verify(mockDynamoService).update(any(), captor.capture(), any(), any());
+        verify(mockDynamoService).update(any(), captor.capture(), any(), any(), any());
         String actual = captor.getValue();
 
         assertThat(actual).isEqualTo(updateExpression);
@@ -70,31 +74,94 @@ class UpdateDebtServiceTest {
                         "#c", "StartDate",
                         "#d", "YearlyRate",
                         "#e", "Adjustments",
-                        "#f", "OneTimePayments");
+                        "#f", "OneTimePayments",
+                        "#version", "Version");
 
         // when
-        sut.update(mockKey, mockAttributeValueMap);
+        sut.update(key, attributeValueMap, 3L);
 
         // then
         ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
-        verify(mockDynamoService).update(any(), any(), captor.capture(), any());
+        verify(mockDynamoService).update(any(), any(), captor.capture(), any(), any());
         Map<String, String> actual = captor.getValue();
 
         assertThat(actual).isEqualTo(expressionAttributeNames);
     }
 
     @Test
-    void requestHasCorrectAttributeValueMapWhenInvoked() {
+    void requestHasAttributeValuesAndExpectedVersionWhenInvoked() {
         // given
 
         // when
-        sut.update(mockKey, mockAttributeValueMap);
+        sut.update(key, attributeValueMap, 3L);
 
         // then
         ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
-        verify(mockDynamoService).update(any(), any(), any(), captor.capture());
+        verify(mockDynamoService).update(any(), any(), any(), captor.capture(), any());
         Map<String, AttributeValue> actual = captor.getValue();
 
-        assertThat(actual).isEqualTo(mockAttributeValueMap);
+        assertThat(actual)
+                .containsAllEntriesOf(attributeValueMap)
+                .containsEntry(":one", AttributeValue.builder().n("1").build())
+                .containsEntry(":version", AttributeValue.builder().n("3").build())
+                .hasSize(3);
+    }
+
+    @Test
+    void conditionsUpdateOnVersionWhenGiven() {
+        // given
+
+        // when
+        long actual = sut.update(key, attributeValueMap, 3L);
+
+        // then
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(mockDynamoService).update(any(), any(), any(), any(), captor.capture());
+
+        assertThat(captor.getValue()).isEqualTo("#version = :version");
+        assertThat(actual).isEqualTo(4);
+    }
+
+    @Test
+    void conditionsUpdateOnMissingVersionWhenGivenZero() {
+        // given
+
+        // when
+        long actual = sut.update(key, attributeValueMap, 0L);
+
+        // then
+        ArgumentCaptor<Map> values = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<String> condition = ArgumentCaptor.forClass(String.class);
+        verify(mockDynamoService)
+                .update(any(), any(), any(), values.capture(), condition.capture());
+
+        assertThat(condition.getValue())
+                .isEqualTo("attribute_exists(PK) AND attribute_not_exists(#version)");
+        assertThat(values.getValue()).doesNotContainKey(":version");
+        assertThat(actual).isEqualTo(1);
+    }
+
+    @Test
+    void conditionsUpdateOnlyOnExistingItemWhenNoVersionGiven() {
+        // given
+        Map<String, AttributeValue> stored =
+                Map.of("Version", AttributeValue.builder().n("8").build());
+        when(mockDynamoService.updateAndGet(any(), any(), any(), any(), any())).thenReturn(stored);
+
+        // when
+        Map<String, AttributeValue> actual = sut.update(key, attributeValueMap);
+
+        // then
+        ArgumentCaptor<Map> values = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<String> condition = ArgumentCaptor.forClass(String.class);
+        verify(mockDynamoService)
+                .updateAndGet(any(), any(), any(), values.capture(), condition.capture());
+
+        assertThat(condition.getValue()).isEqualTo("attribute_exists(PK)");
+        assertThat(values.getValue())
+                .containsAllEntriesOf(attributeValueMap)
+                .containsEntry(":one", AttributeValue.builder().n("1").build())
+                .doesNotContainKey(":version");
+        assertThat(actual).isSameAs(stored);
     }
 }
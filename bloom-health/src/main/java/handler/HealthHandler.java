@@ -1,15 +1,19 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.dryRun;
+import static priming.Priming.write;
+import static priming.PrimingInterceptor.PRIMING_OVERRIDE;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import model.HealthResponse;
 import model.RequestDetails;
 import model.Subject;
 import org.slf4j.Logger;
+import priming.Primer;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
@@ -17,15 +21,35 @@ import software.amazon.awssdk.services.dynamodb.model.TableStatus;
 
 public class HealthHandler extends RequestStreamHandler<Void, HealthResponse> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(HealthResponse.class);
 
     public static final Logger LOGGER = getLogger(HealthHandler.class);
 
+    public static final DynamoDbClient DYNAMO_CLIENT = provideClient();
+
     public static final HealthHandlerDelegate DELEGATE =
-            new HealthHandlerDelegate(provideClient(), provideTableName(), LOGGER);
+            new HealthHandlerDelegate(DYNAMO_CLIENT, provideTableName(), LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            write(HealthResponse.HEALTHY, RESPONSE_WRITER),
+                            HealthHandler::primeClient)
+                    .prime()
+                    .register();
 
     public HealthHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Void.class);
+        super(DELEGATE, null, RESPONSE_WRITER);
+    }
+
+    private static void primeClient() {
+        DescribeTableRequest request =
+                DescribeTableRequest.builder()
+                        .tableName(provideTableName())
+                        .overrideConfiguration(PRIMING_OVERRIDE)
+                        .build();
+
+        dryRun(() -> DYNAMO_CLIENT.describeTable(request));
     }
 
     static class HealthHandlerDelegate implements Handler<Void, HealthResponse> {
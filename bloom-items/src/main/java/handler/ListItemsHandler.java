@@ -0,0 +1,96 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.write;
+import static priming.Samples.debt;
+import static priming.Samples.debtItem;
+import static priming.Samples.saving;
+import static priming.Samples.savingItem;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.List;
+import java.util.Map;
+import model.Debt;
+import model.Items;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.Type;
+import org.slf4j.Logger;
+import priming.Primer;
+import service.DynamoService;
+import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtsDynamoTransformer;
+import transform.SavingsDynamoTransformer;
+
+public class ListItemsHandler extends RequestStreamHandler<Void, Items> {
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Items.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final ListTypeService LIST_SERVICE = new ListTypeService(DYNAMO_SERVICE);
+
+    public static final Logger LOGGER = getLogger(ListItemsHandler.class);
+
+    public static final ListItemsHandlerDelegate DELEGATE =
+            new ListItemsHandlerDelegate(
+                    new SavingsDynamoTransformer(),
+                    new DebtsDynamoTransformer(),
+                    LIST_SERVICE,
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            () ->
+                                    new SavingsDynamoTransformer()
+                                            .toSavingsList(List.of(savingItem())),
+                            () -> new DebtsDynamoTransformer().toDebtsList(List.of(debtItem())),
+                            write(new Items(List.of(saving()), List.of(debt())), RESPONSE_WRITER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public ListItemsHandler() {
+        super(DELEGATE, null, RESPONSE_WRITER);
+    }
+
+    static class ListItemsHandlerDelegate implements Handler<Void, Items> {
+
+        private final SavingsDynamoTransformer savingTransformer;
+        private final DebtsDynamoTransformer debtTransformer;
+        private final ListTypeService service;
+        private final Logger logger;
+
+        ListItemsHandlerDelegate(
+                SavingsDynamoTransformer savingTransformer,
+                DebtsDynamoTransformer debtTransformer,
+                ListTypeService service,
+                Logger logger) {
+            this.savingTransformer = savingTransformer;
+            this.debtTransformer = debtTransformer;
+            this.service = service;
+            this.logger = logger;
+        }
+
+        @Override
+        public Items handle(Void request, Subject subject, RequestDetails details) {
+            Map<Type, List<Map<String, AttributeValue>>> items = service.listByType(subject);
+            List<Saving> savings = savingTransformer.toSavingsList(items.get(Type.SAVING));
+            List<Debt> debts = debtTransformer.toDebtsList(items.get(Type.DEBT));
+
+            logger.info(
+                    "{} savings and {} debts listed for subject {}",
+                    savings.size(),
+                    debts.size(),
+                    subject.getSubject());
+            return new Items(savings, debts);
+        }
+    }
+}
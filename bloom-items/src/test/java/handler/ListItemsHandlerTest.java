@@ -0,0 +1,90 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import handler.ListItemsHandler.ListItemsHandlerDelegate;
+import java.util.List;
+import java.util.Map;
+import model.Debt;
+import model.Items;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtsDynamoTransformer;
+import transform.SavingsDynamoTransformer;
+
+class ListItemsHandlerTest {
+
+    ListItemsHandlerDelegate sut;
+
+    Subject subject;
+    SavingsDynamoTransformer mockSavingTransformer;
+    DebtsDynamoTransformer mockDebtTransformer;
+    ListTypeService mockService;
+    Logger mockLogger;
+    List<Map<String, AttributeValue>> savingItems;
+    List<Map<String, AttributeValue>> debtItems;
+    List<Saving> savings;
+    List<Debt> debts;
+
+    @BeforeEach
+    void beforeEach() {
+        subject = new Subject("hsdf-324jds3");
+        mockSavingTransformer = mock(SavingsDynamoTransformer.class);
+        mockDebtTransformer = mock(DebtsDynamoTransformer.class);
+        mockService = mock(ListTypeService.class);
+        mockLogger = mock(Logger.class);
+        savingItems = List.of(Map.of("SK", AttributeValue.builder().s("SAVING#house").build()));
+        debtItems = List.of(Map.of("SK", AttributeValue.builder().s("DEBT#car").build()));
+        savings = List.of(mock(Saving.class));
+        debts = List.of(mock(Debt.class));
+
+        when(mockService.listByType(subject))
+                .thenReturn(Map.of(Type.SAVING, savingItems, Type.DEBT, debtItems));
+        when(mockSavingTransformer.toSavingsList(savingItems)).thenReturn(savings);
+        when(mockDebtTransformer.toDebtsList(debtItems)).thenReturn(debts);
+
+        sut =
+                new ListItemsHandlerDelegate(
+                        mockSavingTransformer, mockDebtTransformer, mockService, mockLogger);
+    }
+
+    @Test
+    void returnsSavingsAndDebtsWhenInvoked() {
+        // given
+
+        // when
+        Items actual = sut.handle(null, subject, details());
+
+        // then
+        assertThat(actual.getSavings()).isSameAs(savings);
+        assertThat(actual.getDebts()).isSameAs(debts);
+    }
+
+    @Test
+    void listsBothTypesInSingleRequestWhenInvoked() {
+        // given
+
+        // when
+        sut.handle(null, subject, details());
+
+        // then
+        verify(mockService).listByType(subject);
+        verify(mockService, never()).list(any(), any());
+    }
+
+    private static RequestDetails details() {
+        return RequestDetails.newBuilder().withHttpMethod("GET").build();
+    }
+}
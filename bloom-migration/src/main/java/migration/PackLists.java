@@ -0,0 +1,176 @@
+package migration;
+
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import transform.AdjustmentsTransformer;
+import transform.OneTimePaymentsTransformer;
+import util.ItemSize;
+
+/**
+ * Rewrites the adjustments and one-time payments of every saving and debt in the packed binary
+ * layout, and reports the item size before and after. Without {@code --write} nothing is written,
+ * so the report can be taken from live data first.
+ *
+ * <p>The content of an item does not change, so neither its version nor its partition's is bumped;
+ * each write is conditioned on the version that was scanned, and an item changed in the meantime is
+ * left for the next run.
+ *
+ * <p>Run with {@code ./gradlew :bloom-migration:packLists [-Pwrite]}.
+ */
+public class PackLists {
+
+    private static final String ADJUSTMENTS = "Adjustments";
+    private static final String ONE_TIME_PAYMENTS = "OneTimePayments";
+    private static final String VERSION = "Version";
+
+    private final DynamoDbClient client;
+    private final String tableName;
+    private final AdjustmentsTransformer unpackedAdjustments;
+    private final AdjustmentsTransformer packedAdjustments;
+    private final OneTimePaymentsTransformer unpackedPayments;
+    private final OneTimePaymentsTransformer packedPayments;
+    private final PrintStream out;
+
+    PackLists(DynamoDbClient client, String tableName, PrintStream out) {
+        this.client = client;
+        this.tableName = tableName;
+        this.unpackedAdjustments = new AdjustmentsTransformer(false);
+        this.packedAdjustments = new AdjustmentsTransformer(true);
+        this.unpackedPayments = new OneTimePaymentsTransformer(false);
+        this.packedPayments = new OneTimePaymentsTransformer(true);
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        boolean write = 0 < args.length && "--write".equals(args[0]);
+        new PackLists(provideClient(), provideTableName(), System.out).migrate(write);
+    }
+
+    Report migrate(boolean write) {
+        Report report = new Report();
+        Map<String, AttributeValue> startKey = null;
+        do {
+            ScanResponse response =
+                    client.scan(
+                            ScanRequest.builder()
+                                    .tableName(tableName)
+                                    .exclusiveStartKey(startKey)
+                                    .build());
+            for (Map<String, AttributeValue> item : response.items()) {
+                migrate(item, write, report);
+            }
+            startKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+        } while (null != startKey);
+
+        out.printf(
+                "%d items scanned, %d %s, %d changed meanwhile%n",
+                report.scanned, report.packed, write ? "packed" : "to pack", report.conflicts);
+        out.printf(
+                "%d bytes before, %d bytes after, %.1f%% smaller%n",
+                report.bytesBefore, report.bytesAfter, report.reduction());
+        return report;
+    }
+
+    private void migrate(Map<String, AttributeValue> item, boolean write, Report report) {
+        if (!item.containsKey(ADJUSTMENTS) && !item.containsKey(ONE_TIME_PAYMENTS)) {
+            return;
+        }
+        report.scanned++;
+        Map<String, AttributeValue> packed = pack(item);
+        long before = ItemSize.of(item);
+        long after = ItemSize.of(packed);
+        if (packed.equals(item)) {
+            report.add(before, before);
+            return;
+        }
+        if (write && !write(item, packed)) {
+            report.conflicts++;
+            report.add(before, before);
+            return;
+        }
+        report.packed++;
+        report.add(before, after);
+    }
+
+    private Map<String, AttributeValue> pack(Map<String, AttributeValue> item) {
+        Map<String, AttributeValue> packed = new HashMap<>(item);
+        AttributeValue adjustments = item.get(ADJUSTMENTS);
+        if (null != adjustments && null == adjustments.b()) {
+            packed.put(
+                    ADJUSTMENTS,
+                    packedAdjustments.toAdjustmentsAttribute(
+                            unpackedAdjustments.toAdjustmentsList(adjustments)));
+        }
+        AttributeValue payments = item.get(ONE_TIME_PAYMENTS);
+        if (null != payments && null == payments.b()) {
+            packed.put(
+                    ONE_TIME_PAYMENTS,
+                    packedPayments.toOneTimePaymentsAttribute(
+                            unpackedPayments.toOneTimePaymentsList(payments)));
+        }
+        return packed;
+    }
+
+    /** Writes the packed lists if the item is still at the scanned version. */
+    private boolean write(Map<String, AttributeValue> item, Map<String, AttributeValue> packed) {
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        names.put("#adjustments", ADJUSTMENTS);
+        names.put("#oneTimePayments", ONE_TIME_PAYMENTS);
+        names.put("#version", VERSION);
+        values.put(":adjustments", packed.get(ADJUSTMENTS));
+        values.put(":oneTimePayments", packed.get(ONE_TIME_PAYMENTS));
+
+        String conditionExpression;
+        if (item.containsKey(VERSION)) {
+            conditionExpression = "#version = :version";
+            values.put(":version", builder().n(item.get(VERSION).n()).build());
+        } else {
+            conditionExpression = "attribute_exists(PK) AND attribute_not_exists(#version)";
+        }
+
+        try {
+            client.updateItem(
+                    UpdateItemRequest.builder()
+                            .tableName(tableName)
+                            .key(Map.of("PK", item.get("PK"), "SK", item.get("SK")))
+                            .updateExpression(
+                                    "SET #adjustments = :adjustments, #oneTimePayments = :oneTimePayments")
+                            .conditionExpression(conditionExpression)
+                            .expressionAttributeNames(names)
+                            .expressionAttributeValues(values)
+                            .build());
+            return true;
+        } catch (ConditionalCheckFailedException exception) {
+            return false;
+        }
+    }
+
+    static class Report {
+        long scanned;
+        long packed;
+        long conflicts;
+        long bytesBefore;
+        long bytesAfter;
+
+        private void add(long before, long after) {
+            bytesBefore += before;
+            bytesAfter += after;
+        }
+
+        double reduction() {
+            return 0 == bytesBefore ? 0 : 100.0 * (bytesBefore - bytesAfter) / bytesBefore;
+        }
+    }
+}
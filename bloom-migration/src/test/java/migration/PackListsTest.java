@@ -0,0 +1,208 @@
+package migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Adjustment;
+import model.Amount;
+import model.Date;
+import model.OneTimePayment;
+import model.Rate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import transform.AdjustmentsTransformer;
+import transform.OneTimePaymentsTransformer;
+
+class PackListsTest {
+
+    PackLists sut;
+
+    DynamoDbClient mockClient;
+    ByteArrayOutputStream out;
+    List<Adjustment> adjustments;
+    List<OneTimePayment> oneTimePayments;
+
+    @BeforeEach
+    void beforeEach() {
+        mockClient = mock(DynamoDbClient.class);
+        out = new ByteArrayOutputStream();
+        sut = new PackLists(mockClient, "MY_TABLE_NAME", new PrintStream(out, true));
+        adjustments =
+                List.of(new Adjustment(new Amount("12.66"), new Date("2015-11"), new Rate("1.25")));
+        oneTimePayments = List.of(new OneTimePayment(new Amount("100.00"), new Date("2016-03")));
+    }
+
+    @Test
+    void reportsWithoutWritingWhenNotWriting() {
+        // given
+        when(mockClient.scan(any(ScanRequest.class)))
+                .thenReturn(ScanResponse.builder().items(List.of(item("3"))).build());
+
+        // when
+        PackLists.Report actual = sut.migrate(false);
+
+        // then
+        verify(mockClient, never()).updateItem(any(UpdateItemRequest.class));
+        assertThat(actual.scanned).isEqualTo(1);
+        assertThat(actual.packed).isEqualTo(1);
+        assertThat(actual.bytesAfter).isLessThan(actual.bytesBefore);
+        assertThat(out.toString()).contains("1 items scanned, 1 to pack, 0 changed meanwhile");
+    }
+
+    @Test
+    void writesPackedListsAtScannedVersionWhenWriting() {
+        // given
+        when(mockClient.scan(any(ScanRequest.class)))
+                .thenReturn(ScanResponse.builder().items(List.of(item("3"))).build());
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+
+        // when
+        sut.migrate(true);
+
+        // then
+        verify(mockClient).updateItem(captor.capture());
+        UpdateItemRequest actual = captor.getValue();
+
+        assertThat(actual.tableName()).isEqualTo("MY_TABLE_NAME");
+        assertThat(actual.key())
+                .containsOnlyKeys("PK", "SK")
+                .containsEntry("SK", builder().s("SAVING#house").build());
+        assertThat(actual.conditionExpression()).isEqualTo("#version = :version");
+        assertThat(actual.expressionAttributeValues().get(":version").n()).isEqualTo("3");
+        assertThat(actual.expressionAttributeValues().get(":adjustments").b()).isNotNull();
+        assertThat(
+                        new AdjustmentsTransformer()
+                                .toAdjustmentsList(
+                                        actual.expressionAttributeValues().get(":adjustments")))
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(adjustments);
+        assertThat(
+                        new OneTimePaymentsTransformer()
+                                .toOneTimePaymentsList(
+                                        actual.expressionAttributeValues().get(":oneTimePayments")))
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(oneTimePayments);
+    }
+
+    @Test
+    void requiresUnversionedItemToStayUnversionedWhenWriting() {
+        // given
+        Map<String, AttributeValue> item = item("1");
+        item.remove("Version");
+        when(mockClient.scan(any(ScanRequest.class)))
+                .thenReturn(ScanResponse.builder().items(List.of(item)).build());
+        ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+
+        // when
+        sut.migrate(true);
+
+        // then
+        verify(mockClient).updateItem(captor.capture());
+
+        assertThat(captor.getValue().conditionExpression())
+                .isEqualTo("attribute_exists(PK) AND attribute_not_exists(#version)");
+        assertThat(captor.getValue().expressionAttributeValues()).doesNotContainKey(":version");
+    }
+
+    @Test
+    void countsItemChangedMeanwhileWhenWriting() {
+        // given
+        when(mockClient.scan(any(ScanRequest.class)))
+                .thenReturn(ScanResponse.builder().items(List.of(item("3"))).build());
+        when(mockClient.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().build());
+
+        // when
+        PackLists.Report actual = sut.migrate(true);
+
+        // then
+        assertThat(actual.packed).isZero();
+        assertThat(actual.conflicts).isEqualTo(1);
+        assertThat(actual.bytesAfter).isEqualTo(actual.bytesBefore);
+    }
+
+    @Test
+    void skipsPackedAndOtherItemsWhenScanned() {
+        // given
+        Map<String, AttributeValue> packed = item("2");
+        packed.put(
+                "Adjustments",
+                new AdjustmentsTransformer(true).toAdjustmentsAttribute(adjustments));
+        packed.put(
+                "OneTimePayments",
+                new OneTimePaymentsTransformer(true).toOneTimePaymentsAttribute(oneTimePayments));
+        Map<String, AttributeValue> partition =
+                Map.of(
+                        "PK", builder().s("USER#1").build(),
+                        "SK", builder().s("PARTITION").build());
+        when(mockClient.scan(any(ScanRequest.class)))
+                .thenReturn(ScanResponse.builder().items(List.of(packed, partition)).build());
+
+        // when
+        PackLists.Report actual = sut.migrate(true);
+
+        // then
+        verify(mockClient, never()).updateItem(any(UpdateItemRequest.class));
+        assertThat(actual.scanned).isEqualTo(1);
+        assertThat(actual.packed).isZero();
+    }
+
+    @Test
+    void continuesFromLastEvaluatedKeyWhenScanned() {
+        // given
+        Map<String, AttributeValue> lastKey =
+                Map.of(
+                        "PK", builder().s("USER#1").build(),
+                        "SK", builder().s("SAVING#house").build());
+        when(mockClient.scan(any(ScanRequest.class)))
+                .thenReturn(
+                        ScanResponse.builder()
+                                .items(List.of(item("3")))
+                                .lastEvaluatedKey(lastKey)
+                                .build())
+                .thenReturn(ScanResponse.builder().items(List.of(item("3"))).build());
+        ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+
+        // when
+        PackLists.Report actual = sut.migrate(false);
+
+        // then
+        verify(mockClient, times(2)).scan(captor.capture());
+
+        assertThat(captor.getAllValues().get(1).exclusiveStartKey()).isEqualTo(lastKey);
+        assertThat(actual.scanned).isEqualTo(2);
+    }
+
+    private Map<String, AttributeValue> item(String version) {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("PK", builder().s("USER#1").build());
+        item.put("SK", builder().s("SAVING#house").build());
+        item.put("MonthlyAmount", builder().s("50.00").build());
+        item.put(
+                "Adjustments",
+                new AdjustmentsTransformer(false).toAdjustmentsAttribute(adjustments));
+        item.put(
+                "OneTimePayments",
+                new OneTimePaymentsTransformer(false).toOneTimePaymentsAttribute(oneTimePayments));
+        item.put("Version", builder().n(version).build());
+        return item;
+    }
+}
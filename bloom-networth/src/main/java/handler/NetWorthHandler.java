@@ -0,0 +1,110 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.write;
+import static priming.Samples.debt;
+import static priming.Samples.debtItem;
+import static priming.Samples.saving;
+import static priming.Samples.savingItem;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import model.Debt;
+import model.NetWorth;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.Type;
+import org.slf4j.Logger;
+import priming.Primer;
+import projection.DebtAmortiser;
+import projection.NetWorthProjector;
+import projection.SavingProjector;
+import service.DynamoService;
+import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtsDynamoTransformer;
+import transform.SavingsDynamoTransformer;
+
+public class NetWorthHandler extends RequestStreamHandler<Void, NetWorth> {
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(NetWorth.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final ListTypeService LIST_SERVICE = new ListTypeService(DYNAMO_SERVICE);
+
+    public static final NetWorthProjector PROJECTOR =
+            new NetWorthProjector(
+                    new SavingProjector(), new DebtAmortiser(), ForkJoinPool.commonPool());
+
+    public static final Logger LOGGER = getLogger(NetWorthHandler.class);
+
+    public static final NetWorthHandlerDelegate DELEGATE =
+            new NetWorthHandlerDelegate(
+                    new SavingsDynamoTransformer(),
+                    new DebtsDynamoTransformer(),
+                    LIST_SERVICE,
+                    PROJECTOR,
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            () -> new SavingsDynamoTransformer().toSaving(savingItem()),
+                            () -> new DebtsDynamoTransformer().toDebt(debtItem()),
+                            write(
+                                    PROJECTOR.project(List.of(saving()), List.of(debt())),
+                                    RESPONSE_WRITER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public NetWorthHandler() {
+        super(DELEGATE, null, RESPONSE_WRITER);
+    }
+
+    static class NetWorthHandlerDelegate implements Handler<Void, NetWorth> {
+
+        private final SavingsDynamoTransformer savingTransformer;
+        private final DebtsDynamoTransformer debtTransformer;
+        private final ListTypeService service;
+        private final NetWorthProjector projector;
+        private final Logger logger;
+
+        NetWorthHandlerDelegate(
+                SavingsDynamoTransformer savingTransformer,
+                DebtsDynamoTransformer debtTransformer,
+                ListTypeService service,
+                NetWorthProjector projector,
+                Logger logger) {
+            this.savingTransformer = savingTransformer;
+            this.debtTransformer = debtTransformer;
+            this.service = service;
+            this.projector = projector;
+            this.logger = logger;
+        }
+
+        @Override
+        public NetWorth handle(Void request, Subject subject, RequestDetails details) {
+            Map<Type, List<Map<String, AttributeValue>>> items = service.listByType(subject);
+            List<Saving> savings = savingTransformer.toSavingsList(items.get(Type.SAVING));
+            List<Debt> debts = debtTransformer.toDebtsList(items.get(Type.DEBT));
+            NetWorth netWorth = projector.project(savings, debts);
+
+            logger.info(
+                    "Net worth of {} savings and {} debts projected over {} months for subject {}",
+                    savings.size(),
+                    debts.size(),
+                    netWorth.getNetWorth().length,
+                    subject.getSubject());
+            return netWorth;
+        }
+    }
+}
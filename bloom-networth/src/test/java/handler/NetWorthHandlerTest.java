@@ -0,0 +1,101 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import handler.NetWorthHandler.NetWorthHandlerDelegate;
+import java.util.List;
+import java.util.Map;
+import model.Debt;
+import model.NetWorth;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import projection.NetWorthProjector;
+import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.DebtsDynamoTransformer;
+import transform.SavingsDynamoTransformer;
+
+class NetWorthHandlerTest {
+
+    NetWorthHandlerDelegate sut;
+
+    Subject subject;
+    SavingsDynamoTransformer mockSavingTransformer;
+    DebtsDynamoTransformer mockDebtTransformer;
+    ListTypeService mockService;
+    NetWorthProjector mockProjector;
+    Logger mockLogger;
+    Map<String, AttributeValue> savingItem;
+    Map<String, AttributeValue> debtItem;
+    Saving mockSaving;
+    Debt mockDebt;
+    NetWorth netWorth;
+
+    @BeforeEach
+    void beforeEach() {
+        subject = new Subject("hsdf-324jds3");
+        mockSavingTransformer = mock(SavingsDynamoTransformer.class);
+        mockDebtTransformer = mock(DebtsDynamoTransformer.class);
+        mockService = mock(ListTypeService.class);
+        mockProjector = mock(NetWorthProjector.class);
+        mockLogger = mock(Logger.class);
+        savingItem = Map.of("SK", AttributeValue.builder().s("SAVING#house").build());
+        debtItem = Map.of("SK", AttributeValue.builder().s("DEBT#car").build());
+        mockSaving = mock(Saving.class);
+        mockDebt = mock(Debt.class);
+        netWorth = new NetWorth(null, new long[0], new long[0], new long[0]);
+
+        when(mockService.listByType(subject))
+                .thenReturn(Map.of(Type.SAVING, List.of(savingItem), Type.DEBT, List.of(debtItem)));
+        when(mockSavingTransformer.toSavingsList(List.of(savingItem)))
+                .thenReturn(List.of(mockSaving));
+        when(mockDebtTransformer.toDebtsList(List.of(debtItem))).thenReturn(List.of(mockDebt));
+        when(mockProjector.project(any(), any())).thenReturn(netWorth);
+
+        sut =
+                new NetWorthHandlerDelegate(
+                        mockSavingTransformer,
+                        mockDebtTransformer,
+                        mockService,
+                        mockProjector,
+                        mockLogger);
+    }
+
+    @Test
+    void returnsNetWorthFromProjectorWhenInvoked() {
+        // given
+
+        // when
+        NetWorth actual = sut.handle(null, subject, details());
+
+        // then
+        assertThat(actual).isSameAs(netWorth);
+    }
+
+    @Test
+    void projectsSavingsAndDebtsFromSingleListingWhenInvoked() {
+        // given
+
+        // when
+        sut.handle(null, subject, details());
+
+        // then
+        verify(mockService).listByType(subject);
+        verify(mockService, never()).list(any(), any());
+        verify(mockProjector).project(List.of(mockSaving), List.of(mockDebt));
+    }
+
+    private static RequestDetails details() {
+        return RequestDetails.newBuilder().withHttpMethod("GET").build();
+    }
+}
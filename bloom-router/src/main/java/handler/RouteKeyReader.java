@@ -0,0 +1,55 @@
+package handler;
+
+import static com.fasterxml.jackson.core.JsonToken.END_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static com.fasterxml.jackson.core.JsonToken.VALUE_STRING;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+
+/**
+ * Reads the route key of an API Gateway proxy event: the HTTP method and the resource template it
+ * matched, for example {@code PUT /debts/{name}}. Nested objects are skipped without being parsed
+ * and reading stops as soon as both fields have been seen. Events without a resource fall back to
+ * the request path.
+ */
+class RouteKeyReader {
+
+    private final JsonFactory factory;
+
+    RouteKeyReader(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    String read(byte[] event) throws IOException {
+        String method = null, resource = null, path = null;
+        try (JsonParser parser = factory.createParser(event)) {
+            if (START_OBJECT != parser.nextToken()) {
+                throw new JsonParseException(parser, "request should be a JSON object");
+            }
+            while (END_OBJECT != parser.nextToken() && (null == method || null == resource)) {
+                String field = parser.getCurrentName();
+                if (VALUE_STRING != parser.nextToken()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "httpMethod":
+                        method = parser.getText();
+                        break;
+                    case "resource":
+                        resource = parser.getText();
+                        break;
+                    case "path":
+                        path = parser.getText();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return RouterHandler.routeKey(method, null != resource ? resource : path);
+    }
+}
@@ -0,0 +1,384 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.dryRun;
+import static priming.Priming.roundTrip;
+import static priming.Priming.write;
+import static priming.PrimingInterceptor.PRIMING_OVERRIDE;
+import static priming.Samples.debt;
+import static priming.Samples.debtPatch;
+import static priming.Samples.nameRequest;
+import static priming.Samples.saving;
+import static priming.Samples.savingPatch;
+import static priming.Samples.subject;
+import static provider.CacheProvider.provideListCache;
+import static provider.DynamoProvider.provideAsyncClient;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideFactory;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
+
+import cache.ResponseCache;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import model.Amortisation;
+import model.BatchItemResult;
+import model.Debt;
+import model.HandlerResponse;
+import model.HealthResponse;
+import model.Items;
+import model.NetWorth;
+import model.Page;
+import model.Projection;
+import model.Saving;
+import model.request.DebtPatch;
+import model.request.NameRequest;
+import model.request.SavingPatch;
+import org.slf4j.Logger;
+import priming.Primer;
+import projection.DebtAmortiser;
+import projection.NetWorthProjector;
+import projection.SavingProjector;
+import service.BatchWriteService;
+import service.DeleteItemService;
+import service.DynamoAsyncService;
+import service.DynamoService;
+import service.ListTypeService;
+import service.PatchItemService;
+import service.UpdateDebtService;
+import service.UpdateSavingService;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import transform.DebtTransformer;
+import transform.DebtsDynamoTransformer;
+import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
+
+/**
+ * Serves every endpoint from a single function. The route key of each event is looked up in a table
+ * built once during initialisation, and the matching delegate runs exactly as it would in its own
+ * function, sharing the client, services and transformers with the other routes. Batches are
+ * written through the non-blocking client, so several of their chunks are in flight at once. That
+ * client is built on the first batch, so the other routes never start its event loops.
+ */
+public class RouterHandler implements com.amazonaws.services.lambda.runtime.RequestStreamHandler {
+
+    public static final DynamoDbClient DYNAMO_CLIENT = provideClient();
+
+    public static final String TABLE_NAME = provideTableName();
+
+    public static final Logger LOGGER = getLogger(RouterHandler.class);
+
+    public static final Map<String, RequestStreamHandler<?, ?>> ROUTES =
+            routes(DYNAMO_CLIENT, TABLE_NAME, new BatchWriteService(() -> Async.SERVICE));
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(debt(), provideWriter(Debt.class), provideReader(Debt.class)),
+                            roundTrip(
+                                    saving(),
+                                    provideWriter(Saving.class),
+                                    provideReader(Saving.class)),
+                            roundTrip(
+                                    debtPatch(),
+                                    provideWriter(DebtPatch.class),
+                                    provideReader(DebtPatch.class)),
+                            roundTrip(
+                                    savingPatch(),
+                                    provideWriter(SavingPatch.class),
+                                    provideReader(SavingPatch.class)),
+                            roundTrip(
+                                    nameRequest(),
+                                    provideWriter(NameRequest.class),
+                                    provideReader(NameRequest.class)),
+                            write(
+                                    new Page<>(List.of(debt()), null),
+                                    provideWriter(new TypeReference<Page<Debt>>() {})),
+                            write(
+                                    new Page<>(List.of(saving()), null),
+                                    provideWriter(new TypeReference<Page<Saving>>() {})),
+                            () -> new DebtTransformer().toAttributeMap(debt(), subject()),
+                            () -> new SavingTransformer().toAttributeMap(saving(), subject()),
+                            new DynamoService(DYNAMO_CLIENT, TABLE_NAME)::prime,
+                            RouterHandler::primeClient)
+                    .prime()
+                    .register();
+
+    private final Map<String, RequestStreamHandler<?, ?>> routes;
+    private final RouteKeyReader routeKeyReader;
+    private final ResponseEnvelopeWriter envelopeWriter;
+    private final Logger logger;
+
+    public RouterHandler() {
+        this(ROUTES, provideFactory(), LOGGER);
+    }
+
+    /**
+     * Serves every endpoint through the given client instead of the one this process provides, such
+     * as a client holding the table in memory for benchmarks.
+     */
+    public RouterHandler(DynamoDbClient client, String tableName) {
+        this(routes(client, tableName), provideFactory(), LOGGER);
+    }
+
+    RouterHandler(
+            Map<String, RequestStreamHandler<?, ?>> routes, JsonFactory factory, Logger logger) {
+        this.routes = routes;
+        this.routeKeyReader = new RouteKeyReader(factory);
+        this.envelopeWriter = new ResponseEnvelopeWriter(factory);
+        this.logger = logger;
+    }
+
+    public Set<String> getRouteKeys() {
+        return routes.keySet();
+    }
+
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context)
+            throws IOException {
+        byte[] event = input.readAllBytes();
+
+        String routeKey;
+        try {
+            routeKey = routeKeyReader.read(event);
+        } catch (IOException exception) {
+            logger.error(exception.getMessage(), exception);
+            envelopeWriter.write(output, HandlerResponse.newBuilder().withStatusCode(500).build());
+            return;
+        }
+
+        RequestStreamHandler<?, ?> handler = routes.get(routeKey);
+        if (null == handler) {
+            logger.info("no route for {}", routeKey);
+            envelopeWriter.write(output, HandlerResponse.newBuilder().withStatusCode(404).build());
+            return;
+        }
+        handler.handleRequest(new ByteArrayInputStream(event), output, context);
+    }
+
+    static String routeKey(String method, String resource) {
+        return method + " " + resource;
+    }
+
+    /** Builds the routes on the blocking client alone, so batches write one chunk at a time. */
+    static Map<String, RequestStreamHandler<?, ?>> routes(DynamoDbClient client, String tableName) {
+        return routes(
+                client, tableName, new BatchWriteService(new DynamoService(client, tableName)));
+    }
+
+    static Map<String, RequestStreamHandler<?, ?>> routes(
+            DynamoDbClient client, String tableName, BatchWriteService batchService) {
+        DynamoService dynamoService = new DynamoService(client, tableName);
+        ListTypeService listService = new ListTypeService(dynamoService);
+        ResponseCache listCache = provideListCache();
+        DeleteItemService deleteService = new DeleteItemService(dynamoService);
+        PatchItemService patchService = new PatchItemService(dynamoService);
+        DebtTransformer debtTransformer = new DebtTransformer();
+        SavingTransformer savingTransformer = new SavingTransformer();
+        SavingProjector savingProjector = new SavingProjector();
+        DebtAmortiser debtAmortiser = new DebtAmortiser();
+
+        return Map.ofEntries(
+                route(
+                        "GET",
+                        "/health",
+                        new HealthHandler.HealthHandlerDelegate(
+                                client, tableName, getLogger(HealthHandler.class)),
+                        null,
+                        provideWriter(HealthResponse.class)),
+                route(
+                        "POST",
+                        "/savings",
+                        new AddSavingHandler.AddSavingHandlerDelegate(
+                                savingTransformer,
+                                dynamoService,
+                                getLogger(AddSavingHandler.class)),
+                        provideReader(Saving.class),
+                        null),
+                route(
+                        "POST",
+                        "/savings:batch",
+                        new BatchAddSavingsHandler.BatchAddSavingsHandlerDelegate(
+                                savingTransformer,
+                                batchService,
+                                getLogger(BatchAddSavingsHandler.class)),
+                        provideReader(new TypeReference<List<Saving>>() {}),
+                        provideWriter(new TypeReference<List<BatchItemResult>>() {})),
+                route(
+                        "GET",
+                        "/savings",
+                        new ListSavingsHandler.ListSavingsHandlerDelegate(
+                                new SavingsDynamoTransformer(),
+                                listService,
+                                listCache,
+                                provideWriter(new TypeReference<Page<Saving>>() {}),
+                                getLogger(ListSavingsHandler.class)),
+                        null,
+                        provideWriter(new TypeReference<Page<Saving>>() {})),
+                route(
+                        "PUT",
+                        "/savings/{name}",
+                        new UpdateSavingHandler.UpdateSavingHandlerDelegate(
+                                savingTransformer,
+                                new SavingsDynamoTransformer(),
+                                new UpdateSavingService(dynamoService),
+                                getLogger(UpdateSavingHandler.class)),
+                        provideReader(Saving.class),
+                        provideWriter(Saving.class)),
+                route(
+                        "PATCH",
+                        "/savings/{name}",
+                        new PatchSavingHandler.PatchSavingHandlerDelegate(
+                                savingTransformer,
+                                new SavingsDynamoTransformer(),
+                                patchService,
+                                getLogger(PatchSavingHandler.class)),
+                        provideReader(SavingPatch.class),
+                        provideWriter(Saving.class)),
+                route(
+                        "DELETE",
+                        "/savings/{name}",
+                        new DeleteSavingHandler.DeleteSavingHandlerDelegate(
+                                deleteService, getLogger(DeleteSavingHandler.class)),
+                        provideReader(NameRequest.class),
+                        null),
+                route(
+                        "GET",
+                        "/savings/{name}/projection",
+                        new ProjectSavingHandler.ProjectSavingHandlerDelegate(
+                                savingTransformer,
+                                new SavingsDynamoTransformer(),
+                                dynamoService,
+                                savingProjector,
+                                getLogger(ProjectSavingHandler.class)),
+                        null,
+                        provideWriter(Projection.class)),
+                route(
+                        "POST",
+                        "/debts",
+                        new AddDebtHandler.AddDebtHandlerDelegate(
+                                debtTransformer, dynamoService, getLogger(AddDebtHandler.class)),
+                        provideReader(Debt.class),
+                        null),
+                route(
+                        "POST",
+                        "/debts:batch",
+                        new BatchAddDebtsHandler.BatchAddDebtsHandlerDelegate(
+                                debtTransformer,
+                                batchService,
+                                getLogger(BatchAddDebtsHandler.class)),
+                        provideReader(new TypeReference<List<Debt>>() {}),
+                        provideWriter(new TypeReference<List<BatchItemResult>>() {})),
+                route(
+                        "GET",
+                        "/debts",
+                        new ListDebtsHandler.ListDebtsHandlerDelegate(
+                                new DebtsDynamoTransformer(),
+                                listService,
+                                listCache,
+                                provideWriter(new TypeReference<Page<Debt>>() {}),
+                                getLogger(ListDebtsHandler.class)),
+                        null,
+                        provideWriter(new TypeReference<Page<Debt>>() {})),
+                route(
+                        "PUT",
+                        "/debts/{name}",
+                        new UpdateDebtHandler.UpdateDebtHandlerDelegate(
+                                debtTransformer,
+                                new DebtsDynamoTransformer(),
+                                new UpdateDebtService(dynamoService),
+                                getLogger(UpdateDebtHandler.class)),
+                        provideReader(Debt.class),
+                        provideWriter(Debt.class)),
+                route(
+                        "PATCH",
+                        "/debts/{name}",
+                        new PatchDebtHandler.PatchDebtHandlerDelegate(
+                                debtTransformer,
+                                new DebtsDynamoTransformer(),
+                                patchService,
+                                getLogger(PatchDebtHandler.class)),
+                        provideReader(DebtPatch.class),
+                        provideWriter(Debt.class)),
+                route(
+                        "DELETE",
+                        "/debts/{name}",
+                        new DeleteDebtHandler.DeleteDebtHandlerDelegate(
+                                deleteService, getLogger(DeleteDebtHandler.class)),
+                        provideReader(NameRequest.class),
+                        null),
+                route(
+                        "GET",
+                        "/debts/{name}/schedule",
+                        new ScheduleDebtHandler.ScheduleDebtHandlerDelegate(
+                                debtTransformer,
+                                new DebtsDynamoTransformer(),
+                                dynamoService,
+                                debtAmortiser,
+                                getLogger(ScheduleDebtHandler.class)),
+                        null,
+                        provideWriter(Amortisation.class)),
+                route(
+                        "GET",
+                        "/networth",
+                        new NetWorthHandler.NetWorthHandlerDelegate(
+                                new SavingsDynamoTransformer(),
+                                new DebtsDynamoTransformer(),
+                                listService,
+                                new NetWorthProjector(
+                                        savingProjector, debtAmortiser, ForkJoinPool.commonPool()),
+                                getLogger(NetWorthHandler.class)),
+                        null,
+                        provideWriter(NetWorth.class)),
+                route(
+                        "GET",
+                        "/items",
+                        new ListItemsHandler.ListItemsHandlerDelegate(
+                                new SavingsDynamoTransformer(),
+                                new DebtsDynamoTransformer(),
+                                listService,
+                                getLogger(ListItemsHandler.class)),
+                        null,
+                        provideWriter(Items.class)));
+    }
+
+    private static <TRequest, TResponse> Map.Entry<String, RequestStreamHandler<?, ?>> route(
+            String method,
+            String resource,
+            Handler<TRequest, TResponse> delegate,
+            ObjectReader requestReader,
+            ObjectWriter responseWriter) {
+        return Map.entry(
+                routeKey(method, resource),
+                new RequestStreamHandler<>(delegate, requestReader, responseWriter));
+    }
+
+    private static void primeClient() {
+        DescribeTableRequest request =
+                DescribeTableRequest.builder()
+                        .tableName(TABLE_NAME)
+                        .overrideConfiguration(PRIMING_OVERRIDE)
+                        .build();
+
+        dryRun(() -> DYNAMO_CLIENT.describeTable(request));
+    }
+
+    /** Holds the non-blocking service, built when a batch first asks for it. */
+    private static final class Async {
+        static final DynamoAsyncService SERVICE =
+                new DynamoAsyncService(provideAsyncClient(), TABLE_NAME);
+    }
+}
@@ -0,0 +1,73 @@
+package handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RouteKeyReaderTest {
+
+    RouteKeyReader sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new RouteKeyReader(new JsonFactory());
+    }
+
+    @Test
+    void readsMethodAndResourceWhenPresent() throws IOException {
+        // given
+        String event =
+                "{\"resource\":\"/debts/{name}\",\"path\":\"/debts/car\",\"httpMethod\":\"PUT\"}";
+
+        // when
+        String actual = sut.read(event.getBytes(UTF_8));
+
+        // then
+        assertThat(actual).isEqualTo("PUT /debts/{name}");
+    }
+
+    @Test
+    void fallsBackToPathWhenResourceMissing() throws IOException {
+        // given
+        String event = "{\"path\":\"/debts\",\"httpMethod\":\"GET\"}";
+
+        // when
+        String actual = sut.read(event.getBytes(UTF_8));
+
+        // then
+        assertThat(actual).isEqualTo("GET /debts");
+    }
+
+    @Test
+    void skipsNestedValuesWhenReading() throws IOException {
+        // given
+        String event =
+                "{\"headers\":{\"httpMethod\":\"DELETE\"},\"multiValueHeaders\":{\"a\":[\"b\"]},"
+                        + "\"httpMethod\":\"POST\",\"body\":null,\"resource\":\"/savings\"}";
+
+        // when
+        String actual = sut.read(event.getBytes(UTF_8));
+
+        // then
+        assertThat(actual).isEqualTo("POST /savings");
+    }
+
+    @Test
+    void throwsWhenEventIsNotAnObject() {
+        // given
+        byte[] event = "[]".getBytes(UTF_8);
+
+        // when
+
+        // then
+        assertThatThrownBy(() -> sut.read(event))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageStartingWith("request should be a JSON object");
+    }
+}
@@ -0,0 +1,178 @@
+package handler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+
+class RouterHandlerTest {
+
+    ObjectMapper mapper;
+    RequestStreamHandler<?, ?> listDebts, updateDebt;
+    ByteArrayOutputStream output;
+    Context context;
+    Logger logger;
+
+    RouterHandler sut;
+
+    @BeforeEach
+    void beforeEach() {
+        mapper = new ObjectMapper();
+        listDebts = mock(RequestStreamHandler.class);
+        updateDebt = mock(RequestStreamHandler.class);
+        output = new ByteArrayOutputStream();
+        context = mock(Context.class);
+        logger = mock(Logger.class);
+
+        sut =
+                new RouterHandler(
+                        Map.of("GET /debts", listDebts, "PUT /debts/{name}", updateDebt),
+                        mapper.getFactory(),
+                        logger);
+    }
+
+    @Test
+    void dispatchesToMatchingRouteWhenInvoked() throws IOException {
+        // given
+        String event = "{\"resource\":\"/debts\",\"path\":\"/debts\",\"httpMethod\":\"GET\"}";
+
+        // when
+        sut.handleRequest(stream(event), output, context);
+
+        // then
+        verify(listDebts, times(1)).handleRequest(any(), eq(output), eq(context));
+        verify(updateDebt, never()).handleRequest(any(), any(), any());
+    }
+
+    @Test
+    void dispatchesOnResourceTemplateWhenPathHasParameters() throws IOException {
+        // given
+        String event =
+                "{\"resource\":\"/debts/{name}\",\"path\":\"/debts/car\",\"httpMethod\":\"PUT\"}";
+
+        // when
+        sut.handleRequest(stream(event), output, context);
+
+        // then
+        verify(updateDebt, times(1)).handleRequest(any(), eq(output), eq(context));
+    }
+
+    @Test
+    void passesWholeEventToRouteWhenInvoked() throws IOException {
+        // given
+        String event = "{\"resource\":\"/debts\",\"httpMethod\":\"GET\",\"body\":\"something\"}";
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        doAnswer(
+                        invocation -> {
+                            received.write(
+                                    ((InputStream) invocation.getArgument(0)).readAllBytes());
+                            return null;
+                        })
+                .when(listDebts)
+                .handleRequest(any(), any(), any());
+
+        // when
+        sut.handleRequest(stream(event), output, context);
+
+        // then
+        assertThat(received.toString(UTF_8)).isEqualTo(event);
+    }
+
+    @Test
+    void returnsNotFoundWhenNoRouteMatches() throws IOException {
+        // given
+        String event = "{\"resource\":\"/debts\",\"httpMethod\":\"PATCH\"}";
+
+        // when
+        sut.handleRequest(stream(event), output, context);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(404);
+        verify(logger, times(1)).info("no route for {}", "PATCH /debts");
+    }
+
+    @Test
+    void returnsServerErrorWhenEventMalformed() throws IOException {
+        // given
+        String event = "not json";
+
+        // when
+        sut.handleRequest(stream(event), output, context);
+
+        // then
+        JsonNode actual = mapper.readTree(output.toByteArray());
+
+        assertThat(actual.get("statusCode").asInt()).isEqualTo(500);
+        verify(listDebts, never()).handleRequest(any(), any(), any());
+    }
+
+    @Test
+    void routesCoverEveryEndpoint() {
+        // given
+        DynamoDbClient client = mock(DynamoDbClient.class);
+
+        // when
+        Map<String, RequestStreamHandler<?, ?>> actual = RouterHandler.routes(client, "table");
+
+        // then
+        assertThat(actual)
+                .containsOnlyKeys(
+                        "GET /health",
+                        "POST /savings",
+                        "POST /savings:batch",
+                        "GET /savings",
+                        "PUT /savings/{name}",
+                        "PATCH /savings/{name}",
+                        "DELETE /savings/{name}",
+                        "GET /savings/{name}/projection",
+                        "POST /debts",
+                        "POST /debts:batch",
+                        "GET /debts",
+                        "PUT /debts/{name}",
+                        "PATCH /debts/{name}",
+                        "DELETE /debts/{name}",
+                        "GET /debts/{name}/schedule",
+                        "GET /networth",
+                        "GET /items");
+    }
+
+    @Test
+    void servesGivenClientOnEveryRouteWhenConstructedWithIt() throws IOException {
+        // given
+        DynamoDbClient client = mock(DynamoDbClient.class);
+        String event = "{\"resource\":\"/health\",\"path\":\"/health\",\"httpMethod\":\"GET\"}";
+
+        // when
+        RouterHandler actual = new RouterHandler(client, "table");
+        actual.handleRequest(stream(event), output, context);
+
+        // then
+        assertThat(actual.getRouteKeys()).isEqualTo(RouterHandler.routes(client, "table").keySet());
+        verify(client, times(1)).describeTable(any(DescribeTableRequest.class));
+    }
+
+    private static InputStream stream(String event) {
+        return new ByteArrayInputStream(event.getBytes(UTF_8));
+    }
+}
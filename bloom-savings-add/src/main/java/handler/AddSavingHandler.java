@@ -1,23 +1,28 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Samples.saving;
+import static priming.Samples.subject;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.util.Map;
 import model.RequestDetails;
 import model.Saving;
 import model.Subject;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DynamoService;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import transform.SavingTransformer;
 
 public class AddSavingHandler extends RequestStreamHandler<Saving, Void> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectReader REQUEST_READER = provideReader(Saving.class);
 
     public static final DynamoService DYNAMO_SERVICE =
             new DynamoService(provideClient(), provideTableName());
@@ -27,8 +32,17 @@ public class AddSavingHandler extends RequestStreamHandler<Saving, Void> {
     public static final AddSavingHandlerDelegate DELEGATE =
             new AddSavingHandlerDelegate(new SavingTransformer(), DYNAMO_SERVICE, LOGGER);
 
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(saving(), provideWriter(Saving.class), REQUEST_READER),
+                            () -> new SavingTransformer().toAttributeMap(saving(), subject()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
     public AddSavingHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Saving.class);
+        super(DELEGATE, REQUEST_READER, null);
     }
 
     static class AddSavingHandlerDelegate implements Handler<Saving, Void> {
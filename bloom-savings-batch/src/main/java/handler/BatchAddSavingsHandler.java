@@ -0,0 +1,112 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Priming.write;
+import static priming.Samples.saving;
+import static priming.Samples.subject;
+import static provider.DynamoProvider.provideAsyncClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
+import static util.BatchValidator.checkBatch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.BatchItemResult;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.WriteStatus;
+import org.slf4j.Logger;
+import priming.Primer;
+import service.BatchWriteService;
+import service.DynamoAsyncService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.SavingTransformer;
+
+public class BatchAddSavingsHandler
+        extends RequestStreamHandler<List<Saving>, List<BatchItemResult>> {
+
+    public static final ObjectReader REQUEST_READER =
+            provideReader(new TypeReference<List<Saving>>() {});
+
+    public static final ObjectWriter RESPONSE_WRITER =
+            provideWriter(new TypeReference<List<BatchItemResult>>() {});
+
+    public static final DynamoAsyncService DYNAMO_SERVICE =
+            new DynamoAsyncService(provideAsyncClient(), provideTableName());
+
+    public static final BatchWriteService BATCH_SERVICE = new BatchWriteService(DYNAMO_SERVICE);
+
+    public static final Logger LOGGER = getLogger(BatchAddSavingsHandler.class);
+
+    public static final BatchAddSavingsHandlerDelegate DELEGATE =
+            new BatchAddSavingsHandlerDelegate(new SavingTransformer(), BATCH_SERVICE, LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(
+                                    List.of(saving()),
+                                    provideWriter(new TypeReference<List<Saving>>() {}),
+                                    REQUEST_READER),
+                            write(
+                                    List.of(new BatchItemResult("priming", WriteStatus.WRITTEN)),
+                                    RESPONSE_WRITER),
+                            () -> new SavingTransformer().toAttributeMap(saving(), subject()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public BatchAddSavingsHandler() {
+        super(DELEGATE, REQUEST_READER, RESPONSE_WRITER);
+    }
+
+    static class BatchAddSavingsHandlerDelegate
+            implements Handler<List<Saving>, List<BatchItemResult>> {
+
+        private final SavingTransformer transformer;
+        private final BatchWriteService service;
+        private final Logger logger;
+
+        BatchAddSavingsHandlerDelegate(
+                SavingTransformer transformer, BatchWriteService service, Logger logger) {
+            this.transformer = transformer;
+            this.service = service;
+            this.logger = logger;
+        }
+
+        @Override
+        public List<BatchItemResult> handle(
+                List<Saving> savings, Subject subject, RequestDetails details) {
+            checkBatch(savings, Saving::getName, "savings");
+
+            List<Map<String, AttributeValue>> items = new ArrayList<>(savings.size());
+            for (Saving saving : savings) {
+                items.add(transformer.toAttributeMap(saving, subject));
+            }
+            List<WriteStatus> statuses = service.write(items);
+
+            List<BatchItemResult> results = new ArrayList<>(savings.size());
+            int written = 0;
+            for (int i = 0; i < savings.size(); i++) {
+                results.add(
+                        new BatchItemResult(savings.get(i).getName().getName(), statuses.get(i)));
+                if (WriteStatus.WRITTEN == statuses.get(i)) {
+                    written++;
+                }
+            }
+            logger.info(
+                    "{} of {} savings added for subject {}",
+                    written,
+                    savings.size(),
+                    subject.getSubject());
+            return results;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.BadRequestException;
+import handler.BatchAddSavingsHandler.BatchAddSavingsHandlerDelegate;
+import java.util.List;
+import java.util.Map;
+import model.BatchItemResult;
+import model.Name;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.WriteStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import service.BatchWriteService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.SavingTransformer;
+
+class BatchAddSavingsHandlerTest {
+
+    BatchAddSavingsHandlerDelegate sut;
+
+    SavingTransformer mockTransformer;
+    BatchWriteService mockService;
+    Saving mockHouse, mockHoliday;
+    Map<String, AttributeValue> mockHouseItem, mockHolidayItem;
+    Subject mockSubject;
+    RequestDetails mockDetails;
+    Logger mockLogger;
+
+    @BeforeEach
+    void beforeEach() {
+        mockTransformer = mock(SavingTransformer.class);
+        mockService = mock(BatchWriteService.class);
+        mockHouse = mockSaving("house");
+        mockHoliday = mockSaving("holiday");
+        mockHouseItem = mock(Map.class);
+        mockHolidayItem = mock(Map.class);
+        mockSubject = mock(Subject.class);
+        mockDetails = mock(RequestDetails.class);
+        mockLogger = mock(Logger.class);
+
+        when(mockTransformer.toAttributeMap(mockHouse, mockSubject)).thenReturn(mockHouseItem);
+        when(mockTransformer.toAttributeMap(mockHoliday, mockSubject)).thenReturn(mockHolidayItem);
+        when(mockSubject.getSubject()).thenReturn("blah");
+        when(mockService.write(List.of(mockHouseItem, mockHolidayItem)))
+                .thenReturn(List.of(WriteStatus.WRITTEN, WriteStatus.FAILED));
+
+        sut = new BatchAddSavingsHandlerDelegate(mockTransformer, mockService, mockLogger);
+    }
+
+    @Test
+    void writesTransformedItemsInRequestOrderWhenHandled() {
+        // given
+
+        // when
+        sut.handle(List.of(mockHouse, mockHoliday), mockSubject, mockDetails);
+
+        // then
+        verify(mockService).write(List.of(mockHouseItem, mockHolidayItem));
+    }
+
+    @Test
+    void reportsOutcomePerItemWhenHandled() {
+        // given
+
+        // when
+        List<BatchItemResult> actual =
+                sut.handle(List.of(mockHouse, mockHoliday), mockSubject, mockDetails);
+
+        // then
+        assertThat(actual).extracting(BatchItemResult::getName).containsExactly("house", "holiday");
+        assertThat(actual)
+                .extracting(BatchItemResult::getStatus)
+                .containsExactly(WriteStatus.WRITTEN, WriteStatus.FAILED);
+    }
+
+    @Test
+    void logsWhenSavingsAdded() {
+        // given
+
+        // when
+        sut.handle(List.of(mockHouse, mockHoliday), mockSubject, mockDetails);
+
+        // then
+        verify(mockLogger).info("{} of {} savings added for subject {}", 1, 2, "blah");
+    }
+
+    @Test
+    void throwsWhenNamesDuplicated() {
+        // given
+        Saving mockOtherHouse = mockSaving("house");
+
+        // when
+
+        // then
+        assertThatThrownBy(
+                        () ->
+                                sut.handle(
+                                        List.of(mockHouse, mockOtherHouse),
+                                        mockSubject,
+                                        mockDetails))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("savings should have unique names");
+        verify(mockService, never()).write(any());
+    }
+
+    private static Saving mockSaving(String name) {
+        Saving saving = mock(Saving.class);
+        Name mockName = mock(Name.class);
+        when(saving.getName()).thenReturn(mockName);
+        when(mockName.getName()).thenReturn(name);
+        return saving;
+    }
+}
@@ -1,58 +1,99 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.drain;
+import static priming.Priming.write;
+import static priming.Samples.saving;
+import static priming.Samples.savingItem;
+import static provider.CacheProvider.provideListCache;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cache.ResponseCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.util.List;
-import model.RequestDetails;
+import java.util.Map;
+import model.Page;
 import model.Saving;
-import model.Subject;
 import model.Type;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DynamoService;
 import service.ListTypeService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import transform.SavingsDynamoTransformer;
 
-public class ListSavingsHandler extends RequestStreamHandler<Void, List<Saving>> {
+public class ListSavingsHandler extends RequestStreamHandler<Void, Page<Saving>> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectWriter RESPONSE_WRITER =
+            provideWriter(new TypeReference<Page<Saving>>() {});
 
-    public static final ListTypeService LIST_SERVICE =
-            new ListTypeService(new DynamoService(provideClient(), provideTableName()));
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final ListTypeService LIST_SERVICE = new ListTypeService(DYNAMO_SERVICE);
 
     public static final Logger LOGGER = getLogger(ListSavingsHandler.class);
 
     public static final ListSavingsHandlerDelegate DELEGATE =
-            new ListSavingsHandlerDelegate(new SavingsDynamoTransformer(), LIST_SERVICE, LOGGER);
+            new ListSavingsHandlerDelegate(
+                    new SavingsDynamoTransformer(),
+                    LIST_SERVICE,
+                    provideListCache(),
+                    RESPONSE_WRITER,
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            drain(new SavingsDynamoTransformer().toSavings(List.of(savingItem()))),
+                            drain(
+                                    new SavingsDynamoTransformer()
+                                            .toPartialSavings(List.of(savingItem()))),
+                            write(new Page<>(List.of(saving()), null), RESPONSE_WRITER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
 
     public ListSavingsHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Void.class);
+        super(DELEGATE, null, RESPONSE_WRITER);
     }
 
-    static class ListSavingsHandlerDelegate implements Handler<Void, List<Saving>> {
+    static class ListSavingsHandlerDelegate extends ListTypeDelegate<Saving> {
 
         private final SavingsDynamoTransformer transformer;
-        private final ListTypeService service;
-        private final Logger logger;
 
         ListSavingsHandlerDelegate(
-                SavingsDynamoTransformer transformer, ListTypeService service, Logger logger) {
+                SavingsDynamoTransformer transformer,
+                ListTypeService service,
+                ResponseCache cache,
+                ObjectWriter writer,
+                Logger logger) {
+            super(Type.SAVING, "savings", service, cache, writer, logger);
             this.transformer = transformer;
-            this.service = service;
-            this.logger = logger;
         }
 
         @Override
-        public List<Saving> handle(Void request, Subject subject, RequestDetails details) {
-            QueryResponse queryResponse = service.list(subject, Type.SAVING);
-            List<Saving> savings = transformer.toSavingsList(queryResponse);
+        protected Iterable<Saving> toItems(Iterable<Map<String, AttributeValue>> items) {
+            return transformer.toSavings(items);
+        }
+
+        @Override
+        protected Iterable<Saving> toPartialItems(Iterable<Map<String, AttributeValue>> items) {
+            return transformer.toPartialSavings(items);
+        }
 
-            logger.info("{} savings listed for subject {}", savings.size(), subject.getSubject());
-            return savings;
+        @Override
+        protected List<Saving> toItemsList(QueryResponse response) {
+            return transformer.toSavingsList(response);
+        }
+
+        @Override
+        protected List<Saving> toPartialItemsList(QueryResponse response) {
+            return transformer.toPartialSavingsList(response);
         }
     }
 }
@@ -1,23 +1,44 @@
 package handler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static priming.Samples.savingItem;
 
+import cache.ResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import handler.ListSavingsHandler.ListSavingsHandlerDelegate;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import model.Page;
 import model.RequestDetails;
 import model.Saving;
 import model.Subject;
 import model.Type;
+import model.request.FieldsRequest;
+import model.request.PageRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
+import service.DynamoService;
 import service.ListTypeService;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import throttling.AdaptiveRateLimiter;
 import transform.SavingsDynamoTransformer;
 
 class ListSavingsHandlerTest {
@@ -28,8 +49,11 @@ class ListSavingsHandlerTest {
     RequestDetails mockDetails;
     SavingsDynamoTransformer mockTransformer;
     ListTypeService mockService;
+    SdkIterable mockItems;
+    Iterable mockSavings;
     QueryResponse response;
     List mockSavingsList;
+    ObjectWriter mockWriter;
     Logger mockLogger;
 
     @BeforeEach
@@ -38,15 +62,28 @@ class ListSavingsHandlerTest {
         mockDetails = mock(RequestDetails.class);
         mockTransformer = mock(SavingsDynamoTransformer.class);
         mockService = mock(ListTypeService.class);
+        mockItems = mock(SdkIterable.class);
+        mockSavings = mock(Iterable.class);
         response = QueryResponse.builder().build();
         mockSavingsList = mock(List.class);
+        mockWriter = mock(ObjectWriter.class);
         mockLogger = mock(Logger.class);
 
         when(mockSubject.getSubject()).thenReturn("hsdf-324jds3");
-        when(mockService.list(mockSubject, Type.SAVING)).thenReturn(response);
+        when(mockService.list(mockSubject, Type.SAVING)).thenReturn(mockItems);
+        when(mockTransformer.toSavings(mockItems)).thenReturn(mockSavings);
+        when(mockService.list(
+                        eq(mockSubject),
+                        eq(Type.SAVING),
+                        any(PageRequest.class),
+                        any(FieldsRequest.class)))
+                .thenReturn(response);
+        when(mockService.toCursor(response)).thenReturn("U0FWSU5HI05leHQ");
         when(mockTransformer.toSavingsList(response)).thenReturn(mockSavingsList);
 
-        sut = new ListSavingsHandlerDelegate(mockTransformer, mockService, mockLogger);
+        sut =
+                new ListSavingsHandlerDelegate(
+                        mockTransformer, mockService, new ResponseCache(0), mockWriter, mockLogger);
     }
 
     @Test
@@ -61,12 +98,65 @@ class ListSavingsHandlerTest {
     }
 
     @Test
-    void transformerInvokedForAttributeMapWhenDelegateHandled() {
+    void transformerInvokedForItemsWhenDelegateHandled() {
         // given
 
         // when
         sut.handle(null, mockSubject, mockDetails);
 
+        // then
+        verify(mockTransformer, times(1)).toSavings(mockItems);
+    }
+
+    @Test
+    void returnsCorrectResponseWhenDelegateInvoked() {
+        // given
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getItems()).isEqualTo(mockSavings);
+        assertThat(actual.getCursor()).isNull();
+    }
+
+    @Test
+    void logsWhenSavingsListReturned() {
+        // given
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        verify(mockLogger, times(1))
+                .info("{} listed for subject {}", "savings", mockSubject.getSubject());
+    }
+
+    @Test
+    void servicePagedWhenLimitProvided() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        ArgumentCaptor<PageRequest> captor = ArgumentCaptor.forClass(PageRequest.class);
+        verify(mockService)
+                .list(eq(mockSubject), eq(Type.SAVING), captor.capture(), any(FieldsRequest.class));
+        PageRequest actual = captor.getValue();
+
+        assertThat(actual.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void transformerInvokedForQueryResponseWhenPaged() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
         // then
         ArgumentCaptor<QueryResponse> captor = ArgumentCaptor.forClass(QueryResponse.class);
         verify(mockTransformer, times(1)).toSavingsList(captor.capture());
@@ -76,19 +166,22 @@ class ListSavingsHandlerTest {
     }
 
     @Test
-    void returnsCorrectResponseWhenDelegateInvoked() {
+    void returnsPageWithCursorWhenPaged() {
         // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
 
         // when
-        List<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
 
         // then
-        assertThat(actual).isEqualTo(mockSavingsList);
+        assertThat(actual.getItems()).isEqualTo(mockSavingsList);
+        assertThat(actual.getCursor()).isEqualTo("U0FWSU5HI05leHQ");
     }
 
     @Test
-    void logsWhenSavingsListReturned() {
+    void logsCountWhenPaged() {
         // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
 
         // when
         sut.handle(null, mockSubject, mockDetails);
@@ -96,8 +189,231 @@ class ListSavingsHandlerTest {
         // then
         verify(mockLogger, times(1))
                 .info(
-                        "{} savings listed for subject {}",
+                        "{} {} listed for subject {}",
                         mockSavingsList.size(),
+                        "savings",
                         mockSubject.getSubject());
     }
+
+    @Test
+    void servesListFromCacheWhenVersionUnchanged() throws JsonProcessingException {
+        // given
+        byte[] body = {'[', ']'};
+        when(mockService.version(mockSubject)).thenReturn(4L);
+        when(mockWriter.writeValueAsBytes(any())).thenReturn(body);
+        sut = cachingDelegate();
+        sut.handle(null, mockSubject, mockDetails);
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getSerialized()).isSameAs(body);
+        verify(mockService, times(1)).list(mockSubject, Type.SAVING);
+        verify(mockWriter, times(1)).writeValueAsBytes(any());
+        verify(mockLogger, times(1))
+                .info("{} listed from cache for subject {}", "savings", mockSubject.getSubject());
+    }
+
+    @Test
+    void readsListAgainWhenVersionChanged() throws JsonProcessingException {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(4L, 5L);
+        when(mockWriter.writeValueAsBytes(any())).thenReturn(new byte[] {'[', ']'});
+        sut = cachingDelegate();
+        sut.handle(null, mockSubject, mockDetails);
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        verify(mockService, times(2)).list(mockSubject, Type.SAVING);
+    }
+
+    @Test
+    void serializesListedItemsWhenCacheMissed() throws JsonProcessingException {
+        // given
+        when(mockWriter.writeValueAsBytes(any())).thenReturn(new byte[] {'[', ']'});
+        sut = cachingDelegate();
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        ArgumentCaptor<Page> captor = ArgumentCaptor.forClass(Page.class);
+        verify(mockWriter).writeValueAsBytes(captor.capture());
+        assertThat(captor.getValue().getItems()).isEqualTo(mockSavings);
+    }
+
+    @Test
+    void bypassesCacheWhenPaged() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+        sut = cachingDelegate();
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        verify(mockService, never()).version(any());
+    }
+
+    @Test
+    void returnsETagFromVersionWhenUnpaged() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(7L);
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getETag()).isEqualTo("\"hsdf-324jds3-saving-7\"");
+        assertThat(actual.isNotModified()).isFalse();
+    }
+
+    @Test
+    void returnsNotModifiedWithoutListingWhenETagMatches() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(7L);
+        when(mockDetails.getHeaders())
+                .thenReturn(Map.of("if-none-match", "\"hsdf-324jds3-saving-7\""));
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.isNotModified()).isTrue();
+        assertThat(actual.getETag()).isEqualTo("\"hsdf-324jds3-saving-7\"");
+        verify(mockService, never()).list(mockSubject, Type.SAVING);
+        verify(mockTransformer, never()).toSavings(mockItems);
+        verify(mockLogger).info("{} not modified for subject {}", "savings", "hsdf-324jds3");
+    }
+
+    @Test
+    void listsAgainWhenETagIsStale() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(8L);
+        when(mockDetails.getHeaders())
+                .thenReturn(Map.of("If-None-Match", "\"hsdf-324jds3-saving-7\""));
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.isNotModified()).isFalse();
+        assertThat(actual.getETag()).isEqualTo("\"hsdf-324jds3-saving-8\"");
+        verify(mockService).list(mockSubject, Type.SAVING);
+    }
+
+    @Test
+    void omitsETagWhenPaged() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("limit", "10"));
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getETag()).isNull();
+    }
+
+    @Test
+    void listsRequestedFieldsWhenFieldsProvided() {
+        // given
+        when(mockDetails.getQueryStringParameters()).thenReturn(Map.of("fields", "monthlyAmount"));
+        when(mockService.list(eq(mockSubject), eq(Type.SAVING), any(FieldsRequest.class)))
+                .thenReturn(mockItems);
+        when(mockTransformer.toPartialSavings(mockItems)).thenReturn(mockSavings);
+        sut = cachingDelegate();
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        ArgumentCaptor<FieldsRequest> captor = ArgumentCaptor.forClass(FieldsRequest.class);
+        verify(mockService).list(eq(mockSubject), eq(Type.SAVING), captor.capture());
+        assertThat(captor.getValue().getFields()).containsExactly("monthlyAmount", "name");
+        assertThat(actual.getItems()).isEqualTo(mockSavings);
+        verify(mockService, never()).list(mockSubject, Type.SAVING);
+        verify(mockTransformer, never()).toSavings(any());
+    }
+
+    @Test
+    void returnsETagForFieldsWhenFieldsProvided() {
+        // given
+        when(mockService.version(mockSubject)).thenReturn(7L);
+        when(mockDetails.getQueryStringParameters())
+                .thenReturn(Map.of("fields", "version,monthlyAmount"));
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getETag())
+                .isEqualTo("\"hsdf-324jds3-saving-7-monthlyAmount.name.version\"");
+    }
+
+    @Test
+    void transformsPartialItemsWhenPagedWithFields() {
+        // given
+        when(mockDetails.getQueryStringParameters())
+                .thenReturn(Map.of("limit", "10", "fields", "name"));
+        when(mockTransformer.toPartialSavingsList(response)).thenReturn(mockSavingsList);
+
+        // when
+        Page<Saving> actual = sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual.getItems()).isEqualTo(mockSavingsList);
+        verify(mockTransformer, never()).toSavingsList(any(QueryResponse.class));
+    }
+
+    @Test
+    void cachesListHoldingWriteThatProducedVersion() {
+        // given
+        Map<String, AttributeValue> written = new HashMap<>(savingItem());
+        written.put("SK", AttributeValue.builder().s("SAVING#holiday").build());
+        DynamoDbClient mockClient = mock(DynamoDbClient.class);
+        when(mockClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(
+                        GetItemResponse.builder()
+                                .item(Map.of("Version", AttributeValue.builder().n("2").build()))
+                                .build());
+        // an eventually consistent query may not see the write the version already counts
+        when(mockClient.query(any(QueryRequest.class)))
+                .thenAnswer(
+                        invocation ->
+                                QueryResponse.builder()
+                                        .items(
+                                                Boolean.TRUE.equals(
+                                                                invocation
+                                                                        .<QueryRequest>getArgument(
+                                                                                0)
+                                                                        .consistentRead())
+                                                        ? List.of(savingItem(), written)
+                                                        : List.of(savingItem()))
+                                        .build());
+        ResponseCache cache = new ResponseCache(1024 * 1024);
+        sut =
+                new ListSavingsHandlerDelegate(
+                        new SavingsDynamoTransformer(),
+                        new ListTypeService(
+                                new DynamoService(
+                                        mockClient, "MY_TABLE_NAME", AdaptiveRateLimiter.DISABLED)),
+                        cache,
+                        ListSavingsHandler.RESPONSE_WRITER,
+                        mockLogger);
+
+        // when
+        sut.handle(null, mockSubject, mockDetails);
+
+        // then
+        byte[] actual = cache.get(mockSubject, Type.SAVING, 2);
+        assertThat(new String(actual, StandardCharsets.UTF_8)).contains("\"holiday\"");
+    }
+
+    private ListSavingsHandlerDelegate cachingDelegate() {
+        return new ListSavingsHandlerDelegate(
+                mockTransformer, mockService, new ResponseCache(1024), mockWriter, mockLogger);
+    }
 }
@@ -0,0 +1,143 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Priming.write;
+import static priming.Samples.saving;
+import static priming.Samples.savingItem;
+import static priming.Samples.savingPatch;
+import static priming.Samples.subject;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import exception.BadRequestException;
+import exception.ConflictException;
+import java.util.Map;
+import model.Name;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.request.SavingPatch;
+import org.slf4j.Logger;
+import priming.Primer;
+import service.DynamoService;
+import service.PatchItemService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
+
+public class PatchSavingHandler extends RequestStreamHandler<SavingPatch, Saving> {
+
+    public static final ObjectReader REQUEST_READER = provideReader(SavingPatch.class);
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Saving.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final PatchItemService PATCH_SERVICE = new PatchItemService(DYNAMO_SERVICE);
+
+    public static final Logger LOGGER = getLogger(PatchSavingHandler.class);
+
+    public static final PatchSavingHandlerDelegate DELEGATE =
+            new PatchSavingHandlerDelegate(
+                    new SavingTransformer(), new SavingsDynamoTransformer(), PATCH_SERVICE, LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(
+                                    savingPatch(),
+                                    provideWriter(SavingPatch.class),
+                                    REQUEST_READER),
+                            write(savingPatch().applyTo(saving()), RESPONSE_WRITER),
+                            () -> new SavingsDynamoTransformer().toSaving(savingItem()),
+                            () ->
+                                    new SavingTransformer()
+                                            .toUpdateExpression(savingPatch(), savingItem()),
+                            () -> new SavingTransformer().toKey(saving().getName(), subject()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public PatchSavingHandler() {
+        super(DELEGATE, REQUEST_READER, RESPONSE_WRITER);
+    }
+
+    static class PatchSavingHandlerDelegate implements Handler<SavingPatch, Saving> {
+
+        private final SavingTransformer transformer;
+        private final SavingsDynamoTransformer itemTransformer;
+        private final PatchItemService service;
+        private final Logger logger;
+
+        PatchSavingHandlerDelegate(
+                SavingTransformer transformer,
+                SavingsDynamoTransformer itemTransformer,
+                PatchItemService service,
+                Logger logger) {
+            this.transformer = transformer;
+            this.itemTransformer = itemTransformer;
+            this.service = service;
+            this.logger = logger;
+        }
+
+        /**
+         * Applies the patch to the stored saving, read consistently so the result is validated as a
+         * whole. A patch that carries its version and can be validated on its own is written
+         * without that read, and the saving is read back once it is written.
+         */
+        @Override
+        public Saving handle(SavingPatch request, Subject subject, RequestDetails details) {
+            String name = details.getPathParameters().get("name");
+            if (null == name || name.isBlank()) {
+                throw new BadRequestException("name cannot be null or empty");
+            }
+
+            Map<String, AttributeValue> key = transformer.toKey(new Name(name), subject);
+            if (null != request.getVersion() && !request.needsStoredSaving()) {
+                Saving patched =
+                        itemTransformer.toSaving(
+                                service.patchAndGet(
+                                        key,
+                                        transformer.toUpdateExpression(request, Map.of()),
+                                        request.getVersion()));
+
+                logger.info(
+                        "Saving {} patched to version {} for subject {}",
+                        name,
+                        patched.getVersion(),
+                        subject.getSubject());
+                return patched;
+            }
+
+            Map<String, AttributeValue> item = service.read(key);
+            Saving stored = itemTransformer.toSaving(item);
+            long storedVersion = null != stored.getVersion() ? stored.getVersion() : 0;
+            if (null != request.getVersion() && storedVersion != request.getVersion()) {
+                throw new ConflictException("saving " + name + " is at version " + storedVersion);
+            }
+
+            Saving patched;
+            try {
+                patched = request.applyTo(stored);
+            } catch (IllegalArgumentException exception) {
+                throw new BadRequestException(exception.getMessage(), exception);
+            }
+            long version =
+                    service.patch(
+                            key, transformer.toUpdateExpression(request, item), storedVersion);
+
+            logger.info(
+                    "Saving {} patched to version {} for subject {}",
+                    name,
+                    version,
+                    subject.getSubject());
+            return patched.withVersion(version);
+        }
+    }
+}
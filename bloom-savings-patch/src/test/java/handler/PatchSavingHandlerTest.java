@@ -0,0 +1,218 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.BadRequestException;
+import exception.ConflictException;
+import handler.PatchSavingHandler.PatchSavingHandlerDelegate;
+import java.util.Map;
+import model.Amount;
+import model.Date;
+import model.Name;
+import model.Rate;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import model.request.SavingPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import service.PatchItemService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
+import transform.UpdateExpression;
+
+class PatchSavingHandlerTest {
+
+    PatchSavingHandlerDelegate sut;
+
+    Subject subject;
+    RequestDetails details;
+    SavingTransformer mockTransformer;
+    SavingsDynamoTransformer mockItemTransformer;
+    PatchItemService mockService;
+    Logger mockLogger;
+    Map<String, AttributeValue> key;
+    Map<String, AttributeValue> item;
+    UpdateExpression update;
+    Saving stored;
+    SavingPatch patch;
+
+    @BeforeEach
+    void beforeEach() {
+        subject = new Subject("hsdf-324jds3");
+        details = RequestDetails.newBuilder().withPathParameters(Map.of("name", "house")).build();
+        mockTransformer = mock(SavingTransformer.class);
+        mockItemTransformer = mock(SavingsDynamoTransformer.class);
+        mockService = mock(PatchItemService.class);
+        mockLogger = mock(Logger.class);
+        key = Map.of("PK", AttributeValue.builder().s("USER#hsdf-324jds3").build());
+        item = Map.of("SK", AttributeValue.builder().s("SAVING#house").build());
+        update = new UpdateExpression();
+        stored =
+                Saving.newBuilder()
+                        .withName(new Name("house"))
+                        .withStartAmount(new Amount("1000.00"))
+                        .withMonthlyAmount(new Amount("50.00"))
+                        .withStartDate(new Date("2020-01"))
+                        .withEndDate(new Date("2030-01"))
+                        .withYearlyRate(new Rate("3.5"))
+                        .withVersion(3L)
+                        .build();
+        patch = SavingPatch.newBuilder().withMonthlyAmount(new Amount("60.00")).build();
+
+        when(mockTransformer.toKey(any(Name.class), any(Subject.class))).thenReturn(key);
+        when(mockService.read(key)).thenReturn(item);
+        when(mockItemTransformer.toSaving(item)).thenReturn(stored);
+        when(mockTransformer.toUpdateExpression(patch, item)).thenReturn(update);
+        when(mockService.patch(key, update, 3L)).thenReturn(4L);
+
+        sut =
+                new PatchSavingHandlerDelegate(
+                        mockTransformer, mockItemTransformer, mockService, mockLogger);
+    }
+
+    @Test
+    void patchesStoredVersionWhenDelegateHandled() {
+        // given
+
+        // when
+        sut.handle(patch, subject, details);
+
+        // then
+        verify(mockService).patch(key, update, 3L);
+    }
+
+    @Test
+    void returnsPatchedSavingAtUpdatedVersionWhenDelegateHandled() {
+        // given
+
+        // when
+        Saving actual = sut.handle(patch, subject, details);
+
+        // then
+        assertThat(actual.getName().getName()).isEqualTo("house");
+        assertThat(actual.getMonthlyAmount().toString()).isEqualTo("60.00");
+        assertThat(actual.getStartAmount()).isSameAs(stored.getStartAmount());
+        assertThat(actual.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void patchesFromZeroWhenStoredSavingPredatesVersions() {
+        // given
+        when(mockItemTransformer.toSaving(item)).thenReturn(stored.withVersion(null));
+
+        // when
+        sut.handle(patch, subject, details);
+
+        // then
+        verify(mockService).patch(key, update, 0L);
+    }
+
+    @Test
+    void throwsConflictWhenVersionDiffersFromStored() {
+        // given
+        SavingPatch stale =
+                SavingPatch.newBuilder().withEndDate(new Date("2031-01")).withVersion(2L).build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(stale, subject, details));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("saving house is at version 3");
+        verify(mockService, never()).patch(any(), any(), anyLong());
+    }
+
+    @Test
+    void throwsBadRequestWhenPatchedSavingInvalid() {
+        // given
+        SavingPatch invalid = SavingPatch.newBuilder().withEndDate(new Date("2019-01")).build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(invalid, subject, details));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("endDate cannot be before startDate");
+        verify(mockService, never()).patch(any(), any(), anyLong());
+    }
+
+    @Test
+    void writesWithoutReadingWhenVersionGivenAndPatchStandsAlone() {
+        // given
+        SavingPatch versioned =
+                SavingPatch.newBuilder()
+                        .withMonthlyAmount(new Amount("60.00"))
+                        .withVersion(3L)
+                        .build();
+        Map<String, AttributeValue> written =
+                Map.of("Version", AttributeValue.builder().n("4").build());
+        when(mockTransformer.toUpdateExpression(versioned, Map.of())).thenReturn(update);
+        when(mockService.patchAndGet(key, update, 3L)).thenReturn(written);
+        when(mockItemTransformer.toSaving(written)).thenReturn(stored.withVersion(4L));
+
+        // when
+        Saving actual = sut.handle(versioned, subject, details);
+
+        // then
+        assertThat(actual.getVersion()).isEqualTo(4L);
+        verify(mockService, never()).read(any());
+        verify(mockService, never()).patch(any(), any(), anyLong());
+    }
+
+    @Test
+    void readsStoredWhenVersionGivenButPatchNeedsIt() {
+        // given
+        SavingPatch versioned =
+                SavingPatch.newBuilder().withEndDate(new Date("2031-01")).withVersion(3L).build();
+        when(mockTransformer.toUpdateExpression(versioned, item)).thenReturn(update);
+
+        // when
+        sut.handle(versioned, subject, details);
+
+        // then
+        verify(mockService).read(key);
+        verify(mockService).patch(key, update, 3L);
+    }
+
+    @Test
+    void throwsBadRequestWhenNameMissing() {
+        // given
+        RequestDetails noName = RequestDetails.newBuilder().build();
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(patch, subject, noName));
+
+        // then
+        assertThat(actual)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("name cannot be null or empty");
+    }
+
+    @Test
+    void logsWhenSavingPatched() {
+        // given
+
+        // when
+        sut.handle(patch, subject, details);
+
+        // then
+        verify(mockLogger)
+                .info(
+                        "Saving {} patched to version {} for subject {}",
+                        "house",
+                        4L,
+                        "hsdf-324jds3");
+    }
+}
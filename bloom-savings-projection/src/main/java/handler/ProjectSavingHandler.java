@@ -0,0 +1,109 @@
+package handler;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.write;
+import static priming.Samples.saving;
+import static priming.Samples.savingItem;
+import static priming.Samples.subject;
+import static provider.DynamoProvider.provideClient;
+import static provider.DynamoProvider.provideTableName;
+import static provider.MapperProvider.provideWriter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import exception.BadRequestException;
+import exception.NotFoundException;
+import java.util.Map;
+import model.Name;
+import model.Projection;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import org.slf4j.Logger;
+import priming.Primer;
+import projection.SavingProjector;
+import service.DynamoService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
+
+public class ProjectSavingHandler extends RequestStreamHandler<Void, Projection> {
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Projection.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
+
+    public static final Logger LOGGER = getLogger(ProjectSavingHandler.class);
+
+    public static final ProjectSavingHandlerDelegate DELEGATE =
+            new ProjectSavingHandlerDelegate(
+                    new SavingTransformer(),
+                    new SavingsDynamoTransformer(),
+                    DYNAMO_SERVICE,
+                    new SavingProjector(),
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            () -> new SavingsDynamoTransformer().toSaving(savingItem()),
+                            () -> new SavingTransformer().toKey(saving().getName(), subject()),
+                            write(
+                                    new Projection(
+                                            saving().getName(),
+                                            saving().getStartDate(),
+                                            new SavingProjector().project(saving())),
+                                    RESPONSE_WRITER),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
+
+    public ProjectSavingHandler() {
+        super(DELEGATE, null, RESPONSE_WRITER);
+    }
+
+    static class ProjectSavingHandlerDelegate implements Handler<Void, Projection> {
+
+        private final SavingTransformer keyTransformer;
+        private final SavingsDynamoTransformer itemTransformer;
+        private final DynamoService service;
+        private final SavingProjector projector;
+        private final Logger logger;
+
+        ProjectSavingHandlerDelegate(
+                SavingTransformer keyTransformer,
+                SavingsDynamoTransformer itemTransformer,
+                DynamoService service,
+                SavingProjector projector,
+                Logger logger) {
+            this.keyTransformer = keyTransformer;
+            this.itemTransformer = itemTransformer;
+            this.service = service;
+            this.projector = projector;
+            this.logger = logger;
+        }
+
+        @Override
+        public Projection handle(Void request, Subject subject, RequestDetails details) {
+            String name = details.getPathParameters().get("name");
+            if (null == name || name.isBlank()) {
+                throw new BadRequestException("name cannot be null or empty");
+            }
+
+            Map<String, AttributeValue> item =
+                    service.get(keyTransformer.toKey(new Name(name), subject));
+            if (null == item) {
+                throw new NotFoundException("saving " + name + " not found");
+            }
+            Saving saving = itemTransformer.toSaving(item);
+            long[] balances = projector.project(saving);
+
+            logger.info(
+                    "Saving {} projected over {} months for subject {}",
+                    name,
+                    balances.length,
+                    subject.getSubject());
+            return new Projection(saving.getName(), saving.getStartDate(), balances);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import exception.BadRequestException;
+import exception.NotFoundException;
+import handler.ProjectSavingHandler.ProjectSavingHandlerDelegate;
+import java.util.Map;
+import model.Amount;
+import model.Date;
+import model.Name;
+import model.Projection;
+import model.Rate;
+import model.RequestDetails;
+import model.Saving;
+import model.Subject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import projection.SavingProjector;
+import service.DynamoService;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
+
+class ProjectSavingHandlerTest {
+
+    ProjectSavingHandlerDelegate sut;
+
+    Subject subject;
+    SavingTransformer mockKeyTransformer;
+    SavingsDynamoTransformer mockItemTransformer;
+    DynamoService mockService;
+    SavingProjector mockProjector;
+    Logger mockLogger;
+    Map<String, AttributeValue> key;
+    Map<String, AttributeValue> item;
+    Saving saving;
+    long[] balances;
+
+    @BeforeEach
+    void beforeEach() {
+        subject = new Subject("hsdf-324jds3");
+        mockKeyTransformer = mock(SavingTransformer.class);
+        mockItemTransformer = mock(SavingsDynamoTransformer.class);
+        mockService = mock(DynamoService.class);
+        mockProjector = mock(SavingProjector.class);
+        mockLogger = mock(Logger.class);
+        key = Map.of("PK", AttributeValue.builder().s("USER#hsdf-324jds3").build());
+        item = Map.of("SK", AttributeValue.builder().s("SAVING#house").build());
+        saving =
+                Saving.newBuilder()
+                        .withName(new Name("house"))
+                        .withStartAmount(new Amount("100.00"))
+                        .withMonthlyAmount(new Amount("10.00"))
+                        .withStartDate(new Date("2020-01"))
+                        .withEndDate(new Date("2020-03"))
+                        .withYearlyRate(new Rate("0"))
+                        .build();
+        balances = new long[] {11000, 12000, 13000};
+
+        when(mockKeyTransformer.toKey(any(Name.class), any(Subject.class))).thenReturn(key);
+        when(mockService.get(key)).thenReturn(item);
+        when(mockItemTransformer.toSaving(item)).thenReturn(saving);
+        when(mockProjector.project(saving)).thenReturn(balances);
+
+        sut =
+                new ProjectSavingHandlerDelegate(
+                        mockKeyTransformer,
+                        mockItemTransformer,
+                        mockService,
+                        mockProjector,
+                        mockLogger);
+    }
+
+    @Test
+    void returnsProjectionWhenSavingExists() {
+        // given
+        RequestDetails details = details("house");
+
+        // when
+        Projection actual = sut.handle(null, subject, details);
+
+        // then
+        assertThat(actual.getName().getName()).isEqualTo("house");
+        assertThat(actual.getStartDate().toString()).isEqualTo("2020-01");
+        assertThat(actual.getBalances()).isSameAs(balances);
+    }
+
+    @Test
+    void looksUpSavingByPathNameWhenInvoked() {
+        // given
+        RequestDetails details = details("house");
+
+        // when
+        sut.handle(null, subject, details);
+
+        // then
+        verify(mockKeyTransformer)
+                .toKey(argThat(name -> "house".equals(name.getName())), eq(subject));
+        verify(mockService).get(key);
+    }
+
+    @Test
+    void throwsNotFoundWhenSavingMissing() {
+        // given
+        when(mockService.get(key)).thenReturn(null);
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(null, subject, details("house")));
+
+        // then
+        assertThat(actual)
+                .isExactlyInstanceOf(NotFoundException.class)
+                .hasMessage("saving house not found");
+        verify(mockProjector, never()).project(any());
+    }
+
+    @Test
+    void throwsBadRequestWhenNameMissing() {
+        // given
+
+        // when
+        Throwable actual = catchThrowable(() -> sut.handle(null, subject, details(null)));
+
+        // then
+        assertThat(actual)
+                .isExactlyInstanceOf(BadRequestException.class)
+                .hasMessage("name cannot be null or empty");
+        verify(mockService, never()).get(any());
+    }
+
+    private static RequestDetails details(String name) {
+        return RequestDetails.newBuilder()
+                .withHttpMethod("GET")
+                .withPathParameters(null == name ? Map.of() : Map.of("name", name))
+                .build();
+    }
+}
@@ -1,60 +1,110 @@
 package handler;
 
 import static org.slf4j.LoggerFactory.getLogger;
+import static priming.Priming.roundTrip;
+import static priming.Samples.saving;
+import static priming.Samples.savingItem;
+import static priming.Samples.subject;
 import static provider.DynamoProvider.provideClient;
 import static provider.DynamoProvider.provideTableName;
-import static provider.MapperProvider.provideMapper;
+import static provider.MapperProvider.provideReader;
+import static provider.MapperProvider.provideWriter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.util.Map;
 import model.RequestDetails;
 import model.Saving;
 import model.Subject;
 import org.slf4j.Logger;
+import priming.Primer;
 import service.DynamoService;
 import service.UpdateSavingService;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
 
-public class UpdateSavingHandler extends RequestStreamHandler<Saving, Void> {
+public class UpdateSavingHandler extends RequestStreamHandler<Saving, Saving> {
 
-    public static final ObjectMapper OBJECT_MAPPER = provideMapper();
+    public static final ObjectReader REQUEST_READER = provideReader(Saving.class);
+
+    public static final ObjectWriter RESPONSE_WRITER = provideWriter(Saving.class);
+
+    public static final DynamoService DYNAMO_SERVICE =
+            new DynamoService(provideClient(), provideTableName());
 
     public static final UpdateSavingService UPDATE_SAVING_SERVICE =
-            new UpdateSavingService(new DynamoService(provideClient(), provideTableName()));
+            new UpdateSavingService(DYNAMO_SERVICE);
 
     public static final Logger LOGGER = getLogger(UpdateSavingHandler.class);
 
     public static final UpdateSavingHandlerDelegate DELEGATE =
-            new UpdateSavingHandlerDelegate(new SavingTransformer(), UPDATE_SAVING_SERVICE, LOGGER);
+            new UpdateSavingHandlerDelegate(
+                    new SavingTransformer(),
+                    new SavingsDynamoTransformer(),
+                    UPDATE_SAVING_SERVICE,
+                    LOGGER);
+
+    public static final Primer PRIMER =
+            new Primer(
+                            LOGGER,
+                            roundTrip(saving(), RESPONSE_WRITER, REQUEST_READER),
+                            () -> new SavingTransformer().toAttributeMap(saving()),
+                            () -> new SavingTransformer().toKey(saving().getName(), subject()),
+                            () -> new SavingsDynamoTransformer().toSaving(savingItem()),
+                            DYNAMO_SERVICE::prime)
+                    .prime()
+                    .register();
 
     public UpdateSavingHandler() {
-        super(OBJECT_MAPPER, DELEGATE, Saving.class);
+        super(DELEGATE, REQUEST_READER, RESPONSE_WRITER);
     }
 
-    static class UpdateSavingHandlerDelegate implements Handler<Saving, Void> {
+    static class UpdateSavingHandlerDelegate implements Handler<Saving, Saving> {
 
         private final SavingTransformer transformer;
+        private final SavingsDynamoTransformer itemTransformer;
         private final UpdateSavingService service;
         private final Logger logger;
 
         UpdateSavingHandlerDelegate(
-                SavingTransformer transformer, UpdateSavingService service, Logger logger) {
+                SavingTransformer transformer,
+                SavingsDynamoTransformer itemTransformer,
+                UpdateSavingService service,
+                Logger logger) {
             this.transformer = transformer;
+            this.itemTransformer = itemTransformer;
             this.service = service;
             this.logger = logger;
         }
 
+        /**
+         * An update naming the version it was based on only applies while the saving is still at
+         * it, so it never overwrites a newer one. One naming no version replaces whatever is
+         * stored, as before versions were kept, and is answered with the saving read back once it
+         * is written, so the client learns its version.
+         */
         @Override
-        public Void handle(Saving saving, Subject subject, RequestDetails details) {
+        public Saving handle(Saving saving, Subject subject, RequestDetails details) {
             Map<String, AttributeValue> key = transformer.toKey(saving.getName(), subject);
             Map<String, AttributeValue> attributeValueMap = transformer.toAttributeMap(saving);
-            service.updateSaving(key, attributeValueMap);
+            if (null == saving.getVersion()) {
+                Saving updated =
+                        itemTransformer.toSaving(service.updateSaving(key, attributeValueMap));
+                logger.info(
+                        "Saving {} updated to version {} for subject {}",
+                        saving.getName().getName(),
+                        updated.getVersion(),
+                        subject.getSubject());
+                return updated;
+            }
+            long version = service.updateSaving(key, attributeValueMap, saving.getVersion());
             logger.info(
-                    "Saving {} updated for subject {}",
+                    "Saving {} updated to version {} for subject {}",
                     saving.getName().getName(),
+                    version,
                     subject.getSubject());
-            return null;
+            return saving.withVersion(version);
         }
     }
 }
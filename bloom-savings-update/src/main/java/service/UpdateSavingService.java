@@ -1,31 +1,78 @@
 package service;
 
+import static software.amazon.awssdk.services.dynamodb.model.AttributeValue.builder;
+
+import java.util.HashMap;
 import java.util.Map;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 public class UpdateSavingService {
 
+    private static final String UPDATE_EXPRESSION =
+            "SET #a = :startAmount, #b = :monthlyAmount, #c = :startDate, #d = :endDate, #e = :yearlyRate, #f = :adjustments, #g = :oneTimePayments ADD #version :one";
+
+    private static final Map<String, String> EXPRESSION_ATTRIBUTE_NAMES =
+            Map.of(
+                    "#a", "StartAmount",
+                    "#b", "MonthlyAmount",
+                    "#c", "StartDate",
+                    "#d", "EndDate",
+                    "#e", "YearlyRate",
+                    "#f", "Adjustments",
+                    "#g", "OneTimePayments",
+                    "#version", "Version");
+
     private final DynamoService service;
 
     public UpdateSavingService(DynamoService service) {
         this.service = service;
     }
 
-    public void updateSaving(
+    /**
+     * Updates the saving only while it is still at the given version, zero for an item written
+     * before versions were kept, and returns the version it was updated to.
+     */
+    public long updateSaving(
+            Map<String, AttributeValue> key,
+            Map<String, AttributeValue> attributeValueMap,
+            long version) {
+        Map<String, AttributeValue> expressionAttributeValues = values(attributeValueMap);
+        String conditionExpression;
+        if (0 == version) {
+            conditionExpression = "attribute_exists(PK) AND attribute_not_exists(#version)";
+        } else {
+            conditionExpression = "#version = :version";
+            expressionAttributeValues.put(":version", builder().n(Long.toString(version)).build());
+        }
+
+        service.update(
+                key,
+                UPDATE_EXPRESSION,
+                EXPRESSION_ATTRIBUTE_NAMES,
+                expressionAttributeValues,
+                conditionExpression);
+        return version + 1;
+    }
+
+    /**
+     * Updates the saving whatever version it is at, as before versions were kept, so a client that
+     * sends no version still replaces it. The saving is then read consistently and returned as
+     * stored, holding the version it was updated to.
+     */
+    public Map<String, AttributeValue> updateSaving(
             Map<String, AttributeValue> key, Map<String, AttributeValue> attributeValueMap) {
-        String updateExpression =
-                "SET #a = :startAmount, #b = :monthlyAmount, #c = :startDate, #d = :endDate, #e = :yearlyRate, #f = :adjustments, #g = :oneTimePayments";
-
-        Map<String, String> expressionAttributeNames =
-                Map.of(
-                        "#a", "StartAmount",
-                        "#b", "MonthlyAmount",
-                        "#c", "StartDate",
-                        "#d", "EndDate",
-                        "#e", "YearlyRate",
-                        "#f", "Adjustments",
-                        "#g", "OneTimePayments");
-
-        service.update(key, updateExpression, expressionAttributeNames, attributeValueMap);
+        return service.updateAndGet(
+                key,
+                UPDATE_EXPRESSION,
+                EXPRESSION_ATTRIBUTE_NAMES,
+                values(attributeValueMap),
+                "attribute_exists(PK)");
+    }
+
+    private static Map<String, AttributeValue> values(
+            Map<String, AttributeValue> attributeValueMap) {
+        Map<String, AttributeValue> expressionAttributeValues = new HashMap<>(attributeValueMap);
+        expressionAttributeValues.put(":one", builder().n("1").build());
+        return expressionAttributeValues;
     }
 }
@@ -1,6 +1,10 @@
 package handler;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import service.UpdateSavingService;
 import transform.SavingTransformer;
+import transform.SavingsDynamoTransformer;
 
 class UpdateSavingHandlerTest {
 
@@ -23,8 +28,10 @@ class UpdateSavingHandlerTest {
     Subject mockSubject;
     RequestDetails mockDetails;
     SavingTransformer mockTransformer;
+    SavingsDynamoTransformer mockItemTransformer;
     UpdateSavingService mockService;
     Saving mockSaving;
+    Saving mockUpdatedSaving;
     Map mockKey;
     Map mockAttributeMap;
     Logger mockLogger;
@@ -34,8 +41,10 @@ class UpdateSavingHandlerTest {
         mockSubject = mock(Subject.class);
         mockDetails = mock(RequestDetails.class);
         mockTransformer = mock(SavingTransformer.class);
+        mockItemTransformer = mock(SavingsDynamoTransformer.class);
         mockService = mock(UpdateSavingService.class);
         mockSaving = mock(Saving.class);
+        mockUpdatedSaving = mock(Saving.class);
         mockKey = mock(Map.class);
         mockAttributeMap = mock(Map.class);
         mockLogger = mock(Logger.class);
@@ -47,8 +56,13 @@ class UpdateSavingHandlerTest {
 
         when(mockTransformer.toKey(mockSaving.getName(), mockSubject)).thenReturn(mockKey);
         when(mockTransformer.toAttributeMap(mockSaving)).thenReturn(mockAttributeMap);
+        when(mockSaving.getVersion()).thenReturn(3L);
+        when(mockService.updateSaving(mockKey, mockAttributeMap, 3L)).thenReturn(4L);
+        when(mockSaving.withVersion(4L)).thenReturn(mockUpdatedSaving);
 
-        sut = new UpdateSavingHandlerDelegate(mockTransformer, mockService, mockLogger);
+        sut =
+                new UpdateSavingHandlerDelegate(
+                        mockTransformer, mockItemTransformer, mockService, mockLogger);
     }
 
     @Test
@@ -81,7 +95,18 @@ class UpdateSavingHandlerTest {
         sut.handle(mockSaving, mockSubject, mockDetails);
 
         // then
-        verify(mockService).updateSaving(mockKey, mockAttributeMap);
+        verify(mockService).updateSaving(mockKey, mockAttributeMap, 3L);
+    }
+
+    @Test
+    void returnsSavingAtUpdatedVersionWhenDelegateHandled() {
+        // given
+
+        // when
+        Saving actual = sut.handle(mockSaving, mockSubject, mockDetails);
+
+        // then
+        assertThat(actual).isSameAs(mockUpdatedSaving);
     }
 
     @Test
@@ -94,8 +119,33 @@ class UpdateSavingHandlerTest {
         // then
         verify(mockLogger)
                 .info(
-                        "Saving {} updated for subject {}",
+                        "Saving {} updated to version {} for subject {}",
+                        mockSaving.getName().getName(),
+                        4L,
+                        mockSubject.getSubject());
+    }
+
+    @Test
+    void returnsStoredSavingWhenNoVersionGiven() {
+        // given
+        Map mockItem = mock(Map.class);
+        Saving mockStoredSaving = mock(Saving.class);
+        when(mockSaving.getVersion()).thenReturn(null);
+        when(mockService.updateSaving(mockKey, mockAttributeMap)).thenReturn(mockItem);
+        when(mockItemTransformer.toSaving(mockItem)).thenReturn(mockStoredSaving);
+        when(mockStoredSaving.getVersion()).thenReturn(7L);
+
+        // when
+        Saving actual = sut.handle(mockSaving, mockSubject, mockDetails);
+
+        // then
+        verify(mockService, never()).updateSaving(any(), any(), anyLong());
+        verify(mockLogger)
+                .info(
+                        "Saving {} updated to version {} for subject {}",
                         mockSaving.getName().getName(),
+                        7L,
                         mockSubject.getSubject());
+        assertThat(actual).isSameAs(mockStoredSaving);
     }
 }
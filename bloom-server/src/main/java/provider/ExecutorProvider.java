@@ -0,0 +1,21 @@
+package provider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ExecutorProvider {
+
+    /**
+     * Returns an executor that starts a virtual thread per task when the runtime supports them, and
+     * a cached pool of platform threads otherwise. The method is looked up reflectively so the
+     * module still compiles for the Java 11 Lambda runtime.
+     */
+    public static ExecutorService provideExecutor() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
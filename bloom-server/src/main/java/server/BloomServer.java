@@ -0,0 +1,88 @@
+package server;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static provider.ExecutorProvider.provideExecutor;
+import static provider.MapperProvider.provideFactory;
+import static util.Environment.readVariable;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.sun.net.httpserver.HttpServer;
+import handler.RouterHandler;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import org.slf4j.Logger;
+
+/**
+ * Serves every endpoint from a long-lived process, for container deployments and local throughput
+ * testing. Requests are handled on virtual threads where the runtime supports them, and all of them
+ * share the router's DynamoDB client.
+ */
+public class BloomServer {
+
+    static final String DEFAULT_SUBJECT_HEADER = "X-Bloom-Subject";
+
+    private static final Logger LOGGER = getLogger(BloomServer.class);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    BloomServer(
+            InetSocketAddress address,
+            RequestStreamHandler router,
+            Iterable<String> routeKeys,
+            String subjectHeader)
+            throws IOException {
+        List<String> resources = new ArrayList<>();
+        for (String routeKey : routeKeys) {
+            resources.add(routeKey.substring(routeKey.indexOf(' ') + 1));
+        }
+
+        executor = provideExecutor();
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext(
+                "/",
+                new ProxyExchangeHandler(
+                        router,
+                        new ResourceMatcher(resources),
+                        subjectHeader,
+                        provideFactory(),
+                        LOGGER));
+    }
+
+    void start() {
+        server.start();
+        LOGGER.info("listening on port {}", getPort());
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        serve(new RouterHandler());
+    }
+
+    /** Serves the router's endpoints on PORT until the process exits. */
+    public static void serve(RouterHandler router) throws IOException {
+        String port = readVariable("PORT");
+        String subjectHeader = readVariable("SUBJECT_HEADER");
+
+        BloomServer server =
+                new BloomServer(
+                        new InetSocketAddress(null != port ? Integer.parseInt(port) : 8080),
+                        router,
+                        router.getRouteKeys(),
+                        null != subjectHeader ? subjectHeader : DEFAULT_SUBJECT_HEADER);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+    }
+}
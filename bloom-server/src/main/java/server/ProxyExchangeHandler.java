@@ -0,0 +1,192 @@
+package server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+
+/**
+ * Adapts a raw HTTP exchange into the API Gateway proxy event the handlers expect, runs it through
+ * the router and copies the resulting envelope back onto the exchange. The subject is taken from a
+ * request header in place of the authorizer claims, so the server must sit behind a proxy that
+ * authenticates callers and sets that header.
+ */
+class ProxyExchangeHandler implements HttpHandler {
+
+    private final RequestStreamHandler router;
+    private final ResourceMatcher matcher;
+    private final String subjectHeader;
+    private final JsonFactory factory;
+    private final Logger logger;
+
+    ProxyExchangeHandler(
+            RequestStreamHandler router,
+            ResourceMatcher matcher,
+            String subjectHeader,
+            JsonFactory factory,
+            Logger logger) {
+        this.router = router;
+        this.matcher = matcher;
+        this.subjectHeader = subjectHeader;
+        this.factory = factory;
+        this.logger = logger;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String subject = exchange.getRequestHeaders().getFirst(subjectHeader);
+            if (null == subject || subject.isBlank()) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            ResourceMatcher.Match match = matcher.match(exchange.getRequestURI().getPath());
+            if (null == match) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            byte[] event;
+            try (InputStream input = exchange.getRequestBody()) {
+                event = toEvent(exchange, match, subject, input.readAllBytes());
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            router.handleRequest(new ByteArrayInputStream(event), output, null);
+
+            writeResponse(exchange, output.toByteArray());
+        } catch (RuntimeException exception) {
+            logger.error(exception.getMessage(), exception);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private byte[] toEvent(
+            HttpExchange exchange, ResourceMatcher.Match match, String subject, byte[] body)
+            throws IOException {
+        ByteArrayOutputStream event = new ByteArrayOutputStream(256 + body.length);
+        try (JsonGenerator generator = factory.createGenerator(event)) {
+            generator.writeStartObject();
+            generator.writeStringField("httpMethod", exchange.getRequestMethod());
+            generator.writeStringField("resource", match.getResource());
+            generator.writeStringField("path", exchange.getRequestURI().getPath());
+            writeMap(generator, "queryStringParameters", queryParameters(exchange.getRequestURI()));
+            writeMap(generator, "pathParameters", match.getPathParameters());
+
+            generator.writeObjectFieldStart("headers");
+            for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+                if (!header.getValue().isEmpty()) {
+                    generator.writeStringField(header.getKey(), header.getValue().get(0));
+                }
+            }
+            generator.writeEndObject();
+
+            if (0 < body.length) {
+                generator.writeStringField("body", new String(body, UTF_8));
+            } else {
+                generator.writeNullField("body");
+            }
+
+            generator.writeObjectFieldStart("requestContext");
+            generator.writeObjectFieldStart("authorizer");
+            generator.writeObjectFieldStart("claims");
+            generator.writeStringField("sub", subject);
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        return event.toByteArray();
+    }
+
+    private void writeResponse(HttpExchange exchange, byte[] envelope) throws IOException {
+        int statusCode = 500;
+        String body = null;
+        boolean base64 = false;
+        try (JsonParser parser = factory.createParser(envelope)) {
+            parser.nextToken();
+            while (JsonToken.END_OBJECT != parser.nextToken()) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "statusCode":
+                        statusCode = parser.getIntValue();
+                        break;
+                    case "headers":
+                        while (JsonToken.END_OBJECT != parser.nextToken()) {
+                            String name = parser.getCurrentName();
+                            parser.nextToken();
+                            exchange.getResponseHeaders().add(name, parser.getText());
+                        }
+                        break;
+                    case "body":
+                        body = parser.getValueAsString();
+                        break;
+                    case "isBase64Encoded":
+                        base64 = parser.getValueAsBoolean();
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+
+        if (null == body) {
+            exchange.sendResponseHeaders(statusCode, -1);
+            return;
+        }
+        byte[] bytes = base64 ? Base64.getDecoder().decode(body) : body.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static Map<String, String> queryParameters(URI uri) {
+        String query = uri.getRawQuery();
+        if (null == query || query.isEmpty()) {
+            return null;
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (String pair : query.split("&")) {
+            int index = pair.indexOf('=');
+            String name = -1 == index ? pair : pair.substring(0, index);
+            String value = -1 == index ? "" : pair.substring(index + 1);
+            parameters.putIfAbsent(URLDecoder.decode(name, UTF_8), URLDecoder.decode(value, UTF_8));
+        }
+        return parameters;
+    }
+
+    private static void writeMap(JsonGenerator generator, String field, Map<String, String> map)
+            throws IOException {
+        if (null == map || map.isEmpty()) {
+            generator.writeNullField(field);
+            return;
+        }
+        generator.writeObjectFieldStart(field);
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            generator.writeStringField(entry.getKey(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,81 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves a request path to the API Gateway resource template it would have matched, for example
+ * {@code /debts/car} to {@code /debts/{name}}, along with the path parameters. Static resources are
+ * a single lookup; templated resources are compared segment by segment.
+ */
+class ResourceMatcher {
+
+    private final Set<String> staticResources = new HashSet<>();
+    private final List<String[]> templates = new ArrayList<>();
+
+    ResourceMatcher(Iterable<String> resources) {
+        for (String resource : resources) {
+            if (resource.contains("{")) {
+                templates.add(resource.split("/"));
+            } else {
+                staticResources.add(resource);
+            }
+        }
+    }
+
+    Match match(String path) {
+        if (staticResources.contains(path)) {
+            return new Match(path, Map.of());
+        }
+
+        String[] segments = path.split("/");
+        for (String[] template : templates) {
+            Map<String, String> parameters = matchSegments(template, segments);
+            if (null != parameters) {
+                return new Match(String.join("/", template), parameters);
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> matchSegments(String[] template, String[] segments) {
+        if (template.length != segments.length) {
+            return null;
+        }
+        Map<String, String> parameters = new HashMap<>();
+        for (int i = 0; i < template.length; i++) {
+            if (template[i].startsWith("{") && template[i].endsWith("}")) {
+                if (segments[i].isEmpty()) {
+                    return null;
+                }
+                parameters.put(template[i].substring(1, template[i].length() - 1), segments[i]);
+            } else if (!template[i].equals(segments[i])) {
+                return null;
+            }
+        }
+        return parameters;
+    }
+
+    static class Match {
+
+        private final String resource;
+        private final Map<String, String> pathParameters;
+
+        Match(String resource, Map<String, String> pathParameters) {
+            this.resource = resource;
+            this.pathParameters = pathParameters;
+        }
+
+        String getResource() {
+            return resource;
+        }
+
+        Map<String, String> getPathParameters() {
+            return pathParameters;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ExecutorProviderTest {
+
+    @Test
+    void providesExecutorThatRunsTasks() throws Exception {
+        // given
+        ExecutorService sut = ExecutorProvider.provideExecutor();
+
+        // when
+        String actual = sut.submit(() -> "done").get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(actual).isEqualTo("done");
+        sut.shutdown();
+    }
+}
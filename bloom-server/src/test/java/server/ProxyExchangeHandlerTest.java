@@ -0,0 +1,158 @@
+package server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+class ProxyExchangeHandlerTest {
+
+    ObjectMapper mapper;
+    AtomicReference<JsonNode> received;
+    String envelope;
+    HttpServer server;
+    HttpClient client;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        mapper = new ObjectMapper();
+        received = new AtomicReference<>();
+        envelope = "{\"statusCode\":201,\"headers\":{\"X-Next-Cursor\":\"abc\"},\"body\":\"[1]\"}";
+        RequestStreamHandler router =
+                (input, output, context) -> {
+                    received.set(mapper.readTree(input));
+                    output.write(envelope.getBytes(UTF_8));
+                };
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/",
+                new ProxyExchangeHandler(
+                        router,
+                        new ResourceMatcher(List.of("/debts", "/debts/{name}")),
+                        "X-Bloom-Subject",
+                        mapper.getFactory(),
+                        mock(Logger.class)));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+    }
+
+    @Test
+    void buildsProxyEventWhenRequested() throws Exception {
+        // given
+        HttpRequest request =
+                request("/debts/car?limit=5")
+                        .header("X-Bloom-Subject", "user-1")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"car\"}"))
+                        .build();
+
+        // when
+        client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        JsonNode actual = received.get();
+
+        assertThat(actual.get("httpMethod").asText()).isEqualTo("PUT");
+        assertThat(actual.get("resource").asText()).isEqualTo("/debts/{name}");
+        assertThat(actual.get("path").asText()).isEqualTo("/debts/car");
+        assertThat(actual.get("pathParameters").get("name").asText()).isEqualTo("car");
+        assertThat(actual.get("queryStringParameters").get("limit").asText()).isEqualTo("5");
+        assertThat(actual.get("body").asText()).isEqualTo("{\"name\":\"car\"}");
+        assertThat(actual.get("requestContext").get("authorizer").get("claims").get("sub").asText())
+                .isEqualTo("user-1");
+    }
+
+    @Test
+    void copiesEnvelopeToResponseWhenHandled() throws Exception {
+        // given
+        HttpRequest request = request("/debts").header("X-Bloom-Subject", "user-1").build();
+
+        // when
+        HttpResponse<String> actual = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(actual.statusCode()).isEqualTo(201);
+        assertThat(actual.headers().firstValue("X-Next-Cursor")).contains("abc");
+        assertThat(actual.body()).isEqualTo("[1]");
+    }
+
+    @Test
+    void returnsUnauthorizedWhenSubjectHeaderMissing() throws Exception {
+        // given
+        HttpRequest request = request("/debts").build();
+
+        // when
+        HttpResponse<String> actual = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(actual.statusCode()).isEqualTo(401);
+        assertThat(received.get()).isNull();
+    }
+
+    @Test
+    void returnsNotFoundWhenNoResourceMatches() throws Exception {
+        // given
+        HttpRequest request = request("/unknown").header("X-Bloom-Subject", "user-1").build();
+
+        // when
+        HttpResponse<String> actual = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(actual.statusCode()).isEqualTo(404);
+        assertThat(received.get()).isNull();
+    }
+
+    @Test
+    void returnsEmptyResponseWhenEnvelopeHasNoBody() throws Exception {
+        // given
+        envelope = "{\"statusCode\":200,\"headers\":{}}";
+        HttpRequest request = request("/debts").header("X-Bloom-Subject", "user-1").build();
+
+        // when
+        HttpResponse<String> actual = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(actual.statusCode()).isEqualTo(200);
+        assertThat(actual.body()).isEmpty();
+    }
+
+    @Test
+    void decodesBase64BodyWhenEnvelopeFlagsIt() throws Exception {
+        // given
+        envelope = "{\"statusCode\":200,\"headers\":{},\"isBase64Encoded\":true,\"body\":\"WzFd\"}";
+        HttpRequest request = request("/debts").header("X-Bloom-Subject", "user-1").build();
+
+        // when
+        HttpResponse<String> actual = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(actual.statusCode()).isEqualTo(200);
+        assertThat(actual.body()).isEqualTo("[1]");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getAddress().getPort() + path));
+    }
+}
@@ -0,0 +1,64 @@
+package server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResourceMatcherTest {
+
+    ResourceMatcher sut;
+
+    @BeforeEach
+    void beforeEach() {
+        sut = new ResourceMatcher(List.of("/health", "/debts", "/debts/{name}", "/savings"));
+    }
+
+    @Test
+    void matchesStaticResourceWhenPathEqual() {
+        // given
+
+        // when
+        ResourceMatcher.Match actual = sut.match("/debts");
+
+        // then
+        assertThat(actual.getResource()).isEqualTo("/debts");
+        assertThat(actual.getPathParameters()).isEmpty();
+    }
+
+    @Test
+    void matchesTemplateAndExtractsParametersWhenPathHasParameter() {
+        // given
+
+        // when
+        ResourceMatcher.Match actual = sut.match("/debts/car loan");
+
+        // then
+        assertThat(actual.getResource()).isEqualTo("/debts/{name}");
+        assertThat(actual.getPathParameters()).isEqualTo(Map.of("name", "car loan"));
+    }
+
+    @Test
+    void returnsNullWhenNoResourceMatches() {
+        // given
+
+        // when
+        ResourceMatcher.Match actual = sut.match("/savings/house/extra");
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void returnsNullWhenParameterSegmentEmpty() {
+        // given
+
+        // when
+        ResourceMatcher.Match actual = sut.match("/debts/");
+
+        // then
+        assertThat(actual).isNull();
+    }
+}